@@ -0,0 +1,63 @@
+package games.strategy.engine.data;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The territories, players and attachments touched by a change, or by a batch of changes performed together.
+ * Filled in by GameData while the changes are performed, and handed to the GameDataChangeListeners with the change so
+ * that they can update just what was touched.
+ * <p>
+ * A territory is listed when its units, owner or attachments changed, or when a property of one of its units did. A
+ * player is listed when its resources, units, frontiers, relationships or attachments changed. Other parts of the game
+ * data (game properties, production rules, battle records) are not tracked.
+ */
+public final class AffectedObjects {
+  private final Set<Territory> territories = new LinkedHashSet<>();
+  private final Set<PlayerID> players = new LinkedHashSet<>();
+  private final Set<IAttachment> attachments = new LinkedHashSet<>();
+
+  AffectedObjects() {}
+
+  void add(final Territory territory) {
+    territories.add(territory);
+  }
+
+  void add(final PlayerID player) {
+    if (player != null && !player.isNull()) {
+      players.add(player);
+    }
+  }
+
+  void add(final IAttachment attachment) {
+    attachments.add(attachment);
+  }
+
+  void addAll(final AffectedObjects other) {
+    territories.addAll(other.territories);
+    players.addAll(other.players);
+    attachments.addAll(other.attachments);
+  }
+
+  public Set<Territory> getTerritories() {
+    return Collections.unmodifiableSet(territories);
+  }
+
+  public Set<PlayerID> getPlayers() {
+    return Collections.unmodifiableSet(players);
+  }
+
+  public Set<IAttachment> getAttachments() {
+    return Collections.unmodifiableSet(attachments);
+  }
+
+  public boolean isEmpty() {
+    return territories.isEmpty() && players.isEmpty() && attachments.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "AffectedObjects territories:" + territories + " players:" + players + " attachments:" + attachments;
+  }
+}
@@ -38,6 +38,10 @@ public class DelegateList extends GameDataComponent implements Iterable<IDelegat
   }
 
   private void readObject(final ObjectInputStream in) {
+    initTransientState();
+  }
+
+  void initTransientState() {
     m_delegates = new HashMap<>();
   }
 }
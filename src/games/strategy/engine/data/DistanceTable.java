@@ -0,0 +1,291 @@
+package games.strategy.engine.data;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import games.strategy.util.Match;
+
+/**
+ * Hop distances between the territories of a GameMap, with territories numbered by their position in the map.
+ * <p>
+ * Distances for the three common conditions (any territory, land only, water only) are kept in tables. A row of a
+ * table holds the distances from one territory to all others, and is filled by a breadth first search the first time
+ * it is asked for. Other conditions are answered by a search that uses arrays kept per thread instead of sets.
+ * <p>
+ * The table is a snapshot of the connections; GameMap drops it whenever territories or connections change.
+ */
+final class DistanceTable {
+  static final int ANY = 0;
+  static final int LAND = 1;
+  static final int WATER = 2;
+  // distances to a territory instead of from it, through any territory
+  private static final int ANY_TO = 3;
+  private static final int KINDS = 4;
+  private static final short UNREACHABLE = -1;
+
+  private final Territory[] m_territories;
+  private final Map<Territory, Integer> m_ordinals;
+  private final int[][] m_neighbors;
+  // territories that connect to each territory, differs from m_neighbors where connections are one way
+  private final int[][] m_reverseNeighbors;
+  private final boolean[] m_water;
+  // per kind, per start territory: distances to every territory, or null if not computed yet
+  private final AtomicReferenceArray<short[]> m_rows;
+  private final ThreadLocal<Search> m_search;
+
+  DistanceTable(final List<Territory> territories, final Map<Territory, Set<Territory>> connections) {
+    final int size = territories.size();
+    m_territories = territories.toArray(new Territory[size]);
+    m_ordinals = new HashMap<>(size * 2);
+    m_water = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      m_ordinals.put(m_territories[i], i);
+      m_water[i] = m_territories[i].isWater();
+    }
+    m_neighbors = new int[size][];
+    for (int i = 0; i < size; i++) {
+      final Set<Territory> neighbors = connections.get(m_territories[i]);
+      m_neighbors[i] = new int[neighbors.size()];
+      int j = 0;
+      for (final Territory neighbor : neighbors) {
+        m_neighbors[i][j++] = m_ordinals.get(neighbor);
+      }
+    }
+    final int[] reverseCounts = new int[size];
+    for (final int[] neighbors : m_neighbors) {
+      for (final int neighbor : neighbors) {
+        reverseCounts[neighbor]++;
+      }
+    }
+    m_reverseNeighbors = new int[size][];
+    for (int i = 0; i < size; i++) {
+      m_reverseNeighbors[i] = new int[reverseCounts[i]];
+      reverseCounts[i] = 0;
+    }
+    for (int i = 0; i < size; i++) {
+      for (final int neighbor : m_neighbors[i]) {
+        m_reverseNeighbors[neighbor][reverseCounts[neighbor]++] = i;
+      }
+    }
+    m_rows = new AtomicReferenceArray<>(KINDS * size);
+    m_search = ThreadLocal.withInitial(() -> new Search(size));
+  }
+
+  /**
+   * @return the position of the territory in the map, or -1 if the map does not contain it.
+   */
+  int ordinal(final Territory territory) {
+    final Integer ordinal = m_ordinals.get(territory);
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  Territory territory(final int ordinal) {
+    return m_territories[ordinal];
+  }
+
+  int size() {
+    return m_territories.length;
+  }
+
+  /**
+   * @return the positions of the territories the given territory connects to. Must not be modified.
+   */
+  int[] neighbors(final int ordinal) {
+    return m_neighbors[ordinal];
+  }
+
+  /**
+   * @return the number of steps from every territory to the given one, through any territory, or -1 where there is no
+   *         path. Must not be modified.
+   */
+  short[] getDistancesTo(final int to) {
+    return getRow(to, ANY_TO);
+  }
+
+  /**
+   * @return the number of steps from one territory to the other, where every territory entered is of the given kind,
+   *         or -1 if there is no such path.
+   */
+  int getDistance(final int from, final int to, final int kind) {
+    return getRow(from, kind)[to];
+  }
+
+  /**
+   * @return the territories that can be reached in at most the given number of steps, through territories of the given
+   *         kind, not including the start.
+   */
+  Set<Territory> getNeighbors(final int from, final int distance, final int kind) {
+    final short[] row = getRow(from, kind);
+    final Set<Territory> neighbors = new HashSet<>();
+    for (int i = 0; i < row.length; i++) {
+      if (row[i] > 0 && row[i] <= distance) {
+        neighbors.add(m_territories[i]);
+      }
+    }
+    return neighbors;
+  }
+
+  private short[] getRow(final int from, final int kind) {
+    final int index = kind * m_territories.length + from;
+    short[] row = m_rows.get(index);
+    if (row == null) {
+      row = computeRow(from, kind);
+      // another thread may have computed the same row, both are equal
+      m_rows.set(index, row);
+    }
+    return row;
+  }
+
+  private short[] computeRow(final int from, final int kind) {
+    final short[] row = new short[m_territories.length];
+    Arrays.fill(row, UNREACHABLE);
+    row[from] = 0;
+    final int[] queue = new int[m_territories.length];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = from;
+    while (head < tail) {
+      final int current = queue[head++];
+      // searching backwards, the territories entered are the ones we come from
+      for (final int neighbor : kind == ANY_TO ? m_reverseNeighbors[current] : m_neighbors[current]) {
+        if (row[neighbor] == UNREACHABLE && isOfKind(neighbor, kind)) {
+          row[neighbor] = (short) (row[current] + 1);
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    return row;
+  }
+
+  private boolean isOfKind(final int ordinal, final int kind) {
+    switch (kind) {
+      case LAND:
+        return !m_water[ordinal];
+      case WATER:
+        return m_water[ordinal];
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * Same as getDistance, for any condition. A null condition matches every territory.
+   */
+  int getDistance(final int from, final int to, final Match<Territory> cond) {
+    if (from == to) {
+      return 0;
+    }
+    final Search search = startSearch();
+    try {
+      search.visit(from, 0);
+      while (search.m_head < search.m_tail) {
+        final int current = search.m_queue[search.m_head++];
+        final int distance = search.m_distance[current] + 1;
+        for (final int neighbor : m_neighbors[current]) {
+          if (!search.isVisited(neighbor) && (cond == null || cond.match(m_territories[neighbor]))) {
+            if (neighbor == to) {
+              return distance;
+            }
+            search.visit(neighbor, distance);
+          }
+        }
+      }
+      return -1;
+    } finally {
+      search.m_inUse = false;
+    }
+  }
+
+  /**
+   * Same as getNeighbors, for any condition and any number of start territories.
+   * The start territories are not part of the result.
+   */
+  Set<Territory> getNeighbors(final Collection<Territory> from, final int maxDistance,
+      final Match<Territory> cond) {
+    final Set<Territory> neighbors = new HashSet<>();
+    final Search search = startSearch();
+    try {
+      for (final Territory territory : from) {
+        final int start = ordinal(territory);
+        // a territory that is not in the map has no neighbors
+        if (start >= 0 && !search.isVisited(start)) {
+          search.visit(start, 0);
+        }
+      }
+      while (search.m_head < search.m_tail) {
+        final int current = search.m_queue[search.m_head++];
+        final int distance = search.m_distance[current] + 1;
+        if (distance > maxDistance) {
+          break;
+        }
+        for (final int neighbor : m_neighbors[current]) {
+          if (!search.isVisited(neighbor) && (cond == null || cond.match(m_territories[neighbor]))) {
+            search.visit(neighbor, distance);
+            neighbors.add(m_territories[neighbor]);
+          }
+        }
+      }
+      return neighbors;
+    } finally {
+      search.m_inUse = false;
+    }
+  }
+
+  private Search startSearch() {
+    Search search = m_search.get();
+    if (search.m_inUse) {
+      // a condition of the running search asked for another search
+      search = new Search(m_territories.length);
+    }
+    search.start();
+    return search;
+  }
+
+  /**
+   * Breadth first search state, reused by the searches of one thread unless a search is started from within another.
+   * Territories are visited in the current search if their mark is the current search number, so nothing has to be
+   * cleared between searches.
+   */
+  private static final class Search {
+    private final int[] m_queue;
+    private final int[] m_distance;
+    private final int[] m_visitMark;
+    private int m_searchNumber;
+    private int m_head;
+    private int m_tail;
+    private boolean m_inUse;
+
+    Search(final int size) {
+      m_queue = new int[size];
+      m_distance = new int[size];
+      m_visitMark = new int[size];
+    }
+
+    void start() {
+      m_inUse = true;
+      if (++m_searchNumber == 0) {
+        // wrapped around, forget the marks of older searches
+        Arrays.fill(m_visitMark, 0);
+        m_searchNumber = 1;
+      }
+      m_head = 0;
+      m_tail = 0;
+    }
+
+    boolean isVisited(final int ordinal) {
+      return m_visitMark[ordinal] == m_searchNumber;
+    }
+
+    void visit(final int ordinal, final int distance) {
+      m_visitMark[ordinal] = m_searchNumber;
+      m_distance[ordinal] = distance;
+      m_queue[m_tail++] = ordinal;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package games.strategy.engine.data;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
@@ -22,8 +23,10 @@ import games.strategy.engine.data.properties.GameProperties;
 import games.strategy.engine.framework.IGameLoader;
 import games.strategy.engine.framework.message.PlayerListing;
 import games.strategy.engine.history.History;
+import games.strategy.thread.LockStatistics;
 import games.strategy.thread.LockUtil;
 import games.strategy.triplea.ResourceLoader;
+import games.strategy.triplea.attachments.AttachmentIndex;
 import games.strategy.util.ListenerList;
 import games.strategy.util.Tuple;
 import games.strategy.util.Version;
@@ -61,8 +64,13 @@ public class GameData implements java.io.Serializable {
   private static final long serialVersionUID = -2612710634080125728L;
   public static final String GAME_UUID = "GAME_UUID";
   private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-  private transient LockUtil lockUtil = new LockUtil();
+  private static final LockStatistics lockStatistics = LockStatistics.get("GameData");
+  private transient LockUtil lockUtil = new LockUtil(lockStatistics);
   private volatile transient boolean forceInSwingEventThread = false;
+  private volatile transient UnitHolderIndex unitHolderIndex;
+  private volatile transient AttachmentIndex attachmentIndex;
+  // what the changes being performed touched, only set while performChange(s) holds the write lock
+  private transient AffectedObjects affectedObjects;
   private String gameName;
   private Version gameVersion;
   private int diceSides;
@@ -107,7 +115,14 @@ public class GameData implements java.io.Serializable {
 
   private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
     in.defaultReadObject();
-    lockUtil = new LockUtil();
+    initTransientState();
+  }
+
+  /**
+   * Initializes the transient state that is not restored by deserialization (or by a GameDataCopier copy).
+   */
+  void initTransientState() {
+    lockUtil = new LockUtil(lockStatistics);
   }
 
   /**
@@ -131,7 +146,8 @@ public class GameData implements java.io.Serializable {
     if (readWriteLockMissing()) {
       return;
     }
-    if (!lockUtil.isLockHeld(readWriteLock.readLock()) && !lockUtil.isLockHeld(readWriteLock.writeLock())) {
+    final ReentrantReadWriteLock lock = (ReentrantReadWriteLock) readWriteLock;
+    if (lock.getReadHoldCount() == 0 && !lock.isWriteLockedByCurrentThread()) {
       new Exception("Lock not held").printStackTrace(System.out);
     }
   }
@@ -277,19 +293,78 @@ public class GameData implements java.io.Serializable {
   }
 
   void notifyTerritoryUnitsChanged(final Territory t) {
+    territoryChanged(t);
     territoryListeners.forEach(territoryListener -> territoryListener.unitsChanged(t));
   }
 
   void notifyTerritoryAttachmentChanged(final Territory t) {
+    territoryChanged(t);
     territoryListeners.forEach(territoryListener -> territoryListener.attachmentChanged(t));
   }
 
-  void notifyTerritoryOwnerChanged(final Territory t) {
+  void notifyTerritoryOwnerChanged(final Territory t, final PlayerID oldOwner) {
+    territoryChanged(t);
+    final AttachmentIndex index = attachmentIndex;
+    if (index != null) {
+      index.territoryOwnerChanged(t, oldOwner);
+    }
     territoryListeners.forEach(territoryListener -> territoryListener.ownerChanged(t));
   }
 
-  void notifyGameDataChanged(final Change aChange) {
-    dataChangeListeners.forEach(dataChangelistener -> dataChangelistener.gameDataChanged(aChange));
+  void notifyGameDataChanged(final Change aChange, final AffectedObjects affected) {
+    dataChangeListeners.forEach(dataChangelistener -> dataChangelistener.gameDataChanged(aChange, affected));
+  }
+
+  private void territoryChanged(final Territory t) {
+    final AffectedObjects affected = affectedObjects;
+    if (affected != null) {
+      affected.add(t);
+    }
+  }
+
+  /**
+   * Called by changes that modify a player, so that the player is listed in the objects affected by the change.
+   */
+  public void playerChanged(final PlayerID player) {
+    final AffectedObjects affected = affectedObjects;
+    if (affected != null) {
+      affected.add(player);
+    }
+  }
+
+  /**
+   * Called by changes that set a property on an arbitrary object. Units are listed through the territory or player
+   * holding them, attachments with what they are attached to.
+   */
+  public void objectChanged(final Object object) {
+    final AffectedObjects affected = affectedObjects;
+    if (affected == null) {
+      return;
+    }
+    if (object instanceof Unit) {
+      final NamedUnitHolder holder = getUnitHolderIndex().getHolder((Unit) object);
+      if (holder instanceof Territory) {
+        affected.add((Territory) holder);
+      } else if (holder instanceof PlayerID) {
+        affected.add((PlayerID) holder);
+      }
+    } else if (object instanceof IAttachment) {
+      final IAttachment attachment = (IAttachment) object;
+      affected.add(attachment);
+      attachableChanged(affected, attachment.getAttachedTo());
+    } else if (object instanceof Territory) {
+      affected.add((Territory) object);
+    } else if (object instanceof PlayerID) {
+      affected.add((PlayerID) object);
+    }
+  }
+
+  private static void attachableChanged(final AffectedObjects affected, final Attachable attachedTo) {
+    if (attachedTo instanceof Territory) {
+      affected.add((Territory) attachedTo);
+    } else if (attachedTo instanceof PlayerID) {
+      affected.add((PlayerID) attachedTo);
+    }
   }
 
   void notifyMapDataChanged() {
@@ -346,6 +421,71 @@ public class GameData implements java.io.Serializable {
     territoryListeners = new ListenerList<>();
     dataChangeListeners = new ListenerList<>();
     gameMapListeners = new ListenerList<>();
+    unitHolderIndex = new UnitHolderIndex(this);
+  }
+
+  /**
+   * @return the index of where each unit is and what each transport carries, built on first use.
+   */
+  public UnitHolderIndex getUnitHolderIndex() {
+    final UnitHolderIndex index = unitHolderIndex;
+    return index == null ? buildUnitHolderIndex() : index;
+  }
+
+  private synchronized UnitHolderIndex buildUnitHolderIndex() {
+    if (unitHolderIndex == null) {
+      unitHolderIndex = new UnitHolderIndex(this);
+    }
+    return unitHolderIndex;
+  }
+
+  /**
+   * @return the unit holder index if it is in use, otherwise null. Changes to units only need to be recorded in a
+   *         built index, a new index starts from the current state of the game.
+   */
+  public UnitHolderIndex getUnitHolderIndexIfBuilt() {
+    return unitHolderIndex;
+  }
+
+  /**
+   * @return the index of the attachments used in combat, built on first use.
+   */
+  public AttachmentIndex getAttachmentIndex() {
+    final AttachmentIndex index = attachmentIndex;
+    return index == null ? buildAttachmentIndex() : index;
+  }
+
+  private synchronized AttachmentIndex buildAttachmentIndex() {
+    if (attachmentIndex == null) {
+      attachmentIndex = new AttachmentIndex(this);
+    }
+    return attachmentIndex;
+  }
+
+  /**
+   * Called when an attachment is added or removed, or one of its properties changes.
+   *
+   * @param attachedTo
+   *        what the attachment is attached to
+   * @param attachmentName
+   *        the name of the attachment, or null if not known
+   */
+  public void attachmentChanged(final Attachable attachedTo, final String attachmentName) {
+    final AttachmentIndex index = attachmentIndex;
+    if (index != null) {
+      index.attachmentChanged(attachedTo, attachmentName);
+    }
+    if (attachedTo instanceof RelationshipType) {
+      relationships.relationshipTypesChanged();
+    }
+    final AffectedObjects affected = affectedObjects;
+    if (affected != null && attachedTo != null) {
+      final IAttachment attachment = attachmentName == null ? null : attachedTo.getAttachment(attachmentName);
+      if (attachment != null) {
+        affected.add(attachment);
+      }
+      attachableChanged(affected, attachedTo);
+    }
   }
 
   /**
@@ -485,15 +625,47 @@ public class GameData implements java.io.Serializable {
   }
 
   public void performChange(final Change change) {
+    notifyGameDataChanged(change, perform(Collections.singletonList(change)));
+  }
+
+  /**
+   * Performs the changes in order while holding the write lock once, then notifies the GameDataChangeListeners once,
+   * with a CompositeChange of them all and everything they affected.
+   */
+  public void performChanges(final List<? extends Change> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    final AffectedObjects affected = perform(changes);
+    final Change change = changes.size() == 1 ? changes.get(0) : new CompositeChange(new ArrayList<>(changes));
+    notifyGameDataChanged(change, affected);
+  }
+
+  private AffectedObjects perform(final List<? extends Change> changes) {
     if (areChangesOnlyInSwingEventThread() && !SwingUtilities.isEventDispatchThread()) {
       throw new IllegalStateException("Wrong thread");
     }
+    final AffectedObjects affected = new AffectedObjects();
     try {
       acquireWriteLock();
-      change.perform(this);
+      // a change may be performed while another one is, what the inner one touches counts for both
+      final AffectedObjects outer = affectedObjects;
+      affectedObjects = affected;
+      try {
+        for (final Change change : changes) {
+          change.perform(this);
+        }
+      } finally {
+        affectedObjects = outer;
+        if (outer != null) {
+          outer.addAll(affected);
+        } else if (unitHolderIndex != null) {
+          unitHolderIndex.changePerformed();
+        }
+      }
     } finally {
       releaseWriteLock();
     }
-    notifyGameDataChanged(change);
+    return affected;
   }
 }
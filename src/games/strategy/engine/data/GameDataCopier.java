@@ -0,0 +1,751 @@
+package games.strategy.engine.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.net.GUID;
+import games.strategy.util.IntegerMap;
+import games.strategy.util.Tuple;
+import games.strategy.util.Version;
+
+/**
+ * Creates a deep copy of a GameData by walking the object graph directly, instead of writing the whole game
+ * to an ObjectOutputStream and reading it back.
+ * <p>
+ * The copy follows the same rules java serialization applies to the graph, so the result is equivalent to
+ * <code>GameDataManager.loadGame(GameDataManager.saveGame(data))</code>:
+ * <ul>
+ * <li>every object reachable from the game data is copied exactly once, so == relationships between territories,
+ * players, unit types, units and attachments hold in the copy the same way they do in the original</li>
+ * <li>transient fields are left at their default values, writeReplace / readResolve are honoured</li>
+ * <li>the few engine classes that customize readObject have their post-read step applied</li>
+ * </ul>
+ * Engine objects are copied field by field and the common collections are rebuilt through their public api.
+ * Anything else (jdk or library classes with their own serialized form) is copied by serializing just that
+ * object, with references back into the game replaced so that they still resolve to the copied game objects.
+ * <p>
+ * The one exception to the copy being fully independent is the static layer, see {@link #getStaticData(GameData)},
+ * which is shared between the original and all its copies.
+ */
+public final class GameDataCopier {
+  // Engine classes with their own readObject/writeObject, which the field copy reproduces together with
+  // applyReadObjectHooks(). Any other class that customizes its serialized form is copied by serialization.
+  private static final Set<String> CUSTOM_SERIALIZATION_HANDLED = ImmutableSet.of(
+      GameDataComponent.class.getName(),
+      GameData.class.getName(),
+      GameSequence.class.getName(),
+      DelegateList.class.getName(),
+      "games.strategy.engine.data.changefactory.ObjectPropertyChange");
+  private static final Set<Class<?>> IMMUTABLE_TYPES = ImmutableSet.of(String.class, Boolean.class,
+      Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+      BigInteger.class, BigDecimal.class, Class.class, GUID.class, Version.class);
+  // unmodifiable views from java.util.Collections, and how to wrap a copy of the viewed collection
+  private static final Map<Class<?>, Function<Object, Object>> UNMODIFIABLE_WRAPPERS =
+      ImmutableMap.<Class<?>, Function<Object, Object>>builder()
+          .put(Collections.unmodifiableCollection(new ArrayList<>()).getClass(),
+              c -> Collections.unmodifiableCollection((Collection<?>) c))
+          .put(Collections.unmodifiableList(new ArrayList<>()).getClass(),
+              list -> Collections.unmodifiableList((List<?>) list))
+          .put(Collections.unmodifiableList(new LinkedList<>()).getClass(),
+              list -> Collections.unmodifiableList((List<?>) list))
+          .put(Collections.unmodifiableSet(new HashSet<>()).getClass(),
+              set -> Collections.unmodifiableSet((Set<?>) set))
+          .put(Collections.unmodifiableSortedSet(new TreeSet<>()).getClass(),
+              set -> Collections.unmodifiableSortedSet((SortedSet<?>) set))
+          .put(Collections.unmodifiableMap(new HashMap<>()).getClass(),
+              map -> Collections.unmodifiableMap((Map<?, ?>) map))
+          .put(Collections.unmodifiableSortedMap(new TreeMap<>()).getClass(),
+              map -> Collections.unmodifiableSortedMap((SortedMap<?, ?>) map))
+          .build();
+  private static final Logger s_logger = Logger.getLogger(GameDataCopier.class.getName());
+  private static final Map<Class<?>, ClassLayout> layouts = new ConcurrentHashMap<>();
+
+  private final Map<Object, Object> copies = new IdentityHashMap<>();
+  private final Set<Object> copyingBySerialization = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Set<Object> sharedStaticData;
+  private final WrappedObjectProbe wrappedObjectProbe;
+
+  private GameDataCopier(final Set<Object> sharedStaticData) {
+    this.sharedStaticData = sharedStaticData;
+    try {
+      wrappedObjectProbe = new WrappedObjectProbe();
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return whether this jvm has the serialization constructors the copier needs, if not copy game data by
+   *         serialization
+   */
+  public static boolean isSupported() {
+    return SerializationConstructors.isAvailable();
+  }
+
+  /**
+   * Create a deep copy of the given game data.
+   *
+   * @param copyDelegates whether the delegates (and their state) should be copied as well
+   */
+  public static GameData copy(final GameData data, final boolean copyDelegates) {
+    if (!isSupported()) {
+      throw new IllegalStateException("Game data can not be copied structurally on this jvm");
+    }
+    data.acquireReadLock();
+    try {
+      final GameDataCopier copier = new GameDataCopier(getStaticData(data));
+      final GameData copy = (GameData) copier.copyObject(data);
+      if (copyDelegates) {
+        copier.copyDelegates(data, copy);
+      }
+      copy.postDeSerialize();
+      return copy;
+    } finally {
+      data.releaseReadLock();
+    }
+  }
+
+  /**
+   * The static layer of a game: data that is set up by the game parser and never changes afterwards.
+   * Copies reference these objects instead of duplicating them, so any number of copies (for example the
+   * workers of the odds calculator) share a single instance.
+   * <p>
+   * Only objects that hold nothing but immutable values can be shared. Static game components like unit types,
+   * production rules or the territory connections point back to their GameData, which would make them act on the
+   * original game, so they are copied with the rest.
+   */
+  static Set<Object> getStaticData(final GameData data) {
+    final Set<Object> staticData = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (final GameStep step : data.getSequence()) {
+      staticData.add(step.getProperties());
+    }
+    // the attachment options as written in the game xml, only used to export the game
+    for (final Tuple<IAttachment, ArrayList<Tuple<String, String>>> attachment : data
+        .getAttachmentOrderAndValues()) {
+      staticData.add(attachment.getSecond());
+    }
+    staticData.remove(null);
+    return staticData;
+  }
+
+  private void copyDelegates(final GameData original, final GameData copy) {
+    for (final IDelegate delegate : original.getDelegateList()) {
+      final IDelegate instance;
+      try {
+        instance = delegate.getClass().newInstance();
+      } catch (final InstantiationException | IllegalAccessException e) {
+        throw new IllegalStateException("Can not create delegate: " + delegate.getClass().getName(), e);
+      }
+      instance.initialize(delegate.getName(), delegate.getDisplayName());
+      copy.getDelegateList().addDelegate(instance);
+      instance.loadState((Serializable) copyObject(delegate.saveState()));
+    }
+  }
+
+  private Object copyObject(final Object original) {
+    if (original == null || isImmutable(original) || sharedStaticData.contains(original)) {
+      return original;
+    }
+    final Object existing = copies.get(original);
+    if (existing != null) {
+      return existing;
+    }
+    final Class<?> type = original.getClass();
+    if (type.isArray()) {
+      return copyArray(original);
+    }
+    if (original instanceof Collection) {
+      final Collection<?> copy = copyCollection((Collection<?>) original);
+      if (copy != null) {
+        return copy;
+      }
+    } else if (type == Properties.class) {
+      final Object copy = copyProperties((Properties) original);
+      if (copy != null) {
+        return copy;
+      }
+    } else if (original instanceof Map) {
+      final Map<?, ?> copy = copyMap((Map<?, ?>) original);
+      if (copy != null) {
+        return copy;
+      }
+    } else if (type == IntegerMap.class) {
+      return copyIntegerMap((IntegerMap<?>) original);
+    } else if (type == ReentrantReadWriteLock.class) {
+      // a deserialized lock is always unlocked
+      final Object copy = new ReentrantReadWriteLock(((ReentrantReadWriteLock) original).isFair());
+      copies.put(original, copy);
+      return copy;
+    }
+    if (!(original instanceof Serializable)) {
+      throw new IllegalStateException(new NotSerializableException(type.getName()));
+    }
+    if (isEngineClass(type)) {
+      final ClassLayout layout = getLayout(type);
+      if (layout.writeReplace != null) {
+        final Object replacement = layout.invoke(layout.writeReplace, original);
+        if (replacement != original) {
+          final Object copy = copyObject(replacement);
+          copies.put(original, copy);
+          return copy;
+        }
+      }
+      if (layout.canCopyFields()) {
+        return copyFields(original, layout);
+      }
+    }
+    return copyBySerialization(original);
+  }
+
+  private static boolean isImmutable(final Object object) {
+    // the empty collections resolve to the same singletons when deserialized
+    return object instanceof Enum || IMMUTABLE_TYPES.contains(object.getClass()) || object == Collections.EMPTY_LIST
+        || object == Collections.EMPTY_SET || object == Collections.EMPTY_MAP;
+  }
+
+  private static boolean isEngineClass(final Class<?> type) {
+    return type.getName().startsWith("games.strategy.");
+  }
+
+  private Object copyArray(final Object original) {
+    final Class<?> componentType = original.getClass().getComponentType();
+    final int length = Array.getLength(original);
+    final Object copy = Array.newInstance(componentType, length);
+    copies.put(original, copy);
+    if (componentType.isPrimitive()) {
+      System.arraycopy(original, 0, copy, 0, length);
+    } else {
+      final Object[] source = (Object[]) original;
+      final Object[] target = (Object[]) copy;
+      for (int i = 0; i < length; i++) {
+        target[i] = copyObject(source[i]);
+      }
+    }
+    return copy;
+  }
+
+  /**
+   * @return the copied collection, or null if this type of collection is not rebuilt directly.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Collection<?> copyCollection(final Collection<?> original) {
+    final Class<?> type = original.getClass();
+    final int size = original.size();
+    final Collection copy;
+    if (type == ArrayList.class) {
+      copy = new ArrayList<>(size);
+    } else if (type == HashSet.class) {
+      copy = new HashSet<>(hashSetCapacity(size));
+    } else if (type == LinkedHashSet.class) {
+      copy = new LinkedHashSet<>(hashSetCapacity(size));
+    } else if (type == LinkedList.class) {
+      copy = new LinkedList<>();
+    } else if (type == Vector.class) {
+      copy = new Vector<>(size);
+    } else if (type == TreeSet.class) {
+      copy = new TreeSet<>((Comparator) copyObject(((TreeSet<?>) original).comparator()));
+    } else if (UNMODIFIABLE_WRAPPERS.containsKey(type)) {
+      return (Collection<?>) copyUnmodifiableWrapper(original);
+    } else {
+      return null;
+    }
+    copies.put(original, copy);
+    for (final Object element : original) {
+      copy.add(copyObject(element));
+    }
+    return copy;
+  }
+
+  /**
+   * @return the copied map, or null if this type of map is not rebuilt directly.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Map<?, ?> copyMap(final Map<?, ?> original) {
+    final Class<?> type = original.getClass();
+    final int size = original.size();
+    final Map copy;
+    if (type == HashMap.class) {
+      copy = size == 0 ? new HashMap<>() : new HashMap<>(hashCapacity(size));
+    } else if (type == LinkedHashMap.class) {
+      copy = size == 0 ? new LinkedHashMap<>() : new LinkedHashMap<>(hashCapacity(size));
+    } else if (type == Hashtable.class) {
+      copy = new Hashtable<>(hashtableCapacity(size));
+    } else if (type == TreeMap.class) {
+      copy = new TreeMap<>((Comparator) copyObject(((TreeMap<?, ?>) original).comparator()));
+    } else if (UNMODIFIABLE_WRAPPERS.containsKey(type)) {
+      return (Map<?, ?>) copyUnmodifiableWrapper(original);
+    } else {
+      return null;
+    }
+    copies.put(original, copy);
+    for (final Map.Entry<?, ?> entry : original.entrySet()) {
+      // same order as the serialized form, the key is complete before its value is copied
+      final Object key = copyObject(entry.getKey());
+      copy.put(key, copyObject(entry.getValue()));
+    }
+    return copy;
+  }
+
+  /**
+   * Rebuilds the map through its api, its serialized form is a HashMap made just for writing.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private IntegerMap<?> copyIntegerMap(final IntegerMap<?> original) {
+    final IntegerMap copy = new IntegerMap<>(original.size());
+    copies.put(original, copy);
+    original.forEach((key, value) -> copy.put(copyObject(key), value));
+    return copy;
+  }
+
+  /**
+   * Copies the collection behind an unmodifiable view, and wraps the copy in a new view.
+   */
+  private Object copyUnmodifiableWrapper(final Object original) {
+    final Object wrapped = copyObject(wrappedObjectProbe.find(original));
+    final Object copy = UNMODIFIABLE_WRAPPERS.get(original.getClass()).apply(wrapped);
+    copies.put(original, copy);
+    return copy;
+  }
+
+  /**
+   * @return the copied properties, or null if they have defaults (which are only reachable through serialization).
+   */
+  private Properties copyProperties(final Properties original) {
+    if (original.stringPropertyNames().size() != original.size()) {
+      return null;
+    }
+    final Properties copy = new Properties();
+    copies.put(original, copy);
+    for (final Map.Entry<?, ?> entry : original.entrySet()) {
+      final Object key = copyObject(entry.getKey());
+      copy.put(key, copyObject(entry.getValue()));
+    }
+    return copy;
+  }
+
+  /**
+   * The capacity HashMap.readObject() picks for the given number of mappings.
+   */
+  private static int hashCapacity(final int size) {
+    return Math.max((int) (size / 0.75f + 1.0f), 16);
+  }
+
+  /**
+   * The capacity Hashtable.readObject() picks for the given number of elements.
+   */
+  private static int hashtableCapacity(final int size) {
+    final int length = (int) ((size + size / 20) / 0.75f) + 3;
+    return (length > size && (length & 1) == 0) ? length - 1 : length;
+  }
+
+  /**
+   * The capacity HashSet.readObject() picks for the given number of elements.
+   */
+  private static int hashSetCapacity(final int size) {
+    return (int) Math.min(size * (1 / 0.75f), 1 << 30);
+  }
+
+  private Object copyFields(final Object original, final ClassLayout layout) {
+    final Object copy = layout.newInstance();
+    copies.put(original, copy);
+    for (final Field field : layout.fields) {
+      try {
+        copyField(field, original, copy);
+      } catch (final IllegalAccessException e) {
+        throw new IllegalStateException("Can not copy field: " + field, e);
+      }
+    }
+    applyReadObjectHooks(copy);
+    if (layout.readResolve != null) {
+      final Object resolved = layout.invoke(layout.readResolve, copy);
+      copies.put(original, resolved);
+      return resolved;
+    }
+    return copy;
+  }
+
+  private void copyField(final Field field, final Object original, final Object copy) throws IllegalAccessException {
+    final Class<?> type = field.getType();
+    if (!type.isPrimitive()) {
+      field.set(copy, copyObject(field.get(original)));
+    } else if (type == int.class) {
+      field.setInt(copy, field.getInt(original));
+    } else if (type == boolean.class) {
+      field.setBoolean(copy, field.getBoolean(original));
+    } else if (type == long.class) {
+      field.setLong(copy, field.getLong(original));
+    } else if (type == double.class) {
+      field.setDouble(copy, field.getDouble(original));
+    } else if (type == float.class) {
+      field.setFloat(copy, field.getFloat(original));
+    } else if (type == short.class) {
+      field.setShort(copy, field.getShort(original));
+    } else if (type == byte.class) {
+      field.setByte(copy, field.getByte(original));
+    } else {
+      field.setChar(copy, field.getChar(original));
+    }
+  }
+
+  /**
+   * The part of the custom readObject methods (see CUSTOM_SERIALIZATION_HANDLED) that runs after the fields are read.
+   */
+  private static void applyReadObjectHooks(final Object copy) {
+    if (copy instanceof GameData) {
+      ((GameData) copy).initTransientState();
+    } else if (copy instanceof GameSequence) {
+      ((GameSequence) copy).initTransientState();
+    } else if (copy instanceof DelegateList) {
+      ((DelegateList) copy).initTransientState();
+    }
+  }
+
+  /**
+   * Copies a single object by serializing it. References to objects the copier can handle itself are written
+   * as placeholders, and replaced with the copies of those objects when read back.
+   */
+  private Object copyBySerialization(final Object original) {
+    if (!copyingBySerialization.add(original)) {
+      throw new IllegalStateException("Cyclic reference back into " + original.getClass().getName());
+    }
+    try {
+      final List<Object> references = new ArrayList<>();
+      final ByteArrayOutputStream sink = new ByteArrayOutputStream(256);
+      try (final ObjectOutputStream out = new ReferenceReplacingOutputStream(sink, references)) {
+        out.writeObject(original);
+      }
+      final Object copy;
+      try (final ObjectInputStream in =
+          new ReferenceResolvingInputStream(new ByteArrayInputStream(sink.toByteArray()), references)) {
+        copy = in.readObject();
+      }
+      copies.put(original, copy);
+      return copy;
+    } catch (final IOException | ClassNotFoundException e) {
+      throw new IllegalStateException("Can not copy " + original.getClass().getName(), e);
+    } finally {
+      copyingBySerialization.remove(original);
+    }
+  }
+
+  private static ClassLayout getLayout(final Class<?> type) {
+    return layouts.computeIfAbsent(type, ClassLayout::new);
+  }
+
+  /**
+   * What is needed to copy an engine class the way serialization would: the serialized fields in stream order
+   * (super classes first), the constructor serialization uses, and the writeReplace / readResolve methods.
+   */
+  private static final class ClassLayout {
+    private final List<Field> fields = new ArrayList<>();
+    private final Method writeReplace;
+    private final Method readResolve;
+    private final Constructor<?> constructor;
+    private boolean copyFieldsSupported = true;
+
+    ClassLayout(final Class<?> type) {
+      writeReplace = findInheritableMethod(type, "writeReplace");
+      readResolve = findInheritableMethod(type, "readResolve");
+      final List<Class<?>> hierarchy = new ArrayList<>();
+      Class<?> current = type;
+      while (current != null && Serializable.class.isAssignableFrom(current)) {
+        hierarchy.add(0, current);
+        current = current.getSuperclass();
+      }
+      if (Externalizable.class.isAssignableFrom(type)) {
+        copyFieldsSupported = false;
+      }
+      for (final Class<?> level : hierarchy) {
+        if (!isEngineClass(level) || (hasCustomSerialization(level)
+            && !CUSTOM_SERIALIZATION_HANDLED.contains(level.getName()))) {
+          copyFieldsSupported = false;
+        } else if (level != DelegateList.class) {
+          // DelegateList does not write its fields, the delegates are handled separately
+          addSerializedFields(level);
+        }
+      }
+      constructor = copyFieldsSupported ? findSerializationConstructor(type, current) : null;
+      if (constructor == null) {
+        copyFieldsSupported = false;
+      }
+    }
+
+    boolean canCopyFields() {
+      return copyFieldsSupported;
+    }
+
+    private void addSerializedFields(final Class<?> level) {
+      final ObjectStreamClass streamClass = ObjectStreamClass.lookup(level);
+      for (final ObjectStreamField streamField : streamClass.getFields()) {
+        try {
+          final Field field = level.getDeclaredField(streamField.getName());
+          field.setAccessible(true);
+          fields.add(field);
+        } catch (final NoSuchFieldException e) {
+          // serialPersistentFields that do not map to a real field
+          copyFieldsSupported = false;
+        }
+      }
+    }
+
+    private static boolean hasCustomSerialization(final Class<?> level) {
+      return hasPrivateMethod(level, "writeObject", ObjectOutputStream.class)
+          || hasPrivateMethod(level, "readObject", ObjectInputStream.class)
+          || hasPrivateMethod(level, "readObjectNoData");
+    }
+
+    private static boolean hasPrivateMethod(final Class<?> level, final String name, final Class<?>... parameters) {
+      try {
+        return Modifier.isPrivate(level.getDeclaredMethod(name, parameters).getModifiers());
+      } catch (final NoSuchMethodException e) {
+        return false;
+      }
+    }
+
+    /**
+     * Looks up writeReplace / readResolve with the same visibility rules ObjectStreamClass uses.
+     */
+    private static Method findInheritableMethod(final Class<?> type, final String name) {
+      Class<?> declaring = type;
+      while (declaring != null) {
+        try {
+          final Method method = declaring.getDeclaredMethod(name);
+          final int modifiers = method.getModifiers();
+          if (method.getReturnType() != Object.class || Modifier.isStatic(modifiers)
+              || Modifier.isAbstract(modifiers)) {
+            return null;
+          }
+          final boolean accessible = Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)
+              || (Modifier.isPrivate(modifiers) ? declaring == type
+                  : declaring.getPackage() == type.getPackage());
+          if (!accessible) {
+            return null;
+          }
+          method.setAccessible(true);
+          return method;
+        } catch (final NoSuchMethodException e) {
+          declaring = declaring.getSuperclass();
+        }
+      }
+      return null;
+    }
+
+    private static Constructor<?> findSerializationConstructor(final Class<?> type,
+        final Class<?> firstNonSerializable) {
+      try {
+        final Constructor<?> constructor =
+            SerializationConstructors.get(type, firstNonSerializable.getDeclaredConstructor());
+        if (constructor != null) {
+          constructor.setAccessible(true);
+        }
+        return constructor;
+      } catch (final ReflectiveOperationException | RuntimeException e) {
+        return null;
+      }
+    }
+
+    Object newInstance() {
+      try {
+        return constructor.newInstance();
+      } catch (final InstantiationException | IllegalAccessException | InvocationTargetException e) {
+        throw new IllegalStateException("Can not create " + constructor.getDeclaringClass().getName(), e);
+      }
+    }
+
+    Object invoke(final Method method, final Object target) {
+      try {
+        return method.invoke(target);
+      } catch (final IllegalAccessException | InvocationTargetException e) {
+        throw new IllegalStateException("Failed to invoke " + method, e);
+      }
+    }
+  }
+
+  /**
+   * The one jdk internal api the copier uses. Deserialization creates objects by only running the no-arg constructor
+   * of the first non serializable super class, which no public api can do; the jdk exposes such a constructor through
+   * sun.reflect.ReflectionFactory. It is looked up reflectively once, so the copier compiles and loads on any jdk.
+   * Where it is missing {@link GameDataCopier#isSupported()} is false, and game data is copied by serialization.
+   */
+  private static final class SerializationConstructors {
+    private static final Object factory;
+    private static final Method newConstructorForSerialization;
+
+    static {
+      Object foundFactory = null;
+      Method foundMethod = null;
+      try {
+        final Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+        foundFactory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+        foundMethod = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+      } catch (final ReflectiveOperationException | RuntimeException e) {
+        s_logger.fine("No serialization constructors, game data is copied by serialization: " + e);
+        foundFactory = null;
+        foundMethod = null;
+      }
+      factory = foundFactory;
+      newConstructorForSerialization = foundMethod;
+    }
+
+    static boolean isAvailable() {
+      return newConstructorForSerialization != null;
+    }
+
+    /**
+     * @return a constructor that creates a type the way deserialization does, null if it is not available
+     */
+    static Constructor<?> get(final Class<?> type, final Constructor<?> superConstructor)
+        throws ReflectiveOperationException {
+      if (!isAvailable()) {
+        return null;
+      }
+      return (Constructor<?>) newConstructorForSerialization.invoke(factory, type, superConstructor);
+    }
+  }
+
+  /**
+   * Finds the collection behind an unmodifiable view. The view serializes that collection as its first field, so we
+   * write the view to a stream that discards its output and capture the first object the stream is asked to write.
+   */
+  private static final class WrappedObjectProbe extends ObjectOutputStream {
+    private boolean topLevel;
+    private Object wrapped;
+
+    WrappedObjectProbe() throws IOException {
+      super(new OutputStream() {
+        @Override
+        public void write(final int b) {}
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {}
+      });
+      enableReplaceObject(true);
+    }
+
+    Object find(final Object view) {
+      topLevel = true;
+      wrapped = null;
+      try {
+        reset();
+        writeObject(view);
+      } catch (final IOException e) {
+        throw new IllegalStateException(e);
+      }
+      return wrapped;
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      // the view itself, or what its writeReplace() made of it (a random access list is written as a plain list)
+      if (topLevel) {
+        topLevel = false;
+        return obj;
+      }
+      if (wrapped == null) {
+        wrapped = obj;
+      }
+      // no need to write the contents
+      return null;
+    }
+  }
+
+  /**
+   * Placeholder written instead of an object the copier copies itself.
+   */
+  private static final class Reference implements Serializable {
+    private static final long serialVersionUID = 2374062318203622871L;
+    private final int index;
+
+    Reference(final int index) {
+      this.index = index;
+    }
+  }
+
+  private static final class ReferenceReplacingOutputStream extends ObjectOutputStream {
+    private final List<Object> references;
+    private boolean rootWritten = false;
+
+    ReferenceReplacingOutputStream(final OutputStream out, final List<Object> references) throws IOException {
+      super(out);
+      this.references = references;
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      if (!rootWritten) {
+        rootWritten = true;
+        return obj;
+      }
+      if (isEngineClass(obj.getClass()) && !isImmutable(obj) || obj instanceof Collection || obj instanceof Map) {
+        references.add(obj);
+        return new Reference(references.size() - 1);
+      }
+      return obj;
+    }
+  }
+
+  private final class ReferenceResolvingInputStream extends ObjectInputStream {
+    private final List<Object> references;
+
+    ReferenceResolvingInputStream(final InputStream in, final List<Object> references) throws IOException {
+      super(in);
+      this.references = references;
+      enableResolveObject(true);
+    }
+
+    @Override
+    protected Object resolveObject(final Object obj) {
+      if (obj instanceof Reference) {
+        return copyObject(references.get(((Reference) obj).index));
+      }
+      return obj;
+    }
+  }
+}
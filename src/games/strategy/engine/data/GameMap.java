@@ -33,6 +33,8 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
   // otherwise, m_gridDimensions.length is the number of dimensions,
   // and each element is the size of a dimension
   private int[] m_gridDimensions = null;
+  // hop distances, built when first needed and dropped when territories or connections change
+  private transient volatile DistanceTable m_distanceTable;
 
   GameMap(final GameData data) {
     super(data);
@@ -93,6 +95,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
 
   protected void reorderTerritoryList() {
     Collections.sort(m_territories, TERRITORY_GRID_ORDERING);
+    connectionsChanged();
   }
 
   private static Comparator<Territory> TERRITORY_GRID_ORDERING = (t1, t2) -> {
@@ -168,6 +171,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     m_territories.add(t1);
     m_connections.put(t1, Collections.emptySet());
     m_territoryLookup.put(t1.getName(), t1);
+    connectionsChanged();
   }
 
   public void removeTerritory(final Territory t1) {
@@ -191,6 +195,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     for (final Entry<Territory, Set<Territory>> entry : tempConnections.entrySet()) {
       m_connections.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
     }
+    connectionsChanged();
   }
 
   /**
@@ -234,6 +239,34 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     final Set<Territory> modified = new HashSet<>(current);
     modified.add(to);
     m_connections.put(from, Collections.unmodifiableSet(modified));
+    connectionsChanged();
+  }
+
+  private void connectionsChanged() {
+    m_distanceTable = null;
+  }
+
+  DistanceTable getDistanceTable() {
+    DistanceTable distanceTable = m_distanceTable;
+    if (distanceTable == null) {
+      distanceTable = new DistanceTable(m_territories, m_connections);
+      m_distanceTable = distanceTable;
+    }
+    return distanceTable;
+  }
+
+  /**
+   * @return the kind of distance table that answers for the condition, or -1 if the condition needs a search.
+   */
+  private static int getDistanceKind(final Match<Territory> cond) {
+    if (cond == null || cond == Matches.TerritoryIsLandOrWater) {
+      return DistanceTable.ANY;
+    } else if (cond == Matches.TerritoryIsLand) {
+      return DistanceTable.LAND;
+    } else if (cond == Matches.TerritoryIsWater) {
+      return DistanceTable.WATER;
+    }
+    return -1;
   }
 
   /**
@@ -301,13 +334,15 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (distance == 0) {
       return Collections.EMPTY_SET;
     }
-    final Set<Territory> start = getNeighbors(territory);
     if (distance == 1) {
-      return start;
+      return getNeighbors(territory);
     }
-    final Set<Territory> neighbors = getNeighbors(start, new HashSet<>(start), --distance);
-    neighbors.remove(territory);
-    return neighbors;
+    final DistanceTable distanceTable = getDistanceTable();
+    final int ordinal = distanceTable.ordinal(territory);
+    if (ordinal < 0) {
+      throw new IllegalArgumentException("No neighbors for:" + territory);
+    }
+    return distanceTable.getNeighbors(ordinal, distance, DistanceTable.ANY);
   }
 
   /**
@@ -325,13 +360,16 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (distance == 0) {
       return Collections.EMPTY_SET;
     }
-    final Set<Territory> start = getNeighbors(territory, cond);
     if (distance == 1) {
-      return start;
+      return getNeighbors(territory, cond);
     }
-    final Set<Territory> neighbors = getNeighbors(start, new HashSet<>(start), --distance, cond);
-    neighbors.remove(territory);
-    return neighbors;
+    final DistanceTable distanceTable = getDistanceTable();
+    final int ordinal = distanceTable.ordinal(territory);
+    final int kind = getDistanceKind(cond);
+    if (ordinal >= 0 && kind >= 0) {
+      return distanceTable.getNeighbors(ordinal, distance, kind);
+    }
+    return distanceTable.getNeighbors(Collections.singleton(territory), distance, cond);
   }
 
   /**
@@ -343,9 +381,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    *         other.
    */
   public Set<Territory> getNeighbors(final Set<Territory> frontier, final int distance, final Match<Territory> cond) {
-    final Set<Territory> rVal = getNeighbors(frontier, new HashSet<>(frontier), distance, cond);
-    rVal.removeAll(frontier);
-    return rVal;
+    return getDistanceTable().getNeighbors(frontier, distance, cond);
   }
 
   /**
@@ -356,40 +392,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    *         other.
    */
   public Set<Territory> getNeighbors(final Set<Territory> frontier, final int distance) {
-    final Set<Territory> rVal = getNeighbors(frontier, new HashSet<>(frontier), distance);
-    rVal.removeAll(frontier);
-    return rVal;
-  }
-
-  private Set<Territory> getNeighbors(final Set<Territory> frontier, final Set<Territory> searched, int distance,
-      final Match<Territory> cond) {
-    if (distance == 0) {
-      return searched;
-    }
-    final Iterator<Territory> iter = frontier.iterator();
-    final Set<Territory> newFrontier = new HashSet<>();
-    while (iter.hasNext()) {
-      final Territory t = iter.next();
-      newFrontier.addAll(getNeighbors(t, cond));
-    }
-    newFrontier.removeAll(searched);
-    searched.addAll(newFrontier);
-    return getNeighbors(newFrontier, searched, --distance, cond);
-  }
-
-  private Set<Territory> getNeighbors(final Set<Territory> frontier, final Set<Territory> searched, int distance) {
-    if (distance == 0) {
-      return searched;
-    }
-    final Iterator<Territory> iter = frontier.iterator();
-    final Set<Territory> newFrontier = new HashSet<>();
-    while (iter.hasNext()) {
-      final Territory t = iter.next();
-      newFrontier.addAll(getNeighbors(t));
-    }
-    newFrontier.removeAll(searched);
-    searched.addAll(newFrontier);
-    return getNeighbors(newFrontier, searched, --distance);
+    return getDistanceTable().getNeighbors(frontier, distance, null);
   }
 
   /**
@@ -442,14 +445,51 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (getNeighbors(t1, cond).contains(t2)) {
       return new Route(t1, t2);
     }
+    final int kind = getDistanceKind(cond);
+    if (kind >= 0) {
+      final DistanceTable distanceTable = getDistanceTable();
+      final int from = distanceTable.ordinal(t1);
+      final int to = distanceTable.ordinal(t2);
+      if (from >= 0 && to >= 0 && distanceTable.getDistance(from, to, kind) < 0) {
+        return null;
+      }
+    }
     final RouteFinder engine = new RouteFinder(this, cond);
     return engine.findRoute(t1, t2);
   }
 
+  /**
+   * @param t1
+   *        start territory of the route
+   * @param t2
+   *        end territory of the route
+   * @param cond
+   *        condition that covered territories of the route must match
+   * @param cost
+   *        cost of each step of the route, steps with a negative cost can not be taken
+   * @return the cheapest route between two territories so that covered territories match the condition
+   *         or null if no route exists
+   */
+  public Route getRoute(final Territory t1, final Territory t2, final Match<Territory> cond,
+      final RouteFinder.MovementCost cost) {
+    if (t1 == t2) {
+      return new Route(t1);
+    }
+    if (getNeighbors(t1, cond).contains(t2) && cost.getCost(t1, t2) >= 0) {
+      return new Route(t1, t2);
+    }
+    return new RouteFinder(this, cond, cost).findRoute(t1, t2);
+  }
+
   public Route getRoute_IgnoreEnd(final Territory t1, final Territory t2, final Match<Territory> match) {
     return getRoute(t1, t2, new CompositeMatchOr<>(Matches.territoryIs(t2), match));
   }
 
+  public Route getRoute_IgnoreEnd(final Territory t1, final Territory t2, final Match<Territory> match,
+      final RouteFinder.MovementCost cost) {
+    return getRoute(t1, t2, new CompositeMatchOr<>(Matches.territoryIs(t2), match), cost);
+  }
+
   /**
    * A composite route between two territories
    * Example set of matches: [Friendly Land, score: 1] [Enemy Land, score: 2] [Neutral Land, score = 4]
@@ -535,9 +575,20 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (t1.equals(t2)) {
       return 0;
     }
-    final Set<Territory> frontier = new HashSet<>();
-    frontier.add(t1);
-    return getDistance(0, new HashSet<>(), frontier, t2, cond);
+    final DistanceTable distanceTable = getDistanceTable();
+    final int from = distanceTable.ordinal(t1);
+    if (from < 0) {
+      throw new IllegalArgumentException("No neighbors for:" + t1);
+    }
+    final int to = distanceTable.ordinal(t2);
+    if (to < 0) {
+      return -1;
+    }
+    final int kind = getDistanceKind(cond);
+    if (kind >= 0) {
+      return distanceTable.getDistance(from, to, kind);
+    }
+    return distanceTable.getDistance(from, to, cond);
   }
 
   /**
@@ -555,39 +606,6 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     return getDistance(t1, t2, new CompositeMatchOr<>(Matches.territoryIs(t2), cond));
   }
 
-  /**
-   * Guaranteed that frontier doesn't contain target.
-   * Territories on the frontier are not target. They represent the extent of paths already searched.
-   * Territories in searched have already been on the frontier.
-   */
-  private int getDistance(final int distance, final Set<Territory> searched, final Set<Territory> frontier,
-      final Territory target, final Match<Territory> cond) {
-    // add the frontier to the searched
-    searched.addAll(frontier);
-    // find the new frontier
-    final Set<Territory> newFrontier = new HashSet<>();
-    final Iterator<Territory> frontierIterator = frontier.iterator();
-    while (frontierIterator.hasNext()) {
-      final Territory onFrontier = frontierIterator.next();
-      final Set<Territory> connections = m_connections.get(onFrontier);
-      final Iterator<Territory> connectionIterator = connections.iterator();
-      while (connectionIterator.hasNext()) {
-        final Territory nextFrontier = connectionIterator.next();
-        if (cond == null || cond.match(nextFrontier)) {
-          newFrontier.add(nextFrontier);
-        }
-      }
-    }
-    if (newFrontier.contains(target)) {
-      return distance + 1;
-    }
-    newFrontier.removeAll(searched);
-    if (newFrontier.isEmpty()) {
-      return -1;
-    }
-    return getDistance(distance + 1, searched, newFrontier, target, cond);
-  }
-
   public IntegerMap<Territory> getDistance(final Territory target, final Collection<Territory> territories,
       final Match<Territory> condition) {
     final IntegerMap<Territory> rVal = new IntegerMap<>();
@@ -3,9 +3,9 @@ package games.strategy.engine.data;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -49,11 +49,11 @@ import games.strategy.triplea.attachments.UnitAttachment;
 import games.strategy.triplea.delegate.GenericTechAdvance;
 import games.strategy.triplea.delegate.TechAdvance;
 import games.strategy.triplea.formatter.MyFormatter;
+import games.strategy.util.PropertyAccessors;
 import games.strategy.util.Tuple;
 import games.strategy.util.Version;
 
 public class GameParser {
-  private static final Class<?>[] SETTER_ARGS = {String.class};
   private GameData data;
   private final Collection<SAXParseException> errorsSAX = new ArrayList<>();
   public static final String DTD_FILE_NAME = "game.dtd";
@@ -1338,26 +1338,17 @@ public class GameParser {
     return returnVal;
   }
 
-  private static String capitalizeFirstLetter(final String aString) {
-    char first = aString.charAt(0);
-    first = Character.toUpperCase(first);
-    return first + aString.substring(1);
-  }
-
   private ArrayList<Tuple<String, String>> setValues(final IAttachment attachment, final List<Element> values)
       throws GameParseException {
     final ArrayList<Tuple<String, String>> options = new ArrayList<>();
     for (final Element current : values) {
       // find the setter
-      String name = null;
-      Method setter = null;
-      try {
-        name = current.getAttribute("name");
-        if (name.length() == 0) {
-          throw new GameParseException(mapName, "Option name with 0 length");
-        }
-        setter = attachment.getClass().getMethod("set" + capitalizeFirstLetter(name), SETTER_ARGS);
-      } catch (final NoSuchMethodException nsme) {
+      final String name = current.getAttribute("name");
+      if (name.length() == 0) {
+        throw new GameParseException(mapName, "Option name with 0 length");
+      }
+      final MethodHandle setter = PropertyAccessors.of(attachment.getClass()).getStringSetter(name);
+      if (setter == null) {
         throw new GameParseException(mapName, "The following option name of " + attachment.getName() + " of class "
             + attachment.getClass().getName().substring(attachment.getClass().getName().lastIndexOf('.') + 1)
             + " are either misspelled or exist only in a future version of TripleA. Setter: " + name);
@@ -1373,15 +1364,10 @@ public class GameParser {
       }
       // invoke
       try {
-        final Object[] args = {itemValues};
-        setter.invoke(attachment, args);
-      } catch (final IllegalAccessException iae) {
-        throw new GameParseException(mapName,
-            "Setter not public. Setter:" + name + " Class:" + attachment.getClass().getName());
-      } catch (final InvocationTargetException ite) {
-        ite.getCause().printStackTrace(System.out);
-        throw new GameParseException(mapName,
-            "Error setting property:" + name + " cause:" + ite.getCause().getMessage());
+        setter.invokeExact((Object) attachment, (Object) itemValues);
+      } catch (final Throwable e) {
+        e.printStackTrace(System.out);
+        throw new GameParseException(mapName, "Error setting property:" + name + " cause:" + e.getMessage());
       }
       options.add(Tuple.of(name, itemValues));
     }
@@ -94,6 +94,16 @@ public class GameSequence extends GameDataComponent implements Iterable<GameStep
     m_currentIndex = newIndex;
   }
 
+  /**
+   * Moves to the round, as returned by getRound(), and the step index, as returned by getStepIndex().
+   */
+  public void setRoundAndStepIndex(final int round, final int stepIndex) {
+    synchronized (m_currentStepMutex) {
+      setStepIndex(stepIndex);
+      m_round = round - m_roundOffset;
+    }
+  }
+
   /**
    * @return boolean wether the round has changed
    */
@@ -152,6 +162,10 @@ public class GameSequence extends GameDataComponent implements Iterable<GameStep
   /** make sure transient lock object is initialized on deserialization. */
   private void readObject(final java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
     in.defaultReadObject();
+    initTransientState();
+  }
+
+  void initTransientState() {
     if (m_currentStepMutex == null) {
       m_currentStepMutex = new Object();
     }
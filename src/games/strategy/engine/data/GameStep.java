@@ -98,6 +98,10 @@ public class GameStep extends GameDataComponent {
     m_runCount++;
   }
 
+  public void setRunCount(final int runCount) {
+    m_runCount = runCount;
+  }
+
   public void setMaxRunCount(final int count) {
     m_maxRunCount = count;
   }
@@ -26,10 +26,18 @@ public class NamedAttachable extends DefaultNamed implements Attachable {
   @Override
   public void addAttachment(final String key, final IAttachment value) {
     m_attachments.put(key, value);
+    attachmentChanged(key);
   }
 
   @Override
   public void removeAttachment(final String keyString) {
     m_attachments.remove(keyString);
+    attachmentChanged(keyString);
+  }
+
+  private void attachmentChanged(final String key) {
+    if (getData() != null) {
+      getData().attachmentChanged(this, key);
+    }
   }
 }
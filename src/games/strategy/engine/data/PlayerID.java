@@ -69,7 +69,11 @@ public class PlayerID extends NamedAttachable implements NamedUnitHolder {
   }
 
   @Override
-  public void notifyChanged() {}
+  public void notifyChanged() {
+    if (getData() != null) {
+      getData().playerChanged(this);
+    }
+  }
 
   public boolean isNull() {
     return false;
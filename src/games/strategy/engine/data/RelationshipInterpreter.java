@@ -26,7 +26,7 @@ public class RelationshipInterpreter extends GameDataComponent {
 
   public boolean isAlliedWithAnyOfThesePlayers(final PlayerID p1, final Collection<PlayerID> p2s) {
     for (final PlayerID p2 : p2s) {
-      if (Matches.RelationshipTypeIsAllied.match((getRelationshipType(p1, p2)))) {
+      if (isAllied(p1, p2)) {
         return true;
       }
     }
@@ -36,7 +36,7 @@ public class RelationshipInterpreter extends GameDataComponent {
   public Set<PlayerID> getAllies(final PlayerID p1, final boolean includeSelf) {
     final Set<PlayerID> allies = new HashSet<>();
     for (final PlayerID player : getData().getPlayerList().getPlayers()) {
-      if (Matches.RelationshipTypeIsAllied.match(getRelationshipType(p1, player))) {
+      if (isAllied(p1, player)) {
         allies.add(player);
       }
     }
@@ -63,7 +63,7 @@ public class RelationshipInterpreter extends GameDataComponent {
 
   public boolean isAtWarWithAnyOfThesePlayers(final PlayerID p1, final Collection<PlayerID> p2s) {
     for (final PlayerID p2 : p2s) {
-      if (Matches.RelationshipTypeIsAtWar.match((getRelationshipType(p1, p2)))) {
+      if (isAtWar(p1, p2)) {
         return true;
       }
     }
@@ -73,7 +73,7 @@ public class RelationshipInterpreter extends GameDataComponent {
   public Set<PlayerID> getEnemies(final PlayerID p1) {
     final Set<PlayerID> enemies = new HashSet<>();
     for (final PlayerID player : getData().getPlayerList().getPlayers()) {
-      if (Matches.RelationshipTypeIsAtWar.match(getRelationshipType(p1, player))) {
+      if (isAtWar(p1, player)) {
         enemies.add(player);
       }
     }
@@ -1,15 +1,22 @@
 package games.strategy.engine.data;
 
 import java.io.Serializable;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
+import games.strategy.triplea.Constants;
 import games.strategy.triplea.attachments.RelationshipTypeAttachment;
 
 public class RelationshipTracker extends RelationshipInterpreter {
   private static final long serialVersionUID = -4740671761925519069L;
   // map of "playername:playername" to RelationshipType that exists between those 2 players
   private final HashMap<RelatedPlayers, Relationship> m_relationships = new HashMap<>();
+  // dense copy of the war and alliance flags of m_relationships, null until needed or after it became stale. While
+  // the game is set up it is partial, and the relationships it does not know are looked up one by one.
+  private transient volatile RelationshipMatrix m_matrix;
 
   public RelationshipTracker(final GameData data) {
     super(data);
@@ -27,6 +34,7 @@ public class RelationshipTracker extends RelationshipInterpreter {
    */
   public void setRelationship(final PlayerID p1, final PlayerID p2, final RelationshipType r) {
     m_relationships.put(new RelatedPlayers(p1, p2), new Relationship(r));
+    relationshipChanged(p1, p2, r);
   }
 
   /**
@@ -39,6 +47,61 @@ public class RelationshipTracker extends RelationshipInterpreter {
    */
   protected void setRelationship(final PlayerID p1, final PlayerID p2, final RelationshipType r, final int roundValue) {
     m_relationships.put(new RelatedPlayers(p1, p2), new Relationship(r, roundValue));
+    relationshipChanged(p1, p2, r);
+  }
+
+  private void relationshipChanged(final PlayerID p1, final PlayerID p2, final RelationshipType r) {
+    final RelationshipMatrix matrix = m_matrix;
+    if (matrix != null) {
+      m_matrix = matrix.withRelationship(p1, p2, r);
+    }
+  }
+
+  /**
+   * Called when the attachment of a relationship type changes in a way that can change whether it is war or allied,
+   * or when a relationship type gets or loses its attachment.
+   */
+  public void relationshipTypesChanged() {
+    m_matrix = null;
+  }
+
+  @Override
+  public boolean isAtWar(final PlayerID p1, final PlayerID p2) {
+    final RelationshipMatrix matrix = getMatrix();
+    if (matrix != null) {
+      final int i1 = matrix.indexOf(p1);
+      final int i2 = matrix.indexOf(p2);
+      if (i1 >= 0 && i2 >= 0 && matrix.m_known[i1].get(i2)) {
+        return matrix.m_atWar[i1].get(i2);
+      }
+    }
+    return super.isAtWar(p1, p2);
+  }
+
+  @Override
+  public boolean isAllied(final PlayerID p1, final PlayerID p2) {
+    final RelationshipMatrix matrix = getMatrix();
+    if (matrix != null) {
+      final int i1 = matrix.indexOf(p1);
+      final int i2 = matrix.indexOf(p2);
+      if (i1 >= 0 && i2 >= 0 && matrix.m_known[i1].get(i2)) {
+        return matrix.m_allied[i1].get(i2);
+      }
+    }
+    return super.isAllied(p1, p2);
+  }
+
+  /**
+   * @return the matrix of war and alliance flags, which does not know the relationships that are not set up yet
+   *         (during parsing).
+   */
+  private RelationshipMatrix getMatrix() {
+    RelationshipMatrix matrix = m_matrix;
+    if (matrix == null) {
+      matrix = RelationshipMatrix.build(this, getData().getPlayerList().getPlayers());
+      m_matrix = matrix;
+    }
+    return matrix;
   }
 
   /**
@@ -219,4 +282,103 @@ public class RelationshipTracker extends RelationshipInterpreter {
       return roundCreated + ":" + relationshipType;
     }
   }
+
+  /**
+   * The war and alliance flags of all the relationships, by player index, with the null player last, and which of
+   * them are known: a relationship that is missing, or whose type has no attachment yet, is not.
+   * Instances are not modified once published, a changed relationship produces a patched copy.
+   */
+  private static final class RelationshipMatrix {
+    private final PlayerID[] m_players;
+    // by name, for player objects that are equal to ours but not the same (for example from another copy of the data)
+    private final Map<String, Integer> m_indexByName = new HashMap<>();
+    private final BitSet[] m_atWar;
+    private final BitSet[] m_allied;
+    private final BitSet[] m_known;
+
+    private RelationshipMatrix(final PlayerID[] players, final BitSet[] atWar, final BitSet[] allied,
+        final BitSet[] known) {
+      m_players = players;
+      m_atWar = atWar;
+      m_allied = allied;
+      m_known = known;
+      for (int i = 0; i < players.length; i++) {
+        m_indexByName.put(players[i].getName(), i);
+      }
+    }
+
+    static RelationshipMatrix build(final RelationshipTracker tracker, final List<PlayerID> playerList) {
+      final PlayerID[] players = playerList.toArray(new PlayerID[playerList.size() + 1]);
+      players[playerList.size()] = PlayerID.NULL_PLAYERID;
+      final BitSet[] atWar = new BitSet[players.length];
+      final BitSet[] allied = new BitSet[players.length];
+      final BitSet[] known = new BitSet[players.length];
+      for (int i = 0; i < players.length; i++) {
+        atWar[i] = new BitSet(players.length);
+        allied[i] = new BitSet(players.length);
+        known[i] = new BitSet(players.length);
+      }
+      final RelationshipMatrix matrix = new RelationshipMatrix(players, atWar, allied, known);
+      for (int i = 0; i < players.length; i++) {
+        for (int j = i; j < players.length; j++) {
+          final Relationship relationship =
+              tracker.m_relationships.get(tracker.new RelatedPlayers(players[i], players[j]));
+          if (relationship != null) {
+            matrix.set(i, j, relationship.getRelationshipType());
+          }
+        }
+      }
+      return matrix;
+    }
+
+    int indexOf(final PlayerID player) {
+      // there are few players, looking for the same object is cheaper than hashing
+      for (int i = 0; i < m_players.length; i++) {
+        if (m_players[i] == player) {
+          return i;
+        }
+      }
+      final Integer index = player == null ? null : m_indexByName.get(player.getName());
+      return index == null ? -1 : index;
+    }
+
+    /**
+     * Sets the flags of a relationship, which is not known if the type has no attachment yet.
+     */
+    private void set(final int i, final int j, final RelationshipType type) {
+      final RelationshipTypeAttachment attachment =
+          (RelationshipTypeAttachment) type.getAttachment(Constants.RELATIONSHIPTYPE_ATTACHMENT_NAME);
+      m_known[i].set(j, attachment != null);
+      m_known[j].set(i, attachment != null);
+      if (attachment == null) {
+        return;
+      }
+      m_atWar[i].set(j, attachment.isWar());
+      m_atWar[j].set(i, attachment.isWar());
+      m_allied[i].set(j, attachment.isAllied());
+      m_allied[j].set(i, attachment.isAllied());
+    }
+
+    /**
+     * @return a copy with the given relationship changed, or null if the matrix should be built again.
+     */
+    RelationshipMatrix withRelationship(final PlayerID p1, final PlayerID p2, final RelationshipType type) {
+      final int i = indexOf(p1);
+      final int j = indexOf(p2);
+      if (i < 0 || j < 0) {
+        return null;
+      }
+      final BitSet[] atWar = new BitSet[m_players.length];
+      final BitSet[] allied = new BitSet[m_players.length];
+      final BitSet[] known = new BitSet[m_players.length];
+      for (int k = 0; k < m_players.length; k++) {
+        atWar[k] = (BitSet) m_atWar[k].clone();
+        allied[k] = (BitSet) m_allied[k].clone();
+        known[k] = (BitSet) m_known[k].clone();
+      }
+      final RelationshipMatrix matrix = new RelationshipMatrix(m_players, atWar, allied, known);
+      matrix.set(i, j, type);
+      return matrix;
+    }
+  }
 }
@@ -1,71 +1,245 @@
 package games.strategy.engine.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import games.strategy.util.Match;
 
-// TODO this class doesn't take movementcost into account... typically the shortest route is the fastest route, but not
-// always...
+/**
+ * Finds the cheapest route between two territories with an A* search.
+ * <p>
+ * Every territory entered must match the condition, and every step costs what the MovementCost says, one by default.
+ * The search is guided by the number of steps left to the end, taken from the distance table of the map. Since no step
+ * costs less than one this never overestimates, so the route found is always a cheapest one.
+ * <p>
+ * Search state is kept in arrays that are reused by the searches of each thread.
+ */
 public class RouteFinder {
+  /**
+   * The cost of a single step of a route.
+   */
+  public interface MovementCost {
+    /**
+     * @return the cost of moving from one territory to its neighbor, at least 1, or a negative number if the step is
+     *         not allowed.
+     */
+    int getCost(Territory from, Territory to);
+  }
+
+  private static final MovementCost ONE_PER_STEP = (from, to) -> 1;
+  private static final ThreadLocal<Search> s_search = ThreadLocal.withInitial(Search::new);
+
   private final GameMap m_map;
   private final Match<Territory> m_condition;
-  private final Map<Territory, Territory> m_previous;
+  private final MovementCost m_cost;
 
   public RouteFinder(final GameMap map, final Match<Territory> condition) {
+    this(map, condition, ONE_PER_STEP);
+  }
+
+  public RouteFinder(final GameMap map, final Match<Territory> condition, final MovementCost cost) {
     m_map = map;
     m_condition = condition;
-    m_previous = new HashMap<>();
+    m_cost = cost;
   }
 
+  /**
+   * @return the cheapest route from start to end, or null if there is none.
+   */
   public Route findRoute(final Territory start, final Territory end) {
-    final Set<Territory> startSet = m_map.getNeighbors(start, m_condition);
-    for (final Territory t : startSet) {
-      m_previous.put(t, start);
+    final DistanceTable distanceTable = m_map.getDistanceTable();
+    final int from = distanceTable.ordinal(start);
+    final int to = distanceTable.ordinal(end);
+    if (from < 0 || to < 0) {
+      return null;
     }
-    if (calculate(startSet, end)) {
-      return getRoute(start, end);
+    if (from == to) {
+      return new Route(start);
+    }
+    final short[] stepsToEnd = distanceTable.getDistancesTo(to);
+    if (stepsToEnd[from] < 0) {
+      return null;
+    }
+    Search search = s_search.get();
+    if (search.m_inUse) {
+      // a condition or cost of the running search asked for another route
+      search = new Search();
+    }
+    try {
+      search.start(distanceTable.size());
+      return findRoute(distanceTable, search, from, to, stepsToEnd);
+    } finally {
+      search.m_inUse = false;
     }
-    return null;
   }
 
-  private boolean calculate(final Set<Territory> startSet, final Territory end) {
-    final Set<Territory> nextSet = new HashSet<>();
-    for (final Territory t : startSet) {
-      final Set<Territory> neighbors = m_map.getNeighbors(t, m_condition);
-      for (final Territory neighbor : neighbors) {
-        if (!m_previous.containsKey(neighbor)) {
-          m_previous.put(neighbor, t);
-          if (neighbor.equals(end)) {
-            return true;
-          }
-          nextSet.add(neighbor);
+  private Route findRoute(final DistanceTable distanceTable, final Search search, final int from, final int to,
+      final short[] stepsToEnd) {
+    search.reach(from, 0, -1, stepsToEnd[from]);
+    while (search.m_heapSize > 0) {
+      final int current = search.pop();
+      if (current < 0) {
+        continue;
+      }
+      if (current == to) {
+        return getRoute(distanceTable, search, to);
+      }
+      final Territory currentTerritory = distanceTable.territory(current);
+      for (final int neighbor : distanceTable.neighbors(current)) {
+        if (stepsToEnd[neighbor] < 0 || search.isClosed(neighbor)) {
+          continue;
+        }
+        final Territory neighborTerritory = distanceTable.territory(neighbor);
+        if (!search.matches(neighbor, neighborTerritory, m_condition)) {
+          continue;
+        }
+        final int cost = m_cost.getCost(currentTerritory, neighborTerritory);
+        if (cost < 0) {
+          continue;
+        }
+        final int reachCost = search.m_cost[current] + Math.max(cost, 1);
+        if (!search.isReached(neighbor) || reachCost < search.m_cost[neighbor]) {
+          search.reach(neighbor, reachCost, current, stepsToEnd[neighbor]);
         }
       }
     }
-    if (nextSet.isEmpty()) {
-      return false;
-    }
-    return calculate(nextSet, end);
+    return null;
   }
 
-  private Route getRoute(final Territory start, final Territory destination) {
+  private static Route getRoute(final DistanceTable distanceTable, final Search search, final int to) {
     final List<Territory> route = new ArrayList<>();
-    Territory current = destination;
-    while (current != start) {
-      if (current == null) {
-        return null;
-      }
-      route.add(current);
-      current = m_previous.get(current);
+    for (int current = to; current >= 0; current = search.m_previous[current]) {
+      route.add(distanceTable.territory(current));
     }
-    route.add(start);
     Collections.reverse(route);
     return new Route(route);
   }
+
+  /**
+   * A* search state. Arrays are indexed by territory position and grow to the largest map searched. A territory's
+   * entry is only valid if its mark is the current search number, so nothing has to be cleared between searches.
+   * The open list is a binary heap of longs holding the estimated total cost, the reach cost (so that of two equal
+   * estimates the one further along is taken first) and the territory position.
+   */
+  private static final class Search {
+    private static final int BITS = 20;
+    private static final long MASK = (1L << BITS) - 1;
+
+    private int[] m_cost = new int[0];
+    private int[] m_previous = new int[0];
+    private int[] m_reachedMark = new int[0];
+    private int[] m_closedMark = new int[0];
+    private int[] m_matchedMark = new int[0];
+    private boolean[] m_matches = new boolean[0];
+    private long[] m_heap = new long[16];
+    private int m_heapSize;
+    private int m_searchNumber;
+    private boolean m_inUse;
+
+    void start(final int size) {
+      m_inUse = true;
+      if (m_cost.length < size) {
+        m_cost = new int[size];
+        m_previous = new int[size];
+        m_reachedMark = new int[size];
+        m_closedMark = new int[size];
+        m_matchedMark = new int[size];
+        m_matches = new boolean[size];
+        m_searchNumber = 0;
+      }
+      if (++m_searchNumber == 0) {
+        // wrapped around, forget the marks of older searches
+        Arrays.fill(m_reachedMark, 0);
+        Arrays.fill(m_closedMark, 0);
+        Arrays.fill(m_matchedMark, 0);
+        m_searchNumber = 1;
+      }
+      m_heapSize = 0;
+    }
+
+    boolean isReached(final int ordinal) {
+      return m_reachedMark[ordinal] == m_searchNumber;
+    }
+
+    boolean isClosed(final int ordinal) {
+      return m_closedMark[ordinal] == m_searchNumber;
+    }
+
+    /**
+     * The condition is checked at most once per territory and search.
+     */
+    boolean matches(final int ordinal, final Territory territory, final Match<Territory> condition) {
+      if (m_matchedMark[ordinal] != m_searchNumber) {
+        m_matchedMark[ordinal] = m_searchNumber;
+        m_matches[ordinal] = condition == null || condition.match(territory);
+      }
+      return m_matches[ordinal];
+    }
+
+    void reach(final int ordinal, final int cost, final int previous, final int stepsLeft) {
+      m_reachedMark[ordinal] = m_searchNumber;
+      m_cost[ordinal] = cost;
+      m_previous[ordinal] = previous;
+      final long estimate = cost + stepsLeft;
+      push((estimate << (2 * BITS)) | ((MASK - Math.min(cost, MASK)) << BITS) | ordinal);
+    }
+
+    /**
+     * @return the territory with the lowest estimate, or -1 if the entry was outdated.
+     */
+    int pop() {
+      final long entry = m_heap[0];
+      m_heap[0] = m_heap[--m_heapSize];
+      siftDown();
+      final int ordinal = (int) (entry & MASK);
+      final long cost = MASK - ((entry >>> BITS) & MASK);
+      // the territory was reached again more cheaply after this entry was added, or is already done
+      if (isClosed(ordinal) || cost != Math.min(m_cost[ordinal], MASK)) {
+        return -1;
+      }
+      m_closedMark[ordinal] = m_searchNumber;
+      return ordinal;
+    }
+
+    private void push(final long entry) {
+      if (m_heapSize == m_heap.length) {
+        m_heap = Arrays.copyOf(m_heap, m_heap.length * 2);
+      }
+      int index = m_heapSize++;
+      while (index > 0) {
+        final int parent = (index - 1) / 2;
+        if (m_heap[parent] <= entry) {
+          break;
+        }
+        m_heap[index] = m_heap[parent];
+        index = parent;
+      }
+      m_heap[index] = entry;
+    }
+
+    private void siftDown() {
+      if (m_heapSize == 0) {
+        return;
+      }
+      final long entry = m_heap[0];
+      int index = 0;
+      while (true) {
+        int child = 2 * index + 1;
+        if (child >= m_heapSize) {
+          break;
+        }
+        if (child + 1 < m_heapSize && m_heap[child + 1] < m_heap[child]) {
+          child++;
+        }
+        if (m_heap[child] >= entry) {
+          break;
+        }
+        m_heap[index] = m_heap[child];
+        index = child;
+      }
+      m_heap[index] = entry;
+    }
+  }
 }
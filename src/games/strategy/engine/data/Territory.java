@@ -43,8 +43,9 @@ public class Territory extends NamedAttachable implements NamedUnitHolder, Compa
     if (newOwner == null) {
       newOwner = PlayerID.NULL_PLAYERID;
     }
+    final PlayerID oldOwner = m_owner;
     m_owner = newOwner;
-    getData().notifyTerritoryOwnerChanged(this);
+    getData().notifyTerritoryOwnerChanged(this, oldOwner);
   }
 
   /**
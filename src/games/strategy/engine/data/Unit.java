@@ -44,17 +44,19 @@ public class Unit extends GameDataComponent {
   }
 
   /**
-   * @deprecated DO NOT USE THIS METHOD if at all possible. It is very slow.
-   *             This can return null if the unit is not in any territories.
-   *             A unit just created, or held by a player after purchasing may not be in a territory.
-   *             A unit can be in exactly 2 territories, if the unit is in the process of moving from one territory to
-   *             another. This
-   *             method will just
-   *             return the first territory found.
-   *             A unit should never be in more than 2 territories.
+   * This can return null if the unit is not in any territories.
+   * A unit just created, or held by a player after purchasing may not be in a territory.
    */
-  @Deprecated
   protected Territory getTerritoryUnitIsIn() {
+    final NamedUnitHolder holder = getData().getUnitHolderIndex().getHolder(this);
+    return holder instanceof Territory ? (Territory) holder : null;
+  }
+
+  /**
+   * Searches the map for this unit, for error messages about units that may not be fully deserialized yet, and so
+   * can not be looked up in the unit holder index.
+   */
+  private Territory searchTerritoryUnitIsIn() {
     for (final Territory t : this.getData().getMap().getTerritories()) {
       if (t.getUnits().getUnits().contains(this)) {
         return t;
@@ -63,6 +65,13 @@ public class Unit extends GameDataComponent {
     return null;
   }
 
+  /**
+   * @return the unit transporting this unit, or null. Units that can be transported override this.
+   */
+  public Unit getTransportedBy() {
+    return null;
+  }
+
   public int getHits() {
     return m_hits;
   }
@@ -88,6 +97,12 @@ public class Unit extends GameDataComponent {
       player = PlayerID.NULL_PLAYERID;
     }
     m_owner = player;
+    final UnitHolderIndex index = getData() == null ? null : getData().getUnitHolderIndexIfBuilt();
+    final NamedUnitHolder holder = index == null ? null : index.getHolder(this);
+    if (holder != null) {
+      // the holder groups its units by owner
+      holder.getUnits().unitOwnerChanged();
+    }
   }
 
   @Override
@@ -114,7 +129,7 @@ public class Unit extends GameDataComponent {
               + (m_type == null ? "Unit of UNKNOWN TYPE" : m_type.getName()) + " owned by " + (m_owner == null
                   ? "UNKNOWN OWNER" : m_owner.getName())
               + " in territory: " + ((this.getData() != null && this.getData().getMap() != null)
-                  ? getTerritoryUnitIsIn() : "UNKNOWN TERRITORY")
+                  ? searchTerritoryUnitIsIn() : "UNKNOWN TERRITORY")
               + " with id: " + getID();
       UnitDeserializationErrorLazyMessage.printError(text);
       return 0;
@@ -131,7 +146,7 @@ public class Unit extends GameDataComponent {
               + (m_type == null ? "Unit of UNKNOWN TYPE" : m_type.getName()) + " owned by " + (m_owner == null
                   ? "UNKNOWN OWNER" : m_owner.getName())
               + " in territory: " + ((this.getData() != null && this.getData().getMap() != null)
-                  ? getTerritoryUnitIsIn() : "UNKNOWN TERRITORY")
+                  ? searchTerritoryUnitIsIn() : "UNKNOWN TERRITORY")
               + " with id: " + getID();
       UnitDeserializationErrorLazyMessage.printError(text);
       return text;
@@ -3,9 +3,12 @@ package games.strategy.engine.data;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import games.strategy.util.IntegerMap;
@@ -13,11 +16,18 @@ import games.strategy.util.Match;
 
 /**
  * A collection of units.
+ * <p>
+ * Besides the list of units, the collection keeps the units grouped by owner and type, so counts and owner questions
+ * do not need to look at every unit. The grouping is not serialized, it is built on first use and kept up to date as
+ * units are added and removed. When a unit changes owner, the unit tells the collection holding it (found through the
+ * UnitHolderIndex) to rebuild the grouping.
  */
 public class UnitCollection extends GameDataComponent implements Iterable<Unit> {
   private static final long serialVersionUID = -3534037864426122864L;
   private final List<Unit> m_units = new ArrayList<>();
   private final NamedUnitHolder m_holder;
+  // owner -> type -> units, each set in the order of m_units; null until used
+  private transient volatile Map<PlayerID, Map<UnitType, Set<Unit>>> m_unitsByOwnerAndType;
 
   /**
    * Creates new UnitCollection
@@ -34,29 +44,131 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 
   void addUnit(final Unit unit) {
     m_units.add(unit);
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = m_unitsByOwnerAndType;
+    if (unitsByOwnerAndType != null) {
+      addToIndex(unitsByOwnerAndType, unit);
+    }
+    final UnitHolderIndex index = getUnitHolderIndexIfBuilt();
+    if (index != null) {
+      index.unitsAdded(m_holder, Collections.singleton(unit));
+    }
     m_holder.notifyChanged();
   }
 
   void addAllUnits(final UnitCollection collection) {
-    m_units.addAll(collection.m_units);
-    m_holder.notifyChanged();
+    addAllUnits(collection.m_units);
   }
 
   public void addAllUnits(final Collection<Unit> units) {
     m_units.addAll(units);
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = m_unitsByOwnerAndType;
+    if (unitsByOwnerAndType != null) {
+      for (final Unit unit : units) {
+        addToIndex(unitsByOwnerAndType, unit);
+      }
+    }
+    final UnitHolderIndex index = getUnitHolderIndexIfBuilt();
+    if (index != null) {
+      index.unitsAdded(m_holder, units);
+    }
     m_holder.notifyChanged();
   }
 
   public void removeAllUnits(final Collection<Unit> units) {
     m_units.removeAll(units);
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = m_unitsByOwnerAndType;
+    if (unitsByOwnerAndType != null) {
+      for (final Unit unit : units) {
+        removeFromIndex(unitsByOwnerAndType, unit);
+      }
+    }
+    final UnitHolderIndex index = getUnitHolderIndexIfBuilt();
+    if (index != null) {
+      index.unitsRemoved(m_holder, units);
+    }
     m_holder.notifyChanged();
   }
 
+  /**
+   * Called when a unit in this collection changed owner.
+   */
+  void unitOwnerChanged() {
+    m_unitsByOwnerAndType = null;
+  }
+
+  /**
+   * @return the units grouped by owner and type, or null if the grouping can not be kept up to date (for collections
+   *         that are not part of a full game).
+   */
+  private Map<PlayerID, Map<UnitType, Set<Unit>>> getUnitsByOwnerAndType() {
+    Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = m_unitsByOwnerAndType;
+    if (unitsByOwnerAndType == null) {
+      if (getData() == null) {
+        return null;
+      }
+      // owner changes reach us through the unit holder index, so it must be built before the grouping is
+      getData().getUnitHolderIndex();
+      unitsByOwnerAndType = new HashMap<>();
+      for (final Unit unit : m_units) {
+        addToIndex(unitsByOwnerAndType, unit);
+      }
+      m_unitsByOwnerAndType = unitsByOwnerAndType;
+    }
+    return unitsByOwnerAndType;
+  }
+
+  private static void addToIndex(final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType,
+      final Unit unit) {
+    unitsByOwnerAndType.computeIfAbsent(unit.getOwner(), owner -> new HashMap<>())
+        .computeIfAbsent(unit.getType(), type -> new LinkedHashSet<>()).add(unit);
+  }
+
+  private static void removeFromIndex(final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType,
+      final Unit unit) {
+    final Map<UnitType, Set<Unit>> unitsByType = unitsByOwnerAndType.get(unit.getOwner());
+    if (unitsByType == null) {
+      return;
+    }
+    final Set<Unit> units = unitsByType.get(unit.getType());
+    if (units != null && units.remove(unit) && units.isEmpty()) {
+      unitsByType.remove(unit.getType());
+      if (unitsByType.isEmpty()) {
+        unitsByOwnerAndType.remove(unit.getOwner());
+      }
+    }
+  }
+
+  private UnitHolderIndex getUnitHolderIndexIfBuilt() {
+    return getData() == null ? null : getData().getUnitHolderIndexIfBuilt();
+  }
+
+  /**
+   * @return whether the given unit is in this collection. Unlike getUnits().contains(), this does not copy or search
+   *         the units.
+   */
+  public boolean contains(final Unit unit) {
+    if (getData() == null) {
+      return m_units.contains(unit);
+    }
+    return getData().getUnitHolderIndex().getHolder(unit) == m_holder;
+  }
+
   public int getUnitCount() {
     return m_units.size();
   }
 
   public int getUnitCount(final UnitType type) {
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = getUnitsByOwnerAndType();
+    if (unitsByOwnerAndType != null) {
+      int count = 0;
+      for (final Map<UnitType, Set<Unit>> unitsByType : unitsByOwnerAndType.values()) {
+        final Set<Unit> units = unitsByType.get(type);
+        if (units != null) {
+          count += units.size();
+        }
+      }
+      return count;
+    }
     int count = 0;
     final Iterator<Unit> iterator = m_units.iterator();
     while (iterator.hasNext()) {
@@ -68,6 +180,10 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
   }
 
   public int getUnitCount(final UnitType type, final PlayerID owner) {
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = getUnitsByOwnerAndType();
+    if (unitsByOwnerAndType != null) {
+      return getUnits(owner, type).size();
+    }
     int count = 0;
     final Iterator<Unit> iterator = m_units.iterator();
     while (iterator.hasNext()) {
@@ -80,6 +196,14 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
   }
 
   public int getUnitCount(final PlayerID owner) {
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = getUnitsByOwnerAndType();
+    if (unitsByOwnerAndType != null) {
+      int count = 0;
+      for (final Set<Unit> units : unitsByOwnerAndType.getOrDefault(owner, Collections.emptyMap()).values()) {
+        count += units.size();
+      }
+      return count;
+    }
     int count = 0;
     final Iterator<Unit> iterator = m_units.iterator();
     while (iterator.hasNext()) {
@@ -145,6 +269,14 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
    */
   public IntegerMap<UnitType> getUnitsByType(final PlayerID id) {
     final IntegerMap<UnitType> count = new IntegerMap<>();
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = getUnitsByOwnerAndType();
+    if (unitsByOwnerAndType != null) {
+      for (final Map.Entry<UnitType, Set<Unit>> entry : unitsByOwnerAndType.getOrDefault(id, Collections.emptyMap())
+          .entrySet()) {
+        count.put(entry.getKey(), entry.getValue().size());
+      }
+      return count;
+    }
     for (final Unit unit : m_units) {
       if (unit.getOwner().equals(id)) {
         count.add(unit.getType(), 1);
@@ -178,10 +310,39 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
     return new ArrayList<>(m_units);
   }
 
+  /**
+   * @return a read-only view of the units, which reflects later changes to this collection. Use getUnits() for a copy
+   *         that can be modified, or that must not change while the game goes on.
+   */
+  public List<Unit> getUnmodifiableUnits() {
+    return Collections.unmodifiableList(m_units);
+  }
+
+  /**
+   * @return a read-only view of the units of the given owner and type, in the order of this collection.
+   */
+  public Collection<Unit> getUnits(final PlayerID owner, final UnitType type) {
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = getUnitsByOwnerAndType();
+    if (unitsByOwnerAndType == null) {
+      return Collections.unmodifiableList(getMatches(new Match<Unit>() {
+        @Override
+        public boolean match(final Unit unit) {
+          return unit.getType().equals(type) && unit.getOwner().equals(owner);
+        }
+      }));
+    }
+    final Set<Unit> units = unitsByOwnerAndType.getOrDefault(owner, Collections.emptyMap()).get(type);
+    return units == null ? Collections.emptySet() : Collections.unmodifiableSet(units);
+  }
+
   /**
    * @return a Set of all players who have units in this collection.
    */
   public Set<PlayerID> getPlayersWithUnits() {
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = getUnitsByOwnerAndType();
+    if (unitsByOwnerAndType != null) {
+      return new HashSet<>(unitsByOwnerAndType.keySet());
+    }
     // note nulls are handled by PlayerID.NULL_PLAYERID
     final Set<PlayerID> ids = new HashSet<>();
     for (final Unit unit : m_units) {
@@ -195,6 +356,13 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
    */
   public IntegerMap<PlayerID> getPlayerUnitCounts() {
     final IntegerMap<PlayerID> count = new IntegerMap<>();
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = getUnitsByOwnerAndType();
+    if (unitsByOwnerAndType != null) {
+      for (final PlayerID owner : unitsByOwnerAndType.keySet()) {
+        count.put(owner, getUnitCount(owner));
+      }
+      return count;
+    }
     for (final Unit unit : m_units) {
       count.add(unit.getOwner(), 1);
     }
@@ -202,9 +370,34 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
   }
 
   public boolean hasUnitsFromMultiplePlayers() {
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = getUnitsByOwnerAndType();
+    if (unitsByOwnerAndType != null) {
+      return unitsByOwnerAndType.size() > 1;
+    }
     return getPlayersWithUnits().size() > 1;
   }
 
+  /**
+   * @return whether any player that has units in this collection matches, without looking at every unit.
+   */
+  public boolean someOwnerMatches(final Match<PlayerID> matcher) {
+    final Map<PlayerID, Map<UnitType, Set<Unit>>> unitsByOwnerAndType = getUnitsByOwnerAndType();
+    if (unitsByOwnerAndType == null) {
+      return someMatch(new Match<Unit>() {
+        @Override
+        public boolean match(final Unit unit) {
+          return matcher.match(unit.getOwner());
+        }
+      });
+    }
+    for (final PlayerID owner : unitsByOwnerAndType.keySet()) {
+      if (matcher.match(owner)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public NamedUnitHolder getHolder() {
     return m_holder;
   }
@@ -0,0 +1,100 @@
+package games.strategy.engine.data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse indexes over the units of a game, so finding where a unit is, or what a transport carries, does not need a
+ * search of the whole map.
+ * <ul>
+ * <li>unit -> the holder (territory or player) whose UnitCollection contains it, kept up to date by UnitCollection</li>
+ * <li>transport -> the units whose transportedBy is that transport, kept up to date by the transportedBy setter</li>
+ * </ul>
+ * The index is not serialized, GameData rebuilds it after the game is loaded or copied.
+ * A unit that is not in any holder (for example a unit that was killed) has no holder, but it may still be listed as
+ * cargo of its last transport, so users of the cargo index check that the cargo is where the transport is.
+ * The entry of a transport is dropped once it carries nothing, or once a change leaves it in no holder, so that the
+ * index does not grow with every transport that ever carried something.
+ */
+public final class UnitHolderIndex {
+  private final Map<Unit, NamedUnitHolder> m_holders = new ConcurrentHashMap<>();
+  private final Map<Unit, Set<Unit>> m_cargo = new ConcurrentHashMap<>();
+  // transports that were removed from their holder, a move adds them to the next one later in the same change
+  private final Set<Unit> m_removedTransports = ConcurrentHashMap.newKeySet();
+
+  UnitHolderIndex(final GameData data) {
+    for (final Territory territory : data.getMap().getTerritories()) {
+      unitsAdded(territory, territory.getUnits());
+    }
+    for (final PlayerID player : data.getPlayerList().getPlayers()) {
+      unitsAdded(player, player.getUnits());
+    }
+    for (final Unit unit : m_holders.keySet()) {
+      transportChanged(unit, null, unit.getTransportedBy());
+    }
+  }
+
+  void unitsAdded(final NamedUnitHolder holder, final Iterable<Unit> units) {
+    for (final Unit unit : units) {
+      m_holders.put(unit, holder);
+    }
+  }
+
+  void unitsRemoved(final NamedUnitHolder holder, final Collection<Unit> units) {
+    for (final Unit unit : units) {
+      // a unit moving between holders may already have been added to its new holder
+      m_holders.remove(unit, holder);
+      if (m_cargo.containsKey(unit) && !m_holders.containsKey(unit)) {
+        m_removedTransports.add(unit);
+      }
+    }
+  }
+
+  /**
+   * Drops the entries of the transports that the change just performed left in no holder.
+   */
+  void changePerformed() {
+    if (m_removedTransports.isEmpty()) {
+      return;
+    }
+    for (final Unit transport : m_removedTransports) {
+      if (!m_holders.containsKey(transport)) {
+        m_cargo.remove(transport);
+      }
+    }
+    m_removedTransports.clear();
+  }
+
+  /**
+   * Records that the given unit is no longer carried by oldTransport, but by newTransport. Either may be null.
+   */
+  public void transportChanged(final Unit unit, final Unit oldTransport, final Unit newTransport) {
+    if (oldTransport != null) {
+      m_cargo.computeIfPresent(oldTransport, (transport, cargo) -> {
+        cargo.remove(unit);
+        return cargo.isEmpty() ? null : cargo;
+      });
+    }
+    if (newTransport != null) {
+      m_cargo.computeIfAbsent(newTransport, transport -> ConcurrentHashMap.newKeySet()).add(unit);
+    }
+  }
+
+  /**
+   * @return the holder whose units contain the given unit, or null if the unit is in none.
+   */
+  public NamedUnitHolder getHolder(final Unit unit) {
+    return m_holders.get(unit);
+  }
+
+  /**
+   * @return the units that have the given transport as their transportedBy, wherever they are.
+   */
+  public Set<Unit> getCargo(final Unit transport) {
+    final Set<Unit> cargo = m_cargo.get(transport);
+    return cargo == null ? Collections.emptySet() : Collections.unmodifiableSet(cargo);
+  }
+}
@@ -23,11 +23,21 @@ import games.strategy.util.LocalizeHTML;
  */
 public class UnitType extends NamedAttachable {
   private static final long serialVersionUID = 4885339076798905247L;
+  // one more than the ordinal handed out by the unit type list, 0 until it is asked for
+  private transient int m_ordinal;
 
   public UnitType(final String name, final GameData data) {
     super(name, data);
   }
 
+  int getOrdinal() {
+    return m_ordinal;
+  }
+
+  void setOrdinal(final int ordinal) {
+    m_ordinal = ordinal;
+  }
+
   public List<Unit> create(final int quantity, final PlayerID owner) {
     return create(quantity, owner, false);
   }
@@ -13,6 +13,8 @@ import java.util.Set;
 public class UnitTypeList extends GameDataComponent implements Iterable<UnitType> {
   private static final long serialVersionUID = 9002927658524651749L;
   private final Map<String, UnitType> m_unitTypes = new HashMap<>();
+  // ordinals handed out so far, they are not serialized and handed out again on first use
+  private transient int m_ordinals;
 
   /**
    * Creates new UnitTypeCollection
@@ -49,6 +51,22 @@ public class UnitTypeList extends GameDataComponent implements Iterable<UnitType
     return types;
   }
 
+  /**
+   * Numbers the unit types, in the order they are first asked for. The numbers are dense and start at 0, so they can
+   * index arrays and bit sets, but they are only stable for the life of this game data object.
+   */
+  public int getOrdinal(final UnitType type) {
+    final int ordinal = type.getOrdinal();
+    return ordinal == 0 ? handOutOrdinal(type) : ordinal - 1;
+  }
+
+  private synchronized int handOutOrdinal(final UnitType type) {
+    if (type.getOrdinal() == 0) {
+      type.setOrdinal(++m_ordinals);
+    }
+    return type.getOrdinal() - 1;
+  }
+
   public int size() {
     return m_unitTypes.size();
   }
@@ -33,6 +33,7 @@ class AttachmentPropertyResetUndo extends Change {
   public void perform(final GameData data) {
     final IAttachment attachment = m_attachedTo.getAttachment(m_attachmentName);
     PropertyUtil.set(m_property, m_newValue, attachment, false);
+    data.attachmentChanged(m_attachedTo, m_attachmentName);
   }
 
   @Override
@@ -0,0 +1,224 @@
+package games.strategy.engine.data.changefactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeAttachmentChange;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.Unit;
+
+/**
+ * Rewrites a CompositeChange into a shorter one with the same effect, before it is sent to the clients and stored in
+ * the history:
+ * <ul>
+ * <li>nested composite changes are flattened</li>
+ * <li>property changes on the same object and property, in a run of property changes, become one change from the
+ * first old value to the last new value, or none when that sets the old value back</li>
+ * <li>units added to a holder and later removed from it again are left out of both changes, unless a change in
+ * between refers to them</li>
+ * <li>resource changes for the same player and resource are summed into the first one</li>
+ * </ul>
+ * The compacted change ends in the same game data as the original from any state the original can be performed on,
+ * so its invert() undoes the original exactly.
+ */
+public final class ChangeCompactor {
+  private ChangeCompactor() {}
+
+  /**
+   * @return the compacted change, or the change itself if it is not a CompositeChange.
+   */
+  public static Change compact(final Change change) {
+    if (!(change instanceof CompositeChange)) {
+      return change;
+    }
+    final List<Change> changes = new ArrayList<>();
+    flatten(change, changes);
+    cancelAddedAndRemovedUnits(changes);
+    sumResourceChanges(changes);
+    mergePropertyChanges(changes);
+    final List<Change> compacted = new ArrayList<>(changes.size());
+    for (final Change c : changes) {
+      if (c != null && !c.isEmpty()) {
+        compacted.add(c);
+      }
+    }
+    if (compacted.size() == 1) {
+      return compacted.get(0);
+    }
+    return new CompositeChange(compacted);
+  }
+
+  private static void flatten(final Change change, final List<Change> changes) {
+    if (change instanceof CompositeChange) {
+      for (final Change c : ((CompositeChange) change).getChanges()) {
+        flatten(c, changes);
+      }
+    } else {
+      changes.add(change);
+    }
+  }
+
+  private static void cancelAddedAndRemovedUnits(final List<Change> changes) {
+    for (int i = 0; i < changes.size(); i++) {
+      if (!(changes.get(i) instanceof AddUnits)) {
+        continue;
+      }
+      final AddUnits add = (AddUnits) changes.get(i);
+      // the added units that are still in the holder
+      final Set<Unit> added = new HashSet<>(add.getUnits());
+      final Set<Unit> cancelled = new HashSet<>();
+      for (int j = i + 1; j < changes.size() && !added.isEmpty(); j++) {
+        final Change later = changes.get(j);
+        if (later instanceof RemoveUnits && sameHolder(add, (RemoveUnits) later)) {
+          final RemoveUnits remove = (RemoveUnits) later;
+          final Set<Unit> removed = new HashSet<>(remove.getUnits());
+          removed.retainAll(added);
+          if (!removed.isEmpty()) {
+            added.removeAll(removed);
+            cancelled.addAll(removed);
+            final Collection<Unit> left = without(remove.getUnits(), removed);
+            changes.set(j, left.isEmpty() ? null : new RemoveUnits(remove.getName(), remove.getType(), left));
+          }
+        } else if (mayReferTo(later, added)) {
+          break;
+        }
+      }
+      if (!cancelled.isEmpty()) {
+        final Collection<Unit> left = without(add.getUnits(), cancelled);
+        changes.set(i, left.isEmpty() ? null : new AddUnits(add.getName(), add.getType(), left));
+      }
+    }
+  }
+
+  private static boolean sameHolder(final AddUnits add, final RemoveUnits remove) {
+    return add.getName().equals(remove.getName()) && add.getType().equals(remove.getType());
+  }
+
+  private static Collection<Unit> without(final Collection<Unit> units, final Set<Unit> removed) {
+    final List<Unit> rVal = new ArrayList<>(units.size());
+    for (final Unit unit : units) {
+      if (!removed.contains(unit)) {
+        rVal.add(unit);
+      }
+    }
+    return rVal;
+  }
+
+  /**
+   * Conservative: only the changes known to leave units alone are said not to refer to them.
+   */
+  private static boolean mayReferTo(final Change change, final Set<Unit> units) {
+    if (change == null || change instanceof ChangeResourceChange || change instanceof OwnerChange
+        || change instanceof ChangeAttachmentChange) {
+      return false;
+    } else if (change instanceof AddUnits) {
+      return intersects(((AddUnits) change).getUnits(), units);
+    } else if (change instanceof RemoveUnits) {
+      return intersects(((RemoveUnits) change).getUnits(), units);
+    } else if (change instanceof ObjectPropertyChange) {
+      final Object object = ((ObjectPropertyChange) change).getObject();
+      return object instanceof Unit && units.contains(object);
+    }
+    return true;
+  }
+
+  private static boolean intersects(final Collection<Unit> units, final Set<Unit> set) {
+    for (final Unit unit : units) {
+      if (set.contains(unit)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Nothing but resource changes reads the resources, so the sum can be made where the first change was.
+   */
+  private static void sumResourceChanges(final List<Change> changes) {
+    final Map<List<String>, Integer> first = new HashMap<>();
+    for (int i = 0; i < changes.size(); i++) {
+      if (!(changes.get(i) instanceof ChangeResourceChange)) {
+        continue;
+      }
+      final ChangeResourceChange change = (ChangeResourceChange) changes.get(i);
+      final List<String> key = Arrays.asList(change.getPlayer(), change.getResource());
+      final Integer index = first.get(key);
+      if (index == null) {
+        first.put(key, i);
+      } else {
+        final ChangeResourceChange sum = (ChangeResourceChange) changes.get(index);
+        changes.set(index,
+            new ChangeResourceChange(sum.getPlayer(), sum.getResource(), sum.getQuantity() + change.getQuantity()));
+        changes.set(i, null);
+      }
+    }
+    for (final int index : first.values()) {
+      if (((ChangeResourceChange) changes.get(index)).getQuantity() == 0) {
+        changes.set(index, null);
+      }
+    }
+  }
+
+  /**
+   * Merges within runs of property changes (resource changes, which can not touch the properties, do not end a run),
+   * since a setter may read what other kinds of change have set in between.
+   */
+  private static void mergePropertyChanges(final List<Change> changes) {
+    Map<Object, Map<String, Integer>> first = new IdentityHashMap<>();
+    for (int i = 0; i < changes.size(); i++) {
+      final Change c = changes.get(i);
+      if (c == null || c instanceof ChangeResourceChange) {
+        continue;
+      }
+      if (!(c instanceof ObjectPropertyChange)) {
+        dropNoOps(changes, first);
+        first = new IdentityHashMap<>();
+        continue;
+      }
+      final ObjectPropertyChange change = (ObjectPropertyChange) c;
+      final Map<String, Integer> byProperty = first.computeIfAbsent(change.getObject(), k -> new HashMap<>());
+      final Integer index = byProperty.get(change.getProperty());
+      if (index == null) {
+        byProperty.put(change.getProperty(), i);
+      } else {
+        final ObjectPropertyChange merged = (ObjectPropertyChange) changes.get(index);
+        changes.set(index, new ObjectPropertyChange(merged.getObject(), merged.getProperty(), change.getNewValue(),
+            merged.getOldValue()));
+        changes.set(i, null);
+      }
+    }
+    dropNoOps(changes, first);
+  }
+
+  private static void dropNoOps(final List<Change> changes, final Map<Object, Map<String, Integer>> first) {
+    for (final Map<String, Integer> byProperty : first.values()) {
+      for (final int index : byProperty.values()) {
+        final ObjectPropertyChange change = (ObjectPropertyChange) changes.get(index);
+        if (isSameValue(change.getOldValue(), change.getNewValue())) {
+          changes.set(index, null);
+        }
+      }
+    }
+  }
+
+  /**
+   * Only values that can not be told apart: the same object, or equal immutable values.
+   */
+  private static boolean isSameValue(final Object oldValue, final Object newValue) {
+    if (oldValue == newValue) {
+      return true;
+    }
+    final boolean immutable = oldValue instanceof String || oldValue instanceof Number
+        || oldValue instanceof Boolean || oldValue instanceof Character || oldValue instanceof Enum;
+    return immutable && Objects.equals(oldValue, newValue);
+  }
+}
@@ -21,12 +21,24 @@ class ChangeResourceChange extends Change {
     m_quantity = quantity;
   }
 
-  private ChangeResourceChange(final String player, final String resource, final int quantity) {
+  ChangeResourceChange(final String player, final String resource, final int quantity) {
     m_player = player;
     m_resource = resource;
     m_quantity = quantity;
   }
 
+  String getPlayer() {
+    return m_player;
+  }
+
+  String getResource() {
+    return m_resource;
+  }
+
+  int getQuantity() {
+    return m_quantity;
+  }
+
   @Override
   public Change invert() {
     return new ChangeResourceChange(m_player, m_resource, -m_quantity);
@@ -35,12 +47,14 @@ class ChangeResourceChange extends Change {
   @Override
   protected void perform(final GameData data) {
     final Resource resource = data.getResourceList().getResource(m_resource);
-    final ResourceCollection resources = data.getPlayerList().getPlayerID(m_player).getResources();
+    final PlayerID player = data.getPlayerList().getPlayerID(m_player);
+    final ResourceCollection resources = player.getResources();
     if (m_quantity > 0) {
       resources.addResource(resource, m_quantity);
     } else if (m_quantity < 0) {
       resources.removeResource(resource, -m_quantity);
     }
+    data.playerChanged(player);
   }
 
   @Override
@@ -0,0 +1,150 @@
+package games.strategy.engine.data.changefactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.Unit;
+
+/**
+ * Sums up the changes of a stretch of the history, for example a round, into one change that ends in the same game
+ * data, so that the history can jump over many rounds by performing a change as large as the state the rounds
+ * touched rather than every change they made:
+ * <ul>
+ * <li>the units added to and removed from a holder become at most one RemoveUnits and one AddUnits for it</li>
+ * <li>property changes of a unit become one change per property, from the first old to the last new value</li>
+ * <li>owner changes of a territory become one change from the first old to the last new owner</li>
+ * <li>resource changes are summed per player and resource</li>
+ * <li>all other changes are kept as they are, in their order</li>
+ * </ul>
+ * The summary removes units first, then adds units, then sets the properties, owners and resources and then performs
+ * the kept changes. Unlike ChangeCompactor, which keeps the order of the changes, this relies on the unit property
+ * setters only setting the fields of their unit, and on the kept changes neither reading nor writing the units in the
+ * holders, the unit properties set by property changes, the owners of territories or the resources.
+ * The summaries of consecutive stretches can be summed up again.
+ */
+public final class ChangeSummary {
+  private ChangeSummary() {}
+
+  private static final class Units {
+    private final String m_name;
+    private final String m_type;
+    private final Set<Unit> m_added = new LinkedHashSet<>();
+    private final Set<Unit> m_removed = new LinkedHashSet<>();
+
+    private Units(final String name, final String type) {
+      m_name = name;
+      m_type = type;
+    }
+  }
+
+  /**
+   * @return the summary, or null if the changes add a unit to a holder it is already in or remove one from a holder
+   *         it is not in, as far as they tell, since then they are not performed the way they are summed up
+   */
+  public static Change summarize(final List<Change> changes) {
+    final Map<List<String>, Units> units = new LinkedHashMap<>();
+    final Map<List<Object>, ObjectPropertyChange> properties = new LinkedHashMap<>();
+    final Map<String, OwnerChange> owners = new LinkedHashMap<>();
+    final Map<List<String>, Integer> resources = new LinkedHashMap<>();
+    final List<Change> kept = new ArrayList<>();
+    final List<Change> flattened = new ArrayList<>();
+    for (final Change change : changes) {
+      flatten(change, flattened);
+    }
+    for (final Change change : flattened) {
+      if (change instanceof AddUnits) {
+        final AddUnits add = (AddUnits) change;
+        final Units holder = getUnits(units, add.getName(), add.getType());
+        for (final Unit unit : add.getUnits()) {
+          if (!holder.m_removed.remove(unit) && !holder.m_added.add(unit)) {
+            return null;
+          }
+        }
+      } else if (change instanceof RemoveUnits) {
+        final RemoveUnits remove = (RemoveUnits) change;
+        final Units holder = getUnits(units, remove.getName(), remove.getType());
+        for (final Unit unit : remove.getUnits()) {
+          if (!holder.m_added.remove(unit) && !holder.m_removed.add(unit)) {
+            return null;
+          }
+        }
+      } else if (change instanceof ObjectPropertyChange) {
+        final ObjectPropertyChange property = (ObjectPropertyChange) change;
+        properties.merge(Arrays.asList(property.getObject(), property.getProperty()), property,
+            (first, last) -> new ObjectPropertyChange(first.getObject(), first.getProperty(), last.getNewValue(),
+                first.getOldValue()));
+      } else if (change instanceof OwnerChange) {
+        owners.merge(((OwnerChange) change).getTerritory(), (OwnerChange) change,
+            (first, last) -> new OwnerChange(first.getTerritory(), last.getNewOwner(), first.getOldOwner()));
+      } else if (change instanceof ChangeResourceChange) {
+        final ChangeResourceChange resource = (ChangeResourceChange) change;
+        resources.merge(Arrays.asList(resource.getPlayer(), resource.getResource()), resource.getQuantity(),
+            Integer::sum);
+      } else if (!change.isEmpty()) {
+        kept.add(change);
+      }
+    }
+    final List<Change> summary = new ArrayList<>();
+    for (final Units holder : units.values()) {
+      if (!holder.m_removed.isEmpty()) {
+        summary.add(new RemoveUnits(holder.m_name, holder.m_type, holder.m_removed));
+      }
+    }
+    for (final Units holder : units.values()) {
+      if (!holder.m_added.isEmpty()) {
+        summary.add(new AddUnits(holder.m_name, holder.m_type, holder.m_added));
+      }
+    }
+    for (final ObjectPropertyChange property : properties.values()) {
+      if (!isSameValue(property.getOldValue(), property.getNewValue())) {
+        summary.add(property);
+      }
+    }
+    for (final OwnerChange owner : owners.values()) {
+      if (!Objects.equals(owner.getOldOwner(), owner.getNewOwner())) {
+        summary.add(owner);
+      }
+    }
+    for (final Map.Entry<List<String>, Integer> resource : resources.entrySet()) {
+      if (resource.getValue() != 0) {
+        summary.add(new ChangeResourceChange(resource.getKey().get(0), resource.getKey().get(1), resource.getValue()));
+      }
+    }
+    summary.addAll(kept);
+    return new CompositeChange(summary);
+  }
+
+  private static Units getUnits(final Map<List<String>, Units> units, final String name, final String type) {
+    return units.computeIfAbsent(Arrays.asList(name, type), k -> new Units(name, type));
+  }
+
+  private static void flatten(final Change change, final List<Change> changes) {
+    if (change instanceof CompositeChange) {
+      for (final Change c : ((CompositeChange) change).getChanges()) {
+        flatten(c, changes);
+      }
+    } else {
+      changes.add(change);
+    }
+  }
+
+  /**
+   * Only values that can not be told apart: the same object, or equal immutable values.
+   */
+  private static boolean isSameValue(final Object oldValue, final Object newValue) {
+    if (oldValue == newValue) {
+      return true;
+    }
+    final boolean immutable = oldValue instanceof String || oldValue instanceof Number
+        || oldValue instanceof Boolean || oldValue instanceof Character || oldValue instanceof Enum;
+    return immutable && Objects.equals(oldValue, newValue);
+  }
+}
@@ -36,6 +36,22 @@ class ObjectPropertyChange extends Change {
     m_property = m_property.intern();
   }
 
+  Object getObject() {
+    return m_object;
+  }
+
+  String getProperty() {
+    return m_property;
+  }
+
+  Object getNewValue() {
+    return m_newValue;
+  }
+
+  Object getOldValue() {
+    return m_oldValue;
+  }
+
   @Override
   public Change invert() {
     return new ObjectPropertyChange(m_object, m_property, m_oldValue, m_newValue);
@@ -44,6 +60,7 @@ class ObjectPropertyChange extends Change {
   @Override
   protected void perform(final GameData data) {
     PropertyUtil.set(m_property, m_newValue, m_object);
+    data.objectChanged(m_object);
   }
 
   @Override
@@ -26,12 +26,24 @@ class OwnerChange extends Change {
     m_old = getName(territory.getOwner());
   }
 
-  private OwnerChange(final String name, final String newOwner, final String oldOwner) {
+  OwnerChange(final String name, final String newOwner, final String oldOwner) {
     m_territory = name;
     m_new = newOwner;
     m_old = oldOwner;
   }
 
+  String getTerritory() {
+    return m_territory;
+  }
+
+  String getNewOwner() {
+    return m_new;
+  }
+
+  String getOldOwner() {
+    return m_old;
+  }
+
   private String getName(final PlayerID player) {
     if (player == null) {
       return null;
@@ -26,6 +26,7 @@ class PlayerWhoAmIChange extends Change {
   protected void perform(final GameData data) {
     final PlayerID player = data.getPlayerList().getPlayerID(m_player);
     player.setWhoAmI(m_endWhoAmI);
+    data.playerChanged(player);
   }
 
   @Override
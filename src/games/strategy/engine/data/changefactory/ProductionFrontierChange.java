@@ -31,6 +31,7 @@ class ProductionFrontierChange extends Change {
     final PlayerID player = data.getPlayerList().getPlayerID(m_player);
     final ProductionFrontier frontier = data.getProductionFrontierList().getProductionFrontier(m_endFrontier);
     player.setProductionFrontier(frontier);
+    data.playerChanged(player);
   }
 
   @Override
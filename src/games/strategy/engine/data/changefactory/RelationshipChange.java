@@ -44,6 +44,8 @@ class RelationshipChange extends Change {
   protected void perform(final GameData data) {
     data.getRelationshipTracker().setRelationship(data.getPlayerList().getPlayerID(m_player1),
         data.getPlayerList().getPlayerID(m_player2), data.getRelationshipTypeList().getRelationshipType(m_NewRelation));
+    data.playerChanged(data.getPlayerList().getPlayerID(m_player1));
+    data.playerChanged(data.getPlayerList().getPlayerID(m_player2));
     // now redraw territories in case of new hostility
     if (Matches.RelationshipTypeIsAtWar.match(data.getRelationshipTypeList().getRelationshipType(m_NewRelation))) {
       for (final Territory t : Match.getMatches(data.getMap().getTerritories(),
@@ -28,6 +28,7 @@ class RemoveAvailableTech extends Change {
   public void perform(final GameData data) {
     final TechnologyFrontier front = m_player.getTechnologyFrontierList().getTechnologyFrontier(m_frontier.getName());
     front.removeAdvance(m_tech);
+    data.playerChanged(m_player);
   }
 
   @Override
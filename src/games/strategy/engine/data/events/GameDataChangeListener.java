@@ -1,5 +1,6 @@
 package games.strategy.engine.data.events;
 
+import games.strategy.engine.data.AffectedObjects;
 import games.strategy.engine.data.Change;
 
 /**
@@ -7,4 +8,12 @@ import games.strategy.engine.data.Change;
  */
 public interface GameDataChangeListener {
   void gameDataChanged(Change aChange);
+
+  /**
+   * Called instead of gameDataChanged(Change), once for each change or batch of changes performed, with what they
+   * touched. Listeners that can update incrementally override this one.
+   */
+  default void gameDataChanged(final Change aChange, final AffectedObjects affected) {
+    gameDataChanged(aChange);
+  }
 }
@@ -4,6 +4,8 @@ import javax.swing.JComponent;
 
 public abstract class AEditableProperty implements IEditableProperty, java.io.Serializable, Comparable<Object> {
   private static final long serialVersionUID = -5005729898242568847L;
+  // the properties this one is in, told of value changes so they can tell when their snapshot is outdated
+  private transient volatile GameProperties m_owner;
   private final String m_name;
   private final String m_description;
 
@@ -12,6 +14,20 @@ public abstract class AEditableProperty implements IEditableProperty, java.io.Se
     m_description = description;
   }
 
+  /**
+   * Subclasses call this whenever their value is set or edited.
+   */
+  protected void valueChanged() {
+    final GameProperties owner = m_owner;
+    if (owner != null) {
+      owner.editablePropertyChanged();
+    }
+  }
+
+  void setOwner(final GameProperties owner) {
+    m_owner = owner;
+  }
+
   @Override
   public int getRowsNeeded() {
     return 1;
@@ -21,10 +21,12 @@ public class BooleanProperty extends AEditableProperty {
   @Override
   public void setValue(final Object value) throws IllegalArgumentException {
     mValue = (Boolean) value;
+    valueChanged();
   }
 
   public void setValue(final boolean value) {
     mValue = value;
+    valueChanged();
   }
 
   /**
@@ -34,7 +36,10 @@ public class BooleanProperty extends AEditableProperty {
   public JComponent getEditorComponent() {
     final JCheckBox box = new JCheckBox("");
     box.setSelected(mValue);
-    box.addActionListener(e -> mValue = box.isSelected());
+    box.addActionListener(e -> {
+      mValue = box.isSelected();
+      valueChanged();
+    });
     return box;
   }
 
@@ -42,10 +42,12 @@ public class CollectionProperty<T> extends AEditableProperty {
   @SuppressWarnings("unchecked")
   public void setValue(final Object value) throws ClassCastException {
     m_values = (List<T>) value;
+    valueChanged();
   }
 
   public void setValueT(final List<T> value) {
     m_values = value;
+    valueChanged();
   }
 
   @Override
@@ -53,6 +53,7 @@ public class ColorProperty extends AEditableProperty {
     } else {
       color = (Color) value;
     }
+    valueChanged();
   }
 
   @Override
@@ -58,17 +58,22 @@ public class ComboProperty<T> extends AEditableProperty {
   @SuppressWarnings("unchecked")
   public void setValue(final Object value) throws ClassCastException {
     m_value = (T) value;
+    valueChanged();
   }
 
   public void setValueT(final T value) {
     m_value = value;
+    valueChanged();
   }
 
   @Override
   public JComponent getEditorComponent() {
     final JComboBox<T> box = new JComboBox<>(new Vector<>(m_possibleValues));
     box.setSelectedItem(m_value);
-    box.addActionListener(e -> m_value = box.getItemAt(box.getSelectedIndex()));
+    box.addActionListener(e -> {
+      m_value = box.getItemAt(box.getSelectedIndex());
+      valueChanged();
+    });
     return box;
   }
 
@@ -51,6 +51,7 @@ public class DoubleProperty extends AEditableProperty {
               + new File(ClientFileSystemHelper.getUserRootFolder(), "optionCache").toString());
     } else {
       m_value = roundToPlace((Double) value, m_places, BigDecimal.ROUND_FLOOR);
+      valueChanged();
     }
   }
 
@@ -58,7 +59,10 @@ public class DoubleProperty extends AEditableProperty {
   public JComponent getEditorComponent() {
     final DoubleTextField field = new DoubleTextField(m_min, m_max);
     field.setValue(m_value);
-    field.addChangeListener(aField -> m_value = aField.getValue());
+    field.addChangeListener(aField -> {
+      m_value = aField.getValue();
+      valueChanged();
+    });
     return field;
   }
 
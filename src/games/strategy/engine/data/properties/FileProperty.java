@@ -69,6 +69,7 @@ public class FileProperty extends AEditableProperty {
   @Override
   public void setValue(final Object value) throws ClassCastException {
     m_file = (File) value;
+    valueChanged();
   }
 
   /**
@@ -91,6 +92,7 @@ public class FileProperty extends AEditableProperty {
         final File selection = getFileUsingDialog(m_acceptableSuffixes);
         if (selection != null) {
           m_file = selection;
+          valueChanged();
           label.setText(m_file.getAbsolutePath());
           // Ask Swing to repaint this label when it's convenient
           SwingUtilities.invokeLater(() -> label.repaint());
@@ -24,6 +24,12 @@ import games.strategy.engine.data.GameDataComponent;
  * Properties of the current game. <br>
  * Maps string -> Object <br>
  * Set through changeFactory.setProperty.
+ * <p>
+ * Properties that are read often can be given a slot with getSlot. The values of all slots are kept in a snapshot
+ * array, so reading a property by its slot does not need any map lookups. The snapshot is rebuilt when a property is
+ * set or added, or when the value of one of its editable properties has changed. Each instance counts the value
+ * changes of its own editable properties, so editing the properties of one game leaves the snapshots of the others,
+ * like its copies, alone.
  */
 public class GameProperties extends GameDataComponent {
   private static final long serialVersionUID = -1448163357090677564L;
@@ -33,6 +39,14 @@ public class GameProperties extends GameDataComponent {
   // This list is used to keep track of order properties were
   // added.
   private final List<String> ordering = new ArrayList<>();
+  // values of the slot keys, by slot, or null if not built since the last change
+  private transient volatile Snapshot m_snapshot;
+  // counts the value changes of the editable properties
+  private transient volatile int m_valueChanges;
+
+  // the keys that have been given a slot, in slot order
+  private static final List<String> s_slotKeys = new ArrayList<>();
+  private static final Map<String, Integer> s_slots = new HashMap<>();
 
   /**
    * Creates a new instance of Properties
@@ -62,6 +76,7 @@ public class GameProperties extends GameDataComponent {
       constantProperties.put(key, value);
       ordering.add(key);
     }
+    m_snapshot = null;
   }
 
   /**
@@ -113,6 +128,93 @@ public class GameProperties extends GameDataComponent {
     // add to the editable properties
     editableProperties.put(property.getName(), property);
     ordering.add(property.getName());
+    if (property instanceof AEditableProperty) {
+      ((AEditableProperty) property).setOwner(this);
+    }
+    m_snapshot = null;
+  }
+
+  synchronized void editablePropertyChanged() {
+    m_valueChanges++;
+  }
+
+  /**
+   * @param key
+   *        key of a property
+   * @return the slot of the key, the same for every call with that key
+   */
+  public static synchronized int getSlot(final String key) {
+    Integer slot = s_slots.get(key);
+    if (slot == null) {
+      slot = s_slotKeys.size();
+      s_slotKeys.add(key);
+      s_slots.put(key, slot);
+    }
+    return slot;
+  }
+
+  private static synchronized String[] getSlotKeys() {
+    return s_slotKeys.toArray(new String[s_slotKeys.size()]);
+  }
+
+  /**
+   * Same as get(key) where slot is getSlot(key).
+   */
+  public Object get(final int slot) {
+    Snapshot snapshot = m_snapshot;
+    if (snapshot == null || snapshot.m_valueChanges != m_valueChanges
+        || slot >= snapshot.m_values.length) {
+      snapshot = new Snapshot();
+      m_snapshot = snapshot;
+    }
+    return snapshot.m_values[slot];
+  }
+
+  public boolean get(final int slot, final boolean defaultValue) {
+    final Object value = get(slot);
+    if (value == null) {
+      return defaultValue;
+    }
+    return (Boolean) value;
+  }
+
+  public int get(final int slot, final int defaultValue) {
+    final Object value = get(slot);
+    if (value == null) {
+      return defaultValue;
+    }
+    return (Integer) value;
+  }
+
+  public String get(final int slot, final String defaultValue) {
+    final Object value = get(slot);
+    if (value == null) {
+      return defaultValue;
+    }
+    return (String) value;
+  }
+
+  /**
+   * The values of all slot keys at one point in time.
+   */
+  private final class Snapshot {
+    // read first, so a change made while the values are read makes the snapshot outdated
+    private final int m_valueChanges = GameProperties.this.m_valueChanges;
+    private final Object[] m_values;
+
+    Snapshot() {
+      // a copied or loaded game does not know its editable properties yet
+      for (final IEditableProperty property : editableProperties.values()) {
+        if (property instanceof AEditableProperty) {
+          ((AEditableProperty) property).setOwner(GameProperties.this);
+        }
+      }
+      final String[] keys = getSlotKeys();
+      m_values = new Object[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        m_values[i] = GameProperties.this.get(keys[i]);
+      }
+    }
   }
 
   /**
@@ -77,11 +77,13 @@ public class MapProperty<T, U> extends AEditableProperty {
   public void setValue(final Object value) throws ClassCastException {
     m_map = (Map<T, U>) value;
     resetProperties(m_map, m_properties, this.getName(), this.getDescription());
+    valueChanged();
   }
 
   public void setValueT(final Map<T, U> value) {
     m_map = value;
     resetProperties(m_map, m_properties, this.getName(), this.getDescription());
+    valueChanged();
   }
 
   @Override
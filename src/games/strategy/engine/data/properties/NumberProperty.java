@@ -42,6 +42,7 @@ public class NumberProperty extends AEditableProperty {
               + new File(ClientFileSystemHelper.getUserRootFolder(), "optionCache").toString());
     } else {
       m_value = (Integer) value;
+      valueChanged();
     }
   }
 
@@ -49,7 +50,10 @@ public class NumberProperty extends AEditableProperty {
   public JComponent getEditorComponent() {
     final IntTextField field = new IntTextField(m_min, m_max);
     field.setValue(m_value);
-    field.addChangeListener(aField -> m_value = aField.getValue());
+    field.addChangeListener(aField -> {
+      m_value = aField.getValue();
+      valueChanged();
+    });
     return field;
   }
 
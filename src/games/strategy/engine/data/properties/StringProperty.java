@@ -22,7 +22,10 @@ public class StringProperty extends AEditableProperty {
   @Override
   public JComponent getEditorComponent() {
     final JTextField text = new JTextField(m_value);
-    text.addActionListener(e -> m_value = text.getText());
+    text.addActionListener(e -> {
+      m_value = text.getText();
+      valueChanged();
+    });
     text.addFocusListener(new FocusListener() {
       @Override
       public void focusGained(final FocusEvent e) {}
@@ -30,6 +33,7 @@ public class StringProperty extends AEditableProperty {
       @Override
       public void focusLost(final FocusEvent e) {
         m_value = text.getText();
+        valueChanged();
       }
     });
     final Dimension ourMinimum = new Dimension(80, 20);
@@ -46,6 +50,7 @@ public class StringProperty extends AEditableProperty {
   @Override
   public void setValue(final Object value) throws ClassCastException {
     m_value = (String) value;
+    valueChanged();
   }
 
   @Override
@@ -0,0 +1,582 @@
+package games.strategy.engine.framework;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.GameSequence;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.history.EventChild;
+
+/**
+ * An autosave kept as a base save game and an append-only journal of what happened since the base was written, so
+ * that an autosave writes what happened since the last one instead of the whole game and its history.
+ * <p>
+ * The journal gets the changes and history events from the GameRecorder of ServerGame as it makes them, serialized
+ * the way they are sent to the clients. At an autosave the records are appended to the journal, followed by a checkpoint of the game state that
+ * is not kept in changes: the position in the game sequence, the run counts of the steps and the delegate states.
+ * Every {@code compactEveryRounds} rounds the journal is compacted instead: a new base is written from a snapshot of
+ * the game and a new journal is started.
+ * <p>
+ * The folder holds base-&lt;generation&gt;.tsvg and journal-&lt;generation&gt; files. A generation is only deleted once
+ * the base of the next one is written, and {@link #load(GameDataManager, File)} rebuilds the game from the newest
+ * generation that has a base. Each record is framed with its length and a CRC32, so that a record torn by a crash is
+ * found, and the journal is replayed up to its last complete checkpoint.
+ * <p>
+ * {@link GameDataManager#loadGame(File)} loads the folder, or a base picked in it together with its journal, like a
+ * save game. Explicit saves wait for the queued writes with {@link #awaitWritten(long)}, so that the journal is not
+ * newer than them, and once the game is stopping {@link #stop(long)} ends the checkpoints.
+ */
+class AutoSaveJournal implements GameRecorder.Listener {
+  private static final Logger s_logger = Logger.getLogger(AutoSaveJournal.class.getName());
+  private static final String BASE_PREFIX = "base-";
+  private static final String BASE_SUFFIX = ".tsvg";
+  private static final String JOURNAL_PREFIX = "journal-";
+  static final byte RECORD = 0;
+  static final byte CHECKPOINT = 1;
+
+  /**
+   * A file operation for the writer thread.
+   */
+  private interface WriteTask {
+    void write() throws IOException;
+  }
+
+  private final File m_folder;
+  private final int m_compactEveryRounds;
+  // the threads recording, the game thread and the writer thread synchronize on this lock
+  private final Object m_mutex = new Object();
+  // the framed records since the last checkpoint
+  private final ByteArrayOutputStream m_records = new ByteArrayOutputStream();
+  private int m_generation;
+  private int m_baseRound;
+  // until the first base is written, or after a record could not be journaled or written
+  private boolean m_needsBase = true;
+  // in the order they have to be done in
+  private final Deque<WriteTask> m_waiting = new ArrayDeque<>();
+  // whether a writer thread is running, it stops once nothing is waiting
+  private boolean m_writing = false;
+  // set once the game is stopping, later checkpoints are not written
+  private boolean m_stopped = false;
+
+  /**
+   * @param compactEveryRounds
+   *        how many rounds a journal grows before a new base is written
+   */
+  AutoSaveJournal(final File folder, final int compactEveryRounds) {
+    m_folder = folder;
+    m_compactEveryRounds = compactEveryRounds;
+    // generations left in the folder stay loadable until this game has written its first base
+    final TreeSet<Integer> generations = getGenerations(folder);
+    m_generation = generations.isEmpty() ? 0 : generations.last();
+  }
+
+  @Override
+  public boolean isRecording() {
+    synchronized (m_mutex) {
+      // else a new base is written at the next checkpoint, it has what happens until then in it
+      return !m_needsBase;
+    }
+  }
+
+  @Override
+  public void recorded(final byte[] frame) {
+    synchronized (m_mutex) {
+      if (!m_needsBase) {
+        m_records.write(frame, 0, frame.length);
+      }
+    }
+  }
+
+  @Override
+  public void recordLost() {
+    synchronized (m_mutex) {
+      m_needsBase = true;
+    }
+  }
+
+  /**
+   * Queues the records since the last checkpoint to be appended to the journal, followed by a checkpoint of the game,
+   * or queues a new base from a snapshot of the game when the journal is due to be compacted.
+   * Call with delegate execution blocked, so that the game is between steps.
+   */
+  void checkpoint(final GameData data) {
+    data.acquireReadLock();
+    try {
+      synchronized (m_mutex) {
+        if (m_stopped) {
+          s_logger.fine("Not checkpointing the autosave journal, the game is stopping");
+          return;
+        }
+        final int round = data.getSequence().getRound();
+        if (!m_needsBase) {
+          try {
+            m_records.write(frame(CHECKPOINT, new Checkpoint(data)));
+            // the checkpoint ends this generation too when it is compacted below, so it stays complete until the
+            // new base is written
+            final int generation = m_generation;
+            final byte[] records = m_records.toByteArray();
+            queue(() -> append(generation, records));
+          } catch (final IOException e) {
+            ClientLogger.logQuietly("Could not checkpoint the autosave journal", e);
+            m_needsBase = true;
+          }
+        }
+        m_records.reset();
+        if (m_needsBase || round >= m_baseRound + m_compactEveryRounds) {
+          final GameData snapshot = GameDataUtils.cloneGameData(data, true);
+          if (snapshot == null) {
+            m_needsBase = true;
+            return;
+          }
+          m_generation++;
+          m_baseRound = round;
+          m_needsBase = false;
+          final int generation = m_generation;
+          queue(() -> writeBase(generation, snapshot));
+        }
+      }
+    } finally {
+      data.releaseReadLock();
+    }
+  }
+
+  private void queue(final WriteTask task) {
+    m_waiting.add(task);
+    if (!m_writing) {
+      m_writing = true;
+      // not a daemon, so that the journal is written before the vm exits
+      new Thread(this::writeWaiting, "Autosave journal writer").start();
+    }
+  }
+
+  private void writeWaiting() {
+    while (true) {
+      final WriteTask task;
+      synchronized (m_mutex) {
+        task = m_waiting.poll();
+        if (task == null) {
+          m_writing = false;
+          m_mutex.notifyAll();
+          return;
+        }
+      }
+      try {
+        task.write();
+      } catch (final IOException | RuntimeException e) {
+        ClientLogger.logQuietly("Could not write the autosave journal in " + m_folder, e);
+        synchronized (m_mutex) {
+          m_needsBase = true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Waits for the writes queued so far to be done.
+   *
+   * @return false if they were not done within the timeout
+   */
+  boolean awaitWritten(final long timeoutMillis) throws InterruptedException {
+    final long end = System.currentTimeMillis() + timeoutMillis;
+    synchronized (m_mutex) {
+      while (m_writing) {
+        final long left = end - System.currentTimeMillis();
+        if (left <= 0) {
+          return false;
+        }
+        m_mutex.wait(left);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Stops taking checkpoints, then waits for the writes queued so far to be done. They are not dropped, the journal
+   * only ever gets whole checkpoints, and dropping one would leave a game that ended older than it was.
+   *
+   * @return false if they were not done within the timeout
+   */
+  boolean stop(final long timeoutMillis) throws InterruptedException {
+    synchronized (m_mutex) {
+      m_stopped = true;
+    }
+    return awaitWritten(timeoutMillis);
+  }
+
+  private void append(final int generation, final byte[] records) throws IOException {
+    try (final FileOutputStream out = new FileOutputStream(getJournalFile(m_folder, generation), true)) {
+      out.write(records);
+      // the checkpoint is on the disk before the autosave counts as written
+      out.getFD().sync();
+    }
+    s_logger.fine("Appended " + records.length + " bytes to the autosave journal " + generation);
+  }
+
+  private void writeBase(final int generation, final GameData snapshot) throws IOException {
+    if (!m_folder.isDirectory() && !m_folder.mkdirs()) {
+      throw new IOException("Could not create " + m_folder);
+    }
+    new GameDataManager().saveGame(getBaseFile(m_folder, generation), snapshot);
+    // this generation can be loaded now, so the older ones are no longer needed
+    for (final int older : getGenerations(m_folder).headSet(generation)) {
+      getJournalFile(m_folder, older).delete();
+      getBaseFile(m_folder, older).delete();
+    }
+    s_logger.fine("Wrote the autosave base " + generation);
+  }
+
+  static byte[] frame(final byte kind, final Serializable record) throws IOException {
+    final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+    payload.write(kind);
+    try (final ObjectOutputStream out = new GameObjectOutputStream(payload)) {
+      out.writeObject(record);
+    }
+    final byte[] bytes = payload.toByteArray();
+    final CRC32 crc = new CRC32();
+    crc.update(bytes, 0, bytes.length);
+    final ByteArrayOutputStream frame = new ByteArrayOutputStream(bytes.length + 12);
+    final DataOutputStream out = new DataOutputStream(frame);
+    out.writeInt(bytes.length);
+    out.writeLong(crc.getValue());
+    out.write(bytes);
+    return frame.toByteArray();
+  }
+
+  /**
+   * Rebuilds the game from the newest generation in the folder: loads its base and replays its journal up to the
+   * last complete checkpoint.
+   *
+   * @return the game, or null if the manager could not load the base
+   */
+  static GameData load(final GameDataManager manager, final File folder) throws IOException {
+    final TreeSet<Integer> generations = getGenerations(folder);
+    for (final int generation : generations.descendingSet()) {
+      final File base = getBaseFile(folder, generation);
+      if (!base.isFile()) {
+        // its base was not written yet
+        continue;
+      }
+      return load(manager, folder, generation);
+    }
+    throw new IOException("No autosave journal in " + folder);
+  }
+
+  /**
+   * Rebuilds the game from a base of a journal folder and the journal next to it.
+   *
+   * @return the game, or null if the manager could not load the base
+   */
+  static GameData loadBase(final GameDataManager manager, final File base) throws IOException {
+    return load(manager, base.getAbsoluteFile().getParentFile(), getGenerationOfBase(base));
+  }
+
+  private static GameData load(final GameDataManager manager, final File folder, final int generation)
+      throws IOException {
+    final GameData data = manager.loadSaveGameFile(getBaseFile(folder, generation));
+    final File journal = getJournalFile(folder, generation);
+    if (data != null && journal.isFile()) {
+      replay(data, readCheckpointed(journal));
+    }
+    return data;
+  }
+
+  /**
+   * Tells whether the file is a folder with a generation of a journal in it.
+   */
+  static boolean isJournal(final File file) {
+    return file.isDirectory() && !getGenerations(file).isEmpty();
+  }
+
+  /**
+   * Tells whether the file is a base with a journal next to it, which loaded on its own would miss what the journal
+   * has.
+   */
+  static boolean isBaseWithJournal(final File file) {
+    final int generation = getGenerationOfBase(file);
+    return generation >= 0 && getJournalFile(file.getAbsoluteFile().getParentFile(), generation).isFile();
+  }
+
+  /**
+   * @return when a file of the journal folder was last written, 0 if it has none
+   */
+  static long lastModified(final File folder) {
+    long lastModified = 0;
+    for (final int generation : getGenerations(folder)) {
+      lastModified = Math.max(lastModified, getBaseFile(folder, generation).lastModified());
+      lastModified = Math.max(lastModified, getJournalFile(folder, generation).lastModified());
+    }
+    return lastModified;
+  }
+
+  /**
+   * @return the generation of a file named like a base, -1 for any other file
+   */
+  private static int getGenerationOfBase(final File file) {
+    final String name = file.getName();
+    if (!name.startsWith(BASE_PREFIX) || !name.endsWith(BASE_SUFFIX)) {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(name.substring(BASE_PREFIX.length(), name.length() - BASE_SUFFIX.length()));
+    } catch (final NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static List<byte[]> readCheckpointed(final File journal) throws IOException {
+    try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journal)))) {
+      return readCheckpointed(in, journal.length(), journal.getName());
+    }
+  }
+
+  /**
+   * @param length
+   *        the length of the records in the stream, no record is longer
+   * @return the record payloads up to and including the last checkpoint, the ones after it, or after a torn or
+   *         corrupt record, are left out
+   */
+  static List<byte[]> readCheckpointed(final DataInputStream in, final long length, final String name)
+      throws IOException {
+    final List<byte[]> records = new ArrayList<>();
+    int checkpointed = 0;
+    while (true) {
+      final int recordLength;
+      final long crc;
+      final byte[] payload;
+      try {
+        recordLength = in.readInt();
+        crc = in.readLong();
+        if (recordLength <= 0 || recordLength > length) {
+          break;
+        }
+        payload = new byte[recordLength];
+        in.readFully(payload);
+      } catch (final EOFException e) {
+        break;
+      }
+      final CRC32 check = new CRC32();
+      check.update(payload, 0, payload.length);
+      if (check.getValue() != crc) {
+        break;
+      }
+      records.add(payload);
+      if (payload[0] == CHECKPOINT) {
+        checkpointed = records.size();
+      }
+    }
+    if (checkpointed < records.size()) {
+      s_logger.fine("Leaving out " + (records.size() - checkpointed) + " records after the last checkpoint in "
+          + name);
+    }
+    return records.subList(0, checkpointed);
+  }
+
+  static void replay(final GameData data, final List<byte[]> records) throws IOException {
+    final GameObjectStreamFactory streamFactory = new GameObjectStreamFactory(data);
+    for (final byte[] payload : records) {
+      final Record record;
+      try (final ObjectInputStream in =
+          streamFactory.create(new ByteArrayInputStream(payload, 1, payload.length - 1))) {
+        record = (Record) in.readObject();
+      } catch (final ClassNotFoundException e) {
+        throw new IOException(e);
+      }
+      record.apply(data);
+    }
+  }
+
+  private static TreeSet<Integer> getGenerations(final File folder) {
+    final TreeSet<Integer> generations = new TreeSet<>();
+    final String[] names = folder.list();
+    if (names == null) {
+      return generations;
+    }
+    for (final String name : names) {
+      final int baseGeneration = getGenerationOfBase(new File(folder, name));
+      if (baseGeneration >= 0) {
+        generations.add(baseGeneration);
+        continue;
+      }
+      try {
+        if (name.startsWith(JOURNAL_PREFIX)) {
+          generations.add(Integer.parseInt(name.substring(JOURNAL_PREFIX.length())));
+        }
+      } catch (final NumberFormatException e) {
+        // not ours
+      }
+    }
+    return generations;
+  }
+
+  static File getBaseFile(final File folder, final int generation) {
+    return new File(folder, BASE_PREFIX + generation + BASE_SUFFIX);
+  }
+
+  static File getJournalFile(final File folder, final int generation) {
+    return new File(folder, JOURNAL_PREFIX + generation);
+  }
+
+  /**
+   * Something that happened to the game, done again to the game loaded from the base.
+   */
+  interface Record extends Serializable {
+    void apply(GameData data);
+  }
+
+  static final class ChangeRecord implements Record {
+    private static final long serialVersionUID = -4473154404829318787L;
+    private final Change m_change;
+
+    ChangeRecord(final Change change) {
+      m_change = change;
+    }
+
+    @Override
+    public void apply(final GameData data) {
+      data.performChange(m_change);
+      data.getHistory().getHistoryWriter().addChange(m_change);
+    }
+  }
+
+  static final class EventRecord implements Record {
+    private static final long serialVersionUID = 3164502749213287765L;
+    private final String m_event;
+
+    EventRecord(final String event) {
+      m_event = event;
+    }
+
+    @Override
+    public void apply(final GameData data) {
+      data.getHistory().getHistoryWriter().startEvent(m_event);
+    }
+  }
+
+  static final class RenderingDataRecord implements Record {
+    private static final long serialVersionUID = 6530919282711935413L;
+    private final Object m_renderingData;
+
+    RenderingDataRecord(final Object renderingData) {
+      m_renderingData = renderingData;
+    }
+
+    @Override
+    public void apply(final GameData data) {
+      data.getHistory().getHistoryWriter().setRenderingData(m_renderingData);
+    }
+  }
+
+  static final class EventChildRecord implements Record {
+    private static final long serialVersionUID = -2203963934126361432L;
+    private final String m_text;
+    private final Object m_renderingData;
+
+    EventChildRecord(final String text, final Object renderingData) {
+      m_text = text;
+      m_renderingData = renderingData;
+    }
+
+    @Override
+    public void apply(final GameData data) {
+      data.getHistory().getHistoryWriter().addChildToEvent(new EventChild(m_text, m_renderingData));
+    }
+  }
+
+  static final class StepRecord implements Record {
+    private static final long serialVersionUID = 8856293014772532915L;
+    private final String m_stepName;
+    private final String m_delegateName;
+    private final PlayerID m_player;
+    private final String m_displayName;
+
+    StepRecord(final String stepName, final String delegateName, final PlayerID player,
+        final String displayName) {
+      m_stepName = stepName;
+      m_delegateName = delegateName;
+      m_player = player;
+      m_displayName = displayName;
+    }
+
+    @Override
+    public void apply(final GameData data) {
+      data.getHistory().getHistoryWriter().startNextStep(m_stepName, m_delegateName, m_player, m_displayName);
+    }
+  }
+
+  static final class RoundRecord implements Record {
+    private static final long serialVersionUID = -7021367853541929960L;
+    private final int m_round;
+
+    RoundRecord(final int round) {
+      m_round = round;
+    }
+
+    @Override
+    public void apply(final GameData data) {
+      data.getHistory().getHistoryWriter().startNextRound(m_round);
+    }
+  }
+
+  /**
+   * The game state a save game has that changes do not keep.
+   */
+  static final class Checkpoint implements Record {
+    private static final long serialVersionUID = 2585120963337325034L;
+    private final int m_round;
+    private final int m_stepIndex;
+    private final int[] m_runCounts;
+    private final Map<String, Serializable> m_delegateStates = new HashMap<>();
+
+    Checkpoint(final GameData data) {
+      final GameSequence sequence = data.getSequence();
+      m_round = sequence.getRound();
+      m_stepIndex = sequence.getStepIndex();
+      m_runCounts = new int[sequence.size()];
+      for (int i = 0; i < m_runCounts.length; i++) {
+        m_runCounts[i] = sequence.getStep(i).getRunCount();
+      }
+      for (final IDelegate delegate : data.getDelegateList()) {
+        m_delegateStates.put(delegate.getName(), delegate.saveState());
+      }
+    }
+
+    @Override
+    public void apply(final GameData data) {
+      final GameSequence sequence = data.getSequence();
+      sequence.setRoundAndStepIndex(m_round, m_stepIndex);
+      for (int i = 0; i < m_runCounts.length; i++) {
+        sequence.getStep(i).setRunCount(m_runCounts[i]);
+      }
+      for (final IDelegate delegate : data.getDelegateList()) {
+        if (m_delegateStates.containsKey(delegate.getName())) {
+          delegate.loadState(m_delegateStates.get(delegate.getName()));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package games.strategy.engine.framework;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.engine.data.GameData;
+
+/**
+ * Writes autosaves on a background thread, so that the game thread only waits for a snapshot of the game data to be
+ * taken, and not for it to be serialized, compressed and written to disk.
+ * <p>
+ * Each autosave file has one slot where its latest snapshot waits: a snapshot for a file that already has one waiting
+ * replaces it, and snapshots for different files never drop each other. Every kind of autosave goes to its own files,
+ * so at most one snapshot per kind waits.
+ * How long the game thread was blocked for each snapshot and how long after it the autosave was on disk are logged.
+ * <p>
+ * An explicit save waits for the queued snapshots with {@link #awaitWritten(long)} first, so that an older snapshot
+ * can not overwrite it, and once the game is stopping {@link #stop(long)} drops the snapshots still waiting.
+ */
+class AutoSaveWriter {
+  private static final Logger s_logger = Logger.getLogger(AutoSaveWriter.class.getName());
+
+  private static final class Snapshot {
+    private final GameData m_data;
+    private final long m_takenNanos;
+    private final long m_blockedNanos;
+
+    private Snapshot(final GameData data, final long blockedNanos) {
+      m_data = data;
+      m_takenNanos = System.nanoTime();
+      m_blockedNanos = blockedNanos;
+    }
+  }
+
+  /**
+   * Writes a snapshot to a file.
+   */
+  interface Saver {
+    void save(File file, GameData data) throws IOException;
+  }
+
+  private final Saver m_saver;
+  // the writer thread and the threads queueing snapshots synchronize on this lock
+  private final Object m_mutex = new Object();
+  // the latest snapshot of each file, in the order the files were queued
+  private final Map<File, Snapshot> m_waiting = new LinkedHashMap<>();
+  // whether a writer thread is running, it stops once nothing is waiting
+  private boolean m_writing = false;
+  // set once the game is stopping, later snapshots are not written
+  private boolean m_stopped = false;
+
+  AutoSaveWriter() {
+    this(new GameDataManager()::saveGame);
+  }
+
+  AutoSaveWriter(final Saver saver) {
+    m_saver = saver;
+  }
+
+  /**
+   * Queues the snapshot to be written to the file.
+   *
+   * @param snapshot
+   *        a copy of the game data that nothing else changes
+   * @param blockedNanos
+   *        how long the game thread was blocked to take the snapshot
+   */
+  void write(final File file, final GameData snapshot, final long blockedNanos) {
+    synchronized (m_mutex) {
+      if (m_stopped) {
+        s_logger.fine("Not autosaving to " + file.getName() + ", the game is stopping");
+        return;
+      }
+      if (m_waiting.remove(file) != null) {
+        s_logger.fine("Replacing the autosave waiting to be written to " + file.getName());
+      }
+      m_waiting.put(file, new Snapshot(snapshot, blockedNanos));
+      if (!m_writing) {
+        m_writing = true;
+        // not a daemon, so that an autosave is finished before the vm exits
+        new Thread(this::writeWaiting, "Autosave writer").start();
+      }
+    }
+  }
+
+  private void writeWaiting() {
+    while (true) {
+      final File file;
+      final Snapshot snapshot;
+      synchronized (m_mutex) {
+        if (m_waiting.isEmpty()) {
+          m_writing = false;
+          m_mutex.notifyAll();
+          return;
+        }
+        final Iterator<Map.Entry<File, Snapshot>> next = m_waiting.entrySet().iterator();
+        final Map.Entry<File, Snapshot> entry = next.next();
+        next.remove();
+        file = entry.getKey();
+        snapshot = entry.getValue();
+      }
+      try {
+        m_saver.save(file, snapshot.m_data);
+        if (s_logger.isLoggable(Level.FINE)) {
+          final long latencyNanos = System.nanoTime() - snapshot.m_takenNanos;
+          s_logger.fine("Autosaved to " + file.getName() + ", the game thread was blocked "
+              + toMillis(snapshot.m_blockedNanos) + " ms, written " + toMillis(latencyNanos) + " ms after the snapshot");
+        }
+      } catch (final IOException | RuntimeException e) {
+        ClientLogger.logQuietly("Could not autosave to " + file, e);
+      }
+    }
+  }
+
+  /**
+   * Waits for the snapshots queued so far to be written.
+   *
+   * @return false if they were not written within the timeout
+   */
+  boolean awaitWritten(final long timeoutMillis) throws InterruptedException {
+    final long end = System.currentTimeMillis() + timeoutMillis;
+    synchronized (m_mutex) {
+      while (m_writing) {
+        final long left = end - System.currentTimeMillis();
+        if (left <= 0) {
+          return false;
+        }
+        m_mutex.wait(left);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Drops the snapshots still waiting and stops writing later ones, then waits for the snapshot being written.
+   *
+   * @return false if it was not written within the timeout
+   */
+  boolean stop(final long timeoutMillis) throws InterruptedException {
+    synchronized (m_mutex) {
+      m_stopped = true;
+      if (!m_waiting.isEmpty()) {
+        s_logger.fine("Dropping " + m_waiting.size() + " autosaves waiting to be written, the game is stopping");
+        m_waiting.clear();
+      }
+    }
+    return awaitWritten(timeoutMillis);
+  }
+
+  private static long toMillis(final long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+}
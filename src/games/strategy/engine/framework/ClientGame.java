@@ -1,7 +1,6 @@
 package games.strategy.engine.framework;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
@@ -208,8 +207,8 @@ public class ClientGame extends AbstractGame {
   public void saveGame(final File f) {
     final IServerRemote server = (IServerRemote) m_remoteMessenger.getRemote(ServerGame.SERVER_REMOTE);
     final byte[] bytes = server.getSavedGame();
-    try (FileOutputStream fout = new FileOutputStream(f)) {
-      fout.write(bytes);
+    try {
+      GameDataManager.writeAtomically(f, out -> out.write(bytes));
     } catch (final IOException e) {
       ClientLogger.logQuietly(e);
       throw new IllegalStateException(e.getMessage());
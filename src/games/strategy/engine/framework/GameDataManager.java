@@ -1,18 +1,26 @@
 package games.strategy.engine.framework;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.swing.JDialog;
 import javax.swing.JOptionPane;
@@ -23,6 +31,7 @@ import games.strategy.engine.ClientFileSystemHelper;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.delegate.IDelegate;
 import games.strategy.engine.framework.headlessGameServer.HeadlessGameServer;
+import games.strategy.performance.PerfTimer;
 import games.strategy.triplea.UrlConstants;
 import games.strategy.util.ThreadUtil;
 import games.strategy.util.Version;
@@ -42,7 +51,35 @@ public class GameDataManager {
 
   public GameDataManager() {}
 
+  /**
+   * @param savedGameFile
+   *        a save game, or the folder of an autosave journal, or a base in it
+   */
   public GameData loadGame(final File savedGameFile) throws IOException {
+    if (savedGameFile.isDirectory()) {
+      return AutoSaveJournal.load(this, savedGameFile);
+    }
+    if (AutoSaveJournal.isBaseWithJournal(savedGameFile)) {
+      return AutoSaveJournal.loadBase(this, savedGameFile);
+    }
+    return loadSaveGameFile(savedGameFile);
+  }
+
+  /**
+   * Tells whether the file is the folder of an autosave journal, which {@link #loadGame(File)} loads like a save game.
+   */
+  public static boolean isAutoSaveJournal(final File file) {
+    return AutoSaveJournal.isJournal(file);
+  }
+
+  /**
+   * @return when the save game, or the newest file of an autosave journal, was last written
+   */
+  public static long getLastModified(final File savedGameFile) {
+    return savedGameFile.isDirectory() ? AutoSaveJournal.lastModified(savedGameFile) : savedGameFile.lastModified();
+  }
+
+  GameData loadSaveGameFile(final File savedGameFile) throws IOException {
     try (
         FileInputStream fileInputStream = new FileInputStream(savedGameFile);
         InputStream input = new BufferedInputStream(fileInputStream)) {
@@ -57,83 +94,21 @@ public class GameDataManager {
   }
 
   public GameData loadGame(final InputStream inputStream, final String savegamePath) throws IOException {
-    ObjectInputStream input = new ObjectInputStream(new GZIPInputStream(inputStream));
-    try {
+    final InputStream source = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+    if (ObserverJoinCache.isImageWithRecords(source)) {
+      return ObserverJoinCache.load(this, source, savegamePath);
+    }
+    // the header tells the engine version without inflating the body, so a save game that is rejected is not read
+    final SaveGameHeader header = SaveGameCodec.readHeader(source);
+    if (header != null && !isCompatible(header.getEngineVersion(), savegamePath)) {
+      return null;
+    }
+    // save games written before the compact format are gzipped object streams
+    try (final ObjectInputStream input = SaveGameCodec.isCompactFormat(source)
+        ? SaveGameCodec.newInputStream(source) : new ObjectInputStream(new GZIPInputStream(source))) {
       final Version readVersion = (Version) input.readObject();
-      final boolean headless = HeadlessGameServer.headless();
-      if (!readVersion.equals(ClientContext.engineVersion().getVersion(), true)) {
-        // a hack for now, but a headless server should not try to open any savegame that is not its version
-        if (headless) {
-          final String message = "Incompatible game save, we are: " + ClientContext.engineVersion().getVersion()
-              + "  Trying to load game created with: " + readVersion;
-          HeadlessGameServer.sendChat(message);
-          System.out.println(message);
-          return null;
-        }
-        final String error = "<html>Incompatible engine versions, and no old engine found. We are: "
-            + ClientContext.engineVersion().getVersion() + " . Trying to load game created with: " + readVersion
-            + "<br>To download the latest version of TripleA, Please visit " + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE + "</html>";
-        if (savegamePath == null) {
-          throw new IOException(error);
-        }
-        // so, what we do here is try to see if our installed copy of triplea includes older jars with it that are the
-        // same engine as was
-        // used for this savegame, and if so try to run it
-        try {
-          final String newClassPath = GameRunner.findOldJar(readVersion, true);
-          // ask user if we really want to do this?
-          final String messageString = "<html>This TripleA engine is version " + ClientContext.engineVersion().getVersion()
-              + " and you are trying to open a savegame made with version " + readVersion.toString()
-              + "<br>However, this TripleA cannot open any savegame made by any engine other than engines with the same first three version numbers as it (x_x_x_x)."
-              + "<br><br>TripleA now comes with older engines included with it, and has found the engine to run this savegame. This is a new feature and is in 'beta' stage."
-              + "<br>It will attempt to run a new instance of TripleA using the older engine jar file, and this instance will only be able to play this savegame."
-              + "<br><b>You may choose to either Close or Keep the current instance of TripleA!</b> (If hosting, you must close it). Please report any bugs or issues."
-              + "<br><br>Do you wish to continue?</html>";
-          final String yesClose = "Yes & Close Current";
-          final String yesOpen = "Yes & Do Not Close";
-          final String cancel = "Cancel";
-          final Object[] options = new Object[] {yesClose, yesOpen, cancel};
-          final JOptionPane pane = new JOptionPane(messageString, JOptionPane.PLAIN_MESSAGE,
-              JOptionPane.YES_NO_CANCEL_OPTION, null, options, yesClose);
-          final JDialog window = pane.createDialog(null, "Run old jar to open old Save Game?");
-          window.setVisible(true);
-          final Object buttonPressed = pane.getValue();
-          if (buttonPressed == null || buttonPressed.equals(cancel)) {
-            return null;
-          }
-          final boolean closeCurrentInstance = buttonPressed.equals(yesClose);
-          GameRunner.startGame(savegamePath, newClassPath, null);
-          if (closeCurrentInstance) {
-            ThreadUtil.sleep(1000);
-            System.exit(0);
-          }
-        } catch (final IOException e) {
-          if (ClientFileSystemHelper.areWeOldExtraJar()) {
-            throw new IOException("<html>Please run the default TripleA and try to open this game again. "
-                + "<br>This TripleA engine is old and kept only for backwards compatibility and can only open savegames created by engines with these first 3 version digits: "
-                + ClientContext.engineVersion().getVersion().toStringFull("_", true) + "</html>");
-          } else {
-            throw new IOException(error);
-          }
-        }
+      if (header == null && !isCompatible(readVersion, savegamePath)) {
         return null;
-      } else if (!headless && readVersion.isGreaterThan(ClientContext.engineVersion().getVersion(), false)) {
-        // we can still load it because first 3 numbers of the version are the same, however this save was made by a
-        // newer engine, so prompt
-        // the user to upgrade
-        final String messageString =
-            "<html>Your TripleA engine is OUT OF DATE.  This save was made by a newer version of TripleA."
-                + "<br>However, because the first 3 version numbers are the same as your current version, we can still open the savegame."
-                + "<br><br>This TripleA engine is version " + ClientContext.engineVersion().getVersion().toStringFull("_")
-                + " and you are trying to open a savegame made with version " + readVersion.toStringFull("_")
-                + "<br><br>To download the latest version of TripleA, Please visit " + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE
-                + "<br><br>It is recommended that you upgrade to the latest version of TripleA before playing this savegame."
-                + "<br><br>Do you wish to continue and open this save with your current 'old' version?</html>";
-        final int answer =
-            JOptionPane.showConfirmDialog(null, messageString, "Open Newer Save Game?", JOptionPane.YES_NO_OPTION);
-        if (answer != JOptionPane.YES_OPTION) {
-          return null;
-        }
       }
       final GameData data = (GameData) input.readObject();
       // TODO: expand this functionality (and keep it updated)
@@ -146,6 +121,92 @@ public class GameDataManager {
     }
   }
 
+  /**
+   * Tells whether a save game written by the engine version can be loaded, asking the user where it is up to them.
+   *
+   * @return false if the save game is not to be loaded
+   * @throws IOException
+   *         if it can not be loaded and the user is to be told why
+   */
+  private static boolean isCompatible(final Version readVersion, final String savegamePath) throws IOException {
+    final boolean headless = HeadlessGameServer.headless();
+    if (!readVersion.equals(ClientContext.engineVersion().getVersion(), true)) {
+      // a hack for now, but a headless server should not try to open any savegame that is not its version
+      if (headless) {
+        final String message = "Incompatible game save, we are: " + ClientContext.engineVersion().getVersion()
+            + "  Trying to load game created with: " + readVersion;
+        HeadlessGameServer.sendChat(message);
+        System.out.println(message);
+        return false;
+      }
+      final String error = "<html>Incompatible engine versions, and no old engine found. We are: "
+          + ClientContext.engineVersion().getVersion() + " . Trying to load game created with: " + readVersion
+          + "<br>To download the latest version of TripleA, Please visit " + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE + "</html>";
+      if (savegamePath == null) {
+        throw new IOException(error);
+      }
+      // so, what we do here is try to see if our installed copy of triplea includes older jars with it that are the
+      // same engine as was
+      // used for this savegame, and if so try to run it
+      try {
+        final String newClassPath = GameRunner.findOldJar(readVersion, true);
+        // ask user if we really want to do this?
+        final String messageString = "<html>This TripleA engine is version " + ClientContext.engineVersion().getVersion()
+            + " and you are trying to open a savegame made with version " + readVersion.toString()
+            + "<br>However, this TripleA cannot open any savegame made by any engine other than engines with the same first three version numbers as it (x_x_x_x)."
+            + "<br><br>TripleA now comes with older engines included with it, and has found the engine to run this savegame. This is a new feature and is in 'beta' stage."
+            + "<br>It will attempt to run a new instance of TripleA using the older engine jar file, and this instance will only be able to play this savegame."
+            + "<br><b>You may choose to either Close or Keep the current instance of TripleA!</b> (If hosting, you must close it). Please report any bugs or issues."
+            + "<br><br>Do you wish to continue?</html>";
+        final String yesClose = "Yes & Close Current";
+        final String yesOpen = "Yes & Do Not Close";
+        final String cancel = "Cancel";
+        final Object[] options = new Object[] {yesClose, yesOpen, cancel};
+        final JOptionPane pane = new JOptionPane(messageString, JOptionPane.PLAIN_MESSAGE,
+            JOptionPane.YES_NO_CANCEL_OPTION, null, options, yesClose);
+        final JDialog window = pane.createDialog(null, "Run old jar to open old Save Game?");
+        window.setVisible(true);
+        final Object buttonPressed = pane.getValue();
+        if (buttonPressed == null || buttonPressed.equals(cancel)) {
+          return false;
+        }
+        final boolean closeCurrentInstance = buttonPressed.equals(yesClose);
+        GameRunner.startGame(savegamePath, newClassPath, null);
+        if (closeCurrentInstance) {
+          ThreadUtil.sleep(1000);
+          System.exit(0);
+        }
+      } catch (final IOException e) {
+        if (ClientFileSystemHelper.areWeOldExtraJar()) {
+          throw new IOException("<html>Please run the default TripleA and try to open this game again. "
+              + "<br>This TripleA engine is old and kept only for backwards compatibility and can only open savegames created by engines with these first 3 version digits: "
+              + ClientContext.engineVersion().getVersion().toStringFull("_", true) + "</html>");
+        } else {
+          throw new IOException(error);
+        }
+      }
+      return false;
+    } else if (!headless && readVersion.isGreaterThan(ClientContext.engineVersion().getVersion(), false)) {
+      // we can still load it because first 3 numbers of the version are the same, however this save was made by a
+      // newer engine, so prompt
+      // the user to upgrade
+      final String messageString =
+          "<html>Your TripleA engine is OUT OF DATE.  This save was made by a newer version of TripleA."
+              + "<br>However, because the first 3 version numbers are the same as your current version, we can still open the savegame."
+              + "<br><br>This TripleA engine is version " + ClientContext.engineVersion().getVersion().toStringFull("_")
+              + " and you are trying to open a savegame made with version " + readVersion.toStringFull("_")
+              + "<br><br>To download the latest version of TripleA, Please visit " + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE
+              + "<br><br>It is recommended that you upgrade to the latest version of TripleA before playing this savegame."
+              + "<br><br>Do you wish to continue and open this save with your current 'old' version?</html>";
+      final int answer =
+          JOptionPane.showConfirmDialog(null, messageString, "Open Newer Save Game?", JOptionPane.YES_NO_OPTION);
+      if (answer != JOptionPane.YES_OPTION) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Use this to keep compatibility between savegames when it is easy to do so.
    * When it is not easy to do so, just make sure to include the last release's .jar file in the "old" folder for
@@ -205,18 +266,35 @@ public class GameDataManager {
     }
   }
 
+  /**
+   * Saves the game to a temporary file next to the file first, which replaces the file once the save game is
+   * complete, so a save that fails or is interrupted leaves the file as it was.
+   */
+  public void saveGame(final File file, final GameData data) throws IOException {
+    writeAtomically(file, out -> saveGame(out, data));
+  }
+
+  /**
+   * Writes the save game straight to the sink, compressing it while the game data is serialized, and closes the
+   * sink. Use {@link #saveGame(File, GameData)} to save to a file.
+   */
   public void saveGame(final OutputStream sink, final GameData data) throws IOException {
     saveGame(sink, data, true);
   }
 
   public void saveGame(final OutputStream sink, final GameData data, final boolean saveDelegateInfo)
       throws IOException {
-    // write internally first in case of error
-    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
-    final ObjectOutputStream outStream = new ObjectOutputStream(bytes);
-    outStream.writeObject(games.strategy.engine.ClientContext.engineVersion().getVersion());
+    saveGame(sink, data, saveDelegateInfo, SaveGameCodec.Compression.FAST);
+  }
+
+  public void saveGame(final OutputStream sink, final GameData data, final boolean saveDelegateInfo,
+      final SaveGameCodec.Compression compression) throws IOException {
+    // one hold for the header and the body, so the header describes the game that is written
     data.acquireReadLock();
-    try {
+    final PerfTimer timer = PerfTimer.startTimer("Save game, holding the game data read lock");
+    try (final ObjectOutputStream outStream =
+        SaveGameCodec.newOutputStream(sink, compression, SaveGameHeader.of(data))) {
+      outStream.writeObject(games.strategy.engine.ClientContext.engineVersion().getVersion());
       outStream.writeObject(data);
       if (saveDelegateInfo) {
         writeDelegates(data, outStream);
@@ -224,11 +302,73 @@ public class GameDataManager {
         outStream.writeObject(DELEGATE_LIST_END);
       }
     } finally {
+      timer.close();
       data.releaseReadLock();
     }
-    try (final GZIPOutputStream zippedOut = new GZIPOutputStream(sink)) {
-      // now write to file
-      zippedOut.write(bytes.toByteArray());
+  }
+
+  /**
+   * Writes a save game to a stream.
+   */
+  public interface SaveGameWriter {
+    void write(OutputStream out) throws IOException;
+  }
+
+  /**
+   * Has the writer write to a temporary file in the folder of the file, then moves the temporary file over the file.
+   * The temporary file is created like any other file, so the save game gets the usual permissions, and is synced to
+   * the disk before the move, so a crash can not leave an empty or partial file in place of the old one.
+   */
+  public static void writeAtomically(final File file, final SaveGameWriter writer) throws IOException {
+    final Path target = file.getAbsoluteFile().toPath();
+    final Path temp = newTempFile(target);
+    try {
+      try (final FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        // the writer closes the stream it is given, the channel stays open to be synced
+        try (final OutputStream out = new BufferedOutputStream(new UnclosedOutputStream(channel))) {
+          writer.write(out);
+        }
+        channel.force(true);
+      }
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private static Path newTempFile(final Path target) throws IOException {
+    final String prefix = target.getFileName().toString() + ".";
+    for (int attempt = 0;; attempt++) {
+      final Path temp = target.resolveSibling(prefix + Long.toHexString(System.nanoTime() + attempt) + ".tmp");
+      try {
+        Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+        return temp;
+      } catch (final FileAlreadyExistsException e) {
+        // another save picked the same name, try the next one
+      }
+    }
+  }
+
+  /**
+   * Writes to a channel, closing only flushes and leaves the channel open.
+   */
+  private static final class UnclosedOutputStream extends FilterOutputStream {
+    UnclosedOutputStream(final FileChannel channel) {
+      super(Channels.newOutputStream(channel));
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
     }
   }
 
@@ -7,7 +7,9 @@ import java.io.ObjectInputStream;
 
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameDataCopier;
 import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.performance.PerfTimer;
 
 public class GameDataUtils {
   public static GameData cloneGameData(final GameData data) {
@@ -19,6 +21,23 @@ public class GameDataUtils {
    * <Strong>You should have the game datas read or write lock before calling this method</STRONG>
    */
   public static GameData cloneGameData(final GameData data, final boolean copyDelegates) {
+    if (!GameDataCopier.isSupported()) {
+      return cloneGameDataBySerialization(data, copyDelegates);
+    }
+    final PerfTimer timer = PerfTimer.startTimer("Clone game data");
+    try {
+      return GameDataCopier.copy(data, copyDelegates);
+    } catch (final RuntimeException e) {
+      // the copier follows the serialization rules, but if it ever meets a graph it can not handle,
+      // fall back to the (slow) serialization round trip
+      ClientLogger.logQuietly("Could not copy game data directly, falling back to serialization", e);
+      return cloneGameDataBySerialization(data, copyDelegates);
+    } finally {
+      timer.close();
+    }
+  }
+
+  private static GameData cloneGameDataBySerialization(final GameData data, final boolean copyDelegates) {
     try {
       final GameDataManager manager = new GameDataManager();
       ByteArrayOutputStream sink = new ByteArrayOutputStream(10000);
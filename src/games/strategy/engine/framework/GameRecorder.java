@@ -0,0 +1,110 @@
+package games.strategy.engine.framework;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.history.EventChild;
+
+/**
+ * Does the changes and history events ServerGame makes to the game data and its history, and hands each of them to
+ * the listeners that keep records of them, the autosave journal and the observer join cache. A record is framed once
+ * and the listeners get the same bytes, and it is not framed at all while no listener keeps records.
+ * <p>
+ * Everything is done while holding the monitor of the recorder, so that holding it keeps the game from being changed
+ * while a listener takes an image of it.
+ */
+class GameRecorder {
+  /**
+   * Keeps the framed records of what happened to the game.
+   */
+  interface Listener {
+    /**
+     * @return whether records are kept at the moment
+     */
+    boolean isRecording();
+
+    /**
+     * @param frame
+     *        the record framed with AutoSaveJournal.frame, shared with the other listeners and not to be modified
+     */
+    void recorded(byte[] frame);
+
+    /**
+     * A record could not be framed, so the records kept since the last image of the game are incomplete.
+     */
+    void recordLost();
+  }
+
+  private final GameData m_data;
+  private final List<Listener> m_listeners = new ArrayList<>();
+
+  GameRecorder(final GameData data) {
+    m_data = data;
+  }
+
+  synchronized void addListener(final Listener listener) {
+    m_listeners.add(listener);
+  }
+
+  synchronized void changed(final Change change) {
+    m_data.performChange(change);
+    m_data.getHistory().getHistoryWriter().addChange(change);
+    record(new AutoSaveJournal.ChangeRecord(change));
+  }
+
+  synchronized void eventStarted(final String event) {
+    m_data.getHistory().getHistoryWriter().startEvent(event);
+    record(new AutoSaveJournal.EventRecord(event));
+  }
+
+  synchronized void renderingDataSet(final Object renderingData) {
+    m_data.getHistory().getHistoryWriter().setRenderingData(renderingData);
+    record(new AutoSaveJournal.RenderingDataRecord(renderingData));
+  }
+
+  synchronized void childAdded(final String text, final Object renderingData) {
+    m_data.getHistory().getHistoryWriter().addChildToEvent(new EventChild(text, renderingData));
+    record(new AutoSaveJournal.EventChildRecord(text, renderingData));
+  }
+
+  synchronized void stepStarted(final String stepName, final String delegateName, final PlayerID player,
+      final String displayName) {
+    m_data.getHistory().getHistoryWriter().startNextStep(stepName, delegateName, player, displayName);
+    record(new AutoSaveJournal.StepRecord(stepName, delegateName, player, displayName));
+  }
+
+  synchronized void roundStarted(final int round) {
+    m_data.getHistory().getHistoryWriter().startNextRound(round);
+    record(new AutoSaveJournal.RoundRecord(round));
+  }
+
+  private void record(final AutoSaveJournal.Record record) {
+    final List<Listener> recording = new ArrayList<>(m_listeners.size());
+    for (final Listener listener : m_listeners) {
+      if (listener.isRecording()) {
+        recording.add(listener);
+      }
+    }
+    if (recording.isEmpty()) {
+      return;
+    }
+    final byte[] frame;
+    try {
+      frame = AutoSaveJournal.frame(AutoSaveJournal.RECORD, record);
+    } catch (final IOException e) {
+      ClientLogger.logQuietly("Could not record " + record.getClass().getSimpleName(), e);
+      for (final Listener listener : recording) {
+        listener.recordLost();
+      }
+      return;
+    }
+    for (final Listener listener : recording) {
+      listener.recorded(frame);
+    }
+  }
+}
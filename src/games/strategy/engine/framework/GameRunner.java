@@ -86,6 +86,7 @@ public class GameRunner {
 
   public static final String TRIPLEA_SERVER_START_GAME_SYNC_WAIT_TIME = "triplea.server.startGameSyncWaitTime";
   public static final String TRIPLEA_SERVER_OBSERVER_JOIN_WAIT_TIME = "triplea.server.observerJoinWaitTime";
+  public static final String TRIPLEA_AUTOSAVE_JOURNAL_ROUNDS = "triplea.autosave.journalRounds";
   // non-commandline-argument-properties (for preferences)
   // first time we've run this version of triplea?
   private static final String SYSTEM_INI = "system.ini";
@@ -110,7 +111,8 @@ public class GameRunner {
           TRIPLEA_PORT_PROPERTY, TRIPLEA_NAME_PROPERTY, TRIPLEA_SERVER_PASSWORD_PROPERTY, TRIPLEA_STARTED,
           LobbyServer.TRIPLEA_LOBBY_PORT_PROPERTY,
           LOBBY_HOST, LOBBY_GAME_COMMENTS, LOBBY_GAME_HOSTED_BY, TRIPLEA_ENGINE_VERSION_BIN, HttpProxy.PROXY_HOST,
-          HttpProxy.PROXY_PORT, TRIPLEA_DO_NOT_CHECK_FOR_UPDATES, Memory.TRIPLEA_MEMORY_SET, MAP_FOLDER};
+          HttpProxy.PROXY_PORT, TRIPLEA_DO_NOT_CHECK_FOR_UPDATES, Memory.TRIPLEA_MEMORY_SET, MAP_FOLDER,
+          TRIPLEA_AUTOSAVE_JOURNAL_ROUNDS};
 
 
   private static void usage(GameMode gameMode) {
@@ -130,6 +132,7 @@ public class GameRunner {
           + "   " + LOBBY_GAME_RECONNECTION + "=<seconds between refreshing lobby connection [min " + LOBBY_RECONNECTION_REFRESH_SECONDS_MINIMUM + "]>\n"
           + "   " + TRIPLEA_SERVER_START_GAME_SYNC_WAIT_TIME + "=<seconds to wait for all clients to start the game>\n"
           + "   " + TRIPLEA_SERVER_OBSERVER_JOIN_WAIT_TIME + "=<seconds to wait for an observer joining the game>\n"
+          + "   " + TRIPLEA_AUTOSAVE_JOURNAL_ROUNDS + "=<rounds between autosave journal compactions, 0 for whole autosaves>\n"
           + "   " + MAP_FOLDER + "=mapFolder"
           + "\n"
           + "   You must start the Name and HostedBy with \"Bot\".\n"
@@ -154,6 +157,7 @@ public class GameRunner {
           + "   " + HttpProxy.PROXY_HOST + "=<Proxy_Host>\n"
           + "   " + HttpProxy.PROXY_PORT + "=<Proxy_Port>\n"
           + "   " + Memory.TRIPLEA_MEMORY_SET + "=true/false <did you set the xmx manually?>\n"
+          + "   " + TRIPLEA_AUTOSAVE_JOURNAL_ROUNDS + "=<rounds between autosave journal compactions, 0 for whole autosaves>\n"
           + "\n"
           + "if there is only one argument, and it does not start with triplea.game, the argument will be \n"
           + "taken as the name of the file to load.\n" + "\n" + "Example\n"
@@ -453,6 +457,17 @@ public class GameRunner {
     SystemPreferences.put(SystemPreferenceKey.TRIPLEA_SERVER_START_GAME_SYNC_WAIT_TIME, wait);
   }
 
+  /**
+   * @return the rounds between compactions of the autosave journal, 0 when autosaves are whole save games
+   */
+  public static int getAutoSaveJournalRounds() {
+    try {
+      return Math.max(0, Integer.parseInt(System.getProperty(TRIPLEA_AUTOSAVE_JOURNAL_ROUNDS, "0")));
+    } catch (final NumberFormatException e) {
+      return 0;
+    }
+  }
+
   public static int getServerObserverJoinWaitTime() {
     return Math.max(MINIMUM_SERVER_OBSERVER_JOIN_WAIT_TIME, Preferences.userNodeForPackage(GameRunner.class)
         .getInt(TRIPLEA_SERVER_OBSERVER_JOIN_WAIT_TIME, DEFAULT_SERVER_OBSERVER_JOIN_WAIT_TIME));
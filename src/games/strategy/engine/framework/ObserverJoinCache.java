@@ -0,0 +1,169 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import games.strategy.engine.data.GameData;
+
+/**
+ * The game observers join with, serialized once and shared by the observers that join after it, so that several
+ * observers joining do not serialize the game each.
+ * <p>
+ * After the image is taken the changes and history events ServerGame makes are recorded, framed by its GameRecorder
+ * the way the autosave journal records them. An observer that joins while nothing was recorded and the game is still
+ * at the same step gets the image as it is, a plain save game. One that joins later gets the image followed by the
+ * records since and a checkpoint of the game state that changes do not keep, which
+ * {@link GameDataManager#loadGame(InputStream, String)} replays after loading the image. The records are deflated when
+ * they are sent. Once they grow as long as the image the image is dropped, and the next observer to join takes a new
+ * one.
+ */
+class ObserverJoinCache implements GameRecorder.Listener {
+  private static final Logger s_logger = Logger.getLogger(ObserverJoinCache.class.getName());
+  /**
+   * "TAOJ", an image with records after it, plain save games start with SaveGameCodec's magic number.
+   */
+  private static final int MAGIC = 0x54414f4a;
+
+  // null until an observer joins, and after the records grew too long
+  private byte[] m_image;
+  private int m_round;
+  private int m_stepIndex;
+  // the framed records since the image was taken
+  private final ByteArrayOutputStream m_records = new ByteArrayOutputStream();
+
+  @Override
+  public synchronized boolean isRecording() {
+    // else the next observer takes a new image, it has what happens until then in it
+    return m_image != null;
+  }
+
+  @Override
+  public synchronized void recorded(final byte[] frame) {
+    if (m_image == null) {
+      return;
+    }
+    m_records.write(frame, 0, frame.length);
+    // they are deflated when they are sent, so even as long as the image they add only a part of it
+    if (m_records.size() > m_image.length) {
+      s_logger.fine("Dropping the observer join image of " + m_image.length + " bytes after " + m_records.size()
+          + " bytes of records");
+      drop();
+    }
+  }
+
+  @Override
+  public synchronized void recordLost() {
+    drop();
+  }
+
+  private void drop() {
+    m_image = null;
+    m_records.reset();
+  }
+
+  /**
+   * Call with delegate execution blocked and the monitor of the GameRecorder held, so that nothing is changed or
+   * recorded until this returns.
+   *
+   * @return what the observer loads the game from
+   */
+  synchronized byte[] getJoinImage(final GameData data) throws IOException {
+    final int round;
+    final int stepIndex;
+    data.acquireReadLock();
+    try {
+      round = data.getSequence().getRound();
+      stepIndex = data.getSequence().getStepIndex();
+    } finally {
+      data.releaseReadLock();
+    }
+    if (m_image == null) {
+      final ByteArrayOutputStream sink = new ByteArrayOutputStream(1000);
+      new GameDataManager().saveGame(sink, data);
+      m_image = sink.toByteArray();
+      m_round = round;
+      m_stepIndex = stepIndex;
+      m_records.reset();
+      return m_image;
+    }
+    if (m_records.size() == 0 && m_round == round && m_stepIndex == stepIndex) {
+      s_logger.fine("Sharing the observer join image");
+      return m_image;
+    }
+    final byte[] checkpoint;
+    data.acquireReadLock();
+    try {
+      checkpoint = AutoSaveJournal.frame(AutoSaveJournal.CHECKPOINT, new AutoSaveJournal.Checkpoint(data));
+    } finally {
+      data.releaseReadLock();
+    }
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(m_image.length + m_records.size() / 4 + 1000);
+    final DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeInt(m_image.length);
+    out.write(m_image);
+    out.writeInt(m_records.size() + checkpoint.length);
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (final DeflaterOutputStream records = new DeflaterOutputStream(out, deflater)) {
+      m_records.writeTo(records);
+      records.write(checkpoint);
+    } finally {
+      deflater.end();
+    }
+    s_logger.fine("Sharing the observer join image with " + m_records.size() + " bytes of records");
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @param input
+   *        a stream that supports mark and reset
+   * @return whether the stream holds an image with records after it, the stream is left where it was
+   */
+  static boolean isImageWithRecords(final InputStream input) throws IOException {
+    input.mark(4);
+    try {
+      return new DataInputStream(input).readInt() == MAGIC;
+    } catch (final EOFException e) {
+      return false;
+    } finally {
+      input.reset();
+    }
+  }
+
+  /**
+   * Loads the image and replays the records after it.
+   *
+   * @return the game, or null if the manager could not load the image
+   */
+  static GameData load(final GameDataManager manager, final InputStream input, final String path)
+      throws IOException {
+    final DataInputStream in = new DataInputStream(input);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not an observer join image");
+    }
+    final byte[] image = new byte[in.readInt()];
+    in.readFully(image);
+    final int recordsLength = in.readInt();
+    final GameData data = manager.loadGame(new ByteArrayInputStream(image), path);
+    if (data != null) {
+      final Inflater inflater = new Inflater();
+      try {
+        AutoSaveJournal.replay(data, AutoSaveJournal.readCheckpointed(
+            new DataInputStream(new InflaterInputStream(in, inflater)), recordsLength, "the observer join image"));
+      } finally {
+        inflater.end();
+      }
+    }
+    return data;
+  }
+}
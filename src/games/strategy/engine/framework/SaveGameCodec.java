@@ -0,0 +1,212 @@
+package games.strategy.engine.framework;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The binary save game format.
+ * <p>
+ * A save game starts with the magic number and the format version, followed by the length prefixed
+ * {@link SaveGameHeader}, which can be read without inflating anything, and then the deflated body.
+ * The body is written with java serialization through a stream that keeps a string table: the same territory,
+ * unit type, player, property or attachment name is written once, referred to by its index after that, and read
+ * back as one shared instance.
+ * <p>
+ * Save games from before this format are gzipped object streams, they are told apart by
+ * {@link #isCompactFormat(InputStream)} so that GameDataManager can still load them.
+ */
+public final class SaveGameCodec {
+  /**
+   * "TASG", gzip streams start with 0x1f8b instead.
+   */
+  private static final int MAGIC = 0x54415347;
+  /**
+   * Increase when the header or the way the body is written changes.
+   */
+  static final int FORMAT_VERSION = 2;
+  /**
+   * The first format version with a SaveGameHeader, save games of format 1 go straight to the body.
+   */
+  private static final int HEADER_FORMAT_VERSION = 2;
+  /**
+   * Far more than a header takes, bounds how far {@link #readHeader(InputStream)} may have to reset.
+   */
+  private static final int MAX_HEADER_LENGTH = 1 << 16;
+  private static final int BUFFER_SIZE = 8192;
+
+  public enum Compression {
+    /**
+     * Deflates at the fastest level, saving takes a fraction of the time for a somewhat larger file.
+     */
+    FAST(Deflater.BEST_SPEED),
+    /**
+     * Deflates at the level the legacy gzipped format used, which with the string table makes a smaller file than it.
+     */
+    SMALL(Deflater.DEFAULT_COMPRESSION);
+
+    private final int level;
+
+    Compression(final int level) {
+      this.level = level;
+    }
+  }
+
+  private SaveGameCodec() {}
+
+  /**
+   * Writes the magic number, the format version and the header to the sink and returns the stream to write the body
+   * to, closing it finishes the save game and closes the sink.
+   */
+  public static ObjectOutputStream newOutputStream(final OutputStream sink, final Compression compression,
+      final SaveGameHeader header) throws IOException {
+    final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream(256);
+    try (final DataOutputStream headerOut = new DataOutputStream(headerBytes)) {
+      header.write(headerOut);
+    }
+    if (headerBytes.size() > MAX_HEADER_LENGTH) {
+      throw new IOException("The save game header is too long: " + headerBytes.size());
+    }
+    final DataOutputStream front = new DataOutputStream(sink);
+    front.writeInt(MAGIC);
+    front.writeInt(FORMAT_VERSION);
+    front.writeInt(headerBytes.size());
+    headerBytes.writeTo(front);
+    front.flush();
+    final Deflater deflater = new Deflater(compression.level);
+    final OutputStream body = new DeflaterOutputStream(sink, deflater, BUFFER_SIZE) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          deflater.end();
+        }
+      }
+    };
+    return new StringTableOutputStream(new BufferedOutputStream(body, BUFFER_SIZE));
+  }
+
+  /**
+   * @param input
+   *        a stream that supports mark and reset, positioned at the start of the save game
+   * @return whether the save game is in this format, the stream is left where it was
+   */
+  public static boolean isCompactFormat(final InputStream input) throws IOException {
+    input.mark(4);
+    try {
+      return new DataInputStream(input).readInt() == MAGIC;
+    } catch (final EOFException e) {
+      return false;
+    } finally {
+      input.reset();
+    }
+  }
+
+  /**
+   * @param input
+   *        a stream that supports mark and reset, positioned at the start of the save game
+   * @return the header of the save game, or null if it is in a format without one: a legacy save game, one of
+   *         format 1 or one of a format newer than this engine can read. The stream is left where it was.
+   * @throws IOException
+   *         if the save game ends or is corrupt within its header
+   */
+  public static SaveGameHeader readHeader(final InputStream input) throws IOException {
+    input.mark(3 * 4 + MAX_HEADER_LENGTH);
+    try {
+      final DataInputStream front = new DataInputStream(input);
+      try {
+        if (front.readInt() != MAGIC) {
+          return null;
+        }
+      } catch (final EOFException e) {
+        return null;
+      }
+      final int formatVersion = front.readInt();
+      if (formatVersion < HEADER_FORMAT_VERSION || formatVersion > FORMAT_VERSION) {
+        return null;
+      }
+      final int length = front.readInt();
+      if (length < 0 || length > MAX_HEADER_LENGTH) {
+        throw new IOException("Corrupt save game header length: " + length);
+      }
+      final byte[] header = new byte[length];
+      front.readFully(header);
+      return SaveGameHeader.read(new DataInputStream(new ByteArrayInputStream(header)));
+    } finally {
+      input.reset();
+    }
+  }
+
+  /**
+   * Reads past the header and returns the stream to read the body from.
+   *
+   * @throws IOException
+   *         if the input is not a save game in this format, or was written in a newer version of it
+   */
+  public static ObjectInputStream newInputStream(final InputStream input) throws IOException {
+    final DataInputStream front = new DataInputStream(input);
+    if (front.readInt() != MAGIC) {
+      throw new IOException("Not a save game");
+    }
+    final int formatVersion = front.readInt();
+    if (formatVersion > FORMAT_VERSION) {
+      throw new IOException("The save game format " + formatVersion + " is newer than this engine can read: "
+          + FORMAT_VERSION);
+    }
+    if (formatVersion >= HEADER_FORMAT_VERSION) {
+      final int length = front.readInt();
+      if (length < 0 || length > MAX_HEADER_LENGTH) {
+        throw new IOException("Corrupt save game header length: " + length);
+      }
+      front.readFully(new byte[length]);
+    }
+    final Inflater inflater = new Inflater();
+    return new ObjectInputStream(new InflaterInputStream(input, inflater, BUFFER_SIZE) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          inflater.end();
+        }
+      }
+    });
+  }
+
+  /**
+   * Writes equal strings as the same object, so that java serialization writes them once and back references to
+   * them after that.
+   */
+  private static final class StringTableOutputStream extends ObjectOutputStream {
+    private final Map<String, String> strings = new HashMap<>();
+
+    StringTableOutputStream(final OutputStream output) throws IOException {
+      super(output);
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      if (obj instanceof String) {
+        final String string = strings.putIfAbsent((String) obj, (String) obj);
+        return string == null ? obj : string;
+      }
+      return obj;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package games.strategy.engine.framework;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import games.strategy.engine.ClientContext;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameStep;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.triplea.Constants;
+import games.strategy.util.Version;
+
+/**
+ * What a save game tells about itself in front of its body: the engine that wrote it, the game and map and where
+ * the game was when it was saved. Reading it takes a few hundred bytes, not the game data. It leaves out when the
+ * game was saved, so that saving the same game twice writes the same bytes.
+ */
+public final class SaveGameHeader {
+  private final Version m_engineVersion;
+  private final String m_gameName;
+  private final String m_mapName;
+  private final int m_round;
+  private final String m_stepName;
+  private final String m_playerName;
+
+  SaveGameHeader(final Version engineVersion, final String gameName, final String mapName, final int round,
+      final String stepName, final String playerName) {
+    m_engineVersion = engineVersion;
+    m_gameName = gameName;
+    m_mapName = mapName;
+    m_round = round;
+    m_stepName = stepName;
+    m_playerName = playerName;
+  }
+
+  /**
+   * The header of a save game of the data written now by this engine, the caller must hold the read lock.
+   */
+  static SaveGameHeader of(final GameData data) {
+    final GameStep step = data.getSequence().size() == 0 ? null : data.getSequence().getStep();
+    final PlayerID player = step == null ? null : step.getPlayerID();
+    return new SaveGameHeader(ClientContext.engineVersion().getVersion(), nullToEmpty(data.getGameName()),
+        data.getProperties().get(Constants.MAP_NAME, ""), data.getSequence().getRound(), getStepName(step),
+        player == null ? "" : player.getName());
+  }
+
+  private static String getStepName(final GameStep step) {
+    if (step == null) {
+      return "";
+    }
+    // a step without a display name takes the one of its delegate, which data loaded without delegates lacks
+    return nullToEmpty(step.getDelegate() == null ? step.getName() : step.getDisplayName());
+  }
+
+  private static String nullToEmpty(final String string) {
+    return string == null ? "" : string;
+  }
+
+  void write(final DataOutputStream out) throws IOException {
+    out.writeUTF(m_engineVersion.toStringFull("."));
+    out.writeUTF(m_gameName);
+    out.writeUTF(m_mapName);
+    out.writeInt(m_round);
+    out.writeUTF(m_stepName);
+    out.writeUTF(m_playerName);
+  }
+
+  static SaveGameHeader read(final DataInputStream in) throws IOException {
+    final Version engineVersion;
+    try {
+      engineVersion = new Version(in.readUTF());
+    } catch (final IllegalArgumentException e) {
+      throw new IOException(e.getMessage());
+    }
+    return new SaveGameHeader(engineVersion, in.readUTF(), in.readUTF(), in.readInt(), in.readUTF(), in.readUTF());
+  }
+
+  public Version getEngineVersion() {
+    return m_engineVersion;
+  }
+
+  public String getGameName() {
+    return m_gameName;
+  }
+
+  /**
+   * @return the map name property of the game, empty if it has none
+   */
+  public String getMapName() {
+    return m_mapName;
+  }
+
+  public int getRound() {
+    return m_round;
+  }
+
+  /**
+   * @return the display name of the current step
+   */
+  public String getStepName() {
+    return m_stepName;
+  }
+
+  /**
+   * @return the name of the player of the current step, empty if it has none
+   */
+  public String getPlayerName() {
+    return m_playerName;
+  }
+
+  @Override
+  public String toString() {
+    final String player = m_playerName.isEmpty() ? "" : " (" + m_playerName + ")";
+    return m_gameName + ", round " + m_round + ", " + m_stepName + player + ", engine " + m_engineVersion;
+  }
+}
@@ -0,0 +1,166 @@
+package games.strategy.engine.framework;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * The headers of the save games in a folder, kept in an index file in the folder so that listing the folder again
+ * only reads the headers of the save games that were written since.
+ * <p>
+ * A save game is looked up by its name, length and last modified time, the header is read again when one of them
+ * changed. Save games without a header, legacy ones and ones of format 1, are kept as having none, they are never
+ * deserialized to tell about them.
+ */
+public final class SaveGameIndex {
+  private static final Logger s_logger = Logger.getLogger(SaveGameIndex.class.getName());
+  static final String INDEX_FILE_NAME = ".tsvg_index";
+  /**
+   * Increase when the index file or the header changes, an index file of another version is ignored.
+   */
+  private static final int INDEX_FORMAT_VERSION = 1;
+
+  private static final class Entry {
+    private final long m_length;
+    private final long m_lastModified;
+    private final SaveGameHeader m_header;
+
+    private Entry(final long length, final long lastModified, final SaveGameHeader header) {
+      m_length = length;
+      m_lastModified = lastModified;
+      m_header = header;
+    }
+  }
+
+  private final File m_folder;
+  private final Map<String, Entry> m_entries = new HashMap<>();
+  private boolean m_changed = false;
+
+  /**
+   * Reads the index file of the folder, if there is one.
+   */
+  public SaveGameIndex(final File folder) {
+    m_folder = folder;
+    readIndex();
+  }
+
+  /**
+   * Reads the headers of the save games in the folder that the filter accepts, from the index file where it is up
+   * to date, and writes the index file if it changed.
+   *
+   * @return the save games by name with their headers, null for the ones without a header
+   */
+  public static Map<File, SaveGameHeader> list(final File folder, final FileFilter filter) {
+    final File[] files = folder.listFiles(file -> file.isFile() && filter.accept(file));
+    final Map<File, SaveGameHeader> headers = new LinkedHashMap<>();
+    if (files == null) {
+      return headers;
+    }
+    Arrays.sort(files);
+    final SaveGameIndex index = new SaveGameIndex(folder);
+    for (final File file : files) {
+      headers.put(file, index.getHeader(file));
+    }
+    index.save();
+    return headers;
+  }
+
+  public File getFolder() {
+    return m_folder;
+  }
+
+  /**
+   * @param file
+   *        a save game in the folder
+   * @return the header of the save game, or null if it has none or can not be read
+   */
+  public synchronized SaveGameHeader getHeader(final File file) {
+    final long length = file.length();
+    final long lastModified = file.lastModified();
+    final Entry entry = m_entries.get(file.getName());
+    if (entry != null && entry.m_length == length && entry.m_lastModified == lastModified) {
+      return entry.m_header;
+    }
+    SaveGameHeader header = null;
+    try (final InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+      header = SaveGameCodec.readHeader(input);
+    } catch (final IOException e) {
+      s_logger.fine("Could not read the save game header of " + file + ": " + e.getMessage());
+    }
+    m_entries.put(file.getName(), new Entry(length, lastModified, header));
+    m_changed = true;
+    return header;
+  }
+
+  /**
+   * Writes the index file if a header was read since it was read or written, leaving out the save games that are
+   * gone. A folder that can not be written to is left without one.
+   */
+  public synchronized void save() {
+    for (final Iterator<String> names = m_entries.keySet().iterator(); names.hasNext();) {
+      if (!new File(m_folder, names.next()).isFile()) {
+        names.remove();
+        m_changed = true;
+      }
+    }
+    if (!m_changed) {
+      return;
+    }
+    try {
+      GameDataManager.writeAtomically(new File(m_folder, INDEX_FILE_NAME), out -> {
+        final DataOutputStream index = new DataOutputStream(out);
+        index.writeInt(INDEX_FORMAT_VERSION);
+        index.writeInt(m_entries.size());
+        for (final Map.Entry<String, Entry> entry : m_entries.entrySet()) {
+          index.writeUTF(entry.getKey());
+          index.writeLong(entry.getValue().m_length);
+          index.writeLong(entry.getValue().m_lastModified);
+          index.writeBoolean(entry.getValue().m_header != null);
+          if (entry.getValue().m_header != null) {
+            entry.getValue().m_header.write(index);
+          }
+        }
+        index.flush();
+      });
+      m_changed = false;
+    } catch (final IOException e) {
+      s_logger.fine("Could not write the save game index of " + m_folder + ": " + e.getMessage());
+    }
+  }
+
+  private void readIndex() {
+    final File file = new File(m_folder, INDEX_FILE_NAME);
+    if (!file.isFile()) {
+      return;
+    }
+    try (final DataInputStream index = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if (index.readInt() != INDEX_FORMAT_VERSION) {
+        return;
+      }
+      final int size = index.readInt();
+      final Map<String, Entry> entries = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+        final String name = index.readUTF();
+        final long length = index.readLong();
+        final long lastModified = index.readLong();
+        final SaveGameHeader header = index.readBoolean() ? SaveGameHeader.read(index) : null;
+        entries.put(name, new Entry(length, lastModified, header));
+      }
+      m_entries.putAll(entries);
+    } catch (final IOException e) {
+      // the headers are read again and the index file is written anew
+      s_logger.fine("Could not read the save game index of " + m_folder + ": " + e.getMessage());
+    }
+  }
+}
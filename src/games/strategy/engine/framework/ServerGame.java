@@ -2,7 +2,6 @@ package games.strategy.engine.framework;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collection;
@@ -22,6 +21,7 @@ import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameStep;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.PlayerManager;
+import games.strategy.engine.data.changefactory.ChangeCompactor;
 import games.strategy.engine.data.changefactory.ChangeFactory;
 import games.strategy.engine.delegate.AutoSave;
 import games.strategy.engine.delegate.DefaultDelegateBridge;
@@ -75,6 +75,16 @@ public class ServerGame extends AbstractGame {
    * <p>
    */
   private final CountDownLatch m_delegateExecutionStoppedLatch = new CountDownLatch(1);
+  // how long explicit saves and stopping the game wait for the autosave being written
+  private static final long AUTOSAVE_WRITE_WAIT_MILLIS = 60000;
+  private final AutoSaveWriter m_autoSaveWriter = new AutoSaveWriter();
+  // the file the last autoSave() went to, null until the first one
+  private File m_lastAutoSaveFile;
+  // null unless autosaves go to a journal
+  private final AutoSaveJournal m_autoSaveJournal;
+  private final ObserverJoinCache m_observerJoinCache = new ObserverJoinCache();
+  // makes the changes and history events, and hands them to the journal and the observer join cache
+  private final GameRecorder m_recorder;
   /**
    * Has the delegate signaled that delegate execution should stop.
    */
@@ -93,12 +103,20 @@ public class ServerGame extends AbstractGame {
   public ServerGame(final GameData data, final Set<IGamePlayer> localPlayers,
       final Map<String, INode> remotePlayerMapping, final Messengers messengers) {
     super(data, localPlayers, remotePlayerMapping, messengers);
+    final int journalRounds = GameRunner.getAutoSaveJournalRounds();
+    m_autoSaveJournal = journalRounds > 0 ? new AutoSaveJournal(new File(
+        ClientContext.folderSettings().getSaveGamePath(), SaveGameFileChooser.getAutoSaveJournalFolderName()),
+        journalRounds) : null;
+    m_recorder = new GameRecorder(m_data);
+    if (m_autoSaveJournal != null) {
+      m_recorder.addListener(m_autoSaveJournal);
+    }
+    m_recorder.addListener(m_observerJoinCache);
     m_gameModifiedChannel = new IGameModifiedChannel() {
       @Override
       public void gameDataChanged(final Change aChange) {
         assertCorrectCaller();
-        m_data.performChange(aChange);
-        m_data.getHistory().getHistoryWriter().addChange(aChange);
+        m_recorder.changed(aChange);
       }
 
       private void assertCorrectCaller() {
@@ -118,18 +136,18 @@ public class ServerGame extends AbstractGame {
       @Override
       public void startHistoryEvent(final String event) {
         assertCorrectCaller();
-        m_data.getHistory().getHistoryWriter().startEvent(event);
+        m_recorder.eventStarted(event);
       }
 
       @Override
       public void addChildToEvent(final String text, final Object renderingData) {
         assertCorrectCaller();
-        m_data.getHistory().getHistoryWriter().addChildToEvent(new EventChild(text, renderingData));
+        m_recorder.childAdded(text, renderingData);
       }
 
       protected void setRenderingData(final Object renderingData) {
         assertCorrectCaller();
-        m_data.getHistory().getHistoryWriter().setRenderingData(renderingData);
+        m_recorder.renderingDataSet(renderingData);
       }
 
       @Override
@@ -139,7 +157,7 @@ public class ServerGame extends AbstractGame {
         if (loadedFromSavedGame) {
           return;
         }
-        m_data.getHistory().getHistoryWriter().startNextStep(stepName, delegateName, player, displayName);
+        m_recorder.stepStarted(stepName, delegateName, player, displayName);
       }
 
       // nothing to do, we call this
@@ -175,11 +193,14 @@ public class ServerGame extends AbstractGame {
     }
     try {
       final CountDownLatch waitOnObserver = new CountDownLatch(1);
-      final ByteArrayOutputStream sink = new ByteArrayOutputStream(1000);
-      saveGame(sink);
+      // observers joining one after the other share the serialized game
+      final byte[] image;
+      synchronized (m_recorder) {
+        image = m_observerJoinCache.getJoinImage(m_data);
+      }
       (new Thread(() -> {
         try {
-          blockingObserver.joinGame(sink.toByteArray(), m_playerManager.getPlayerMapping());
+          blockingObserver.joinGame(image, m_playerManager.getPlayerMapping());
           waitOnObserver.countDown();
         } catch (final ConnectionLostException cle) {
           System.out.println("Connection lost to observer while joining: " + newNode.getName());
@@ -342,32 +363,40 @@ public class ServerGame extends AbstractGame {
       m_delegateExecutionManager.resumeDelegateExecution();
     }
     m_data.getGameLoader().shutDown();
+    stopAutoSaves();
     if (HeadlessGameServer.headless()) {
       System.out.println("StopGame successful.");
     }
   }
 
   private void autoSave() {
+    if (m_autoSaveJournal != null) {
+      autoSaveToJournal();
+      return;
+    }
     SaveGameFileChooser.ensureMapsFolderExists();
     final File f1 =
         new File(ClientContext.folderSettings().getSaveGamePath(), SaveGameFileChooser.getAutoSaveFileName());
     final File f2 =
         new File(ClientContext.folderSettings().getSaveGamePath(), SaveGameFileChooser.getAutoSave2FileName());
     final File f;
-    if (f1.lastModified() > f2.lastModified()) {
+    if (m_lastAutoSaveFile != null) {
+      // the last autosave may not be written yet, so the modification times can not tell which file is older
+      f = m_lastAutoSaveFile.equals(f1) ? f2 : f1;
+    } else if (f1.lastModified() > f2.lastModified()) {
       f = f2;
     } else {
       f = f1;
     }
-
-    try (FileOutputStream out = new FileOutputStream(f)) {
-      saveGame(out);
-    } catch (final Exception e) {
-      ClientLogger.logQuietly(e);
-    }
+    m_lastAutoSaveFile = f;
+    autoSave(f);
   }
 
   private void autoSaveRound() {
+    if (m_autoSaveJournal != null) {
+      autoSaveToJournal();
+      return;
+    }
     SaveGameFileChooser.ensureMapsFolderExists();
     final File autosaveFile;
     if (m_data.getSequence().getRound() % 2 == 0) {
@@ -377,18 +406,83 @@ public class ServerGame extends AbstractGame {
       autosaveFile =
           new File(ClientContext.folderSettings().getSaveGamePath(), SaveGameFileChooser.getAutoSaveOddFileName());
     }
+    autoSave(autosaveFile);
+  }
 
-    try (FileOutputStream out = new FileOutputStream(autosaveFile)) {
-      saveGame(out);
-    } catch (final Exception e) {
+  /**
+   * Takes a snapshot of the game and leaves writing it to the autosave writer, so the game thread is only blocked
+   * while the game data is copied.
+   */
+  private void autoSave(final File file) {
+    final long start = System.nanoTime();
+    if (!blockDelegateExecutionToAutoSave()) {
+      return;
+    }
+    try {
+      final GameData snapshot;
+      m_data.acquireReadLock();
+      try {
+        snapshot = GameDataUtils.cloneGameData(m_data, true);
+      } finally {
+        m_data.releaseReadLock();
+      }
+      // queued before delegate execution resumes, so a save that blocks it sees every earlier snapshot
+      if (snapshot != null) {
+        m_autoSaveWriter.write(file, snapshot, System.nanoTime() - start);
+      }
+    } finally {
+      m_delegateExecutionManager.resumeDelegateExecution();
+    }
+  }
+
+  /**
+   * Drops the autosaves still waiting to be written and waits for the one being written, so that the autosave files
+   * do not change any more once the game is over. Later autosaves are not written.
+   */
+  public void stopAutoSaves() {
+    try {
+      if (!m_autoSaveWriter.stop(AUTOSAVE_WRITE_WAIT_MILLIS)) {
+        ClientLogger.logQuietly("Timed out waiting for the autosave to be written");
+      }
+      if (m_autoSaveJournal != null && !m_autoSaveJournal.stop(AUTOSAVE_WRITE_WAIT_MILLIS)) {
+        ClientLogger.logQuietly("Timed out waiting for the autosave journal to be written");
+      }
+    } catch (final InterruptedException e) {
+      ClientLogger.logQuietly(e);
+    }
+  }
+
+  /**
+   * Checkpoints the autosave journal, which writes only what happened since the last autosave.
+   */
+  private void autoSaveToJournal() {
+    if (!blockDelegateExecutionToAutoSave()) {
+      return;
+    }
+    try {
+      m_autoSaveJournal.checkpoint(m_data);
+    } finally {
+      m_delegateExecutionManager.resumeDelegateExecution();
+    }
+  }
+
+  private boolean blockDelegateExecutionToAutoSave() {
+    try {
+      if (!m_delegateExecutionManager.blockDelegateExecution(6000)) {
+        ClientLogger.logQuietly("Could not lock delegate execution to autosave");
+        return false;
+      }
+      return true;
+    } catch (final InterruptedException e) {
       ClientLogger.logQuietly(e);
+      return false;
     }
   }
 
   @Override
   public void saveGame(final File f) {
-    try (FileOutputStream fout = new FileOutputStream(f)) {
-      saveGame(fout);
+    try {
+      GameDataManager.writeAtomically(f, this::saveGame);
     } catch (final IOException e) {
       ClientLogger.logQuietly(e);
     }
@@ -403,7 +497,16 @@ public class ServerGame extends AbstractGame {
       throw new IOException(ie.getMessage());
     }
     try {
+      // autosaves queued before now are older than this save, they must not overwrite it
+      if (!m_autoSaveWriter.awaitWritten(AUTOSAVE_WRITE_WAIT_MILLIS)) {
+        throw new IOException("Timed out waiting for the autosave to be written");
+      }
+      if (m_autoSaveJournal != null && !m_autoSaveJournal.awaitWritten(AUTOSAVE_WRITE_WAIT_MILLIS)) {
+        throw new IOException("Timed out waiting for the autosave journal to be written");
+      }
       new GameDataManager().saveGame(out, m_data);
+    } catch (final InterruptedException ie) {
+      throw new IOException(ie.getMessage());
     } finally {
       m_delegateExecutionManager.resumeDelegateExecution();
     }
@@ -430,7 +533,7 @@ public class ServerGame extends AbstractGame {
       return;
     }
     if (m_data.getSequence().next()) {
-      m_data.getHistory().getHistoryWriter().startNextRound(m_data.getSequence().getRound());
+      m_recorder.roundStarted(m_data.getSequence().getRound());
       autoSaveRound();
     }
     // save after the step has advanced
@@ -610,7 +713,12 @@ public class ServerGame extends AbstractGame {
 
   @Override
   public void addChange(final Change aChange) {
-    getGameModifiedBroadcaster().gameDataChanged(aChange);
+    // the clients and the history get the compacted change
+    final Change change = ChangeCompactor.compact(aChange);
+    if (change.isEmpty()) {
+      return;
+    }
+    getGameModifiedBroadcaster().gameDataChanged(change);
     // let our channel subscribor do the change,
     // that way all changes will happen in the same thread
   }
@@ -23,6 +23,8 @@ import games.strategy.engine.framework.startup.ui.ServerSetupPanel;
 import games.strategy.engine.framework.ui.SaveGameFileChooser;
 import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
+import games.strategy.thread.LockStatistics;
+import games.strategy.thread.LockUtil;
 
 public class HeadlessConsoleController {
 
@@ -70,6 +72,8 @@ public class HeadlessConsoleController {
       memory();
     } else if (noun.equalsIgnoreCase("threads")) {
       threads();
+    } else if (noun.equalsIgnoreCase("locks")) {
+      locks(command);
     } else if (noun.equalsIgnoreCase("dump")) {
       printThreadDumpsAndStatus();
     } else {
@@ -140,6 +144,8 @@ public class HeadlessConsoleController {
     sb.append(DebugUtils.getThreadDumps());
     sb.append("\n\n");
     sb.append(DebugUtils.getMemory());
+    sb.append("\n\n");
+    sb.append(LockStatistics.getReport());
     sb.append("\n\nDump finished.\n");
     HeadlessGameServer.log(sb.toString());
   }
@@ -152,6 +158,24 @@ public class HeadlessConsoleController {
     out.println(DebugUtils.getMemory());
   }
 
+  private void locks(final String command) {
+    final String[] args = command.split("\\s+");
+    if (args.length > 1) {
+      try {
+        final int sampleRate = args[1].equalsIgnoreCase("on") ? LockUtil.CHECKS_ALWAYS
+            : args[1].equalsIgnoreCase("off") ? LockUtil.CHECKS_OFF : Integer.parseInt(args[1]);
+        LockUtil.setOrderingCheckSampleRate(sampleRate);
+      } catch (final IllegalArgumentException e) {
+        out.println("Invalid lock ordering check setting: " + args[1]);
+        return;
+      }
+    }
+    out.println(LockStatistics.getReport());
+    final int sampleRate = LockUtil.getOrderingCheckSampleRate();
+    out.println("Lock ordering checks: " + (sampleRate == LockUtil.CHECKS_OFF ? "off"
+        : sampleRate == LockUtil.CHECKS_ALWAYS ? "on" : "1 in " + sampleRate + " acquisitions"));
+  }
+
 
   private void mute(final String command) {
     if (server.getServerModel() == null) {
@@ -445,6 +469,7 @@ public class HeadlessConsoleController {
         + "  chatlog - shows the chat log\n"
         + "  memory - show memory usage\n"
         + "  threads - get thread dumps\n"
+        + "  locks [on|off|n] - show lock contention, optionally switch lock ordering checks on, off or to 1 in n\n"
         + "  save - saves game to filename\n"
         + "  stop - saves then stops current game and goes back to waiting\n"
         + "  quit - quit\n");
@@ -1,6 +1,8 @@
 package games.strategy.engine.framework.headlessGameServer;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.Date;
@@ -19,6 +21,8 @@ import games.strategy.engine.chat.IChatPanel;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.properties.GameProperties;
 import games.strategy.engine.framework.GameRunner;
+import games.strategy.engine.framework.SaveGameCodec;
+import games.strategy.engine.framework.SaveGameHeader;
 import games.strategy.engine.framework.ServerGame;
 import games.strategy.engine.framework.startup.launcher.ILauncher;
 import games.strategy.engine.framework.startup.mc.GameSelectorModel;
@@ -96,7 +100,19 @@ public class HeadlessGameServer {
       if (input == null || fileName == null) {
         return;
       }
-      final GameData data = m_gameSelectorModel.getGameData(input);
+      final InputStream source = input.markSupported() ? input : new BufferedInputStream(input);
+      // a save game with a header tells its map, so one of a map we do not have is not deserialized
+      try {
+        final SaveGameHeader header = SaveGameCodec.readHeader(source);
+        if (header != null && !m_availableGames.getAvailableMapFolderOrZipNames().contains(header.getMapName())) {
+          System.out.println("Game mapName not in available games listing: " + header.getMapName());
+          return;
+        }
+      } catch (final IOException e) {
+        System.out.println("Loading GameData failed for: " + fileName);
+        return;
+      }
+      final GameData data = m_gameSelectorModel.getGameData(source);
       if (data == null) {
         System.out.println("Loading GameData failed for: " + fileName);
         return;
@@ -485,7 +501,7 @@ public class HeadlessGameServer {
         GameRunner.LOBBY_GAME_COMMENTS, GameRunner.LOBBY_GAME_HOSTED_BY, GameRunner.LOBBY_GAME_SUPPORT_EMAIL,
         GameRunner.LOBBY_GAME_SUPPORT_PASSWORD, GameRunner.LOBBY_GAME_RECONNECTION,
         GameRunner.TRIPLEA_SERVER_START_GAME_SYNC_WAIT_TIME, GameRunner.TRIPLEA_SERVER_OBSERVER_JOIN_WAIT_TIME,
-        GameRunner.MAP_FOLDER};
+        GameRunner.TRIPLEA_AUTOSAVE_JOURNAL_ROUNDS, GameRunner.MAP_FOLDER};
   }
 
   public String getStatus() {
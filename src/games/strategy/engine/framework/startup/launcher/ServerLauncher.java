@@ -252,20 +252,28 @@ public class ServerLauncher extends AbstractLauncher {
                 // then crashing out, then launching, etc.
                 m_serverModel.setAllPlayersToNullNodes();
               }
+              if (m_serverGame != null) {
+                // so that an autosave still being written can not turn out to be the latest after we picked one
+                m_serverGame.stopAutoSaves();
+              }
               final File f1 =
                   new File(ClientContext.folderSettings().getSaveGamePath(), SaveGameFileChooser.getAutoSaveFileName());
               final File f2 =
                   new File(ClientContext.folderSettings().getSaveGamePath(),
                       SaveGameFileChooser.getAutoSave2FileName());
-              final File f;
-              if (!f1.exists() && !f2.exists()) {
+              final File journal = new File(ClientContext.folderSettings().getSaveGamePath(),
+                  SaveGameFileChooser.getAutoSaveJournalFolderName());
+              // the latest autosave, the journal folder loads like a save game
+              File f = null;
+              for (final File candidate : new File[] {f1, f2, journal}) {
+                if ((candidate.isFile() || GameDataManager.isAutoSaveJournal(candidate)) && (f == null
+                    || GameDataManager.getLastModified(f) < GameDataManager.getLastModified(candidate))) {
+                  f = candidate;
+                }
+              }
+              if (f == null) {
                 m_gameSelectorModel.resetGameDataToNull();
               } else {
-                if (!f1.exists() || f1.lastModified() < f2.lastModified()) {
-                  f = f2;
-                } else {
-                  f = f1;
-                }
                 m_gameSelectorModel.load(f, null);
               }
             } catch (final Exception e) {
@@ -108,7 +108,7 @@ public class GameSelectorModel extends Observable {
       }
       return;
     }
-    if (file.isDirectory()) {
+    if (file.isDirectory() && !GameDataManager.isAutoSaveJournal(file)) {
       if (ui == null) {
         System.out.println("Cannot load a directory:" + file);
       } else {
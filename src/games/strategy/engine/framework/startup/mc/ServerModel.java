@@ -390,7 +390,12 @@ public class ServerModel extends Observable implements IMessengerErrorListener,
         return;
       }
       final File save;
-      if (SaveGameFileChooser.AUTOSAVE_TYPE.AUTOSAVE.equals(typeOfAutosave)) {
+      if (SaveGameFileChooser.AUTOSAVE_TYPE.AUTOSAVE.equals(typeOfAutosave)
+          && GameRunner.getAutoSaveJournalRounds() > 0) {
+        // autosaves go to the journal, its folder loads like a save game
+        save = new File(ClientContext.folderSettings().getSaveGamePath(),
+            SaveGameFileChooser.getAutoSaveJournalFolderName());
+      } else if (SaveGameFileChooser.AUTOSAVE_TYPE.AUTOSAVE.equals(typeOfAutosave)) {
         save = new File(ClientContext.folderSettings().getSaveGamePath(), SaveGameFileChooser.getAutoSaveFileName());
       } else if (SaveGameFileChooser.AUTOSAVE_TYPE.AUTOSAVE2.equals(typeOfAutosave)) {
         save = new File(ClientContext.folderSettings().getSaveGamePath(), SaveGameFileChooser.getAutoSave2FileName());
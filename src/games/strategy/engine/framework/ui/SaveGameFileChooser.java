@@ -4,9 +4,12 @@ import java.io.File;
 
 import javax.swing.JFileChooser;
 import javax.swing.filechooser.FileFilter;
+import javax.swing.filechooser.FileView;
 
 import games.strategy.engine.ClientContext;
 import games.strategy.engine.framework.GameRunner;
+import games.strategy.engine.framework.SaveGameHeader;
+import games.strategy.engine.framework.SaveGameIndex;
 import games.strategy.engine.framework.headlessGameServer.HeadlessGameServer;
 
 public class SaveGameFileChooser extends JFileChooser {
@@ -15,7 +18,9 @@ public class SaveGameFileChooser extends JFileChooser {
   private static final String AUTOSAVE_2_FILE_NAME = "autosave2.tsvg";
   private static final String AUTOSAVE_ODD_ROUND_FILE_NAME = "autosave_round_odd.tsvg";
   private static final String AUTOSAVE_EVEN_ROUND_FILE_NAME = "autosave_round_even.tsvg";
+  private static final String AUTOSAVE_JOURNAL_FOLDER_NAME = "autosave_journal";
   private static SaveGameFileChooser s_instance;
+  private SaveGameIndex m_index;
 
   public enum AUTOSAVE_TYPE {
     AUTOSAVE, AUTOSAVE2, AUTOSAVE_ODD, AUTOSAVE_EVEN
@@ -65,6 +70,17 @@ public class SaveGameFileChooser extends JFileChooser {
     return AUTOSAVE_EVEN_ROUND_FILE_NAME;
   }
 
+  public static String getAutoSaveJournalFolderName() {
+    if (HeadlessGameServer.headless()) {
+      final String saveSuffix = System.getProperty(GameRunner.TRIPLEA_NAME_PROPERTY,
+          System.getProperty(GameRunner.LOBBY_GAME_HOSTED_BY, ""));
+      if (saveSuffix.length() > 0) {
+        return saveSuffix + "_" + AUTOSAVE_JOURNAL_FOLDER_NAME;
+      }
+    }
+    return AUTOSAVE_JOURNAL_FOLDER_NAME;
+  }
+
   public static SaveGameFileChooser getInstance() {
     if (s_instance == null) {
       s_instance = new SaveGameFileChooser();
@@ -75,10 +91,43 @@ public class SaveGameFileChooser extends JFileChooser {
   public SaveGameFileChooser() {
     super();
     setFileFilter(m_gameDataFileFilter);
+    setFileView(m_saveGameView);
+    addPropertyChangeListener(DIRECTORY_CHANGED_PROPERTY, e -> saveIndex());
     ensureMapsFolderExists();
     setCurrentDirectory(new File(ClientContext.folderSettings().getSaveGamePath()));
   }
 
+  @Override
+  public void approveSelection() {
+    saveIndex();
+    super.approveSelection();
+  }
+
+  @Override
+  public void cancelSelection() {
+    saveIndex();
+    super.cancelSelection();
+  }
+
+  private void saveIndex() {
+    if (m_index != null) {
+      m_index.save();
+      m_index = null;
+    }
+  }
+
+  private SaveGameHeader getHeader(final File f) {
+    if (f.isDirectory() || !m_gameDataFileFilter.accept(f)) {
+      return null;
+    }
+    final File folder = f.getAbsoluteFile().getParentFile();
+    if (m_index == null || !m_index.getFolder().equals(folder)) {
+      saveIndex();
+      m_index = new SaveGameIndex(folder);
+    }
+    return m_index.getHeader(f);
+  }
+
   public static void ensureMapsFolderExists() {
     ensureDirectoryExists(new File(ClientContext.folderSettings().getSaveGamePath()));
   }
@@ -108,4 +157,15 @@ public class SaveGameFileChooser extends JFileChooser {
       return "Saved Games, *.tsvg";
     }
   };
+
+  /**
+   * Shows the game, round, step and engine version of a save game from its header as its type, without loading it.
+   */
+  private final FileView m_saveGameView = new FileView() {
+    @Override
+    public String getTypeDescription(final File f) {
+      final SaveGameHeader header = getHeader(f);
+      return header == null ? null : header.toString();
+    }
+  };
 }
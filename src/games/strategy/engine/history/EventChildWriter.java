@@ -0,0 +1,24 @@
+package games.strategy.engine.history;
+
+/**
+ * Writes a child of an event to the history, and creates it when the step of a save game it is in is loaded.
+ */
+class EventChildWriter implements SerializationWriter {
+  private static final long serialVersionUID = -7143658060171295697L;
+  private final String m_text;
+  private final Object m_renderingData;
+
+  public EventChildWriter(final String text, final Object renderingData) {
+    m_text = text;
+    m_renderingData = renderingData;
+  }
+
+  EventChild createEventChild() {
+    return new EventChild(m_text, m_renderingData);
+  }
+
+  @Override
+  public void write(final HistoryWriter writer) {
+    writer.addChildToEvent(createEventChild());
+  }
+}
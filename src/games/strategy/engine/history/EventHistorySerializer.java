@@ -0,0 +1,32 @@
+package games.strategy.engine.history;
+
+/**
+ * Writes an event to the history, and creates it when the step of a save game it is in is loaded.
+ */
+class EventHistorySerializer implements SerializationWriter {
+  private static final long serialVersionUID = 6404070330823708974L;
+  private final String m_eventName;
+  private final Object m_renderingData;
+
+  public EventHistorySerializer(final String eventName, final Object renderingData) {
+    m_eventName = eventName;
+    m_renderingData = renderingData;
+  }
+
+  /**
+   * Creates the event in a step that is loaded.
+   */
+  Event createEvent(final int changeStartIndex) {
+    final Event event = new Event(m_eventName, changeStartIndex);
+    event.setRenderingData(m_renderingData);
+    return event;
+  }
+
+  @Override
+  public void write(final HistoryWriter writer) {
+    writer.startEvent(m_eventName);
+    if (m_renderingData != null) {
+      writer.setRenderingData(m_renderingData);
+    }
+  }
+}
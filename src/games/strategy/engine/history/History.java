@@ -1,14 +1,22 @@
 package games.strategy.engine.history;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.TreeMap;
 
 import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreeNode;
 
 /**
  * A history of the game.
@@ -21,10 +29,19 @@ import javax.swing.tree.DefaultTreeModel;
  * Round - the current round in the game, eg 1, 2, 3
  * Step - the current step, eg Britian Combat Move
  * Event - an event that happened in the game, eg Russia buys 8 inf.
+ * The steps of a history loaded from a save game load their events and changes when they are first needed, until
+ * then their changes are null.
+ * To jump far, gotoNode performs the summaries of the complete rounds in between, see ChangeSummary, rather than
+ * every change.
  */
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.changefactory.ChangeSummary;
+import games.strategy.engine.framework.GameObjectStreamFactory;
 import games.strategy.triplea.ui.history.HistoryPanel;
 
 public class History extends DefaultTreeModel {
@@ -33,6 +50,12 @@ public class History extends DefaultTreeModel {
   private final HistoryWriter m_writer = new HistoryWriter(this);
   private final List<Change> m_changes = new ArrayList<>();
   private final GameData m_data;
+  // guards loading steps and m_changes, taken after the game data read lock and nothing is locked while holding it
+  private final Object m_loadMutex = new Object();
+  // the steps not loaded yet that have changes, by the index of their first change
+  private final TreeMap<Integer, Step> m_unloadedSteps = new TreeMap<>();
+  // the summaries of the complete rounds, null if a round can not be summed up, by the index of their first change
+  private final TreeMap<Integer, Change> m_roundSummaries = new TreeMap<>();
   private HistoryNode m_currentNode;
 
   private void assertCorrectThread() {
@@ -100,6 +123,7 @@ public class History extends DefaultTreeModel {
     if (firstChange == lastChange) {
       return null;
     }
+    ensureChangesLoaded(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
     final List<Change> changes =
         m_changes.subList(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
     final Change compositeChange = new CompositeChange(changes);
@@ -117,7 +141,7 @@ public class History extends DefaultTreeModel {
       if (m_currentNode == null) {
         m_currentNode = getLastNode();
       }
-      final Change dataChange = getDelta(m_currentNode, node);
+      final Change dataChange = getSeekChange(m_currentNode, node);
       m_currentNode = node;
       if (dataChange != null) {
         m_data.performChange(dataChange);
@@ -127,31 +151,84 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  /**
+   * The change from one node to the other with the same effect as getDelta, but with the complete rounds in between
+   * replaced by the summary of their changes. So at most the changes of the rounds the nodes are in are performed one
+   * by one.
+   */
+  private Change getSeekChange(final HistoryNode start, final HistoryNode end) {
+    final int firstChange = getLastChange(start);
+    final int lastChange = getLastChange(end);
+    final int from = Math.min(firstChange, lastChange);
+    final int to = Math.max(firstChange, lastChange);
+    final HistoryNode root = (HistoryNode) getRoot();
+    final List<Change> summaries = new ArrayList<>();
+    int summarizedFrom = -1;
+    int summarizedTo = -1;
+    for (int i = 0; i < root.getChildCount() - 1; i++) {
+      if (!(root.getChildAt(i) instanceof Round) || !(root.getChildAt(i + 1) instanceof Round)) {
+        continue;
+      }
+      final int roundStart = ((Round) root.getChildAt(i)).getChangeStartIndex();
+      final int roundEnd = ((Round) root.getChildAt(i + 1)).getChangeStartIndex();
+      if (roundStart < from || roundEnd > to || roundStart >= roundEnd) {
+        continue;
+      }
+      if (summarizedTo != -1 && summarizedTo != roundStart) {
+        break;
+      }
+      final Change summary = getRoundSummary(roundStart, roundEnd);
+      if (summary == null) {
+        break;
+      }
+      if (summarizedFrom == -1) {
+        summarizedFrom = roundStart;
+      }
+      summarizedTo = roundEnd;
+      summaries.add(summary);
+    }
+    final Change jump = summaries.size() == 1 ? summaries.get(0) : ChangeSummary.summarize(summaries);
+    if (summaries.isEmpty() || jump == null) {
+      return getDelta(start, end);
+    }
+    ensureChangesLoaded(from, summarizedFrom);
+    ensureChangesLoaded(summarizedTo, to);
+    final List<Change> changes = new ArrayList<>(m_changes.subList(from, summarizedFrom));
+    changes.add(jump);
+    changes.addAll(m_changes.subList(summarizedTo, to));
+    final Change change = new CompositeChange(changes);
+    return lastChange >= firstChange ? change : change.invert();
+  }
+
+  private Change getRoundSummary(final int roundStart, final int roundEnd) {
+    if (!m_roundSummaries.containsKey(roundStart)) {
+      ensureChangesLoaded(roundStart, roundEnd);
+      m_roundSummaries.put(roundStart, ChangeSummary.summarize(m_changes.subList(roundStart, roundEnd)));
+    }
+    return m_roundSummaries.get(roundStart);
+  }
+
   public synchronized void removeAllHistoryAfterNode(final HistoryNode removeAfterNode) {
     gotoNode(removeAfterNode);
     assertCorrectThread();
     getGameData().acquireWriteLock();
     try {
       final int lastChange = getLastChange(removeAfterNode);
-      while (m_changes.size() > lastChange) {
-        m_changes.remove(lastChange);
+      synchronized (m_loadMutex) {
+        m_changes.subList(lastChange, m_changes.size()).clear();
+        m_unloadedSteps.tailMap(lastChange).clear();
       }
-      final List<HistoryNode> nodesToRemove = new ArrayList<>();
-      final Enumeration<?> enumeration = ((DefaultMutableTreeNode) this.getRoot()).preorderEnumeration();
-      enumeration.nextElement();
-      boolean startRemoving = false;
-      while (enumeration.hasMoreElements()) {
-        final HistoryNode node = (HistoryNode) enumeration.nextElement();
-        if (node instanceof IndexedHistoryNode) {
-          final int index = ((IndexedHistoryNode) node).getChangeStartIndex();
-          if (index >= lastChange) {
-            startRemoving = true;
-          }
-          if (startRemoving) {
-            nodesToRemove.add(node);
-          }
+      // the round the last change is in ends somewhere else now
+      final Integer lastRoundStart = m_roundSummaries.floorKey(lastChange);
+      m_roundSummaries.tailMap(lastRoundStart == null ? lastChange : lastRoundStart).clear();
+      // the step of the node is not complete anymore
+      for (HistoryNode node = removeAfterNode; node != null; node = (HistoryNode) node.getParent()) {
+        if (node instanceof Step) {
+          ((Step) node).setContent(null);
         }
       }
+      final List<HistoryNode> nodesToRemove = new ArrayList<>();
+      collectNodesToRemove((HistoryNode) getRoot(), lastChange, false, nodesToRemove);
       while (!nodesToRemove.isEmpty()) {
         this.removeNodeFromParent(nodesToRemove.remove(0));
       }
@@ -160,8 +237,37 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  /**
+   * Collects the nodes in preorder from the first node starting at or after the last change on.
+   *
+   * @return whether the nodes are collected from here on
+   */
+  private static boolean collectNodesToRemove(final HistoryNode parent, final int lastChange,
+      boolean startRemoving, final List<HistoryNode> nodesToRemove) {
+    // the changes of a step not loaded are all before or all after the last change, so its children need no loading
+    if (parent instanceof Step && !((Step) parent).isLoaded()) {
+      return startRemoving;
+    }
+    for (int i = 0; i < parent.getChildCount(); i++) {
+      final HistoryNode node = (HistoryNode) parent.getChildAt(i);
+      if (node instanceof IndexedHistoryNode) {
+        final int index = ((IndexedHistoryNode) node).getChangeStartIndex();
+        if (index >= lastChange) {
+          startRemoving = true;
+        }
+        if (startRemoving) {
+          nodesToRemove.add(node);
+        }
+      }
+      startRemoving = collectNodesToRemove(node, lastChange, startRemoving, nodesToRemove);
+    }
+    return startRemoving;
+  }
+
   synchronized void changeAdded(final Change aChange) {
-    m_changes.add(aChange);
+    synchronized (m_loadMutex) {
+      m_changes.add(aChange);
+    }
     if (m_currentNode == null) {
       return;
     }
@@ -170,6 +276,104 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  /**
+   * Adds changes read from a save game.
+   */
+  void addSerializedChanges(final int changeStartIndex, final List<Change> changes) {
+    checkChangeIndex(changeStartIndex);
+    m_changes.addAll(changes);
+  }
+
+  /**
+   * Adds a step read from a save game to the round, to be loaded from its content when it is first needed.
+   */
+  void addSerializedStep(final Round round, final Step step, final int changeEndIndex, final byte[] content) {
+    checkChangeIndex(step.getChangeStartIndex());
+    step.setChangeEndIndex(changeEndIndex);
+    step.setUnloaded(content, this);
+    round.add(step);
+    m_changes.addAll(Collections.nCopies(changeEndIndex - step.getChangeStartIndex(), null));
+    if (changeEndIndex > step.getChangeStartIndex()) {
+      m_unloadedSteps.put(step.getChangeStartIndex(), step);
+    }
+  }
+
+  private void checkChangeIndex(final int changeStartIndex) {
+    if (changeStartIndex != m_changes.size()) {
+      throw new IllegalStateException(
+          "History starts at change " + changeStartIndex + " but there are " + m_changes.size() + " changes");
+    }
+  }
+
+  private void ensureChangesLoaded(final int from, final int to) {
+    if (from >= to) {
+      return;
+    }
+    final List<Step> unloaded;
+    synchronized (m_loadMutex) {
+      final Integer first = m_unloadedSteps.floorKey(from);
+      unloaded = new ArrayList<>(m_unloadedSteps.subMap(first == null ? from : first, to).values());
+    }
+    for (final Step step : unloaded) {
+      if (step.getChangeEndIndex() > from) {
+        loadStep(step);
+      }
+    }
+  }
+
+  /**
+   * Reads the events and changes of a step from its content.
+   */
+  void loadStep(final Step step) {
+    m_data.acquireReadLock();
+    try {
+      synchronized (m_loadMutex) {
+        if (step.isLoaded()) {
+          return;
+        }
+        final List<SerializationWriter> content;
+        final int lastEventEndIndex;
+        try (final ObjectInputStream in = new GameObjectInputStream(new GameObjectStreamFactory(m_data),
+            new ByteArrayInputStream(step.getContent()))) {
+          @SuppressWarnings("unchecked")
+          final List<SerializationWriter> writers = (List<SerializationWriter>) in.readObject();
+          content = writers;
+          lastEventEndIndex = in.readInt();
+        } catch (final IOException | ClassNotFoundException e) {
+          throw new IllegalStateException("Could not load the history of " + step.getTitle(), e);
+        }
+        int changeIndex = step.getChangeStartIndex();
+        Event event = null;
+        for (final SerializationWriter writer : content) {
+          if (writer instanceof ChangeSerializationWriter) {
+            m_changes.set(changeIndex++, ((ChangeSerializationWriter) writer).getChange());
+          } else if (writer instanceof EventHistorySerializer) {
+            if (event != null) {
+              event.setChangeEndIndex(changeIndex);
+            }
+            event = ((EventHistorySerializer) writer).createEvent(changeIndex);
+            step.addLoadedChild(event);
+          } else if (writer instanceof EventChildWriter && event != null) {
+            event.add(((EventChildWriter) writer).createEventChild());
+          } else {
+            throw new IllegalStateException("Unexpected history of " + step.getTitle() + ": " + writer);
+          }
+        }
+        if (event != null) {
+          event.setChangeEndIndex(lastEventEndIndex);
+        }
+        if (changeIndex != step.getChangeEndIndex()) {
+          throw new IllegalStateException("The history of " + step.getTitle() + " ends at change " + changeIndex
+              + " instead of " + step.getChangeEndIndex());
+        }
+        m_unloadedSteps.remove(step.getChangeStartIndex());
+        step.setLoaded();
+      }
+    } finally {
+      m_data.releaseReadLock();
+    }
+  }
+
   private Object writeReplace() throws ObjectStreamException {
     return new SerializedHistory(this, m_data, m_changes);
   }
@@ -186,29 +390,48 @@ public class History extends DefaultTreeModel {
 
 /**
  * DefaultTreeModel is not serializable across jdk versions
- * Instead we use an instance of this class to store our data
+ * Instead we use an instance of this class to store our data.
+ * Every round but the last is stored as an index of its steps, each step with its events and changes serialized
+ * into a separate content, so that a step is only read when it is needed. The last round, and the history of saves
+ * from before the index, are stored as writers that replay it.
  */
 class SerializedHistory implements Serializable {
   private static final long serialVersionUID = -5808427923253751651L;
   private final List<SerializationWriter> m_Writers = new ArrayList<>();
   private final GameData m_data;
+  // null in saves from before the index
+  private final List<SerializedRound> m_rounds = new ArrayList<>();
 
-  public SerializedHistory(final History history, final GameData data, final List<Change> changes) {
+  public SerializedHistory(final History history, final GameData data, final List<Change> changes)
+      throws ObjectStreamException {
     m_data = data;
+    final HistoryNode root = (HistoryNode) history.getRoot();
     int changeIndex = 0;
-    final Enumeration<?> enumeration = ((DefaultMutableTreeNode) history.getRoot()).preorderEnumeration();
-    enumeration.nextElement();
-    while (enumeration.hasMoreElements()) {
-      final HistoryNode node = (HistoryNode) enumeration.nextElement();
-      // write the changes to the start of the node
-      if (node instanceof IndexedHistoryNode) {
-        while (changeIndex < ((IndexedHistoryNode) node).getChangeStartIndex()) {
-          m_Writers.add(new ChangeSerializationWriter(changes.get(changeIndex)));
-          changeIndex++;
+    int firstWritten = 0;
+    while (firstWritten < root.getChildCount() - 1) {
+      final SerializedRound round = SerializedRound.create(root.getChildAt(firstWritten),
+          root.getChildAt(firstWritten + 1), changeIndex, changes);
+      if (round == null) {
+        break;
+      }
+      m_rounds.add(round);
+      changeIndex = round.getChangeEndIndex();
+      firstWritten++;
+    }
+    for (int i = firstWritten; i < root.getChildCount(); i++) {
+      final Enumeration<?> enumeration = ((DefaultMutableTreeNode) root.getChildAt(i)).preorderEnumeration();
+      while (enumeration.hasMoreElements()) {
+        final HistoryNode node = (HistoryNode) enumeration.nextElement();
+        // write the changes to the start of the node
+        if (node instanceof IndexedHistoryNode) {
+          while (changeIndex < ((IndexedHistoryNode) node).getChangeStartIndex()) {
+            m_Writers.add(new ChangeSerializationWriter(changes.get(changeIndex)));
+            changeIndex++;
+          }
         }
+        // write the node itself
+        m_Writers.add(node.getWriter());
       }
-      // write the node itself
-      m_Writers.add(node.getWriter());
     }
     // write out remaining changes
     while (changeIndex < changes.size()) {
@@ -219,6 +442,11 @@ class SerializedHistory implements Serializable {
 
   public Object readResolve() throws ObjectStreamException {
     final History rVal = new History(m_data);
+    if (m_rounds != null) {
+      for (final SerializedRound round : m_rounds) {
+        round.addTo(rVal);
+      }
+    }
     final HistoryWriter historyWriter = rVal.getHistoryWriter();
     for (final SerializationWriter element : m_Writers) {
       element.write(historyWriter);
@@ -228,6 +456,172 @@ class SerializedHistory implements Serializable {
 }
 
 
+/**
+ * A complete round of a save game, the changes before its first step and the index of its steps.
+ */
+class SerializedRound implements Serializable {
+  private static final long serialVersionUID = 2893165037427120381L;
+  private final int m_roundNo;
+  private final int m_changeStartIndex;
+  private final int m_changeEndIndex;
+  private final List<Change> m_changes;
+  private final List<SerializedStep> m_steps;
+
+  private SerializedRound(final int roundNo, final int changeStartIndex, final int changeEndIndex,
+      final List<Change> changes, final List<SerializedStep> steps) {
+    m_roundNo = roundNo;
+    m_changeStartIndex = changeStartIndex;
+    m_changeEndIndex = changeEndIndex;
+    m_changes = changes;
+    m_steps = steps;
+  }
+
+  /**
+   * @return null if the round is not made of steps that can be indexed, it is then written as it is
+   */
+  static SerializedRound create(final TreeNode node, final TreeNode next, final int changeStartIndex,
+      final List<Change> changes) throws ObjectStreamException {
+    if (!(node instanceof Round) || !(next instanceof Round)) {
+      return null;
+    }
+    final Round round = (Round) node;
+    final int changeEndIndex = ((Round) next).getChangeStartIndex();
+    if (round.getChangeStartIndex() != changeStartIndex || changeEndIndex < changeStartIndex) {
+      return null;
+    }
+    final List<SerializedStep> steps = new ArrayList<>();
+    for (int i = round.getChildCount() - 1; i >= 0; i--) {
+      if (!(round.getChildAt(i) instanceof Step)) {
+        return null;
+      }
+      final Step step = (Step) round.getChildAt(i);
+      final int stepEndIndex = steps.isEmpty() ? changeEndIndex : steps.get(0).getChangeStartIndex();
+      final SerializedStep serialized = SerializedStep.create(step, stepEndIndex, changes);
+      if (serialized == null) {
+        return null;
+      }
+      steps.add(0, serialized);
+    }
+    final int firstStepIndex = steps.isEmpty() ? changeEndIndex : steps.get(0).getChangeStartIndex();
+    if (firstStepIndex < changeStartIndex) {
+      return null;
+    }
+    return new SerializedRound(round.getRoundNo(), changeStartIndex, changeEndIndex,
+        new ArrayList<>(changes.subList(changeStartIndex, firstStepIndex)), steps);
+  }
+
+  int getChangeEndIndex() {
+    return m_changeEndIndex;
+  }
+
+  void addTo(final History history) {
+    final Round round = new Round(m_roundNo, m_changeStartIndex);
+    round.setChangeEndIndex(m_changeEndIndex);
+    ((HistoryNode) history.getRoot()).add(round);
+    history.addSerializedChanges(m_changeStartIndex, m_changes);
+    for (final SerializedStep step : m_steps) {
+      step.addTo(history, round);
+    }
+  }
+}
+
+
+/**
+ * A step of a save game with its events and changes serialized, written by a GameObjectOutputStream so that when it
+ * is loaded they refer to the objects of the game data, the way changes sent over the network do.
+ */
+class SerializedStep implements Serializable {
+  private static final long serialVersionUID = -4406338530839117346L;
+  private final String m_stepName;
+  private final String m_delegateName;
+  private final PlayerID m_player;
+  private final String m_displayName;
+  private final int m_changeStartIndex;
+  private final int m_changeEndIndex;
+  private final byte[] m_content;
+
+  private SerializedStep(final Step step, final int changeEndIndex, final byte[] content) {
+    m_stepName = step.getStepName();
+    m_delegateName = step.getDelegateName();
+    m_player = step.getPlayerID();
+    m_displayName = step.getTitle();
+    m_changeStartIndex = step.getChangeStartIndex();
+    m_changeEndIndex = changeEndIndex;
+    m_content = content;
+  }
+
+  /**
+   * Uses the content the step was loaded from or was written to before, else writes it and keeps it in the step, so
+   * copying the game data, which writes the history every time, only writes a complete step once.
+   *
+   * @return null if the events of the step do not follow each other
+   */
+  static SerializedStep create(final Step step, final int changeEndIndex, final List<Change> changes)
+      throws ObjectStreamException {
+    if (step.getChangeStartIndex() > changeEndIndex) {
+      return null;
+    }
+    if (!step.isLoaded()) {
+      return step.getChangeEndIndex() == changeEndIndex ? new SerializedStep(step, changeEndIndex, step.getContent())
+          : null;
+    }
+    final byte[] written = step.getContent();
+    if (written != null) {
+      return new SerializedStep(step, changeEndIndex, written);
+    }
+    final List<SerializationWriter> writers = new ArrayList<>();
+    int changeIndex = step.getChangeStartIndex();
+    int lastEventEndIndex = -1;
+    for (int i = 0; i < step.getChildCount(); i++) {
+      if (!(step.getChildAt(i) instanceof Event)) {
+        return null;
+      }
+      final Event event = (Event) step.getChildAt(i);
+      if (event.getChangeStartIndex() < changeIndex || (lastEventEndIndex != -1
+          && lastEventEndIndex != event.getChangeStartIndex())) {
+        return null;
+      }
+      while (changeIndex < event.getChangeStartIndex()) {
+        writers.add(new ChangeSerializationWriter(changes.get(changeIndex++)));
+      }
+      writers.add(event.getWriter());
+      for (int j = 0; j < event.getChildCount(); j++) {
+        writers.add(((HistoryNode) event.getChildAt(j)).getWriter());
+      }
+      lastEventEndIndex = event.getChangeEndIndex();
+      if (lastEventEndIndex < event.getChangeStartIndex() || lastEventEndIndex > changeEndIndex) {
+        return null;
+      }
+    }
+    while (changeIndex < changeEndIndex) {
+      writers.add(new ChangeSerializationWriter(changes.get(changeIndex++)));
+    }
+    final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new GameObjectOutputStream(content)) {
+      out.writeObject(writers);
+      out.writeInt(lastEventEndIndex);
+    } catch (final ObjectStreamException e) {
+      throw e;
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+    // the rounds before the last one are complete, so is the step
+    step.setContent(content.toByteArray());
+    return new SerializedStep(step, changeEndIndex, step.getContent());
+  }
+
+  int getChangeStartIndex() {
+    return m_changeStartIndex;
+  }
+
+  void addTo(final History history, final Round round) {
+    history.addSerializedStep(round,
+        new Step(m_stepName, m_delegateName, m_player, m_changeStartIndex, m_displayName), m_changeEndIndex,
+        m_content);
+  }
+}
+
+
 class RootHistoryNode extends HistoryNode {
   private static final long serialVersionUID = 625147613043836829L;
 
@@ -250,6 +644,10 @@ class ChangeSerializationWriter implements SerializationWriter {
     aChange = change;
   }
 
+  Change getChange() {
+    return aChange;
+  }
+
   @Override
   public void write(final HistoryWriter writer) {
     writer.addChange(aChange);
@@ -1,12 +1,25 @@
 package games.strategy.engine.history;
 
+import java.util.Enumeration;
+
+import javax.swing.tree.MutableTreeNode;
+import javax.swing.tree.TreeNode;
+
 import games.strategy.engine.data.PlayerID;
 
+/**
+ * A step of the history. The steps of a game loaded from a save game start out with their events and changes still
+ * serialized, see SerializedHistory, and load them when their children are first asked for.
+ */
 public class Step extends IndexedHistoryNode {
   private static final long serialVersionUID = 1015799886178275645L;
   private final PlayerID m_player;
   private final String m_stepName;
   private final String m_delegateName;
+  // the events and changes of the step serialized, kept to write the step again once it is complete
+  private transient byte[] m_content;
+  // the history to load the content into, null once the children are there
+  private transient volatile History m_unloadedIn;
 
   /** Creates a new instance of StepChangedMessage */
   Step(final String stepName, final String delegateName, final PlayerID player, final int changeStartIndex,
@@ -33,6 +46,89 @@ public class Step extends IndexedHistoryNode {
   public String getStepName() {
     return m_stepName;
   }
+
+  synchronized byte[] getContent() {
+    return m_content;
+  }
+
+  synchronized void setContent(final byte[] content) {
+    m_content = content;
+  }
+
+  /**
+   * Leaves the children to be loaded from the content when they are first asked for.
+   */
+  synchronized void setUnloaded(final byte[] content, final History history) {
+    m_content = content;
+    m_unloadedIn = history;
+  }
+
+  boolean isLoaded() {
+    return m_unloadedIn == null;
+  }
+
+  void setLoaded() {
+    m_unloadedIn = null;
+  }
+
+  /**
+   * Adds a child read from the content, before the step is loaded.
+   */
+  void addLoadedChild(final Event event) {
+    super.insert(event, super.getChildCount());
+  }
+
+  private void ensureLoaded() {
+    final History history = m_unloadedIn;
+    if (history != null) {
+      history.loadStep(this);
+    }
+  }
+
+  /**
+   * A step in a save game has children, so an unloaded step is not a leaf and a collapsed tree does not load it.
+   */
+  @Override
+  public boolean isLeaf() {
+    return isLoaded() && super.isLeaf();
+  }
+
+  @Override
+  public int getChildCount() {
+    ensureLoaded();
+    return super.getChildCount();
+  }
+
+  @Override
+  public TreeNode getChildAt(final int index) {
+    ensureLoaded();
+    return super.getChildAt(index);
+  }
+
+  @Override
+  public int getIndex(final TreeNode child) {
+    ensureLoaded();
+    return super.getIndex(child);
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public Enumeration children() {
+    ensureLoaded();
+    return super.children();
+  }
+
+  @Override
+  public void insert(final MutableTreeNode child, final int index) {
+    ensureLoaded();
+    super.insert(child, index);
+  }
+
+  @Override
+  public void remove(final int index) {
+    ensureLoaded();
+    super.remove(index);
+  }
 }
 
 
@@ -3,7 +3,9 @@ package games.strategy.net.nio;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,27 +32,64 @@ public class Encoder {
     if (s_logger.isLoggable(Level.FINEST)) {
       s_logger.log(Level.FINEST, "Encoding msg:" + header + " to:" + to);
     }
-    if (header.getFrom() == null) {
-      throw new IllegalArgumentException("No from node");
-    }
     if (to == null) {
       throw new IllegalArgumentException("No to channel!");
     }
+    final SocketWriteData data = encode(header, to);
+    if (data != null) {
+      m_writer.enque(data, to);
+    }
+  }
+
+  /**
+   * Writes a broadcast to the channels. It is encoded once, as it is written the same to every channel, and the
+   * channels share the encoded bytes.
+   */
+  public void write(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (s_logger.isLoggable(Level.FINEST)) {
+      s_logger.log(Level.FINEST, "Encoding msg:" + header + " to:" + to);
+    }
+    if (header.getFor() != null) {
+      throw new IllegalArgumentException("Not a broadcast:" + header);
+    }
+    if (to.isEmpty()) {
+      return;
+    }
+    final SocketWriteData data = encode(header, null);
+    if (data == null) {
+      return;
+    }
+    // data is not written itself, so that it is at the start of the bytes for every share
+    for (final SocketChannel channel : to) {
+      m_writer.enque(data.share(), channel);
+    }
+  }
+
+  /**
+   * @param to
+   *        the channel a message for a node is written to, null for a broadcast
+   * @return the packet, or null if the message could not be encoded
+   */
+  private SocketWriteData encode(final MessageHeader header, final SocketChannel to) {
+    if (header.getFrom() == null) {
+      throw new IllegalArgumentException("No from node");
+    }
     final ByteArrayOutputStream2 sink = new ByteArrayOutputStream2(512);
-    SocketWriteData data;
+    final SocketWriteData data;
     try {
       write(header, m_objectStreamFactory.create(sink), to);
-      data = new SocketWriteData(sink.getBuffer(), sink.size());
+      // the sink is not written to again, so the packet can take its buffer as it is
+      data = new SocketWriteData(ByteBuffer.wrap(sink.getBuffer(), 0, sink.size()));
     } catch (final Exception e) {
       // we arent doing any io, just writing in memory
       // so something is very wrong
       s_logger.log(Level.SEVERE, "Error writing object:" + header, e);
-      return;
+      return null;
     }
     if (s_logger.isLoggable(Level.FINER)) {
       s_logger.log(Level.FINER, "encoded  msg:" + header.getMessage() + " size:" + data.size());
     }
-    m_writer.enque(data, to);
+    return data;
   }
 
   private void write(final MessageHeader header, final ObjectOutputStream out, final SocketChannel remote)
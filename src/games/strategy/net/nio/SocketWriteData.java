@@ -3,6 +3,7 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -13,27 +14,53 @@ import java.util.logging.Logger;
  * Packets do not correspond to ip packets. A packet is just the data for one serialized object.
  * <p>
  * The packet is written over the network as 32 bits indicating the size in bytes, then the data itself.
+ * <p>
+ * A packet sent to many sockets is encoded once: the packets for the other sockets are made with {@link #share()}
+ * and write the same bytes, each from its own position.
  */
 public class SocketWriteData {
   private static final Logger s_logger = Logger.getLogger(SocketWriteData.class.getName());
   private static final AtomicInteger s_counter = new AtomicInteger();
   private final ByteBuffer m_size;
   private final ByteBuffer m_content;
+  // the size then the content, written together with one gathering write
+  private final ByteBuffer[] m_buffers;
   private final int m_number = s_counter.incrementAndGet();
   // how many times we called write before we finished writing ourselves
   private int m_writeCalls = 0;
 
-  public SocketWriteData(final byte[] data, int count) {
-    m_content = ByteBuffer.allocate(count);
-    m_content.put(data, 0, count);
-    m_size = ByteBuffer.allocate(4);
+  public SocketWriteData(final byte[] data, final int count) {
+    this(ByteBuffer.wrap(Arrays.copyOf(data, count)));
+  }
+
+  /**
+   * @param content
+   *        the data from its position to its limit, which is not copied, so it must not be changed after this
+   */
+  SocketWriteData(final ByteBuffer content) {
+    final int count = content.remaining();
     if (count < 0 || count > SocketReadData.MAX_MESSAGE_SIZE) {
       throw new IllegalStateException("Invalid message size:" + count);
     }
-    count = count ^ SocketReadData.MAGIC;
-    m_size.putInt(count);
+    m_content = content.slice();
+    m_size = ByteBuffer.allocate(4);
+    m_size.putInt(count ^ SocketReadData.MAGIC);
     m_size.flip();
-    m_content.flip();
+    m_buffers = new ByteBuffer[] {m_size, m_content};
+  }
+
+  private SocketWriteData(final ByteBuffer size, final ByteBuffer content) {
+    m_size = size;
+    m_content = content;
+    m_buffers = new ByteBuffer[] {m_size, m_content};
+  }
+
+  /**
+   * @return a packet of the same data for another socket, which shares the bytes of this one and writes them from
+   *         where this one is, so call it while this one is not being written
+   */
+  SocketWriteData share() {
+    return new SocketWriteData(m_size.duplicate(), m_content.duplicate());
   }
 
   public int size() {
@@ -49,25 +76,12 @@ public class SocketWriteData {
    */
   public boolean write(final SocketChannel channel) throws IOException {
     m_writeCalls++;
-    if (m_size.hasRemaining()) {
-      final int count = channel.write(m_size);
-      if (count == -1) {
-        throw new IOException("triplea: end of stream detected");
-      }
-      if (s_logger.isLoggable(Level.FINEST)) {
-        s_logger.finest("wrote size_buffer bytes:" + count);
-      }
-      // we could not write everything
-      if (m_size.hasRemaining()) {
-        return false;
-      }
-    }
-    final int count = channel.write(m_content);
+    final long count = channel.write(m_buffers);
     if (count == -1) {
       throw new IOException("triplea: end of stream detected");
     }
     if (s_logger.isLoggable(Level.FINEST)) {
-      s_logger.finest("wrote content bytes:" + count);
+      s_logger.finest("wrote bytes:" + count);
     }
     return !m_content.hasRemaining();
   }
@@ -1,6 +1,8 @@
 package games.strategy.performance;
 
 import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.prefs.Preferences;
 
 /**
@@ -15,6 +17,7 @@ public class PerfTimer implements Closeable {
   private static boolean enabled;
 
   private final long startMillis;
+  private final long startAllocatedBytes;
   public final String title;
 
   static {
@@ -27,6 +30,18 @@ public class PerfTimer implements Closeable {
   private PerfTimer(final String title) {
     this.title = title;
     this.startMillis = System.nanoTime();
+    this.startAllocatedBytes = getAllocatedBytes();
+  }
+
+  /**
+   * @return the number of bytes the current thread has allocated so far, or -1 if the jvm can not tell.
+   */
+  private static long getAllocatedBytes() {
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
   }
 
   private long stopTimer() {
@@ -36,7 +51,9 @@ public class PerfTimer implements Closeable {
 
   @Override
   public void close() {
-    processResult(stopTimer(), this);
+    if (this != DISABLED_TIMER) {
+      processResult(stopTimer(), this);
+    }
   }
 
   public static void setEnabled(final boolean isEnabled) {
@@ -70,6 +87,10 @@ public class PerfTimer implements Closeable {
 
     final long milliFraction = (stopMicros % 1000) / 100;
     final long millis = (stopMicros / 1000);
-    PerformanceConsole.getInstance().append(millis + "." + milliFraction + " ms - " + perfTimer.title + "\n");
+    final long endAllocatedBytes = getAllocatedBytes();
+    final String allocated = (perfTimer.startAllocatedBytes < 0 || endAllocatedBytes < 0) ? ""
+        : ", " + ((endAllocatedBytes - perfTimer.startAllocatedBytes) / 1024) + " KB allocated";
+    PerformanceConsole.getInstance()
+        .append(millis + "." + milliFraction + " ms" + allocated + " - " + perfTimer.title + "\n");
   }
 }
@@ -0,0 +1,188 @@
+package games.strategy.thread;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Contention metrics for a family of locks, for example all the GameData read/write locks.
+ * <p>
+ * Records how many times the locks were acquired, how long threads waited to get them, how long they were held and
+ * how many threads were queued waiting for them. Statistics are registered by name, use {@link #getReport()} to print
+ * all of them (the headless server console does this with the "locks" command).
+ * <p>
+ * Counters are lock free, so collecting them does not serialize the threads using the locks. They still cost a few
+ * clock reads and shared counter updates per acquisition, so locks only record them when the jvm is started with the
+ * system property triplea.lockStatistics=true, see {@link LockUtil#LockUtil(LockStatistics)}.
+ */
+public final class LockStatistics {
+  public static final String ENABLED_PROPERTY = "triplea.lockStatistics";
+  private static final boolean s_enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+  private static final Map<String, LockStatistics> s_statistics = new TreeMap<>();
+  // waiting longer than this means the lock was held by someone else, and not just the cost of taking it
+  private static final long CONTENDED_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final String m_name;
+  private final LongAdder m_acquisitions = new LongAdder();
+  private final LongAdder m_contendedAcquisitions = new LongAdder();
+  private final LongAdder m_totalWaitNanos = new LongAdder();
+  private final LongAccumulator m_maxWaitNanos = new LongAccumulator(Math::max, 0);
+  private final LongAdder m_totalHoldNanos = new LongAdder();
+  private final LongAccumulator m_maxHoldNanos = new LongAccumulator(Math::max, 0);
+  private final AtomicInteger m_waiting = new AtomicInteger();
+  private final LongAccumulator m_maxQueueLength = new LongAccumulator(Math::max, 0);
+  // per thread: how many locks of this family are held, and when the first one was acquired
+  private final ThreadLocal<long[]> m_holds = ThreadLocal.withInitial(() -> new long[2]);
+
+  private LockStatistics(final String name) {
+    m_name = name;
+  }
+
+  /**
+   * @return the statistics registered under the given name, created if needed.
+   */
+  public static LockStatistics get(final String name) {
+    synchronized (s_statistics) {
+      return s_statistics.computeIfAbsent(name, LockStatistics::new);
+    }
+  }
+
+  /**
+   * @return whether locks record their statistics, fixed when the jvm starts.
+   */
+  public static boolean isEnabled() {
+    return s_enabled;
+  }
+
+  /**
+   * @return a human readable summary of all the registered lock statistics.
+   */
+  public static String getReport() {
+    final StringBuilder report = new StringBuilder("LOCK STATISTICS");
+    if (!s_enabled) {
+      report.append(" (off, start with -D" + ENABLED_PROPERTY + "=true to record them)");
+    }
+    report.append("\n");
+    synchronized (s_statistics) {
+      for (final LockStatistics statistics : s_statistics.values()) {
+        report.append(statistics).append("\n");
+      }
+    }
+    return report.toString();
+  }
+
+  /**
+   * Acquires the lock, recording the time spent waiting for it.
+   */
+  public void lock(final Lock lock) {
+    final int queueLength = m_waiting.incrementAndGet();
+    final long start = System.nanoTime();
+    try {
+      lock.lock();
+    } finally {
+      m_waiting.decrementAndGet();
+    }
+    final long acquired = System.nanoTime();
+    final long waitNanos = acquired - start;
+    m_acquisitions.increment();
+    m_totalWaitNanos.add(waitNanos);
+    m_maxWaitNanos.accumulate(waitNanos);
+    if (waitNanos > CONTENDED_WAIT_NANOS) {
+      m_contendedAcquisitions.increment();
+    }
+    // we count ourselves in the queue
+    m_maxQueueLength.accumulate(queueLength - 1);
+    final long[] holds = m_holds.get();
+    if (holds[0]++ == 0) {
+      holds[1] = acquired;
+    }
+  }
+
+  /**
+   * Releases the lock, recording how long it was held.
+   * Nested holds of locks of this family by the same thread count as a single hold.
+   */
+  public void unlock(final Lock lock) {
+    final long[] holds = m_holds.get();
+    if (holds[0] > 0 && --holds[0] == 0) {
+      final long holdNanos = System.nanoTime() - holds[1];
+      m_totalHoldNanos.add(holdNanos);
+      m_maxHoldNanos.accumulate(holdNanos);
+    }
+    lock.unlock();
+  }
+
+  public String getName() {
+    return m_name;
+  }
+
+  public long getAcquisitions() {
+    return m_acquisitions.sum();
+  }
+
+  /**
+   * @return the number of acquisitions that had to wait for another thread to release the lock.
+   */
+  public long getContendedAcquisitions() {
+    return m_contendedAcquisitions.sum();
+  }
+
+  public long getTotalWaitNanos() {
+    return m_totalWaitNanos.sum();
+  }
+
+  public long getMaxWaitNanos() {
+    return m_maxWaitNanos.get();
+  }
+
+  public long getTotalHoldNanos() {
+    return m_totalHoldNanos.sum();
+  }
+
+  public long getMaxHoldNanos() {
+    return m_maxHoldNanos.get();
+  }
+
+  /**
+   * @return the number of threads currently waiting for a lock of this family.
+   */
+  public int getQueueLength() {
+    return m_waiting.get();
+  }
+
+  /**
+   * @return the most threads seen waiting ahead of a thread that wanted a lock of this family.
+   */
+  public long getMaxQueueLength() {
+    return m_maxQueueLength.get();
+  }
+
+  /**
+   * Clears all the counters.
+   */
+  public void reset() {
+    m_acquisitions.reset();
+    m_contendedAcquisitions.reset();
+    m_totalWaitNanos.reset();
+    m_maxWaitNanos.reset();
+    m_totalHoldNanos.reset();
+    m_maxHoldNanos.reset();
+    m_maxQueueLength.reset();
+  }
+
+  private static long toMillis(final long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  @Override
+  public String toString() {
+    return m_name + ": acquisitions:" + getAcquisitions() + " contended:" + getContendedAcquisitions()
+        + " wait total/max ms:" + toMillis(getTotalWaitNanos()) + "/" + toMillis(getMaxWaitNanos())
+        + " hold total/max ms:" + toMillis(getTotalHoldNanos()) + "/" + toMillis(getMaxHoldNanos())
+        + " queue current/max:" + getQueueLength() + "/" + getMaxQueueLength();
+  }
+}
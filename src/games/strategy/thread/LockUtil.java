@@ -7,6 +7,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -16,84 +17,154 @@ import java.util.concurrent.locks.Lock;
  * are acquired in an
  * inconsistent order, an error message will be printed.
  * <p>
- * This class is not terribly good for multithreading as it locks globally on all calls, but that is ok, as this code is
- * meant more for when
- * you are considering your ambitious multi-threaded code a mistake, and you are trying to limit the damage.
+ * The ordering checks lock globally, so they are only done in diagnostic mode, see
+ * {@link #setOrderingCheckSampleRate(int)}. Otherwise acquiring a lock through this class costs little more than
+ * acquiring the lock itself. The initial mode can be set with the system property triplea.lockOrderingCheckSampleRate.
+ * <p>
+ * If a LockStatistics is given and statistics are enabled, the contention of the locks acquired through this instance
+ * is recorded there.
  * <p>
  */
 public class LockUtil {
+  /** Ordering checks are off. */
+  public static final int CHECKS_OFF = 0;
+  /** Every lock acquisition is checked. */
+  public static final int CHECKS_ALWAYS = 1;
+  public static final String ORDERING_CHECK_SAMPLE_RATE_PROPERTY = "triplea.lockOrderingCheckSampleRate";
   // the locks the current thread has
   // because locks can be re-entrant, store this as a count
   private final static ThreadLocal<Map<Lock, Integer>> m_locksHeld = new ThreadLocal<>();
   // a map of all the locks ever held when a lock was acquired
   // store weak references to everything so that locks don't linger here forever
   private final static Map<Lock, Set<WeakLockRef>> m_locksHeldWhenAcquired = new WeakHashMap<>();
-  private final Object m_mutex = new Object();
+  private final static Object m_mutex = new Object();
   private static ErrorReporter m_errorReporter = new ErrorReporter();
+  private static volatile int s_orderingCheckSampleRate =
+      Math.max(CHECKS_OFF, Integer.getInteger(ORDERING_CHECK_SAMPLE_RATE_PROPERTY, CHECKS_OFF));
+  private static final AtomicLong s_acquisitions = new AtomicLong();
+  private final LockStatistics m_statistics;
+
+  public LockUtil() {
+    this(null);
+  }
+
+  /**
+   * @param statistics where to record the contention of the locks acquired through this instance, may be null.
+   *        Ignored unless {@link LockStatistics#isEnabled()}, so that otherwise locks are taken directly.
+   */
+  public LockUtil(final LockStatistics statistics) {
+    m_statistics = LockStatistics.isEnabled() ? statistics : null;
+  }
 
-  public LockUtil() {}
+  /**
+   * Switch the lock ordering checks on or off, this can be done at any time.
+   * When sampling, once a thread is checked, all the locks it acquires until it holds no checked locks anymore are
+   * checked as well.
+   *
+   * @param sampleRate {@link #CHECKS_OFF}, {@link #CHECKS_ALWAYS} or n to check one in every n lock acquisitions.
+   */
+  public static void setOrderingCheckSampleRate(final int sampleRate) {
+    if (sampleRate < CHECKS_OFF) {
+      throw new IllegalArgumentException("Invalid sample rate:" + sampleRate);
+    }
+    s_orderingCheckSampleRate = sampleRate;
+  }
+
+  public static int getOrderingCheckSampleRate() {
+    return s_orderingCheckSampleRate;
+  }
 
   public void acquireLock(final Lock aLock) {
+    if (shouldCheckOrdering()) {
+      checkOrdering(aLock);
+    }
+    if (m_statistics == null) {
+      aLock.lock();
+    } else {
+      m_statistics.lock(aLock);
+    }
+  }
+
+  private static boolean shouldCheckOrdering() {
+    final int sampleRate = s_orderingCheckSampleRate;
+    if (sampleRate == CHECKS_OFF) {
+      return false;
+    }
+    // keep checking a thread that is already being checked
+    final Map<Lock, Integer> locksHeld = m_locksHeld.get();
+    if (sampleRate == CHECKS_ALWAYS || (locksHeld != null && !locksHeld.isEmpty())) {
+      return true;
+    }
+    return s_acquisitions.incrementAndGet() % sampleRate == 0;
+  }
+
+  private static void checkOrdering(final Lock aLock) {
+    if (m_locksHeld.get() == null) {
+      m_locksHeld.set(new HashMap<>());
+    }
+    final Map<Lock, Integer> locksHeld = m_locksHeld.get();
+    // we already have the lock, increaase the count
+    if (locksHeld.containsKey(aLock)) {
+      final int current = locksHeld.get(aLock);
+      locksHeld.put(aLock, current + 1);
+      return;
+    }
+    // we don't have it
     synchronized (m_mutex) {
-      if (m_locksHeld.get() == null) {
-        m_locksHeld.set(new HashMap<>());
+      // all the locks currently held must be acquired before a lock
+      if (!m_locksHeldWhenAcquired.containsKey(aLock)) {
+        m_locksHeldWhenAcquired.put(aLock, new HashSet<>());
       }
-      // we already have the lock, increaase the count
-      if (m_locksHeld.get().containsKey(aLock)) {
-        final int current = m_locksHeld.get().get(aLock);
-        m_locksHeld.get().put(aLock, current + 1);
+      for (final Lock l : locksHeld.keySet()) {
+        m_locksHeldWhenAcquired.get(aLock).add(new WeakLockRef(l));
       }
-      // we don't have it
-      else {
-        // all the locks currently held must be acquired before a lock
-        if (!m_locksHeldWhenAcquired.containsKey(aLock)) {
-          m_locksHeldWhenAcquired.put(aLock, new HashSet<>());
-        }
-        for (final Lock l : m_locksHeld.get().keySet()) {
-          m_locksHeldWhenAcquired.get(aLock).add(new WeakLockRef(l));
-        }
-        // we are lock a, check to
-        // see if any lock we hold (b)
-        // has evern been acquired before a
-        for (final Lock l : m_locksHeld.get().keySet()) {
-          final Set<WeakLockRef> held = m_locksHeldWhenAcquired.get(l);
-          // clear out of date locks
-          final Iterator<WeakLockRef> iter = held.iterator();
-          while (iter.hasNext()) {
-            if (iter.next().get() == null) {
-              iter.remove();
-            }
-          }
-          if (held.contains(new WeakLockRef(aLock))) {
-            m_errorReporter.reportError(aLock, l);
+      // we are lock a, check to
+      // see if any lock we hold (b)
+      // has evern been acquired before a
+      for (final Lock l : locksHeld.keySet()) {
+        final Set<WeakLockRef> held = m_locksHeldWhenAcquired.get(l);
+        // clear out of date locks
+        final Iterator<WeakLockRef> iter = held.iterator();
+        while (iter.hasNext()) {
+          if (iter.next().get() == null) {
+            iter.remove();
           }
         }
-        m_locksHeld.get().put(aLock, 1);
+        if (held.contains(new WeakLockRef(aLock))) {
+          m_errorReporter.reportError(aLock, l);
+        }
       }
     }
-    aLock.lock();
+    locksHeld.put(aLock, 1);
   }
 
   public void releaseLock(final Lock aLock) {
-    synchronized (m_mutex) {
-      int count = m_locksHeld.get().get(aLock);
-      count--;
-      if (count == 0) {
-        m_locksHeld.get().remove(aLock);
-      } else {
-        m_locksHeld.get().put(aLock, count);
+    // the locks held by a thread are only touched by that thread, no need to synchronize
+    final Map<Lock, Integer> locksHeld = m_locksHeld.get();
+    if (locksHeld != null) {
+      final Integer count = locksHeld.get(aLock);
+      // the lock may have been acquired while the checks were off
+      if (count != null) {
+        if (count == 1) {
+          locksHeld.remove(aLock);
+        } else {
+          locksHeld.put(aLock, count - 1);
+        }
       }
     }
-    aLock.unlock();
+    if (m_statistics == null) {
+      aLock.unlock();
+    } else {
+      m_statistics.unlock(aLock);
+    }
   }
 
+  /**
+   * Only locks acquired while the ordering checks are on are known to be held.
+   */
   public boolean isLockHeld(final Lock aLock) {
-    if (m_locksHeld.get() == null) {
-      return false;
-    }
-    synchronized (m_mutex) {
-      return m_locksHeld.get().containsKey(aLock);
-    }
+    final Map<Lock, Integer> locksHeld = m_locksHeld.get();
+    return locksHeld != null && locksHeld.containsKey(aLock);
   }
 
   public void setErrorReporter(final ErrorReporter reporter) {
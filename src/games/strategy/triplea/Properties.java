@@ -1,6 +1,7 @@
 package games.strategy.triplea;
 
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.properties.GameProperties;
 
 /**
  * <p>
@@ -8,113 +9,305 @@ import games.strategy.engine.data.GameData;
  * </p>
  */
 public class Properties implements Constants {
+  // positions of the properties in the snapshot kept by GameProperties
+  private static final int NEUTRAL_CHARGE_PROPERTY_SLOT = GameProperties.getSlot(NEUTRAL_CHARGE_PROPERTY);
+  private static final int FACTORIES_PER_COUNTRY_PROPERTY_SLOT = GameProperties.getSlot(FACTORIES_PER_COUNTRY_PROPERTY);
+  private static final int TWO_HIT_BATTLESHIP_PROPERTY_SLOT = GameProperties.getSlot(TWO_HIT_BATTLESHIP_PROPERTY);
+  private static final int WW2V2_SLOT = GameProperties.getSlot(WW2V2);
+  private static final int PARTIAL_AMPHIBIOUS_RETREAT_SLOT = GameProperties.getSlot(PARTIAL_AMPHIBIOUS_RETREAT);
+  private static final int TOTAL_VICTORY_SLOT = GameProperties.getSlot(TOTAL_VICTORY);
+  private static final int HONORABLE_SURRENDER_SLOT = GameProperties.getSlot(HONORABLE_SURRENDER);
+  private static final int PROJECTION_OF_POWER_SLOT = GameProperties.getSlot(PROJECTION_OF_POWER);
+  private static final int ALL_ROCKETS_ATTACK_SLOT = GameProperties.getSlot(ALL_ROCKETS_ATTACK);
+  private static final int NEUTRALS_ARE_IMPASSABLE_SLOT = GameProperties.getSlot(NEUTRALS_ARE_IMPASSABLE);
+  private static final int NEUTRALS_ARE_BLITZABLE_SLOT = GameProperties.getSlot(NEUTRALS_ARE_BLITZABLE);
+  private static final int ROCKETS_CAN_FLY_OVER_IMPASSABLES_SLOT =
+      GameProperties.getSlot(ROCKETS_CAN_FLY_OVER_IMPASSABLES);
+  private static final int PACIFIC_THEATER_SLOT = GameProperties.getSlot(PACIFIC_THEATER);
+  private static final int WW2V3_SLOT = GameProperties.getSlot(WW2V3);
+  private static final int ECONOMIC_VICTORY_SLOT = GameProperties.getSlot(ECONOMIC_VICTORY);
+  private static final int TRIGGERED_VICTORY_SLOT = GameProperties.getSlot(TRIGGERED_VICTORY);
+  private static final int PLACEMENT_RESTRICTED_BY_FACTORY_SLOT =
+      GameProperties.getSlot(PLACEMENT_RESTRICTED_BY_FACTORY);
+  private static final int SELECTABLE_TECH_ROLL_SLOT = GameProperties.getSlot(SELECTABLE_TECH_ROLL);
+  private static final int WW2V3_TECH_MODEL_SLOT = GameProperties.getSlot(WW2V3_TECH_MODEL);
+  private static final int TECH_DEVELOPMENT_SLOT = GameProperties.getSlot(TECH_DEVELOPMENT);
+  private static final int TRANSPORT_UNLOAD_RESTRICTED_SLOT = GameProperties.getSlot(TRANSPORT_UNLOAD_RESTRICTED);
+  private static final int RANDOM_AA_CASUALTIES_SLOT = GameProperties.getSlot(RANDOM_AA_CASUALTIES);
+  private static final int ROLL_AA_INDIVIDUALLY_SLOT = GameProperties.getSlot(ROLL_AA_INDIVIDUALLY);
+  private static final int LIMIT_ROCKET_AND_SBR_DAMAGE_TO_PRODUCTION_SLOT =
+      GameProperties.getSlot(LIMIT_ROCKET_AND_SBR_DAMAGE_TO_PRODUCTION);
+  private static final int LIMIT_SBR_DAMAGE_PER_TURN_SLOT = GameProperties.getSlot(LIMIT_SBR_DAMAGE_PER_TURN);
+  private static final int LIMIT_ROCKET_DAMAGE_PER_TURN_SLOT = GameProperties.getSlot(LIMIT_ROCKET_DAMAGE_PER_TURN);
+  private static final int PU_CAP_SLOT = GameProperties.getSlot(PU_CAP);
+  private static final int SBR_VICTORY_POINTS_SLOT = GameProperties.getSlot(SBR_VICTORY_POINTS);
+  private static final int ROCKET_ATTACKS_PER_FACTORY_INFINITE_SLOT =
+      GameProperties.getSlot(ROCKET_ATTACKS_PER_FACTORY_INFINITE);
+  private static final int ALLIED_AIR_INDEPENDENT_SLOT = GameProperties.getSlot(ALLIED_AIR_INDEPENDENT);
+  private static final int DEFENDING_SUBS_SNEAK_ATTACK_SLOT = GameProperties.getSlot(DEFENDING_SUBS_SNEAK_ATTACK);
+  private static final int ATTACKER_RETREAT_PLANES_SLOT = GameProperties.getSlot(ATTACKER_RETREAT_PLANES);
+  private static final int SURVIVING_AIR_MOVE_TO_LAND_SLOT = GameProperties.getSlot(SURVIVING_AIR_MOVE_TO_LAND);
+  private static final int NAVAL_BOMBARD_CASUALTIES_RETURN_FIRE_RESTRICTED_SLOT =
+      GameProperties.getSlot(NAVAL_BOMBARD_CASUALTIES_RETURN_FIRE_RESTRICTED);
+  private static final int BLITZ_THROUGH_FACTORIES_AND_AA_RESTRICTED_SLOT =
+      GameProperties.getSlot(BLITZ_THROUGH_FACTORIES_AND_AA_RESTRICTED);
+  private static final int UNIT_PLACEMENT_IN_ENEMY_SEAS_SLOT = GameProperties.getSlot(UNIT_PLACEMENT_IN_ENEMY_SEAS);
+  private static final int SUB_CONTROL_SEA_ZONE_RESTRICTED_SLOT =
+      GameProperties.getSlot(SUB_CONTROL_SEA_ZONE_RESTRICTED);
+  private static final int TRANSPORT_CONTROL_SEA_ZONE_SLOT = GameProperties.getSlot(TRANSPORT_CONTROL_SEA_ZONE);
+  private static final int PRODUCTION_PER_X_TERRITORIES_RESTRICTED_SLOT =
+      GameProperties.getSlot(PRODUCTION_PER_X_TERRITORIES_RESTRICTED);
+  private static final int PRODUCTION_PER_VALUED_TERRITORY_RESTRICTED_SLOT =
+      GameProperties.getSlot(PRODUCTION_PER_VALUED_TERRITORY_RESTRICTED);
+  private static final int PLACE_IN_ANY_TERRITORY_SLOT = GameProperties.getSlot(PLACE_IN_ANY_TERRITORY);
+  private static final int UNIT_PLACEMENT_PER_TERRITORY_RESTRICTED_SLOT =
+      GameProperties.getSlot(UNIT_PLACEMENT_PER_TERRITORY_RESTRICTED);
+  private static final int MOVEMENT_BY_TERRITORY_RESTRICTED_SLOT =
+      GameProperties.getSlot(MOVEMENT_BY_TERRITORY_RESTRICTED);
+  private static final int TRANSPORT_CASUALTIES_RESTRICTED_SLOT =
+      GameProperties.getSlot(TRANSPORT_CASUALTIES_RESTRICTED);
+  private static final int IGNORE_TRANSPORT_IN_MOVEMENT_SLOT = GameProperties.getSlot(IGNORE_TRANSPORT_IN_MOVEMENT);
+  private static final int IGNORE_SUB_IN_MOVEMENT_SLOT = GameProperties.getSlot(IGNORE_SUB_IN_MOVEMENT);
+  private static final int UNPLACED_UNITS_LIVE_SLOT = GameProperties.getSlot(UNPLACED_UNITS_LIVE);
+  private static final int AIR_ATTACK_SUB_RESTRICTED_SLOT = GameProperties.getSlot(AIR_ATTACK_SUB_RESTRICTED);
+  private static final int SELECTABLE_ZERO_MOVEMENT_UNITS_SLOT = GameProperties.getSlot(SELECTABLE_ZERO_MOVEMENT_UNITS);
+  private static final int PARATROOPERS_CAN_MOVE_DURING_NON_COMBAT_SLOT =
+      GameProperties.getSlot(PARATROOPERS_CAN_MOVE_DURING_NON_COMBAT);
+  private static final int SUB_RETREAT_BEFORE_BATTLE_SLOT = GameProperties.getSlot(SUB_RETREAT_BEFORE_BATTLE);
+  private static final int SHORE_BOMBARD_PER_GROUND_UNIT_RESTRICTED_SLOT =
+      GameProperties.getSlot(SHORE_BOMBARD_PER_GROUND_UNIT_RESTRICTED);
+  private static final int AA_TERRITORY_RESTRICTED_SLOT = GameProperties.getSlot(AA_TERRITORY_RESTRICTED);
+  private static final int MULTIPLE_AA_PER_TERRITORY_SLOT = GameProperties.getSlot(MULTIPLE_AA_PER_TERRITORY);
+  private static final int NATIONAL_OBJECTIVES_SLOT = GameProperties.getSlot(NATIONAL_OBJECTIVES);
+  private static final int TRIGGERS_SLOT = GameProperties.getSlot(TRIGGERS);
+  private static final int ALWAYS_ON_AA_PROPERTY_SLOT = GameProperties.getSlot(ALWAYS_ON_AA_PROPERTY);
+  private static final int LHTR_CARRIER_PRODUCTION_RULES_SLOT = GameProperties.getSlot(LHTR_CARRIER_PRODUCTION_RULES);
+  private static final int CAN_PRODUCE_FIGHTERS_ON_CARRIERS_SLOT =
+      GameProperties.getSlot(CAN_PRODUCE_FIGHTERS_ON_CARRIERS);
+  private static final int PRODUCE_NEW_FIGHTERS_ON_OLD_CARRIERS_SLOT =
+      GameProperties.getSlot(PRODUCE_NEW_FIGHTERS_ON_OLD_CARRIERS);
+  private static final int MOVE_EXISTING_FIGHTERS_TO_NEW_CARRIERS_SLOT =
+      GameProperties.getSlot(MOVE_EXISTING_FIGHTERS_TO_NEW_CARRIERS);
+  private static final int LAND_EXISTING_FIGHTERS_ON_NEW_CARRIERS_SLOT =
+      GameProperties.getSlot(LAND_EXISTING_FIGHTERS_ON_NEW_CARRIERS);
+  private static final int HEAVY_BOMBER_DICE_ROLLS_SLOT = GameProperties.getSlot(HEAVY_BOMBER_DICE_ROLLS);
+  private static final int TWO_HIT_BATTLESHIPS_REPAIR_END_OF_TURN_SLOT =
+      GameProperties.getSlot(TWO_HIT_BATTLESHIPS_REPAIR_END_OF_TURN);
+  private static final int TWO_HIT_BATTLESHIPS_REPAIR_BEGINNING_OF_TURN_SLOT =
+      GameProperties.getSlot(TWO_HIT_BATTLESHIPS_REPAIR_BEGINNING_OF_TURN);
+  private static final int TWO_HITPOINT_UNITS_REQUIRE_REPAIR_FACILITIES_SLOT =
+      GameProperties.getSlot(TWO_HITPOINT_UNITS_REQUIRE_REPAIR_FACILITIES);
+  private static final int CHOOSE_AA_SLOT = GameProperties.getSlot(CHOOSE_AA);
+  private static final int SUBMERSIBLE_SUBS_SLOT = GameProperties.getSlot(SUBMERSIBLE_SUBS);
+  private static final int USE_DESTROYERS_AND_ARTILLERY_SLOT = GameProperties.getSlot(USE_DESTROYERS_AND_ARTILLERY);
+  private static final int USE_SHIPYARDS_SLOT = GameProperties.getSlot(USE_SHIPYARDS);
+  private static final int LOW_LUCK_SLOT = GameProperties.getSlot(LOW_LUCK);
+  private static final int LL_AA_ONLY_SLOT = GameProperties.getSlot(LL_AA_ONLY);
+  private static final int LL_TECH_ONLY_SLOT = GameProperties.getSlot(LL_TECH_ONLY);
+  private static final int LL_DAMAGE_ONLY_SLOT = GameProperties.getSlot(LL_DAMAGE_ONLY);
+  private static final int KAMIKAZE_SLOT = GameProperties.getSlot(KAMIKAZE);
+  private static final int LHTR_HEAVY_BOMBERS_SLOT = GameProperties.getSlot(LHTR_HEAVY_BOMBERS);
+  private static final int SUPER_SUB_DEFENSE_BONUS_SLOT = GameProperties.getSlot(SUPER_SUB_DEFENSE_BONUS);
+  private static final int SCRAMBLE_RULES_IN_EFFECT_SLOT = GameProperties.getSlot(SCRAMBLE_RULES_IN_EFFECT);
+  private static final int SCRAMBLED_UNITS_RETURN_TO_BASE_SLOT = GameProperties.getSlot(SCRAMBLED_UNITS_RETURN_TO_BASE);
+  private static final int SCRAMBLE_TO_SEA_ONLY_SLOT = GameProperties.getSlot(SCRAMBLE_TO_SEA_ONLY);
+  private static final int SCRAMBLE_FROM_ISLAND_ONLY_SLOT = GameProperties.getSlot(SCRAMBLE_FROM_ISLAND_ONLY);
+  private static final int SCRAMBLE_TO_ANY_AMPHIBIOUS_ASSAULT_SLOT =
+      GameProperties.getSlot(SCRAMBLE_TO_ANY_AMPHIBIOUS_ASSAULT);
+  private static final int PU_MULTIPLIER_SLOT = GameProperties.getSlot(PU_MULTIPLIER);
+  private static final int UNLIMITED_CONSTRUCTIONS_SLOT = GameProperties.getSlot(UNLIMITED_CONSTRUCTIONS);
+  private static final int MORE_CONSTRUCTIONS_WITHOUT_FACTORY_SLOT =
+      GameProperties.getSlot(MORE_CONSTRUCTIONS_WITHOUT_FACTORY);
+  private static final int MORE_CONSTRUCTIONS_WITH_FACTORY_SLOT =
+      GameProperties.getSlot(MORE_CONSTRUCTIONS_WITH_FACTORY);
+  private static final int UNIT_PLACEMENT_RESTRICTIONS_SLOT = GameProperties.getSlot(UNIT_PLACEMENT_RESTRICTIONS);
+  private static final int GIVE_UNITS_BY_TERRITORY_SLOT = GameProperties.getSlot(GIVE_UNITS_BY_TERRITORY);
+  private static final int UNITS_CAN_BE_DESTROYED_INSTEAD_OF_CAPTURED_SLOT =
+      GameProperties.getSlot(UNITS_CAN_BE_DESTROYED_INSTEAD_OF_CAPTURED);
+  private static final int SUICIDE_AND_MUNITION_CASUALTIES_RESTRICTED_SLOT =
+      GameProperties.getSlot(SUICIDE_AND_MUNITION_CASUALTIES_RESTRICTED);
+  private static final int DEFENDING_SUICIDE_AND_MUNITION_UNITS_DO_NOT_FIRE_SLOT =
+      GameProperties.getSlot(DEFENDING_SUICIDE_AND_MUNITION_UNITS_DO_NOT_FIRE);
+  private static final int NAVAL_UNITS_MAY_NOT_NONCOMBAT_MOVE_INTO_CONTROLLED_SEA_ZONES_SLOT =
+      GameProperties.getSlot(NAVAL_UNITS_MAY_NOT_NONCOMBAT_MOVE_INTO_CONTROLLED_SEA_ZONES);
+  private static final int UNITS_MAY_GIVE_BONUS_MOVEMENT_SLOT = GameProperties.getSlot(UNITS_MAY_GIVE_BONUS_MOVEMENT);
+  private static final int CAPTURE_UNITS_ON_ENTERING_TERRITORY_SLOT =
+      GameProperties.getSlot(CAPTURE_UNITS_ON_ENTERING_TERRITORY);
+  private static final int DESTROY_UNITS_ON_ENTERING_TERRITORY_SLOT =
+      GameProperties.getSlot(DESTROY_UNITS_ON_ENTERING_TERRITORY);
+  private static final int DAMAGE_FROM_BOMBING_DONE_TO_UNITS_INSTEAD_OF_TERRITORIES_SLOT =
+      GameProperties.getSlot(DAMAGE_FROM_BOMBING_DONE_TO_UNITS_INSTEAD_OF_TERRITORIES);
+  private static final int SBR_AFFECTS_UNIT_PRODUCTION_SLOT = GameProperties.getSlot(SBR_AFFECTS_UNIT_PRODUCTION);
+  private static final int NEUTRAL_FLYOVER_ALLOWED_SLOT = GameProperties.getSlot(NEUTRAL_FLYOVER_ALLOWED);
+  private static final int UNITS_CAN_BE_CHANGED_ON_CAPTURE_SLOT =
+      GameProperties.getSlot(UNITS_CAN_BE_CHANGED_ON_CAPTURE);
+  private static final int USE_POLITICS_SLOT = GameProperties.getSlot(USE_POLITICS);
+  private static final int AI_BONUS_INCOME_PERCENTAGE_SLOT = GameProperties.getSlot(AI_BONUS_INCOME_PERCENTAGE);
+  private static final int AI_BONUS_INCOME_FLAT_RATE_SLOT = GameProperties.getSlot(AI_BONUS_INCOME_FLAT_RATE);
+  private static final int AI_BONUS_ATTACK_SLOT = GameProperties.getSlot(AI_BONUS_ATTACK);
+  private static final int AI_BONUS_DEFENSE_SLOT = GameProperties.getSlot(AI_BONUS_DEFENSE);
+  private static final int RELATIONSHIPS_LAST_EXTRA_ROUNDS_SLOT =
+      GameProperties.getSlot(RELATIONSHIPS_LAST_EXTRA_ROUNDS);
+  private static final int ALLIANCES_CAN_CHAIN_TOGETHER_SLOT = GameProperties.getSlot(ALLIANCES_CAN_CHAIN_TOGETHER);
+  private static final int RAIDS_MAY_BE_PRECEEDED_BY_AIR_BATTLES_SLOT =
+      GameProperties.getSlot(RAIDS_MAY_BE_PRECEEDED_BY_AIR_BATTLES);
+  private static final int BATTLES_MAY_BE_PRECEEDED_BY_AIR_BATTLES_SLOT =
+      GameProperties.getSlot(BATTLES_MAY_BE_PRECEEDED_BY_AIR_BATTLES);
+  private static final int USE_KAMIKAZE_SUICIDE_ATTACKS_SLOT = GameProperties.getSlot(USE_KAMIKAZE_SUICIDE_ATTACKS);
+  private static final int KAMIKAZE_SUICIDE_ATTACKS_DONE_BY_CURRENT_TERRITORY_OWNER_SLOT =
+      GameProperties.getSlot(KAMIKAZE_SUICIDE_ATTACKS_DONE_BY_CURRENT_TERRITORY_OWNER);
+  private static final int FORCE_AA_ATTACKS_FOR_LAST_STEP_OF_FLY_OVER_SLOT =
+      GameProperties.getSlot(FORCE_AA_ATTACKS_FOR_LAST_STEP_OF_FLY_OVER);
+  private static final int PARATROOPERS_CAN_ATTACK_DEEP_INTO_ENEMY_TERRITORY_SLOT =
+      GameProperties.getSlot(PARATROOPERS_CAN_ATTACK_DEEP_INTO_ENEMY_TERRITORY);
+  private static final int USE_BOMBING_MAX_DICE_SIDES_AND_BONUS_SLOT =
+      GameProperties.getSlot(USE_BOMBING_MAX_DICE_SIDES_AND_BONUS);
+  private static final int CONVOY_BLOCKADES_ROLL_DICE_FOR_COST_SLOT =
+      GameProperties.getSlot(CONVOY_BLOCKADES_ROLL_DICE_FOR_COST);
+  private static final int AIRBORNE_ATTACKS_ONLY_IN_EXISTING_BATTLES_SLOT =
+      GameProperties.getSlot(AIRBORNE_ATTACKS_ONLY_IN_EXISTING_BATTLES);
+  private static final int AIRBORNE_ATTACKS_ONLY_IN_ENEMY_TERRITORIES_SLOT =
+      GameProperties.getSlot(AIRBORNE_ATTACKS_ONLY_IN_ENEMY_TERRITORIES);
+  private static final int SUBS_CAN_END_NONCOMBAT_MOVE_WITH_ENEMIES_SLOT =
+      GameProperties.getSlot(SUBS_CAN_END_NONCOMBAT_MOVE_WITH_ENEMIES);
+  private static final int REMOVE_ALL_TECH_TOKENS_AT_END_OF_TURN_SLOT =
+      GameProperties.getSlot(REMOVE_ALL_TECH_TOKENS_AT_END_OF_TURN);
+  private static final int KAMIKAZE_SUICIDE_ATTACKS_ONLY_WHERE_BATTLES_ARE_SLOT =
+      GameProperties.getSlot(KAMIKAZE_SUICIDE_ATTACKS_ONLY_WHERE_BATTLES_ARE);
+  private static final int SUBMARINES_PREVENT_UNESCORTED_AMPHIBIOUS_ASSAULTS_SLOT =
+      GameProperties.getSlot(SUBMARINES_PREVENT_UNESCORTED_AMPHIBIOUS_ASSAULTS);
+  private static final int SUBMARINES_DEFENDING_MAY_SUBMERGE_OR_RETREAT_SLOT =
+      GameProperties.getSlot(SUBMARINES_DEFENDING_MAY_SUBMERGE_OR_RETREAT);
+  private static final int AIR_BATTLE_ROUNDS_SLOT = GameProperties.getSlot(AIR_BATTLE_ROUNDS);
+  private static final int SEA_BATTLE_ROUNDS_SLOT = GameProperties.getSlot(SEA_BATTLE_ROUNDS);
+  private static final int LAND_BATTLE_ROUNDS_SLOT = GameProperties.getSlot(LAND_BATTLE_ROUNDS);
+  private static final int AIR_BATTLE_ATTACKERS_CAN_RETREAT_SLOT =
+      GameProperties.getSlot(AIR_BATTLE_ATTACKERS_CAN_RETREAT);
+  private static final int AIR_BATTLE_DEFENDERS_CAN_RETREAT_SLOT =
+      GameProperties.getSlot(AIR_BATTLE_DEFENDERS_CAN_RETREAT);
+  private static final int CAN_SCRAMBLE_INTO_AIR_BATTLES_SLOT = GameProperties.getSlot(CAN_SCRAMBLE_INTO_AIR_BATTLES);
+  private static final int TERRITORIES_ARE_ASSIGNED_RANDOMLY_SLOT =
+      GameProperties.getSlot(TERRITORIES_ARE_ASSIGNED_RANDOMLY);
+  private static final int USE_FUEL_COST_SLOT = GameProperties.getSlot(USE_FUEL_COST);
+  private static final int RETREATING_UNITS_REMAIN_IN_PLACE_SLOT =
+      GameProperties.getSlot(RETREATING_UNITS_REMAIN_IN_PLACE);
+  private static final int CONTESTED_TERRITORIES_PRODUCE_NO_INCOME_SLOT =
+      GameProperties.getSlot(CONTESTED_TERRITORIES_PRODUCE_NO_INCOME);
+  private static final int SEA_BATTLES_MAY_BE_IGNORED_SLOT = GameProperties.getSlot(SEA_BATTLES_MAY_BE_IGNORED);
+  private static final int ABANDONED_TERRITORIES_MAY_BE_TAKEN_OVER_IMMEDIATELY_SLOT =
+      GameProperties.getSlot(ABANDONED_TERRITORIES_MAY_BE_TAKEN_OVER_IMMEDIATELY);
+  private static final int DISABLED_PLAYERS_ASSETS_DELETED_SLOT =
+      GameProperties.getSlot(DISABLED_PLAYERS_ASSETS_DELETED);
+  private static final int CONTROL_ALL_CANALS_BETWEEN_TERRITORIES_TO_PASS_SLOT =
+      GameProperties.getSlot(CONTROL_ALL_CANALS_BETWEEN_TERRITORIES_TO_PASS);
+
   // These should always default to false, if boolean, and if not should default to whatever is the "default" behavior
   // of TripleA.
   // If you want something to default to "true", when change the wording of the constant to make it a negative of
   // itself, then default to
   // false. (ex: "Do not do something", false; instead of "Do something", true;)
   public static int getNeutralCharge(final GameData data) {
-    return data.getProperties().get(NEUTRAL_CHARGE_PROPERTY, 0);
+    return data.getProperties().get(NEUTRAL_CHARGE_PROPERTY_SLOT, 0);
   }
 
   public static int getFactoriesPerCountry(final GameData data) {
-    return data.getProperties().get(FACTORIES_PER_COUNTRY_PROPERTY, 1);
+    return data.getProperties().get(FACTORIES_PER_COUNTRY_PROPERTY_SLOT, 1);
   }
 
   public static boolean getTwoHitBattleships(final GameData data) {
-    return data.getProperties().get(TWO_HIT_BATTLESHIP_PROPERTY, false);
+    return data.getProperties().get(TWO_HIT_BATTLESHIP_PROPERTY_SLOT, false);
   }
 
   public static boolean getWW2V2(final GameData data) {
-    return data.getProperties().get(WW2V2, false);
+    return data.getProperties().get(WW2V2_SLOT, false);
   }
 
   public static boolean getPartialAmphibiousRetreat(final GameData data) {
-    return data.getProperties().get(PARTIAL_AMPHIBIOUS_RETREAT, false);
+    return data.getProperties().get(PARTIAL_AMPHIBIOUS_RETREAT_SLOT, false);
   }
 
   public static boolean getTotalVictory(final GameData data) {
-    return data.getProperties().get(TOTAL_VICTORY, false);
+    return data.getProperties().get(TOTAL_VICTORY_SLOT, false);
   }
 
   public static boolean getHonorableSurrender(final GameData data) {
-    return data.getProperties().get(HONORABLE_SURRENDER, false);
+    return data.getProperties().get(HONORABLE_SURRENDER_SLOT, false);
   }
 
   public static boolean getProjectionOfPower(final GameData data) {
-    return data.getProperties().get(PROJECTION_OF_POWER, false);
+    return data.getProperties().get(PROJECTION_OF_POWER_SLOT, false);
   }
 
   public static boolean getAllRocketsAttack(final GameData data) {
-    return data.getProperties().get(ALL_ROCKETS_ATTACK, false);
+    return data.getProperties().get(ALL_ROCKETS_ATTACK_SLOT, false);
   }
 
   public static boolean getNeutralsImpassable(final GameData data) {
-    return data.getProperties().get(NEUTRALS_ARE_IMPASSABLE, false);
+    return data.getProperties().get(NEUTRALS_ARE_IMPASSABLE_SLOT, false);
   }
 
   public static boolean getNeutralsBlitzable(final GameData data) {
-    return data.getProperties().get(NEUTRALS_ARE_BLITZABLE, false);
+    return data.getProperties().get(NEUTRALS_ARE_BLITZABLE_SLOT, false);
   }
 
   public static boolean getRocketsCanFlyOverImpassables(final GameData data) {
-    return data.getProperties().get(ROCKETS_CAN_FLY_OVER_IMPASSABLES, false);
+    return data.getProperties().get(ROCKETS_CAN_FLY_OVER_IMPASSABLES_SLOT, false);
   }
 
   /*
    * Pacific Theater
    */
   public static boolean getPacificTheater(final GameData data) {
-    return data.getProperties().get(PACIFIC_THEATER, false);
+    return data.getProperties().get(PACIFIC_THEATER_SLOT, false);
   }
 
   /*
    * World War 2 Version 3
    */
   public static boolean getWW2V3(final GameData data) {
-    return data.getProperties().get(WW2V3, false);
+    return data.getProperties().get(WW2V3_SLOT, false);
   }
 
   /*
    * Economic Victory Condition
    */
   public static boolean getEconomicVictory(final GameData data) {
-    return data.getProperties().get(ECONOMIC_VICTORY, false);
+    return data.getProperties().get(ECONOMIC_VICTORY_SLOT, false);
   }
 
   /*
    * Triggered Victory Condition
    */
   public static boolean getTriggeredVictory(final GameData data) {
-    return data.getProperties().get(TRIGGERED_VICTORY, false);
+    return data.getProperties().get(TRIGGERED_VICTORY_SLOT, false);
   }
 
   /*
    * Restrict the number of units that can be placed at a factory.
    */
   public static boolean getPlacementRestrictedByFactory(final GameData data) {
-    return data.getProperties().get(PLACEMENT_RESTRICTED_BY_FACTORY, false);
+    return data.getProperties().get(PLACEMENT_RESTRICTED_BY_FACTORY_SLOT, false);
   }
 
   /*
    * Can the player select the type of technology they are rolling for
    */
   public static boolean getSelectableTechRoll(final GameData data) {
-    return data.getProperties().get(SELECTABLE_TECH_ROLL, false);
+    return data.getProperties().get(SELECTABLE_TECH_ROLL_SLOT, false);
   }
 
   /*
    * Can the player select the type of technology they are rolling for
    */
   public static boolean getWW2V3TechModel(final GameData data) {
-    return data.getProperties().get(WW2V3_TECH_MODEL, false);
+    return data.getProperties().get(WW2V3_TECH_MODEL_SLOT, false);
   }
 
   /*
    * Use Advanced Technology
    */
   public static boolean getTechDevelopment(final GameData data) {
-    return data.getProperties().get(TECH_DEVELOPMENT, false);
+    return data.getProperties().get(TECH_DEVELOPMENT_SLOT, false);
   }
 
   /*
@@ -122,21 +315,21 @@ public class Properties implements Constants {
    * turn
    */
   public static boolean getTransportUnloadRestricted(final GameData data) {
-    return data.getProperties().get(TRANSPORT_UNLOAD_RESTRICTED, false);
+    return data.getProperties().get(TRANSPORT_UNLOAD_RESTRICTED_SLOT, false);
   }
 
   /*
    * Are AA casualties chosen randomly
    */
   public static boolean getRandomAACasualties(final GameData data) {
-    return data.getProperties().get(RANDOM_AA_CASUALTIES, false);
+    return data.getProperties().get(RANDOM_AA_CASUALTIES_SLOT, false);
   }
 
   /*
    * Are AA casualties chosen randomly
    */
   public static boolean getRollAAIndividually(final GameData data) {
-    return data.getProperties().get(ROLL_AA_INDIVIDUALLY, false);
+    return data.getProperties().get(ROLL_AA_INDIVIDUALLY_SLOT, false);
   }
 
   /*
@@ -144,7 +337,7 @@ public class Properties implements Constants {
    * production of territory
    */
   public static boolean getLimitRocketAndSBRDamageToProduction(final GameData data) {
-    return data.getProperties().get(LIMIT_ROCKET_AND_SBR_DAMAGE_TO_PRODUCTION, false);
+    return data.getProperties().get(LIMIT_ROCKET_AND_SBR_DAMAGE_TO_PRODUCTION_SLOT, false);
   }
 
   /*
@@ -152,7 +345,7 @@ public class Properties implements Constants {
    * production
    */
   public static boolean getLimitSBRDamagePerTurn(final GameData data) {
-    return data.getProperties().get(LIMIT_SBR_DAMAGE_PER_TURN, false);
+    return data.getProperties().get(LIMIT_SBR_DAMAGE_PER_TURN_SLOT, false);
   }
 
   /**
@@ -160,7 +353,7 @@ public class Properties implements Constants {
    * production
    */
   public static boolean getLimitRocketDamagePerTurn(final GameData data) {
-    return data.getProperties().get(LIMIT_ROCKET_DAMAGE_PER_TURN, false);
+    return data.getProperties().get(LIMIT_ROCKET_DAMAGE_PER_TURN_SLOT, false);
   }
 
   /**
@@ -168,513 +361,513 @@ public class Properties implements Constants {
    * production
    */
   public static boolean getPUCap(final GameData data) {
-    return data.getProperties().get(PU_CAP, false);
+    return data.getProperties().get(PU_CAP_SLOT, false);
   }
 
   /**
    * Reduce Victory Points by Strategic Bombing
    */
   public static boolean getSBRVictoryPoint(final GameData data) {
-    return data.getProperties().get(SBR_VICTORY_POINTS, false);
+    return data.getProperties().get(SBR_VICTORY_POINTS_SLOT, false);
   }
 
   /**
    * Allow x rocket attack(s) per defending factory
    */
   public static boolean getRocketAttacksPerFactoryInfinite(final GameData data) {
-    return data.getProperties().get(ROCKET_ATTACKS_PER_FACTORY_INFINITE, false);
+    return data.getProperties().get(ROCKET_ATTACKS_PER_FACTORY_INFINITE_SLOT, false);
   }
 
   /**
    * Are allied aircraft dependents of CVs
    */
   public static boolean getAlliedAirIndependent(final GameData data) {
-    return data.getProperties().get(ALLIED_AIR_INDEPENDENT, false);
+    return data.getProperties().get(ALLIED_AIR_INDEPENDENT_SLOT, false);
   }
 
   /**
    * Defending subs sneak attack
    */
   public static boolean getDefendingSubsSneakAttack(final GameData data) {
-    return data.getProperties().get(DEFENDING_SUBS_SNEAK_ATTACK, false);
+    return data.getProperties().get(DEFENDING_SUBS_SNEAK_ATTACK_SLOT, false);
   }
 
   /**
    * Attacker retreat planes from Amphib assault
    */
   public static boolean getAttackerRetreatPlanes(final GameData data) {
-    return data.getProperties().get(ATTACKER_RETREAT_PLANES, false);
+    return data.getProperties().get(ATTACKER_RETREAT_PLANES_SLOT, false);
   }
 
   /**
    * Can surviving air at sea move to land on friendly land/carriers
    */
   public static boolean getSurvivingAirMoveToLand(final GameData data) {
-    return data.getProperties().get(SURVIVING_AIR_MOVE_TO_LAND, false);
+    return data.getProperties().get(SURVIVING_AIR_MOVE_TO_LAND_SLOT, false);
   }
 
   /**
    * Naval Bombard casualties restricted from return fire
    */
   public static boolean getNavalBombardCasualtiesReturnFireRestricted(final GameData data) {
-    return data.getProperties().get(NAVAL_BOMBARD_CASUALTIES_RETURN_FIRE_RESTRICTED, false);
+    return data.getProperties().get(NAVAL_BOMBARD_CASUALTIES_RETURN_FIRE_RESTRICTED_SLOT, false);
   }
 
   /**
    * Restricted from blitz through territories with factories/AA
    */
   public static boolean getBlitzThroughFactoriesAndAARestricted(final GameData data) {
-    return data.getProperties().get(BLITZ_THROUGH_FACTORIES_AND_AA_RESTRICTED, false);
+    return data.getProperties().get(BLITZ_THROUGH_FACTORIES_AND_AA_RESTRICTED_SLOT, false);
   }
 
   /**
    * Can place new units in occupied sea zones
    */
   public static boolean getUnitPlacementInEnemySeas(final GameData data) {
-    return data.getProperties().get(UNIT_PLACEMENT_IN_ENEMY_SEAS, false);
+    return data.getProperties().get(UNIT_PLACEMENT_IN_ENEMY_SEAS_SLOT, false);
   }
 
   /**
    * Subs restricted from controlling sea zones
    */
   public static boolean getSubControlSeaZoneRestricted(final GameData data) {
-    return data.getProperties().get(SUB_CONTROL_SEA_ZONE_RESTRICTED, false);
+    return data.getProperties().get(SUB_CONTROL_SEA_ZONE_RESTRICTED_SLOT, false);
   }
 
   /*
    * Can Transports control sea zones
    */
   public static boolean getTransportControlSeaZone(final GameData data) {
-    return data.getProperties().get(TRANSPORT_CONTROL_SEA_ZONE, false);
+    return data.getProperties().get(TRANSPORT_CONTROL_SEA_ZONE_SLOT, false);
   }
 
   /**
    * Production restricted to 1 unit per X owned territories
    */
   public static boolean getProductionPerXTerritoriesRestricted(final GameData data) {
-    return data.getProperties().get(PRODUCTION_PER_X_TERRITORIES_RESTRICTED, false);
+    return data.getProperties().get(PRODUCTION_PER_X_TERRITORIES_RESTRICTED_SLOT, false);
   }
 
   /**
    * Production restricted to 1 unit per owned territory with an PU value
    */
   public static boolean getProductionPerValuedTerritoryRestricted(final GameData data) {
-    return data.getProperties().get(PRODUCTION_PER_VALUED_TERRITORY_RESTRICTED, false);
+    return data.getProperties().get(PRODUCTION_PER_VALUED_TERRITORY_RESTRICTED_SLOT, false);
   }
 
   /**
    * Can units be placed in any owned territory
    */
   public static boolean getPlaceInAnyTerritory(final GameData data) {
-    return data.getProperties().get(PLACE_IN_ANY_TERRITORY, false);
+    return data.getProperties().get(PLACE_IN_ANY_TERRITORY_SLOT, false);
   }
 
   /**
    * Limit the number of units that can be in a territory
    */
   public static boolean getUnitPlacementPerTerritoryRestricted(final GameData data) {
-    return data.getProperties().get(UNIT_PLACEMENT_PER_TERRITORY_RESTRICTED, false);
+    return data.getProperties().get(UNIT_PLACEMENT_PER_TERRITORY_RESTRICTED_SLOT, false);
   }
 
   /**
    * Movement restricted for territories
    */
   public static boolean getMovementByTerritoryRestricted(final GameData data) {
-    return data.getProperties().get(MOVEMENT_BY_TERRITORY_RESTRICTED, false);
+    return data.getProperties().get(MOVEMENT_BY_TERRITORY_RESTRICTED_SLOT, false);
   }
 
   /**
    * Transports restricted from being taken as casualties
    */
   public static boolean getTransportCasualtiesRestricted(final GameData data) {
-    return data.getProperties().get(TRANSPORT_CASUALTIES_RESTRICTED, false);
+    return data.getProperties().get(TRANSPORT_CASUALTIES_RESTRICTED_SLOT, false);
   }
 
   /**
    * Transports do not restrict movement of other units
    */
   public static boolean getIgnoreTransportInMovement(final GameData data) {
-    return data.getProperties().get(IGNORE_TRANSPORT_IN_MOVEMENT, false);
+    return data.getProperties().get(IGNORE_TRANSPORT_IN_MOVEMENT_SLOT, false);
   }
 
   /**
    * Subs do not restrict movement of other units
    */
   public static boolean getIgnoreSubInMovement(final GameData data) {
-    return data.getProperties().get(IGNORE_SUB_IN_MOVEMENT, false);
+    return data.getProperties().get(IGNORE_SUB_IN_MOVEMENT_SLOT, false);
   }
 
   public static boolean getUnplacedUnitsLive(final GameData data) {
-    return data.getProperties().get(UNPLACED_UNITS_LIVE, false);
+    return data.getProperties().get(UNPLACED_UNITS_LIVE_SLOT, false);
   }
 
   /**
    * Air restricted from attacking subs unless DD present
    */
   public static boolean getAirAttackSubRestricted(final GameData data) {
-    return data.getProperties().get(AIR_ATTACK_SUB_RESTRICTED, false);
+    return data.getProperties().get(AIR_ATTACK_SUB_RESTRICTED_SLOT, false);
   }
 
   /**
    * Allows units with zero movement to be selected to be moved
    */
   public static boolean getSelectableZeroMovementUnits(final GameData data) {
-    return data.getProperties().get(SELECTABLE_ZERO_MOVEMENT_UNITS, false);
+    return data.getProperties().get(SELECTABLE_ZERO_MOVEMENT_UNITS_SLOT, false);
   }
 
   /**
    * Allows paratroopers to move ground units to friendly territories during non-combat move phase
    */
   public static boolean getParatroopersCanMoveDuringNonCombat(final GameData data) {
-    return data.getProperties().get(PARATROOPERS_CAN_MOVE_DURING_NON_COMBAT, false);
+    return data.getProperties().get(PARATROOPERS_CAN_MOVE_DURING_NON_COMBAT_SLOT, false);
   }
 
   public static boolean getSubRetreatBeforeBattle(final GameData data) {
-    return data.getProperties().get(SUB_RETREAT_BEFORE_BATTLE, false);
+    return data.getProperties().get(SUB_RETREAT_BEFORE_BATTLE_SLOT, false);
   }
 
   /**
    * Shore Bombard per Ground Unit Restricted
    */
   public static boolean getShoreBombardPerGroundUnitRestricted(final GameData data) {
-    return data.getProperties().get(SHORE_BOMBARD_PER_GROUND_UNIT_RESTRICTED, false);
+    return data.getProperties().get(SHORE_BOMBARD_PER_GROUND_UNIT_RESTRICTED_SLOT, false);
   }
 
   /**
    * AA restricted to Attacked Territory Only
    */
   public static boolean getAATerritoryRestricted(final GameData data) {
-    return data.getProperties().get(AA_TERRITORY_RESTRICTED, false);
+    return data.getProperties().get(AA_TERRITORY_RESTRICTED_SLOT, false);
   }
 
   public static boolean getMultipleAAPerTerritory(final GameData data) {
-    return data.getProperties().get(MULTIPLE_AA_PER_TERRITORY, false);
+    return data.getProperties().get(MULTIPLE_AA_PER_TERRITORY_SLOT, false);
   }
 
   public static boolean getNationalObjectives(final GameData data) {
-    return data.getProperties().get(NATIONAL_OBJECTIVES, false);
+    return data.getProperties().get(NATIONAL_OBJECTIVES_SLOT, false);
   }
 
   public static boolean getTriggers(final GameData data) {
-    return data.getProperties().get(TRIGGERS, false);
+    return data.getProperties().get(TRIGGERS_SLOT, false);
   }
 
   public static boolean getAlwaysOnAA(final GameData data) {
-    return data.getProperties().get(ALWAYS_ON_AA_PROPERTY, false);
+    return data.getProperties().get(ALWAYS_ON_AA_PROPERTY_SLOT, false);
   }
 
   public static boolean getLHTRCarrierProductionRules(final GameData data) {
-    return data.getProperties().get(LHTR_CARRIER_PRODUCTION_RULES, false);
+    return data.getProperties().get(LHTR_CARRIER_PRODUCTION_RULES_SLOT, false);
   }
 
   /**
    * Atomic units of the fighter/carrier production rules
    */
   public static boolean getProduceFightersOnCarriers(final GameData data) {
-    return data.getProperties().get(CAN_PRODUCE_FIGHTERS_ON_CARRIERS, false);
+    return data.getProperties().get(CAN_PRODUCE_FIGHTERS_ON_CARRIERS_SLOT, false);
   }
 
   public static boolean getProduceNewFightersOnOldCarriers(final GameData data) {
-    return data.getProperties().get(PRODUCE_NEW_FIGHTERS_ON_OLD_CARRIERS, false);
+    return data.getProperties().get(PRODUCE_NEW_FIGHTERS_ON_OLD_CARRIERS_SLOT, false);
   }
 
   public static boolean getMoveExistingFightersToNewCarriers(final GameData data) {
-    return data.getProperties().get(MOVE_EXISTING_FIGHTERS_TO_NEW_CARRIERS, false);
+    return data.getProperties().get(MOVE_EXISTING_FIGHTERS_TO_NEW_CARRIERS_SLOT, false);
   }
 
   public static boolean getLandExistingFightersOnNewCarriers(final GameData data) {
-    return data.getProperties().get(LAND_EXISTING_FIGHTERS_ON_NEW_CARRIERS, false);
+    return data.getProperties().get(LAND_EXISTING_FIGHTERS_ON_NEW_CARRIERS_SLOT, false);
   }
 
   public static int getHeavyBomberDiceRolls(final GameData data) {
-    return data.getProperties().get(HEAVY_BOMBER_DICE_ROLLS, 2);
+    return data.getProperties().get(HEAVY_BOMBER_DICE_ROLLS_SLOT, 2);
   }
 
   public static boolean getBattleshipsRepairAtEndOfRound(final GameData data) {
-    return data.getProperties().get(TWO_HIT_BATTLESHIPS_REPAIR_END_OF_TURN, false);
+    return data.getProperties().get(TWO_HIT_BATTLESHIPS_REPAIR_END_OF_TURN_SLOT, false);
   }
 
   public static boolean getBattleshipsRepairAtBeginningOfRound(final GameData data) {
-    return data.getProperties().get(TWO_HIT_BATTLESHIPS_REPAIR_BEGINNING_OF_TURN, false);
+    return data.getProperties().get(TWO_HIT_BATTLESHIPS_REPAIR_BEGINNING_OF_TURN_SLOT, false);
   }
 
   public static boolean getTwoHitPointUnitsRequireRepairFacilities(final GameData data) {
-    return data.getProperties().get(TWO_HITPOINT_UNITS_REQUIRE_REPAIR_FACILITIES, false);
+    return data.getProperties().get(TWO_HITPOINT_UNITS_REQUIRE_REPAIR_FACILITIES_SLOT, false);
   }
 
   public static boolean getChoose_AA_Casualties(final GameData data) {
-    return data.getProperties().get(CHOOSE_AA, false);
+    return data.getProperties().get(CHOOSE_AA_SLOT, false);
   }
 
   public static boolean getSubmersible_Subs(final GameData data) {
-    return data.getProperties().get(SUBMERSIBLE_SUBS, false);
+    return data.getProperties().get(SUBMERSIBLE_SUBS_SLOT, false);
   }
 
   public static boolean getUse_Destroyers_And_Artillery(final GameData data) {
-    return data.getProperties().get(USE_DESTROYERS_AND_ARTILLERY, false);
+    return data.getProperties().get(USE_DESTROYERS_AND_ARTILLERY_SLOT, false);
   }
 
   public static boolean getUse_Shipyards(final GameData data) {
-    return data.getProperties().get(USE_SHIPYARDS, false);
+    return data.getProperties().get(USE_SHIPYARDS_SLOT, false);
   }
 
   public static boolean getLow_Luck(final GameData data) {
-    return data.getProperties().get(LOW_LUCK, false);
+    return data.getProperties().get(LOW_LUCK_SLOT, false);
   }
 
   public static boolean getLL_AA_ONLY(final GameData data) {
-    return data.getProperties().get(LL_AA_ONLY, false);
+    return data.getProperties().get(LL_AA_ONLY_SLOT, false);
   }
 
   public static boolean getLL_TECH_ONLY(final GameData data) {
-    return data.getProperties().get(LL_TECH_ONLY, false);
+    return data.getProperties().get(LL_TECH_ONLY_SLOT, false);
   }
 
   public static boolean getLL_DAMAGE_ONLY(final GameData data) {
-    return data.getProperties().get(LL_DAMAGE_ONLY, false);
+    return data.getProperties().get(LL_DAMAGE_ONLY_SLOT, false);
   }
 
   public static boolean getKamikaze_Airplanes(final GameData data) {
-    return data.getProperties().get(KAMIKAZE, false);
+    return data.getProperties().get(KAMIKAZE_SLOT, false);
   }
 
   public static boolean getLHTR_Heavy_Bombers(final GameData data) {
-    return data.getProperties().get(LHTR_HEAVY_BOMBERS, false);
+    return data.getProperties().get(LHTR_HEAVY_BOMBERS_SLOT, false);
   }
 
   public static int getSuper_Sub_Defense_Bonus(final GameData data) {
-    return data.getProperties().get(SUPER_SUB_DEFENSE_BONUS, 0);
+    return data.getProperties().get(SUPER_SUB_DEFENSE_BONUS_SLOT, 0);
   }
 
   public static boolean getScramble_Rules_In_Effect(final GameData data) {
-    return data.getProperties().get(SCRAMBLE_RULES_IN_EFFECT, false);
+    return data.getProperties().get(SCRAMBLE_RULES_IN_EFFECT_SLOT, false);
   }
 
   public static boolean getScrambled_Units_Return_To_Base(final GameData data) {
-    return data.getProperties().get(SCRAMBLED_UNITS_RETURN_TO_BASE, false);
+    return data.getProperties().get(SCRAMBLED_UNITS_RETURN_TO_BASE_SLOT, false);
   }
 
   public static boolean getScramble_To_Sea_Only(final GameData data) {
-    return data.getProperties().get(SCRAMBLE_TO_SEA_ONLY, false);
+    return data.getProperties().get(SCRAMBLE_TO_SEA_ONLY_SLOT, false);
   }
 
   public static boolean getScramble_From_Island_Only(final GameData data) {
-    return data.getProperties().get(SCRAMBLE_FROM_ISLAND_ONLY, false);
+    return data.getProperties().get(SCRAMBLE_FROM_ISLAND_ONLY_SLOT, false);
   }
 
   public static boolean getScrambleToAnyAmphibiousAssault(final GameData data) {
-    return data.getProperties().get(SCRAMBLE_TO_ANY_AMPHIBIOUS_ASSAULT, false);
+    return data.getProperties().get(SCRAMBLE_TO_ANY_AMPHIBIOUS_ASSAULT_SLOT, false);
   }
 
   public static int getPU_Multiplier(final GameData data) {
-    return data.getProperties().get(PU_MULTIPLIER, 1);
+    return data.getProperties().get(PU_MULTIPLIER_SLOT, 1);
   }
 
   public static boolean getUnlimitedConstructions(final GameData data) {
-    return data.getProperties().get(UNLIMITED_CONSTRUCTIONS, false);
+    return data.getProperties().get(UNLIMITED_CONSTRUCTIONS_SLOT, false);
   }
 
   public static boolean getMoreConstructionsWithoutFactory(final GameData data) {
-    return data.getProperties().get(MORE_CONSTRUCTIONS_WITHOUT_FACTORY, false);
+    return data.getProperties().get(MORE_CONSTRUCTIONS_WITHOUT_FACTORY_SLOT, false);
   }
 
   public static boolean getMoreConstructionsWithFactory(final GameData data) {
-    return data.getProperties().get(MORE_CONSTRUCTIONS_WITH_FACTORY, false);
+    return data.getProperties().get(MORE_CONSTRUCTIONS_WITH_FACTORY_SLOT, false);
   }
 
   public static boolean getUnitPlacementRestrictions(final GameData data) {
-    return data.getProperties().get(UNIT_PLACEMENT_RESTRICTIONS, false);
+    return data.getProperties().get(UNIT_PLACEMENT_RESTRICTIONS_SLOT, false);
   }
 
   public static boolean getGiveUnitsByTerritory(final GameData data) {
-    return data.getProperties().get(GIVE_UNITS_BY_TERRITORY, false);
+    return data.getProperties().get(GIVE_UNITS_BY_TERRITORY_SLOT, false);
   }
 
   public static boolean getUnitsCanBeDestroyedInsteadOfCaptured(final GameData data) {
-    return data.getProperties().get(UNITS_CAN_BE_DESTROYED_INSTEAD_OF_CAPTURED, false);
+    return data.getProperties().get(UNITS_CAN_BE_DESTROYED_INSTEAD_OF_CAPTURED_SLOT, false);
   }
 
   public static boolean getSuicideAndMunitionCasualtiesRestricted(final GameData data) {
-    return data.getProperties().get(SUICIDE_AND_MUNITION_CASUALTIES_RESTRICTED, false);
+    return data.getProperties().get(SUICIDE_AND_MUNITION_CASUALTIES_RESTRICTED_SLOT, false);
   }
 
   public static boolean getDefendingSuicideAndMunitionUnitsDoNotFire(final GameData data) {
-    return data.getProperties().get(DEFENDING_SUICIDE_AND_MUNITION_UNITS_DO_NOT_FIRE, false);
+    return data.getProperties().get(DEFENDING_SUICIDE_AND_MUNITION_UNITS_DO_NOT_FIRE_SLOT, false);
   }
 
   public static boolean getNavalUnitsMayNotNonCombatMoveIntoControlledSeaZones(final GameData data) {
-    return data.getProperties().get(NAVAL_UNITS_MAY_NOT_NONCOMBAT_MOVE_INTO_CONTROLLED_SEA_ZONES, false);
+    return data.getProperties().get(NAVAL_UNITS_MAY_NOT_NONCOMBAT_MOVE_INTO_CONTROLLED_SEA_ZONES_SLOT, false);
   }
 
   public static boolean getUnitsMayGiveBonusMovement(final GameData data) {
-    return data.getProperties().get(UNITS_MAY_GIVE_BONUS_MOVEMENT, false);
+    return data.getProperties().get(UNITS_MAY_GIVE_BONUS_MOVEMENT_SLOT, false);
   }
 
   public static boolean getCaptureUnitsOnEnteringTerritory(final GameData data) {
-    return data.getProperties().get(CAPTURE_UNITS_ON_ENTERING_TERRITORY, false);
+    return data.getProperties().get(CAPTURE_UNITS_ON_ENTERING_TERRITORY_SLOT, false);
   }
 
   public static boolean getOnEnteringUnitsDestroyedInsteadOfCaptured(final GameData data) {
-    return data.getProperties().get(DESTROY_UNITS_ON_ENTERING_TERRITORY, false);
+    return data.getProperties().get(DESTROY_UNITS_ON_ENTERING_TERRITORY_SLOT, false);
   }
 
   public static boolean getDamageFromBombingDoneToUnitsInsteadOfTerritories(final GameData data) {
-    return data.getProperties().get(DAMAGE_FROM_BOMBING_DONE_TO_UNITS_INSTEAD_OF_TERRITORIES,
-        data.getProperties().get(SBR_AFFECTS_UNIT_PRODUCTION, false));
+    return data.getProperties().get(DAMAGE_FROM_BOMBING_DONE_TO_UNITS_INSTEAD_OF_TERRITORIES_SLOT,
+        data.getProperties().get(SBR_AFFECTS_UNIT_PRODUCTION_SLOT, false));
   }
 
   public static boolean getNeutralFlyoverAllowed(final GameData data) {
-    return data.getProperties().get(NEUTRAL_FLYOVER_ALLOWED, false);
+    return data.getProperties().get(NEUTRAL_FLYOVER_ALLOWED_SLOT, false);
   }
 
   public static boolean getUnitsCanBeChangedOnCapture(final GameData data) {
-    return data.getProperties().get(UNITS_CAN_BE_CHANGED_ON_CAPTURE, false);
+    return data.getProperties().get(UNITS_CAN_BE_CHANGED_ON_CAPTURE_SLOT, false);
   }
 
   public static boolean getUsePolitics(final GameData data) {
-    return data.getProperties().get(USE_POLITICS, false);
+    return data.getProperties().get(USE_POLITICS_SLOT, false);
   }
 
   public static int getAIBonusIncomePercentage(final GameData data) {
-    return data.getProperties().get(AI_BONUS_INCOME_PERCENTAGE, 0);
+    return data.getProperties().get(AI_BONUS_INCOME_PERCENTAGE_SLOT, 0);
   }
 
   public static int getAIBonusIncomeFlatRate(final GameData data) {
-    return data.getProperties().get(AI_BONUS_INCOME_FLAT_RATE, 0);
+    return data.getProperties().get(AI_BONUS_INCOME_FLAT_RATE_SLOT, 0);
   }
 
   public static int getAIBonusAttack(final GameData data) {
-    return data.getProperties().get(AI_BONUS_ATTACK, 0);
+    return data.getProperties().get(AI_BONUS_ATTACK_SLOT, 0);
   }
 
   public static int getAIBonusDefense(final GameData data) {
-    return data.getProperties().get(AI_BONUS_DEFENSE, 0);
+    return data.getProperties().get(AI_BONUS_DEFENSE_SLOT, 0);
   }
 
   public static int getRelationshipsLastExtraRounds(final GameData data) {
-    return data.getProperties().get(RELATIONSHIPS_LAST_EXTRA_ROUNDS, 0);
+    return data.getProperties().get(RELATIONSHIPS_LAST_EXTRA_ROUNDS_SLOT, 0);
   }
 
   public static boolean getAlliancesCanChainTogether(final GameData data) {
-    return data.getProperties().get(ALLIANCES_CAN_CHAIN_TOGETHER, false);
+    return data.getProperties().get(ALLIANCES_CAN_CHAIN_TOGETHER_SLOT, false);
   }
 
   public static boolean getRaidsMayBePreceededByAirBattles(final GameData data) {
-    return data.getProperties().get(RAIDS_MAY_BE_PRECEEDED_BY_AIR_BATTLES, false);
+    return data.getProperties().get(RAIDS_MAY_BE_PRECEEDED_BY_AIR_BATTLES_SLOT, false);
   }
 
   public static boolean getBattlesMayBePreceededByAirBattles(final GameData data) {
-    return data.getProperties().get(BATTLES_MAY_BE_PRECEEDED_BY_AIR_BATTLES, false);
+    return data.getProperties().get(BATTLES_MAY_BE_PRECEEDED_BY_AIR_BATTLES_SLOT, false);
   }
 
   public static boolean getUseKamikazeSuicideAttacks(final GameData data) {
-    return data.getProperties().get(USE_KAMIKAZE_SUICIDE_ATTACKS, false);
+    return data.getProperties().get(USE_KAMIKAZE_SUICIDE_ATTACKS_SLOT, false);
   }
 
   public static boolean getKamikazeSuicideAttacksDoneByCurrentTerritoryOwner(final GameData data) {
-    return data.getProperties().get(KAMIKAZE_SUICIDE_ATTACKS_DONE_BY_CURRENT_TERRITORY_OWNER, false);
+    return data.getProperties().get(KAMIKAZE_SUICIDE_ATTACKS_DONE_BY_CURRENT_TERRITORY_OWNER_SLOT, false);
   }
 
   public static boolean getForceAAattacksForLastStepOfFlyOver(final GameData data) {
-    return data.getProperties().get(FORCE_AA_ATTACKS_FOR_LAST_STEP_OF_FLY_OVER, false);
+    return data.getProperties().get(FORCE_AA_ATTACKS_FOR_LAST_STEP_OF_FLY_OVER_SLOT, false);
   }
 
   public static boolean getParatroopersCanAttackDeepIntoEnemyTerritory(final GameData data) {
-    return data.getProperties().get(PARATROOPERS_CAN_ATTACK_DEEP_INTO_ENEMY_TERRITORY, false);
+    return data.getProperties().get(PARATROOPERS_CAN_ATTACK_DEEP_INTO_ENEMY_TERRITORY_SLOT, false);
   }
 
   public static boolean getUseBombingMaxDiceSidesAndBonus(final GameData data) {
-    return data.getProperties().get(USE_BOMBING_MAX_DICE_SIDES_AND_BONUS, false);
+    return data.getProperties().get(USE_BOMBING_MAX_DICE_SIDES_AND_BONUS_SLOT, false);
   }
 
   public static boolean getConvoyBlockadesRollDiceForCost(final GameData data) {
-    return data.getProperties().get(CONVOY_BLOCKADES_ROLL_DICE_FOR_COST, false);
+    return data.getProperties().get(CONVOY_BLOCKADES_ROLL_DICE_FOR_COST_SLOT, false);
   }
 
   public static boolean getAirborneAttacksOnlyInExistingBattles(final GameData data) {
-    return data.getProperties().get(AIRBORNE_ATTACKS_ONLY_IN_EXISTING_BATTLES, false);
+    return data.getProperties().get(AIRBORNE_ATTACKS_ONLY_IN_EXISTING_BATTLES_SLOT, false);
   }
 
   public static boolean getAirborneAttacksOnlyInEnemyTerritories(final GameData data) {
-    return data.getProperties().get(AIRBORNE_ATTACKS_ONLY_IN_ENEMY_TERRITORIES, false);
+    return data.getProperties().get(AIRBORNE_ATTACKS_ONLY_IN_ENEMY_TERRITORIES_SLOT, false);
   }
 
   public static boolean getSubsCanEndNonCombatMoveWithEnemies(final GameData data) {
-    return data.getProperties().get(SUBS_CAN_END_NONCOMBAT_MOVE_WITH_ENEMIES, false);
+    return data.getProperties().get(SUBS_CAN_END_NONCOMBAT_MOVE_WITH_ENEMIES_SLOT, false);
   }
 
   public static boolean getRemoveAllTechTokensAtEndOfTurn(final GameData data) {
-    return data.getProperties().get(REMOVE_ALL_TECH_TOKENS_AT_END_OF_TURN, false);
+    return data.getProperties().get(REMOVE_ALL_TECH_TOKENS_AT_END_OF_TURN_SLOT, false);
   }
 
   public static boolean getKamikazeSuicideAttacksOnlyWhereBattlesAre(final GameData data) {
-    return data.getProperties().get(KAMIKAZE_SUICIDE_ATTACKS_ONLY_WHERE_BATTLES_ARE, false);
+    return data.getProperties().get(KAMIKAZE_SUICIDE_ATTACKS_ONLY_WHERE_BATTLES_ARE_SLOT, false);
   }
 
   public static boolean getSubmarinesPreventUnescortedAmphibiousAssaults(final GameData data) {
-    return data.getProperties().get(SUBMARINES_PREVENT_UNESCORTED_AMPHIBIOUS_ASSAULTS, false);
+    return data.getProperties().get(SUBMARINES_PREVENT_UNESCORTED_AMPHIBIOUS_ASSAULTS_SLOT, false);
   }
 
   public static boolean getSubmarinesDefendingMaySubmergeOrRetreat(final GameData data) {
-    return data.getProperties().get(SUBMARINES_DEFENDING_MAY_SUBMERGE_OR_RETREAT, false);
+    return data.getProperties().get(SUBMARINES_DEFENDING_MAY_SUBMERGE_OR_RETREAT_SLOT, false);
   }
 
   public static int getAirBattleRounds(final GameData data) {
-    return data.getProperties().get(AIR_BATTLE_ROUNDS, 1);
+    return data.getProperties().get(AIR_BATTLE_ROUNDS_SLOT, 1);
   }
 
   public static int getSeaBattleRounds(final GameData data) {
     // negative = infinite
-    return data.getProperties().get(SEA_BATTLE_ROUNDS, -1);
+    return data.getProperties().get(SEA_BATTLE_ROUNDS_SLOT, -1);
   }
 
   public static int getLandBattleRounds(final GameData data) {
     // negative = infinite
-    return data.getProperties().get(LAND_BATTLE_ROUNDS, -1);
+    return data.getProperties().get(LAND_BATTLE_ROUNDS_SLOT, -1);
   }
 
   public static boolean getAirBattleAttackersCanRetreat(final GameData data) {
-    return data.getProperties().get(AIR_BATTLE_ATTACKERS_CAN_RETREAT, false);
+    return data.getProperties().get(AIR_BATTLE_ATTACKERS_CAN_RETREAT_SLOT, false);
   }
 
   public static boolean getAirBattleDefendersCanRetreat(final GameData data) {
-    return data.getProperties().get(AIR_BATTLE_DEFENDERS_CAN_RETREAT, false);
+    return data.getProperties().get(AIR_BATTLE_DEFENDERS_CAN_RETREAT_SLOT, false);
   }
 
   public static boolean getCanScrambleIntoAirBattles(final GameData data) {
-    return data.getProperties().get(CAN_SCRAMBLE_INTO_AIR_BATTLES, false);
+    return data.getProperties().get(CAN_SCRAMBLE_INTO_AIR_BATTLES_SLOT, false);
   }
 
   public static boolean getTerritoriesAreAssignedRandomly(final GameData data) {
-    return data.getProperties().get(TERRITORIES_ARE_ASSIGNED_RANDOMLY, false);
+    return data.getProperties().get(TERRITORIES_ARE_ASSIGNED_RANDOMLY_SLOT, false);
   }
 
   public static boolean getUseFuelCost(final GameData data) {
-    return data.getProperties().get(USE_FUEL_COST, false);
+    return data.getProperties().get(USE_FUEL_COST_SLOT, false);
   }
 
   public static boolean getRetreatingUnitsRemainInPlace(final GameData data) {
-    return data.getProperties().get(RETREATING_UNITS_REMAIN_IN_PLACE, false);
+    return data.getProperties().get(RETREATING_UNITS_REMAIN_IN_PLACE_SLOT, false);
   }
 
   public static boolean getContestedTerritoriesProduceNoIncome(final GameData data) {
-    return data.getProperties().get(CONTESTED_TERRITORIES_PRODUCE_NO_INCOME, false);
+    return data.getProperties().get(CONTESTED_TERRITORIES_PRODUCE_NO_INCOME_SLOT, false);
   }
 
   public static boolean getSeaBattlesMayBeIgnored(final GameData data) {
-    return data.getProperties().get(SEA_BATTLES_MAY_BE_IGNORED, false);
+    return data.getProperties().get(SEA_BATTLES_MAY_BE_IGNORED_SLOT, false);
   }
 
   public static boolean getAbandonedTerritoriesMayBeTakenOverImmediately(final GameData data) {
-    return data.getProperties().get(ABANDONED_TERRITORIES_MAY_BE_TAKEN_OVER_IMMEDIATELY, false);
+    return data.getProperties().get(ABANDONED_TERRITORIES_MAY_BE_TAKEN_OVER_IMMEDIATELY_SLOT, false);
   }
 
   public static boolean getDisabledPlayersAssetsDeleted(final GameData data) {
-    return data.getProperties().get(DISABLED_PLAYERS_ASSETS_DELETED, false);
+    return data.getProperties().get(DISABLED_PLAYERS_ASSETS_DELETED_SLOT, false);
   }
 
   public static boolean getControlAllCanalsBetweenTerritoriesToPass(final GameData data) {
-    return data.getProperties().get(CONTROL_ALL_CANALS_BETWEEN_TERRITORIES_TO_PASS, false);
+    return data.getProperties().get(CONTROL_ALL_CANALS_BETWEEN_TERRITORIES_TO_PASS_SLOT, false);
   }
 
   private Properties() {}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
@@ -11,6 +12,7 @@ import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitHolderIndex;
 import games.strategy.engine.data.UnitType;
 import games.strategy.engine.data.annotations.GameProperty;
 import games.strategy.engine.data.changefactory.ChangeFactory;
@@ -97,33 +99,41 @@ public class TripleAUnit extends Unit {
     super(type, owner, data);
   }
 
+  @Override
   public Unit getTransportedBy() {
     return m_transportedBy;
   }
 
   @GameProperty(xmlProperty = false, gameProperty = true, adds = false)
   public void setTransportedBy(final TripleAUnit transportedBy) {
+    final UnitHolderIndex index = getData() == null ? null : getData().getUnitHolderIndexIfBuilt();
+    if (index != null) {
+      index.transportChanged(this, m_transportedBy, transportedBy);
+    }
     m_transportedBy = transportedBy;
   }
 
   /**
-   * This is a very slow method because it checks all territories on the map. Try not to use this method if possible.
+   * @return the units this transport carries, in the order they are listed in the transport's territory.
    */
   public List<Unit> getTransporting() {
     // we don't store the units we are transporting
     // rather we look at the transported by property of units
-    for (final Territory t : getData().getMap()) {
-      // find the territory this transport is in
-      if (t.getUnits().getUnits().contains(this)) {
-        return t.getUnits().getMatches(new Match<Unit>() {
-          @Override
-          public boolean match(final Unit o) {
-            return TripleAUnit.get(o).getTransportedBy() == TripleAUnit.this;
-          }
-        });
-      }
+    final Territory territory = getTerritoryUnitIsIn();
+    if (territory == null) {
+      return Collections.emptyList();
+    }
+    final Set<Unit> cargo = getData().getUnitHolderIndex().getCargo(this);
+    if (cargo.isEmpty()) {
+      return new ArrayList<>();
     }
-    return Collections.emptyList();
+    // units that were unloaded or killed may still be listed as cargo, only take those that are with us
+    return territory.getUnits().getMatches(new Match<Unit>() {
+      @Override
+      public boolean match(final Unit o) {
+        return cargo.contains(o) && TripleAUnit.get(o).getTransportedBy() == TripleAUnit.this;
+      }
+    });
   }
 
   public List<Unit> getTransporting(final Collection<Unit> transportedUnitsPossible) {
@@ -432,8 +432,8 @@ public class ProTerritoryManager {
 
         // If my combat move and carrier has dependent allied fighters then skip it
         if (isCombatMove && !isCheckingEnemyAttacks) {
-          final Map<Unit, Collection<Unit>> carrierMustMoveWith =
-              MoveValidator.carrierMustMoveWith(myUnitTerritory.getUnits().getUnits(), myUnitTerritory, data, player);
+          final Map<Unit, Collection<Unit>> carrierMustMoveWith = MoveValidator.carrierMustMoveWith(
+              myUnitTerritory.getUnits().getUnmodifiableUnits(), myUnitTerritory, data, player);
           if (carrierMustMoveWith.containsKey(mySeaUnit) && !carrierMustMoveWith.get(mySeaUnit).isEmpty()) {
             continue;
           }
@@ -996,7 +996,7 @@ public class ProTerritoryManager {
       List<Unit> defenders =
           Match.getMatches(patd.getMaxEnemyDefenders(player, data), ProMatches.unitIsEnemyAndNotAA(player, data));
       if (isIgnoringRelationships) {
-        defenders = new ArrayList<>(t.getUnits().getUnits());
+        defenders = new ArrayList<>(t.getUnits().getUnmodifiableUnits());
       }
       patd.setMaxBattleResult(
           calc.estimateAttackBattleResults(player, t, patd.getMaxUnits(), defenders, new HashSet<>()));
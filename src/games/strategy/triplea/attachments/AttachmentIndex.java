@@ -0,0 +1,448 @@
+package games.strategy.triplea.attachments;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import games.strategy.engine.data.Attachable;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.delegate.TechAdvance;
+import games.strategy.triplea.delegate.TechTracker;
+import games.strategy.util.IntegerMap;
+import games.strategy.util.Match;
+
+/**
+ * Attachments of a game that combat asks for over and over, gathered once:
+ * <ul>
+ * <li>the support attachments of each unit type, and of the whole game</li>
+ * <li>the abilities a player gets from all the techs it has, added up</li>
+ * <li>the capitals of each player, and the victory cities and all the territories each player owns</li>
+ * <li>the unit types that each unit type match matches, as bit sets by unit type ordinal</li>
+ * </ul>
+ * GameData drops the parts that an attachment change can affect: support attachments when an attachment of a unit
+ * type is added or removed, the unit type matches when any attachment of a unit type changes, the abilities of one
+ * player when its tech attachment changes, the abilities of all players when a tech ability attachment changes, and
+ * the territory roles when a territory attachment changes. Everything is gathered again the next time it is asked
+ * for. Territory ownership changes are applied to the territory roles as they happen.
+ * <p>
+ * Dropping a part counts up its generation, and what was gathered is only used while the generation it was gathered
+ * in is current. So a part gathered while a change drops it is gathered again, even if it is published after the
+ * change.
+ * <p>
+ * The index is not serialized, GameData builds it on first use.
+ */
+public final class AttachmentIndex {
+  private final GameData m_data;
+  // null until gathered, stale if gathered in an older generation
+  private volatile Supports m_supports;
+  private final AtomicInteger m_supportsGeneration = new AtomicInteger();
+  private final Map<PlayerID, TechAbilities> m_techAbilities = new ConcurrentHashMap<>();
+  // null until gathered, stale if gathered in an older generation
+  private volatile TerritoryRoles m_territoryRoles;
+  private final AtomicInteger m_territoryRolesGeneration = new AtomicInteger();
+  // null until compiled, stale if compiled in an older generation
+  private volatile TypeMatches m_typeMatches;
+  private final AtomicInteger m_typeMatchesGeneration = new AtomicInteger();
+
+  public AttachmentIndex(final GameData data) {
+    m_data = data;
+  }
+
+  /**
+   * Called by GameData when an attachment is added, removed, or one of its properties changes.
+   */
+  public void attachmentChanged(final Attachable attachedTo, final String attachmentName) {
+    if (attachedTo instanceof UnitType) {
+      m_typeMatchesGeneration.incrementAndGet();
+      if (attachmentName == null || attachmentName.startsWith(Constants.SUPPORT_ATTACHMENT_PREFIX)) {
+        m_supportsGeneration.incrementAndGet();
+      }
+    } else if (attachedTo instanceof PlayerID) {
+      if (attachmentName == null || attachmentName.equals(Constants.TECH_ATTACHMENT_NAME)) {
+        m_techAbilities.remove(attachedTo);
+      }
+    } else if (attachedTo instanceof TechAdvance) {
+      m_techAbilities.clear();
+    } else if (attachedTo instanceof Territory) {
+      if (attachmentName == null || attachmentName.equals(Constants.TERRITORY_ATTACHMENT_NAME)) {
+        m_territoryRolesGeneration.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Called by GameData when a territory changes owner.
+   */
+  public void territoryOwnerChanged(final Territory territory, final PlayerID oldOwner) {
+    final TerritoryRoles territoryRoles = m_territoryRoles;
+    if (territoryRoles != null) {
+      territoryRoles.ownerChanged(territory, oldOwner);
+    }
+  }
+
+  /**
+   * @return the support attachments of the unit type. Must not be modified.
+   */
+  Set<UnitSupportAttachment> getSupports(final UnitType type) {
+    final Set<UnitSupportAttachment> supports = getSupports().m_byType.get(type);
+    // a type that is not in the unit type list
+    return supports == null ? UnitSupportAttachment.gatherSupports(type) : supports;
+  }
+
+  /**
+   * @return the support attachments of all unit types. Must not be modified.
+   */
+  Set<UnitSupportAttachment> getAllSupports() {
+    return getSupports().m_all;
+  }
+
+  private Supports getSupports() {
+    final int generation = m_supportsGeneration.get();
+    Supports supports = m_supports;
+    if (supports == null || supports.m_generation != generation) {
+      supports = new Supports(m_data, generation);
+      m_supports = supports;
+    }
+    return supports;
+  }
+
+  TechAbilities getTechAbilities(final PlayerID player) {
+    return m_techAbilities.computeIfAbsent(player, p -> new TechAbilities(p, m_data));
+  }
+
+  private TerritoryRoles getTerritoryRoles() {
+    final int generation = m_territoryRolesGeneration.get();
+    TerritoryRoles territoryRoles = m_territoryRoles;
+    if (territoryRoles == null || territoryRoles.m_generation != generation) {
+      territoryRoles = new TerritoryRoles(m_data, generation);
+      m_territoryRoles = territoryRoles;
+    }
+    return territoryRoles;
+  }
+
+  /**
+   * @return the capitals of the player, in map order. Must not be modified.
+   */
+  List<Territory> getCapitals(final PlayerID player) {
+    final List<Territory> capitals = getTerritoryRoles().m_capitals.get(player);
+    return capitals == null ? Collections.emptyList() : capitals;
+  }
+
+  /**
+   * @return the victory cities the player owns. Must not be modified.
+   */
+  Collection<Territory> getOwnedVictoryCities(final PlayerID player) {
+    return getTerritoryRoles().m_ownedVictoryCities.get(player);
+  }
+
+  /**
+   * @return the territories the player owns, with a territory attachment or not. Must not be modified.
+   */
+  Collection<Territory> getOwnedTerritories(final PlayerID player) {
+    return getTerritoryRoles().m_ownedTerritories.get(player);
+  }
+
+  /**
+   * Tells whether the unit type matches, by looking up a bit that is computed once for all unit types of the game.
+   * Unit types that are not in the unit type list, or have no unit attachment, are matched directly.
+   *
+   * @param matchId
+   *        a number that stands for typeMatch, the same for every call with the same match
+   * @param typeMatch
+   *        a match that only depends on the unit type and its attachments
+   */
+  public boolean matchesType(final UnitType type, final int matchId, final Match<UnitType> typeMatch) {
+    final int ordinal = m_data.getUnitTypeList().getOrdinal(type);
+    final int generation = m_typeMatchesGeneration.get();
+    TypeMatches typeMatches = m_typeMatches;
+    if (typeMatches == null || typeMatches.m_generation != generation
+        || (!typeMatches.m_known.get(ordinal) && m_data.getUnitTypeList().getUnitType(type.getName()) == type)) {
+      // first use since the last change, or the unit type was added since
+      typeMatches = new TypeMatches(m_data, generation);
+      m_typeMatches = typeMatches;
+    }
+    if (!typeMatches.m_compiled.get(ordinal)) {
+      return typeMatch.match(type);
+    }
+    final BitSet matches = typeMatches.get(matchId);
+    if (matches != null) {
+      return matches.get(ordinal);
+    }
+    final TypeMatches compiled = typeMatches.compile(matchId, typeMatch, m_data);
+    m_typeMatches = compiled;
+    return compiled.get(matchId).get(ordinal);
+  }
+
+  private static final class Supports {
+    private final int m_generation;
+    private final Map<UnitType, Set<UnitSupportAttachment>> m_byType = new HashMap<>();
+    private final Set<UnitSupportAttachment> m_all;
+
+    Supports(final GameData data, final int generation) {
+      m_generation = generation;
+      final Set<UnitSupportAttachment> all = new HashSet<>();
+      data.acquireReadLock();
+      try {
+        for (final UnitType type : data.getUnitTypeList()) {
+          final Set<UnitSupportAttachment> supports = UnitSupportAttachment.gatherSupports(type);
+          m_byType.put(type, Collections.unmodifiableSet(supports));
+          all.addAll(supports);
+        }
+      } finally {
+        data.releaseReadLock();
+      }
+      m_all = Collections.unmodifiableSet(all);
+    }
+  }
+
+  /**
+   * Bit sets by match id, each with a bit set for the ordinals of the unit types that match. Never modified once
+   * published, compiling a match copies the array.
+   */
+  private static final class TypeMatches {
+    private final int m_generation;
+    // ordinals of the unit types in the unit type list
+    private final BitSet m_known;
+    // ordinals of the unit types that have a unit attachment
+    private final BitSet m_compiled;
+    private final BitSet[] m_matches;
+
+    TypeMatches(final GameData data, final int generation) {
+      m_generation = generation;
+      m_known = new BitSet();
+      m_compiled = new BitSet();
+      m_matches = new BitSet[0];
+      data.acquireReadLock();
+      try {
+        for (final UnitType type : data.getUnitTypeList()) {
+          final int ordinal = data.getUnitTypeList().getOrdinal(type);
+          m_known.set(ordinal);
+          if (type.getAttachment(Constants.UNIT_ATTACHMENT_NAME) != null) {
+            m_compiled.set(ordinal);
+          }
+        }
+      } finally {
+        data.releaseReadLock();
+      }
+    }
+
+    private TypeMatches(final TypeMatches typeMatches, final BitSet[] matches) {
+      m_generation = typeMatches.m_generation;
+      m_known = typeMatches.m_known;
+      m_compiled = typeMatches.m_compiled;
+      m_matches = matches;
+    }
+
+    BitSet get(final int matchId) {
+      return matchId < m_matches.length ? m_matches[matchId] : null;
+    }
+
+    TypeMatches compile(final int matchId, final Match<UnitType> typeMatch, final GameData data) {
+      final BitSet matches = new BitSet();
+      data.acquireReadLock();
+      try {
+        for (final UnitType type : data.getUnitTypeList()) {
+          final int ordinal = data.getUnitTypeList().getOrdinal(type);
+          if (m_compiled.get(ordinal) && typeMatch.match(type)) {
+            matches.set(ordinal);
+          }
+        }
+      } finally {
+        data.releaseReadLock();
+      }
+      final BitSet[] all = Arrays.copyOf(m_matches, Math.max(m_matches.length, matchId + 1));
+      all[matchId] = matches;
+      return new TypeMatches(this, all);
+    }
+  }
+
+  /**
+   * Capitals by the player whose capital they are, and victory cities and all territories by owner.
+   */
+  private static final class TerritoryRoles {
+    private final int m_generation;
+    private final Map<PlayerID, List<Territory>> m_capitals = new HashMap<>();
+    private final Owned m_ownedVictoryCities = new Owned();
+    private final Owned m_ownedTerritories = new Owned();
+
+    TerritoryRoles(final GameData data, final int generation) {
+      m_generation = generation;
+      data.acquireReadLock();
+      try {
+        for (final Territory current : data.getMap().getTerritories()) {
+          m_ownedTerritories.add(current.getOwner(), current);
+          final TerritoryAttachment ta = TerritoryAttachment.get(current);
+          if (ta == null) {
+            continue;
+          }
+          if (ta.getCapital() != null) {
+            final PlayerID whoseCapital = data.getPlayerList().getPlayerID(ta.getCapital());
+            if (whoseCapital == null) {
+              throw new IllegalStateException("Invalid capital for player name:" + ta.getCapital());
+            }
+            m_capitals.computeIfAbsent(whoseCapital, player -> new ArrayList<>()).add(current);
+          }
+          if (ta.getVictoryCity() != 0) {
+            m_ownedVictoryCities.add(current.getOwner(), current);
+          }
+        }
+      } finally {
+        data.releaseReadLock();
+      }
+      for (final Entry<PlayerID, List<Territory>> entry : m_capitals.entrySet()) {
+        entry.setValue(Collections.unmodifiableList(entry.getValue()));
+      }
+    }
+
+    void ownerChanged(final Territory territory, final PlayerID oldOwner) {
+      m_ownedVictoryCities.move(territory, oldOwner, territory.getOwner());
+      m_ownedTerritories.move(territory, oldOwner, territory.getOwner());
+    }
+  }
+
+  /**
+   * Territories by owner, kept up to date as territories change owner.
+   */
+  private static final class Owned {
+    private final Map<PlayerID, Set<Territory>> m_byOwner = new ConcurrentHashMap<>();
+
+    void add(final PlayerID owner, final Territory territory) {
+      m_byOwner.computeIfAbsent(key(owner), player -> ConcurrentHashMap.newKeySet()).add(territory);
+    }
+
+    void move(final Territory territory, final PlayerID oldOwner, final PlayerID newOwner) {
+      final Set<Territory> old = m_byOwner.get(key(oldOwner));
+      // only territories of the kind are listed
+      if (old != null && old.remove(territory)) {
+        add(newOwner, territory);
+      }
+    }
+
+    Collection<Territory> get(final PlayerID owner) {
+      final Set<Territory> territories = m_byOwner.get(key(owner));
+      return territories == null ? Collections.emptySet() : Collections.unmodifiableSet(territories);
+    }
+
+    // a territory without owner is owned by the null player
+    private static PlayerID key(final PlayerID owner) {
+      return owner == null ? PlayerID.NULL_PLAYERID : owner;
+    }
+  }
+
+  /**
+   * The abilities given by all the techs of one player, added up the way the static getters of TechAbilityAttachment
+   * define.
+   */
+  static final class TechAbilities {
+    final IntegerMap<UnitType> m_attackBonus = new IntegerMap<>();
+    final IntegerMap<UnitType> m_defenseBonus = new IntegerMap<>();
+    final IntegerMap<UnitType> m_movementBonus = new IntegerMap<>();
+    final IntegerMap<UnitType> m_radarBonus = new IntegerMap<>();
+    final IntegerMap<UnitType> m_airAttackBonus = new IntegerMap<>();
+    final IntegerMap<UnitType> m_airDefenseBonus = new IntegerMap<>();
+    final IntegerMap<UnitType> m_productionBonus = new IntegerMap<>();
+    final IntegerMap<UnitType> m_rocketDiceNumber = new IntegerMap<>();
+    final IntegerMap<UnitType> m_attackRollsBonus = new IntegerMap<>();
+    final IntegerMap<UnitType> m_defenseRollsBonus = new IntegerMap<>();
+    final IntegerMap<UnitType> m_bombingBonus = new IntegerMap<>();
+    final IntegerMap<UnitType> m_airborneCapacity = new IntegerMap<>();
+    final Map<UnitType, Set<String>> m_unitAbilitiesGained = new HashMap<>();
+    final Set<UnitType> m_airborneTypes = new HashSet<>();
+    final Set<UnitType> m_airborneBases = new HashSet<>();
+    final Map<String, Set<UnitType>> m_airborneTargettedByAA = new HashMap<>();
+    final int m_minimumTerritoryValueForProductionBonus;
+    final double m_repairDiscount;
+    final int m_warBondDiceSides;
+    final int m_warBondDiceNumber;
+    final int m_rocketDistance;
+    final int m_rocketNumberPerTerritory;
+    final int m_airborneDistance;
+    final boolean m_allowAirborneForces;
+
+    TechAbilities(final PlayerID player, final GameData data) {
+      int minimumTerritoryValue = -1;
+      double repairDiscount = 1.0D;
+      int warBondDiceSides = 0;
+      int warBondDiceNumber = 0;
+      int rocketDistance = 0;
+      int rocketNumberPerTerritory = 0;
+      int airborneDistance = 0;
+      boolean allowAirborneForces = false;
+      for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
+        final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
+        if (taa == null) {
+          continue;
+        }
+        m_attackBonus.add(taa.getAttackBonus());
+        m_defenseBonus.add(taa.getDefenseBonus());
+        m_movementBonus.add(taa.getMovementBonus());
+        m_radarBonus.add(taa.getRadarBonus());
+        m_airAttackBonus.add(taa.getAirAttackBonus());
+        m_airDefenseBonus.add(taa.getAirDefenseBonus());
+        m_productionBonus.add(taa.getProductionBonus());
+        m_rocketDiceNumber.add(taa.getRocketDiceNumber());
+        m_attackRollsBonus.add(taa.getAttackRollsBonus());
+        m_defenseRollsBonus.add(taa.getDefenseRollsBonus());
+        m_bombingBonus.add(taa.getBombingBonus());
+        m_airborneCapacity.add(taa.getAirborneCapacity());
+        final int min = taa.getMinimumTerritoryValueForProductionBonus();
+        if (min != -1 && (minimumTerritoryValue == -1 || min < minimumTerritoryValue)) {
+          minimumTerritoryValue = min;
+        }
+        final int discount = taa.getRepairDiscount();
+        if (discount != -1) {
+          double fdiscount = discount;
+          fdiscount = fdiscount / 100.0F;
+          repairDiscount -= fdiscount;
+        }
+        if (taa.getWarBondDiceSides() > 0) {
+          warBondDiceSides += taa.getWarBondDiceSides();
+        }
+        if (taa.getWarBondDiceNumber() > 0) {
+          warBondDiceNumber += taa.getWarBondDiceNumber();
+        }
+        if (taa.getRocketDistance() > 0) {
+          rocketDistance += taa.getRocketDistance();
+        }
+        if (taa.getRocketNumberPerTerritory() > 0) {
+          rocketNumberPerTerritory += taa.getRocketNumberPerTerritory();
+        }
+        airborneDistance += taa.getAirborneDistance();
+        allowAirborneForces |= taa.getAirborneForces();
+        for (final Entry<UnitType, HashSet<String>> entry : taa.getUnitAbilitiesGained().entrySet()) {
+          m_unitAbilitiesGained.computeIfAbsent(entry.getKey(), type -> new HashSet<>()).addAll(entry.getValue());
+        }
+        m_airborneTypes.addAll(taa.getAirborneTypes());
+        m_airborneBases.addAll(taa.getAirborneBases());
+        final HashMap<String, HashSet<UnitType>> mapAA = taa.getAirborneTargettedByAA();
+        if (mapAA != null) {
+          for (final Entry<String, HashSet<UnitType>> entry : mapAA.entrySet()) {
+            m_airborneTargettedByAA.computeIfAbsent(entry.getKey(), key -> new HashSet<>()).addAll(entry.getValue());
+          }
+        }
+      }
+      m_minimumTerritoryValueForProductionBonus = Math.max(0, minimumTerritoryValue);
+      m_repairDiscount = Math.max(0.0D, repairDiscount);
+      m_warBondDiceSides = Math.max(0, warBondDiceSides);
+      m_warBondDiceNumber = Math.max(0, warBondDiceNumber);
+      m_rocketDistance = Math.max(0, rocketDistance);
+      m_rocketNumberPerTerritory = Math.max(0, rocketNumberPerTerritory);
+      m_airborneDistance = Math.max(0, airborneDistance);
+      m_allowAirborneForces = allowAirborneForces;
+    }
+  }
+}
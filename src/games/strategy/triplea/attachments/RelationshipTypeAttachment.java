@@ -92,6 +92,7 @@ public class RelationshipTypeAttachment extends DefaultAttachment {
       throw new GameParseException("archeType must be " + ARCHETYPE_WAR + "," + ARCHETYPE_ALLIED + " or "
           + ARCHETYPE_NEUTRAL + " for " + thisErrorMsg());
     }
+    archeTypeChanged();
   }
 
   /**
@@ -105,6 +106,14 @@ public class RelationshipTypeAttachment extends DefaultAttachment {
 
   public void resetArcheType() {
     m_archeType = ARCHETYPE_WAR;
+    archeTypeChanged();
+  }
+
+  private void archeTypeChanged() {
+    // the relationship tracker keeps the war and alliance flags of the relationship types
+    if (getData() != null) {
+      getData().getRelationshipTracker().relationshipTypesChanged();
+    }
   }
 
   /**
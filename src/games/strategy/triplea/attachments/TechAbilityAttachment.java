@@ -22,7 +22,6 @@ import games.strategy.triplea.TripleAUnit;
 import games.strategy.triplea.delegate.GenericTechAdvance;
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.delegate.TechAdvance;
-import games.strategy.triplea.delegate.TechTracker;
 import games.strategy.util.CompositeMatchAnd;
 import games.strategy.util.IntegerMap;
 import games.strategy.util.Match;
@@ -888,237 +887,87 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   // Static Methods for interpreting data in attachments
+  // The sums over all techs of a player are gathered by the AttachmentIndex of the game.
+  private static AttachmentIndex.TechAbilities getTechAbilities(final PlayerID player, final GameData data) {
+    return data.getAttachmentIndex().getTechAbilities(player);
+  }
+
   public static int getAttackBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getAttackBonus().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_attackBonus.getInt(ut);
   }
 
   public static int getDefenseBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getDefenseBonus().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_defenseBonus.getInt(ut);
   }
 
   public static int getMovementBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getMovementBonus().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_movementBonus.getInt(ut);
   }
 
   public static int getRadarBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getRadarBonus().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_radarBonus.getInt(ut);
   }
 
   public static int getAirAttackBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getAirAttackBonus().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_airAttackBonus.getInt(ut);
   }
 
   public static int getAirDefenseBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getAirDefenseBonus().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_airDefenseBonus.getInt(ut);
   }
 
   public static int getProductionBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getProductionBonus().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_productionBonus.getInt(ut);
   }
 
   public static int getMinimumTerritoryValueForProductionBonus(final PlayerID player, final GameData data) {
-    int rVal = -1;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int min = taa.getMinimumTerritoryValueForProductionBonus();
-        if (min == -1) {
-          continue;
-        } else if (rVal == -1 || min < rVal) {
-          rVal = min;
-        }
-      }
-    }
-    return Math.max(0, rVal);
+    return getTechAbilities(player, data).m_minimumTerritoryValueForProductionBonus;
   }
 
   public static double getRepairDiscount(final PlayerID player, final GameData data) {
-    double rVal = 1.0D;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int min = taa.getRepairDiscount();
-        if (min == -1) {
-          continue;
-        } else {
-          double fmin = min;
-          fmin = fmin / 100.0F;
-          rVal -= fmin;
-        }
-      }
-    }
-    return Math.max(0.0D, rVal);
+    return getTechAbilities(player, data).m_repairDiscount;
   }
 
   public static int getWarBondDiceSides(final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int sides = taa.getWarBondDiceSides();
-        if (sides > 0) {
-          rVal += sides;
-        }
-      }
-    }
-    return Math.max(0, rVal);
+    return getTechAbilities(player, data).m_warBondDiceSides;
   }
 
   public static int getWarBondDiceNumber(final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int number = taa.getWarBondDiceNumber();
-        if (number > 0) {
-          rVal += number;
-        }
-      }
-    }
-    return Math.max(0, rVal);
-  }
-
-  private static int getRocketDiceNumber(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getRocketDiceNumber().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_warBondDiceNumber;
   }
 
   public static int getRocketDiceNumber(final Collection<Unit> rockets, final GameData data) {
     int rVal = 0;
     for (final Unit u : rockets) {
-      rVal += getRocketDiceNumber(u.getType(), u.getOwner(), data);
+      rVal += getTechAbilities(u.getOwner(), data).m_rocketDiceNumber.getInt(u.getType());
     }
     return rVal;
   }
 
   public static int getRocketDistance(final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int distance = taa.getRocketDistance();
-        if (distance > 0) {
-          rVal += distance;
-        }
-      }
-    }
-    return Math.max(0, rVal);
+    return getTechAbilities(player, data).m_rocketDistance;
   }
 
   public static int getRocketNumberPerTerritory(final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int number = taa.getRocketNumberPerTerritory();
-        if (number > 0) {
-          rVal += number;
-        }
-      }
-    }
-    return Math.max(0, rVal);
-  }
-
-  private static HashSet<String> getUnitAbilitiesGained(final UnitType ut, final PlayerID player, final GameData data) {
-    final HashSet<String> rVal = new HashSet<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final HashSet<String> abilities = taa.getUnitAbilitiesGained().get(ut);
-        if (abilities != null) {
-          rVal.addAll(abilities);
-        }
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_rocketNumberPerTerritory;
   }
 
   public static boolean getUnitAbilitiesGained(final String filterForAbility, final UnitType ut, final PlayerID player,
       final GameData data) {
-    final HashSet<String> abilities = getUnitAbilitiesGained(ut, player, data);
-    return abilities.contains(filterForAbility);
+    final Set<String> abilities = getTechAbilities(player, data).m_unitAbilitiesGained.get(ut);
+    return abilities != null && abilities.contains(filterForAbility);
   }
 
   public static boolean getAllowAirborneForces(final PlayerID player, final GameData data) {
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        if (taa.getAirborneForces()) {
-          return true;
-        }
-      }
-    }
-    return false;
+    return getTechAbilities(player, data).m_allowAirborneForces;
   }
 
   public static IntegerMap<UnitType> getAirborneCapacity(final PlayerID player, final GameData data) {
-    final IntegerMap<UnitType> capacityMap = new IntegerMap<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        capacityMap.add(taa.getAirborneCapacity());
-      }
-    }
-    return capacityMap;
+    return new IntegerMap<>(getTechAbilities(player, data).m_airborneCapacity);
   }
 
   public static int getAirborneCapacity(final Collection<Unit> units, final PlayerID player, final GameData data) {
-    final IntegerMap<UnitType> capacityMap = getAirborneCapacity(player, data);
+    final IntegerMap<UnitType> capacityMap = getTechAbilities(player, data).m_airborneCapacity;
     int rVal = 0;
     for (final Unit u : units) {
       rVal += Math.max(0, (capacityMap.getInt(u.getType()) - ((TripleAUnit) u).getLaunched()));
@@ -1127,91 +976,37 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static Set<UnitType> getAirborneTypes(final PlayerID player, final GameData data) {
-    final Set<UnitType> airborneUnits = new HashSet<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airborneUnits.addAll(taa.getAirborneTypes());
-      }
-    }
-    return airborneUnits;
+    return new HashSet<>(getTechAbilities(player, data).m_airborneTypes);
   }
 
   public static int getAirborneDistance(final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getAirborneDistance();
-      }
-    }
-    return Math.max(0, rVal);
+    return getTechAbilities(player, data).m_airborneDistance;
   }
 
   public static Set<UnitType> getAirborneBases(final PlayerID player, final GameData data) {
-    final Set<UnitType> airborneBases = new HashSet<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airborneBases.addAll(taa.getAirborneBases());
-      }
-    }
-    return airborneBases;
+    return new HashSet<>(getTechAbilities(player, data).m_airborneBases);
   }
 
   public static HashMap<String, HashSet<UnitType>> getAirborneTargettedByAA(final PlayerID player,
       final GameData data) {
     final HashMap<String, HashSet<UnitType>> rVal = new HashMap<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final HashMap<String, HashSet<UnitType>> mapAA = taa.getAirborneTargettedByAA();
-        if (mapAA != null && !mapAA.isEmpty()) {
-          for (final Entry<String, HashSet<UnitType>> entry : mapAA.entrySet()) {
-            HashSet<UnitType> current = rVal.get(entry.getKey());
-            if (current == null) {
-              current = new HashSet<>();
-            }
-            current.addAll(entry.getValue());
-            rVal.put(entry.getKey(), current);
-          }
-        }
-      }
+    for (final Entry<String, Set<UnitType>> entry : getTechAbilities(player, data).m_airborneTargettedByAA
+        .entrySet()) {
+      rVal.put(entry.getKey(), new HashSet<>(entry.getValue()));
     }
     return rVal;
   }
 
   public static int getAttackRollsBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getAttackRollsBonus().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_attackRollsBonus.getInt(ut);
   }
 
   public static int getDefenseRollsBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getDefenseRollsBonus().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_defenseRollsBonus.getInt(ut);
   }
 
   public static int getBombingBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rVal += taa.getBombingBonus().getInt(ut);
-      }
-    }
-    return rVal;
+    return getTechAbilities(player, data).m_bombingBonus.getInt(ut);
   }
 
   /**
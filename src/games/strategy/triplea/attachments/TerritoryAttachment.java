@@ -1,6 +1,7 @@
 package games.strategy.triplea.attachments;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -54,24 +55,15 @@ public class TerritoryAttachment extends DefaultAttachment {
   public static Territory getFirstOwnedCapitalOrFirstUnownedCapital(final PlayerID player, final GameData data) {
     final List<Territory> capitals = new ArrayList<>();
     final List<Territory> noNeighborCapitals = new ArrayList<>();
-    for (final Territory current : data.getMap().getTerritories()) {
-      final TerritoryAttachment ta = TerritoryAttachment.get(current);
-      if (ta != null && ta.getCapital() != null) {
-        final PlayerID whoseCapital = data.getPlayerList().getPlayerID(ta.getCapital());
-        if (whoseCapital == null) {
-          throw new IllegalStateException("Invalid capital for player name:" + ta.getCapital());
-        }
-        if (player.equals(whoseCapital)) {
-          if (player.equals(current.getOwner())) {
-            if (data.getMap().getNeighbors(current).size() > 0) {
-              return current;
-            } else {
-              noNeighborCapitals.add(current);
-            }
-          } else {
-            capitals.add(current);
-          }
+    for (final Territory current : data.getAttachmentIndex().getCapitals(player)) {
+      if (player.equals(current.getOwner())) {
+        if (data.getMap().getNeighbors(current).size() > 0) {
+          return current;
+        } else {
+          noNeighborCapitals.add(current);
         }
+      } else {
+        capitals.add(current);
       }
     }
     if (!capitals.isEmpty()) {
@@ -91,19 +83,7 @@ public class TerritoryAttachment extends DefaultAttachment {
    * will return empty list if none controlled, never returns null
    */
   public static List<Territory> getAllCapitals(final PlayerID player, final GameData data) {
-    final List<Territory> capitals = new ArrayList<>();
-    for (final Territory current : data.getMap().getTerritories()) {
-      final TerritoryAttachment ta = TerritoryAttachment.get(current);
-      if (ta != null && ta.getCapital() != null) {
-        final PlayerID whoseCapital = data.getPlayerList().getPlayerID(ta.getCapital());
-        if (whoseCapital == null) {
-          throw new IllegalStateException("Invalid capital for player name:" + ta.getCapital());
-        }
-        if (player.equals(whoseCapital)) {
-          capitals.add(current);
-        }
-      }
-    }
+    final List<Territory> capitals = new ArrayList<>(data.getAttachmentIndex().getCapitals(player));
     if (!capitals.isEmpty()) {
       return capitals;
     }
@@ -119,21 +99,29 @@ public class TerritoryAttachment extends DefaultAttachment {
    */
   public static List<Territory> getAllCurrentlyOwnedCapitals(final PlayerID player, final GameData data) {
     final List<Territory> capitals = new ArrayList<>();
-    for (final Territory current : data.getMap().getTerritories()) {
-      final TerritoryAttachment ta = TerritoryAttachment.get(current);
-      if (ta != null && ta.getCapital() != null) {
-        final PlayerID whoseCapital = data.getPlayerList().getPlayerID(ta.getCapital());
-        if (whoseCapital == null) {
-          throw new IllegalStateException("Invalid capital for player name:" + ta.getCapital());
-        }
-        if (player.equals(whoseCapital) && player.equals(current.getOwner())) {
-          capitals.add(current);
-        }
+    for (final Territory current : data.getAttachmentIndex().getCapitals(player)) {
+      if (player.equals(current.getOwner())) {
+        capitals.add(current);
       }
     }
     return capitals;
   }
 
+  /**
+   * @return the victory cities the player currently owns. Must not be modified.
+   */
+  public static Collection<Territory> getOwnedVictoryCities(final PlayerID player, final GameData data) {
+    return data.getAttachmentIndex().getOwnedVictoryCities(player);
+  }
+
+  /**
+   * @return the territories the player currently owns, with a territory attachment or not, without going over the
+   *         whole map. Must not be modified.
+   */
+  public static Collection<Territory> getOwnedTerritories(final PlayerID player, final GameData data) {
+    return data.getAttachmentIndex().getOwnedTerritories(player);
+  }
+
   /**
    * Convenience method. Can return null.
    */
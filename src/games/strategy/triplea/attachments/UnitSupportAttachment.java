@@ -53,7 +53,18 @@ public class UnitSupportAttachment extends DefaultAttachment {
     super(name, attachable, gameData);
   }
 
+  /**
+   * @return the support attachments of the unit type. Must not be modified.
+   */
   public static Set<UnitSupportAttachment> get(final UnitType u) {
+    final GameData data = u.getData();
+    if (data == null) {
+      return gatherSupports(u);
+    }
+    return data.getAttachmentIndex().getSupports(u);
+  }
+
+  static Set<UnitSupportAttachment> gatherSupports(final UnitType u) {
     final Set<UnitSupportAttachment> supports = new HashSet<>();
     final Map<String, IAttachment> map = u.getAttachments();
     final Iterator<String> objsIter = map.keySet().iterator();
@@ -75,18 +86,11 @@ public class UnitSupportAttachment extends DefaultAttachment {
     return rVal;
   }
 
+  /**
+   * @return the support attachments of all unit types. Must not be modified.
+   */
   public static Set<UnitSupportAttachment> get(final GameData data) {
-    final Set<UnitSupportAttachment> supports = new HashSet<>();
-    data.acquireReadLock();
-    try {
-      final Iterator<UnitType> i = data.getUnitTypeList().iterator();
-      while (i.hasNext()) {
-        supports.addAll(get(i.next()));
-      }
-    } finally {
-      data.releaseReadLock();
-    }
-    return supports;
+    return data.getAttachmentIndex().getAllSupports();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
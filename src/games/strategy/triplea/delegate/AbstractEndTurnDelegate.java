@@ -78,8 +78,7 @@ public abstract class AbstractEndTurnDelegate extends BaseTripleADelegate implem
       // we do not collect any income this turn
     } else {
       // just collect resources
-      final Collection<Territory> territories = data.getMap().getTerritoriesOwnedBy(m_player);
-      int toAdd = getProduction(territories);
+      int toAdd = getProduction(TerritoryAttachment.getOwnedTerritories(m_player, data));
       final int blockadeLoss = getBlockadeProductionLoss(m_player, data, m_bridge, endTurnReport);
       toAdd -= blockadeLoss;
       toAdd *= Properties.getPU_Multiplier(data);
@@ -148,7 +148,7 @@ public class AirMovementValidator {
   }
 
   private static int getMovementLeftForAirUnitNotMovedYet(final Unit airBeingValidated, final Route route) {
-    if (route.getEnd().getUnits().getUnits().contains(airBeingValidated)) {
+    if (route.getEnd().getUnits().contains(airBeingValidated)) {
       // they are not being moved, they are already at the end
       return ((TripleAUnit) airBeingValidated).getMovementLeft();
     } else {
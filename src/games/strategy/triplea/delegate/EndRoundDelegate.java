@@ -222,18 +222,14 @@ public class EndRoundDelegate extends BaseTripleADelegate {
     final GameData data = aBridge.getData();
     final Iterator<String> allianceIter = data.getAllianceTracker().getAlliances().iterator();
     String allianceName = null;
-    final Collection<Territory> territories = data.getMap().getTerritories();
     while (allianceIter.hasNext()) {
       allianceName = allianceIter.next();
       final int vcAmount = getVCAmount(data, allianceName, victoryType);
       final Set<PlayerID> teamMembers = data.getAllianceTracker().getPlayersInAlliance(allianceName);
       int teamVCs = 0;
-      for (final Territory t : territories) {
-        if (Matches.isTerritoryOwnedBy(teamMembers).match(t)) {
-          final TerritoryAttachment ta = TerritoryAttachment.get(t);
-          if (ta != null) {
-            teamVCs += ta.getVictoryCity();
-          }
+      for (final PlayerID teamMember : teamMembers) {
+        for (final Territory t : TerritoryAttachment.getOwnedVictoryCities(teamMember, data)) {
+          teamVCs += TerritoryAttachment.get(t).getVictoryCity();
         }
       }
       if (teamVCs >= vcAmount) {
@@ -72,12 +72,7 @@ public class Matches {
       return o != null && o instanceof Territory;
     }
   };
-  public static final Match<Unit> UnitHasMoreThanOneHitPointTotal = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      return UnitTypeHasMoreThanOneHitPointTotal.match(unit.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitHasMoreThanOneHitPointTotal = new UnitTypeMatch(ua -> ua.getHitPoints() > 1);
   public static final Match<UnitType> UnitTypeHasMoreThanOneHitPointTotal = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType ut) {
@@ -99,36 +94,14 @@ public class Matches {
       return ua.getHitPoints() - unit.getHits() <= 1;
     }
   };
-  public static final Match<Unit> UnitIsSea = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getIsSea();
-    }
-  };
-  public static final Match<Unit> UnitIsSub = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getIsSub();
-    }
-  };
-  public static final Match<Unit> UnitIsNotSub = new InverseMatch<>(UnitIsSub);
-  public static final Match<Unit> UnitIsCombatTransport = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return (ua.getIsCombatTransport() && ua.getIsSea());
-    }
-  };
-  public static final Match<Unit> UnitIsNotCombatTransport = new InverseMatch<>(UnitIsCombatTransport);
-  public static final Match<Unit> UnitIsTransportButNotCombatTransport = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return (ua.getTransportCapacity() != -1 && ua.getIsSea() && !ua.getIsCombatTransport());
-    }
-  };
+  public static final UnitTypeMatch UnitIsSea = new UnitTypeMatch(ua -> ua.getIsSea());
+  public static final UnitTypeMatch UnitIsSub = new UnitTypeMatch(ua -> ua.getIsSub());
+  public static final UnitTypeMatch UnitIsNotSub = UnitTypeMatch.not(UnitIsSub);
+  public static final UnitTypeMatch UnitIsCombatTransport =
+      new UnitTypeMatch(ua -> ua.getIsCombatTransport() && ua.getIsSea());
+  public static final UnitTypeMatch UnitIsNotCombatTransport = UnitTypeMatch.not(UnitIsCombatTransport);
+  public static final UnitTypeMatch UnitIsTransportButNotCombatTransport =
+      new UnitTypeMatch(ua -> ua.getTransportCapacity() != -1 && ua.getIsSea() && !ua.getIsCombatTransport());
   public static final Match<Unit> UnitIsNotTransportButCouldBeCombatTransport = new Match<Unit>() {
     @Override
     public boolean match(final Unit unit) {
@@ -140,13 +113,7 @@ public class Matches {
       }
     }
   };
-  public static final Match<Unit> UnitIsDestroyer = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getIsDestroyer();
-    }
-  };
+  public static final UnitTypeMatch UnitIsDestroyer = new UnitTypeMatch(ua -> ua.getIsDestroyer());
   public static final Match<UnitType> UnitTypeIsDestroyer = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType type) {
@@ -154,14 +121,9 @@ public class Matches {
       return ua.getIsDestroyer();
     }
   };
-  public static final Match<Unit> UnitIsTransport = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return (ua.getTransportCapacity() != -1 && ua.getIsSea());
-    }
-  };
-  public static final Match<Unit> UnitIsNotTransport = UnitIsTransport.invert();
+  public static final UnitTypeMatch UnitIsTransport =
+      new UnitTypeMatch(ua -> ua.getTransportCapacity() != -1 && ua.getIsSea());
+  public static final UnitTypeMatch UnitIsNotTransport = UnitTypeMatch.not(UnitIsTransport);
   public static final Match<Unit> UnitIsTransportAndNotDestroyer = new Match<Unit>() {
     @Override
     public boolean match(final Unit unit) {
@@ -179,13 +141,8 @@ public class Matches {
       return ua.getIsStrategicBomber();
     }
   };
-  public static final Match<Unit> UnitIsStrategicBomber = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeIsStrategicBomber.match(obj.getType());
-    }
-  };
-  public static final Match<Unit> UnitIsNotStrategicBomber = new InverseMatch<>(UnitIsStrategicBomber);
+  public static final UnitTypeMatch UnitIsStrategicBomber = new UnitTypeMatch(UnitTypeIsStrategicBomber);
+  public static final UnitTypeMatch UnitIsNotStrategicBomber = UnitTypeMatch.not(UnitIsStrategicBomber);
   public static final Match<UnitType> UnitTypeCanLandOnCarrier = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -262,14 +219,7 @@ public class Matches {
     };
   }
 
-  public static final Match<Unit> UnitIsNotSea = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final Unit unit = obj;
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return !ua.getIsSea();
-    }
-  };
+  public static final UnitTypeMatch UnitIsNotSea = new UnitTypeMatch(ua -> !ua.getIsSea());
   public static final Match<UnitType> UnitTypeIsSea = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -298,20 +248,8 @@ public class Matches {
       return (ua.getCarrierCapacity() != -1);
     }
   };
-  public static final Match<Unit> UnitIsAir = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getIsAir();
-    }
-  };
-  public static final Match<Unit> UnitIsNotAir = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return !ua.getIsAir();
-    }
-  };
+  public static final UnitTypeMatch UnitIsAir = new UnitTypeMatch(ua -> ua.getIsAir());
+  public static final UnitTypeMatch UnitIsNotAir = new UnitTypeMatch(ua -> !ua.getIsAir());
 
   public static Match<UnitType> unitTypeCanBombard(final PlayerID id) {
     return new Match<UnitType>() {
@@ -415,19 +353,8 @@ public class Matches {
     };
   }
 
-  public static final Match<Unit> UnitIsAirBase = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getIsAirBase();
-    }
-  };
-  public static final Match<Unit> UnitCanBeDamaged = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      return UnitTypeCanBeDamaged.match(unit.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitIsAirBase = new UnitTypeMatch(ua -> ua.getIsAirBase());
+  public static final UnitTypeMatch UnitCanBeDamaged = new UnitTypeMatch(ua -> ua.getCanBeDamaged());
   public static final Match<UnitType> UnitTypeCanBeDamaged = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType ut) {
@@ -509,13 +436,8 @@ public class Matches {
       return ua.getCanDieFromReachingMaxDamage();
     }
   };
-  public static final Match<Unit> UnitIsInfrastructure = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      return UnitTypeIsInfrastructure.match(unit.getType());
-    }
-  };
-  public static final Match<Unit> UnitIsNotInfrastructure = new InverseMatch<>(UnitIsInfrastructure);
+  public static final UnitTypeMatch UnitIsInfrastructure = new UnitTypeMatch(ua -> ua.getIsInfrastructure());
+  public static final UnitTypeMatch UnitIsNotInfrastructure = UnitTypeMatch.not(UnitIsInfrastructure);
   public static final Match<UnitType> UnitTypeIsInfrastructure = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType ut) {
@@ -576,13 +498,7 @@ public class Matches {
     };
   }
 
-  public static final Match<Unit> UnitCanScramble = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit unit) {
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getCanScramble();
-    }
-  };
+  public static final UnitTypeMatch UnitCanScramble = new UnitTypeMatch(ua -> ua.getCanScramble());
   public static final Match<Unit> UnitWasScrambled = new Match<Unit>() {
     @Override
     public boolean match(final Unit obj) {
@@ -623,14 +539,7 @@ public class Matches {
       return ua.getCanBlitz(obj.getOwner());
     }
   };
-  public static final Match<Unit> UnitIsLandTransport = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final Unit unit = obj;
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getIsLandTransport();
-    }
-  };
+  public static final UnitTypeMatch UnitIsLandTransport = new UnitTypeMatch(ua -> ua.getIsLandTransport());
 
   public static Match<Unit> UnitIsNotInfrastructureAndNotCapturedOnEntering(final PlayerID player,
       final Territory terr, final GameData data) {
@@ -645,22 +554,8 @@ public class Matches {
     };
   }
 
-  public static final Match<Unit> UnitIsSuicide = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final Unit unit = obj;
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getIsSuicide();
-    }
-  };
-  public static final Match<Unit> UnitIsKamikaze = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final Unit unit = obj;
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getIsKamikaze();
-    }
-  };
+  public static final UnitTypeMatch UnitIsSuicide = new UnitTypeMatch(ua -> ua.getIsSuicide());
+  public static final UnitTypeMatch UnitIsKamikaze = new UnitTypeMatch(ua -> ua.getIsKamikaze());
   public static final Match<UnitType> UnitTypeIsAir = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -677,22 +572,8 @@ public class Matches {
       return !ua.getIsAir();
     }
   };
-  public static final Match<Unit> UnitCanLandOnCarrier = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final Unit unit = obj;
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getCarrierCost() != -1;
-    }
-  };
-  public static final Match<Unit> UnitIsCarrier = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final Unit unit = obj;
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getCarrierCapacity() != -1;
-    }
-  };
+  public static final UnitTypeMatch UnitCanLandOnCarrier = new UnitTypeMatch(ua -> ua.getCarrierCost() != -1);
+  public static final UnitTypeMatch UnitIsCarrier = new UnitTypeMatch(ua -> ua.getCarrierCapacity() != -1);
 
   public static Match<Territory> TerritoryHasOwnedCarrier(final PlayerID player) {
     return new Match<Territory>() {
@@ -715,15 +596,8 @@ public class Matches {
     };
   }
 
-  public static final Match<Unit> UnitCanBeTransported = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final Unit unit = obj;
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getTransportCost() != -1;
-    }
-  };
-  public static final Match<Unit> UnitCanNotBeTransported = new InverseMatch<>(UnitCanBeTransported);
+  public static final UnitTypeMatch UnitCanBeTransported = new UnitTypeMatch(ua -> ua.getTransportCost() != -1);
+  public static final UnitTypeMatch UnitCanNotBeTransported = UnitTypeMatch.not(UnitCanBeTransported);
   public static final Match<Unit> UnitWasAmphibious = new Match<Unit>() {
     @Override
     public boolean match(final Unit obj) {
@@ -754,14 +628,7 @@ public class Matches {
     }
   };
   public static final Match<Unit> UnitWasNotLoadedThisTurn = new InverseMatch<>(UnitWasLoadedThisTurn);
-  public static final Match<Unit> UnitCanTransport = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final Unit unit = obj;
-      final UnitAttachment ua = UnitAttachment.get(unit.getType());
-      return ua.getTransportCapacity() != -1;
-    }
-  };
+  public static final UnitTypeMatch UnitCanTransport = new UnitTypeMatch(ua -> ua.getTransportCapacity() != -1);
   public static final Match<UnitType> UnitTypeCanTransport = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -778,12 +645,7 @@ public class Matches {
       return ua.getTransportCost() != -1;
     }
   };
-  public static final Match<Unit> UnitCanProduceUnits = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeCanProduceUnits.match(obj.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitCanProduceUnits = new UnitTypeMatch(ua -> ua.getCanProduceUnits());
   public static final Match<UnitType> UnitTypeCanProduceUnits = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -791,7 +653,7 @@ public class Matches {
       return ua.getCanProduceUnits();
     }
   };
-  public static final Match<Unit> UnitCanNotProduceUnits = new InverseMatch<>(UnitCanProduceUnits);
+  public static final UnitTypeMatch UnitCanNotProduceUnits = UnitTypeMatch.not(UnitCanProduceUnits);
   public static final Match<UnitType> UnitTypeIsInfrastructureButNotAAofAnyKind = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType type) {
@@ -814,13 +676,8 @@ public class Matches {
       return ua.getArtillery();
     }
   };
-  public static final Match<Unit> UnitHasMaxBuildRestrictions = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final UnitType type = obj.getType();
-      return UnitTypeHasMaxBuildRestrictions.match(type);
-    }
-  };
+  public static final UnitTypeMatch UnitHasMaxBuildRestrictions =
+      new UnitTypeMatch(ua -> ua.getMaxBuiltPerPlayer() >= 0);
   public static final Match<UnitType> UnitTypeHasMaxBuildRestrictions = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -829,12 +686,7 @@ public class Matches {
       return ua.getMaxBuiltPerPlayer() >= 0;
     }
   };
-  public static final Match<Unit> UnitIsRocket = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeIsRocket.match(obj.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitIsRocket = new UnitTypeMatch(ua -> ua.getIsRocket());
   public static final Match<UnitType> UnitTypeIsRocket = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -842,36 +694,11 @@ public class Matches {
       return ua.getIsRocket();
     }
   };
-  public static final Match<Unit> UnitHasPlacementLimit = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final UnitType type = obj.getUnitType();
-      final UnitAttachment ua = UnitAttachment.get(type);
-      return ua.getPlacementLimit() != null;
-    }
-  };
-  public static final Match<Unit> UnitHasMovementLimit = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final UnitType type = obj.getUnitType();
-      final UnitAttachment ua = UnitAttachment.get(type);
-      return ua.getMovementLimit() != null;
-    }
-  };
-  public static final Match<Unit> UnitHasAttackingLimit = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final UnitType type = obj.getUnitType();
-      final UnitAttachment ua = UnitAttachment.get(type);
-      return ua.getAttackingLimit() != null;
-    }
-  };
-  public static final Match<Unit> UnitCanNotMoveDuringCombatMove = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeCanNotMoveDuringCombatMove.match(obj.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitHasPlacementLimit = new UnitTypeMatch(ua -> ua.getPlacementLimit() != null);
+  public static final UnitTypeMatch UnitHasMovementLimit = new UnitTypeMatch(ua -> ua.getMovementLimit() != null);
+  public static final UnitTypeMatch UnitHasAttackingLimit = new UnitTypeMatch(ua -> ua.getAttackingLimit() != null);
+  public static final UnitTypeMatch UnitCanNotMoveDuringCombatMove =
+      new UnitTypeMatch(ua -> ua.getCanNotMoveDuringCombatMove());
   public static final Match<UnitType> UnitTypeCanNotMoveDuringCombatMove = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType type) {
@@ -910,12 +737,8 @@ public class Matches {
     };
   }
 
-  public static final Match<Unit> UnitAAShotDamageableInsteadOfKillingInstantly = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitAttachment.get(obj.getType()).getDamageableAA();
-    }
-  };
+  public static final UnitTypeMatch UnitAAShotDamageableInsteadOfKillingInstantly =
+      new UnitTypeMatch(ua -> ua.getDamageableAA());
 
   private static Match<Unit> UnitIsAAthatWillNotFireIfPresentEnemyUnits(final Collection<Unit> enemyUnitsPresent) {
     return new Match<Unit>() {
@@ -963,12 +786,7 @@ public class Matches {
             : UnitOffensiveAttackAAisGreaterThanZeroAndMaxAAattacksIsNotZero));
   }
 
-  public static final Match<Unit> UnitIsAAforCombatOnly = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeIsAAforCombatOnly.match(obj.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitIsAAforCombatOnly = new UnitTypeMatch(ua -> ua.getIsAAforCombatOnly());
   public static final Match<UnitType> UnitTypeIsAAforCombatOnly = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -976,12 +794,8 @@ public class Matches {
       return ua.getIsAAforCombatOnly();
     }
   };
-  public static final Match<Unit> UnitIsAAforBombingThisUnitOnly = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeIsAAforBombingThisUnitOnly.match(obj.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitIsAAforBombingThisUnitOnly =
+      new UnitTypeMatch(ua -> ua.getIsAAforBombingThisUnitOnly());
   public static final Match<UnitType> UnitTypeIsAAforBombingThisUnitOnly = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -989,12 +803,7 @@ public class Matches {
       return ua.getIsAAforBombingThisUnitOnly();
     }
   };
-  public static final Match<Unit> UnitIsAAforFlyOverOnly = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeIsAAforFlyOverOnly.match(obj.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitIsAAforFlyOverOnly = new UnitTypeMatch(ua -> ua.getIsAAforFlyOverOnly());
   public static final Match<UnitType> UnitTypeIsAAforFlyOverOnly = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -1002,12 +811,9 @@ public class Matches {
       return ua.getIsAAforFlyOverOnly();
     }
   };
-  public static final Match<Unit> UnitIsAAforAnything = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeIsAAforAnything.match(obj.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitIsAAforAnything =
+      new UnitTypeMatch(ua -> ua.getIsAAforBombingThisUnitOnly() || ua.getIsAAforCombatOnly()
+          || ua.getIsAAforFlyOverOnly());
   public static final Match<UnitType> UnitTypeIsAAforAnything = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -1015,13 +821,8 @@ public class Matches {
       return ua.getIsAAforBombingThisUnitOnly() || ua.getIsAAforCombatOnly() || ua.getIsAAforFlyOverOnly();
     }
   };
-  public static final Match<Unit> UnitIsNotAA = new InverseMatch<>(UnitIsAAforAnything);
-  public static final Match<Unit> UnitMaxAAattacksIsInfinite = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeMaxAAattacksIsInfinite.match(obj.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitIsNotAA = UnitTypeMatch.not(UnitIsAAforAnything);
+  public static final UnitTypeMatch UnitMaxAAattacksIsInfinite = new UnitTypeMatch(ua -> ua.getMaxAAattacks() == -1);
   public static final Match<UnitType> UnitTypeMaxAAattacksIsInfinite = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -1029,12 +830,7 @@ public class Matches {
       return ua.getMaxAAattacks() == -1;
     }
   };
-  public static final Match<Unit> UnitMayOverStackAA = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeMayOverStackAA.match(obj.getType());
-    }
-  };
+  public static final UnitTypeMatch UnitMayOverStackAA = new UnitTypeMatch(ua -> ua.getMayOverStackAA());
   public static final Match<UnitType> UnitTypeMayOverStackAA = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType obj) {
@@ -1056,39 +852,11 @@ public class Matches {
       return ua.getOffensiveAttackAA(obj.getOwner()) > 0 && ua.getMaxAAattacks() != 0;
     }
   };
-  public static final Match<Unit> UnitIsInfantry = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final UnitType type = obj.getUnitType();
-      final UnitAttachment ua = UnitAttachment.get(type);
-      return ua.getIsInfantry();
-    }
-  };
-  public static final Match<Unit> UnitIsNotInfantry = new InverseMatch<>(UnitIsInfantry);
-  public static final Match<Unit> UnitHasMarinePositiveBonus = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final UnitType type = obj.getUnitType();
-      final UnitAttachment ua = UnitAttachment.get(type);
-      return ua.getIsMarine() > 0;
-    }
-  };
-  public static final Match<Unit> UnitHasMarineNegativeBonus = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final UnitType type = obj.getUnitType();
-      final UnitAttachment ua = UnitAttachment.get(type);
-      return ua.getIsMarine() < 0;
-    }
-  };
-  public static final Match<Unit> UnitIsNotMarine = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final UnitType type = obj.getUnitType();
-      final UnitAttachment ua = UnitAttachment.get(type);
-      return ua.getIsMarine() == 0;
-    }
-  };
+  public static final UnitTypeMatch UnitIsInfantry = new UnitTypeMatch(ua -> ua.getIsInfantry());
+  public static final UnitTypeMatch UnitIsNotInfantry = UnitTypeMatch.not(UnitIsInfantry);
+  public static final UnitTypeMatch UnitHasMarinePositiveBonus = new UnitTypeMatch(ua -> ua.getIsMarine() > 0);
+  public static final UnitTypeMatch UnitHasMarineNegativeBonus = new UnitTypeMatch(ua -> ua.getIsMarine() < 0);
+  public static final UnitTypeMatch UnitIsNotMarine = new UnitTypeMatch(ua -> ua.getIsMarine() == 0);
   public static final Match<Unit> UnitIsAirTransportable = new Match<Unit>() {
     @Override
     public boolean match(final Unit obj) {
@@ -1115,22 +883,8 @@ public class Matches {
     }
   };
   public static final Match<Unit> UnitIsNotAirTransport = new InverseMatch<>(UnitIsAirTransport);
-  public static final Match<Unit> UnitIsArtillery = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final UnitType type = obj.getUnitType();
-      final UnitAttachment ua = UnitAttachment.get(type);
-      return ua.getArtillery();
-    }
-  };
-  public static final Match<Unit> UnitIsArtillerySupportable = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      final UnitType type = obj.getUnitType();
-      final UnitAttachment ua = UnitAttachment.get(type);
-      return ua.getArtillerySupportable();
-    }
-  };
+  public static final UnitTypeMatch UnitIsArtillery = new UnitTypeMatch(ua -> ua.getArtillery());
+  public static final UnitTypeMatch UnitIsArtillerySupportable = new UnitTypeMatch(ua -> ua.getArtillerySupportable());
   // TODO: CHECK whether this makes any sense
   public static final Match<Territory> TerritoryIsLandOrWater = new Match<Territory>() {
     @Override
@@ -1882,7 +1636,7 @@ public class Matches {
     return new Match<Unit>() {
       @Override
       public boolean match(final Unit o) {
-        return territory.getUnits().getUnits().contains(o);
+        return territory.getUnits().contains(o);
       }
     };
   }
@@ -2036,6 +1790,30 @@ public class Matches {
     };
   }
 
+  /**
+   * Same as enemyUnit, but for the owner of the units, so collections can answer it without looking at each unit.
+   */
+  private static Match<PlayerID> enemyUnitOwner(final PlayerID player, final GameData data) {
+    return new Match<PlayerID>() {
+      @Override
+      public boolean match(final PlayerID owner) {
+        return data.getRelationshipTracker().isAtWar(player, owner);
+      }
+    };
+  }
+
+  /**
+   * Same as alliedUnit, but for the owner of the units.
+   */
+  private static Match<PlayerID> alliedUnitOwner(final PlayerID player, final GameData data) {
+    return new Match<PlayerID>() {
+      @Override
+      public boolean match(final PlayerID owner) {
+        return owner.equals(player) || data.getRelationshipTracker().isAllied(player, owner);
+      }
+    };
+  }
+
   public static Match<Unit> alliedUnit(final PlayerID player, final GameData data) {
     return new Match<Unit>() {
       @Override
@@ -2080,11 +1858,10 @@ public class Matches {
   }
 
   public static Match<Territory> territoryHasUnitsOwnedBy(final PlayerID player) {
-    final Match<Unit> unitOwnedBy = unitIsOwnedBy(player);
     return new Match<Territory>() {
       @Override
       public boolean match(final Territory t) {
-        return t.getUnits().someMatch(unitOwnedBy);
+        return t.getUnits().getUnitCount(player) > 0;
       }
     };
   }
@@ -2120,7 +1897,7 @@ public class Matches {
     return new Match<Territory>() {
       @Override
       public boolean match(final Territory t) {
-        return !t.getUnits().someMatch(enemyUnit(player, data));
+        return !t.getUnits().someOwnerMatches(enemyUnitOwner(player, data));
       }
     };
   }
@@ -2129,7 +1906,7 @@ public class Matches {
     return new Match<Territory>() {
       @Override
       public boolean match(final Territory t) {
-        return !t.getUnits().someMatch(alliedUnit(player, data));
+        return !t.getUnits().someOwnerMatches(alliedUnitOwner(player, data));
       }
     };
   }
@@ -2138,7 +1915,7 @@ public class Matches {
     return new Match<Territory>() {
       @Override
       public boolean match(final Territory t) {
-        return t.getUnits().someMatch(alliedUnit(player, data));
+        return t.getUnits().someOwnerMatches(alliedUnitOwner(player, data));
       }
     };
   }
@@ -2177,7 +1954,8 @@ public class Matches {
     return new Match<Territory>() {
       @Override
       public boolean match(final Territory t) {
-        return t.getUnits().someMatch(enemyUnit(player, data)) && t.getUnits().someMatch(Matches.UnitCanBlitz);
+        return t.getUnits().someOwnerMatches(enemyUnitOwner(player, data))
+            && t.getUnits().someMatch(Matches.UnitCanBlitz);
       }
     };
   }
@@ -2186,7 +1964,7 @@ public class Matches {
     return new Match<Territory>() {
       @Override
       public boolean match(final Territory t) {
-        return t.getUnits().someMatch(enemyUnit(player, data));
+        return t.getUnits().someOwnerMatches(enemyUnitOwner(player, data));
       }
     };
   }
@@ -2329,10 +2107,10 @@ public class Matches {
     };
   }
 
-  public final static Match<Unit> UnitIsLand = new CompositeMatchAnd<>(UnitIsNotSea, UnitIsNotAir);
+  public static final UnitTypeMatch UnitIsLand = UnitTypeMatch.and(UnitIsNotSea, UnitIsNotAir);
   public final static Match<UnitType> UnitTypeIsLand =
       new CompositeMatchAnd<>(UnitTypeIsNotSea, UnitTypeIsNotAir);
-  public final static Match<Unit> UnitIsNotLand = new InverseMatch<>(UnitIsLand);
+  public static final UnitTypeMatch UnitIsNotLand = UnitTypeMatch.not(UnitIsLand);
 
   public static Match<Unit> unitIsOfType(final UnitType type) {
     return new Match<Unit>() {
@@ -2752,23 +2530,18 @@ public class Matches {
       return false;
     }
   };
-  public static final Match<Unit> UnitIsConstruction = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit obj) {
-      return UnitTypeIsConstruction.match(obj.getType());
-    }
-  };
   public static final Match<UnitType> UnitTypeIsConstruction = new Match<UnitType>() {
     @Override
     public boolean match(final UnitType type) {
-      final UnitAttachment ua = UnitAttachment.get(type);
+      final UnitAttachment ua = (UnitAttachment) type.getAttachment(Constants.UNIT_ATTACHMENT_NAME);
       if (ua == null) {
         return false;
       }
       return ua.getIsConstruction();
     }
   };
-  public static final Match<Unit> UnitIsNotConstruction = new InverseMatch<>(UnitIsConstruction);
+  public static final UnitTypeMatch UnitIsConstruction = new UnitTypeMatch(UnitTypeIsConstruction);
+  public static final UnitTypeMatch UnitIsNotConstruction = UnitTypeMatch.not(UnitIsConstruction);
   public static final Match<Unit> UnitCanProduceUnitsAndIsConstruction =
       new CompositeMatchAnd<>(UnitCanProduceUnits, UnitIsConstruction);
   public static final Match<UnitType> UnitTypeCanProduceUnitsAndIsConstruction =
@@ -2941,8 +2714,7 @@ public class Matches {
     return new Match<PlayerID>() {
       @Override
       public boolean match(final PlayerID player2) {
-        return Matches.RelationshipTypeIsAtWar
-            .match(data.getRelationshipTracker().getRelationshipType(player, player2));
+        return data.getRelationshipTracker().isAtWar(player, player2);
       }
     };
   }
@@ -2961,8 +2733,7 @@ public class Matches {
     return new Match<PlayerID>() {
       @Override
       public boolean match(final PlayerID player2) {
-        return Matches.RelationshipTypeIsAllied
-            .match(data.getRelationshipTracker().getRelationshipType(player, player2));
+        return data.getRelationshipTracker().isAllied(player, player2);
       }
     };
   }
@@ -3280,24 +3051,9 @@ public class Matches {
     };
   }
 
-  public static final Match<Unit> unitCanIntercept = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit u) {
-      return UnitAttachment.get(u.getType()).getCanIntercept();
-    }
-  };
-  public static final Match<Unit> unitCanEscort = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit u) {
-      return UnitAttachment.get(u.getType()).getCanEscort();
-    }
-  };
-  public static final Match<Unit> unitCanAirBattle = new Match<Unit>() {
-    @Override
-    public boolean match(final Unit u) {
-      return UnitAttachment.get(u.getType()).getCanAirBattle();
-    }
-  };
+  public static final UnitTypeMatch unitCanIntercept = new UnitTypeMatch(ua -> ua.getCanIntercept());
+  public static final UnitTypeMatch unitCanEscort = new UnitTypeMatch(ua -> ua.getCanEscort());
+  public static final UnitTypeMatch unitCanAirBattle = new UnitTypeMatch(ua -> ua.getCanAirBattle());
 
   public static Match<Territory> territoryIsOwnedByPlayerWhosRelationshipTypeCanTakeOverOwnedTerritoryAndPassableAndNotWater(
       final PlayerID attacker) {
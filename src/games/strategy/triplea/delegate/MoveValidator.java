@@ -16,6 +16,7 @@ import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.ResourceCollection;
 import games.strategy.engine.data.Route;
+import games.strategy.engine.data.RouteFinder;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
@@ -1446,7 +1447,7 @@ public class MoveValidator {
 
   public static Map<Unit, Collection<Unit>> carrierMustMoveWith(final Collection<Unit> units, final Territory start,
       final GameData data, final PlayerID player) {
-    return carrierMustMoveWith(units, start.getUnits().getUnits(), data, player);
+    return carrierMustMoveWith(units, start.getUnits().getUnmodifiableUnits(), data, player);
   }
 
   public static Map<Unit, Collection<Unit>> carrierMustMoveWith(final Collection<Unit> units,
@@ -1548,13 +1549,15 @@ public class MoveValidator {
     if (hasLand) {
       noImpassable.add(Matches.TerritoryAllowsCanMoveLandUnitsOverOwnedLand(player, data));
     }
+    // steps through canals the units can not pass are not taken
+    final RouteFinder.MovementCost canalCost = getCanalMovementCost(units, player, data);
     // now find the default route
     Route defaultRoute;
     if (isNeutralsImpassable) {
-      defaultRoute =
-          data.getMap().getRoute_IgnoreEnd(start, end, new CompositeMatchAnd<>(noNeutral, noImpassable));
+      defaultRoute = data.getMap().getRoute_IgnoreEnd(start, end, new CompositeMatchAnd<>(noNeutral, noImpassable),
+          canalCost);
     } else {
-      defaultRoute = data.getMap().getRoute_IgnoreEnd(start, end, noImpassable);
+      defaultRoute = data.getMap().getRoute_IgnoreEnd(start, end, noImpassable, canalCost);
     }
     // since all routes require at least noImpassable, then if we cannot find a route without impassables, just return
     // any route
@@ -1600,9 +1603,8 @@ public class MoveValidator {
     // if the start and end are in water, try and get a water route
     // dont force a water route, since planes may be moving
     if (start.isWater() && end.isWater()) {
-      final Route waterRoute =
-          data.getMap().getRoute_IgnoreEnd(start, end,
-              new CompositeMatchAnd<>(Matches.TerritoryIsWater, noImpassable));
+      final Route waterRoute = data.getMap().getRoute_IgnoreEnd(start, end,
+          new CompositeMatchAnd<>(Matches.TerritoryIsWater, noImpassable), canalCost);
       if (waterRoute != null
           && ((waterRoute.getLargestMovementCost(unitsWhichAreNotBeingTransportedOrDependent) <= defaultRoute
               .getLargestMovementCost(unitsWhichAreNotBeingTransportedOrDependent)) || (forceLandOrSeaRoute && Match
@@ -1638,7 +1640,7 @@ public class MoveValidator {
       } else {
         testMatch = new CompositeMatchAnd<>(t, noImpassable);
       }
-      final Route testRoute = data.getMap().getRoute_IgnoreEnd(start, end, testMatch);
+      final Route testRoute = data.getMap().getRoute_IgnoreEnd(start, end, testMatch, canalCost);
       if (testRoute != null
           && testRoute.getLargestMovementCost(unitsWhichAreNotBeingTransportedOrDependent) <= defaultRoute
               .getLargestMovementCost(unitsWhichAreNotBeingTransportedOrDependent)) {
@@ -1648,6 +1650,24 @@ public class MoveValidator {
     return defaultRoute;
   }
 
+  /**
+   * @return a cost of one per step, that does not allow steps through canals the units can not pass.
+   */
+  private static RouteFinder.MovementCost getCanalMovementCost(final Collection<Unit> units, final PlayerID player,
+      final GameData data) {
+    if (getEditMode(data)) {
+      return (from, to) -> 1;
+    }
+    return (from, to) -> {
+      // canals connect sea zones
+      if (!from.isWater() || !to.isWater()
+          || (CanalAttachment.get(from).isEmpty() && CanalAttachment.get(to).isEmpty())) {
+        return 1;
+      }
+      return validateCanal(new Route(from, to), units, player, data) == null ? 1 : -1;
+    };
+  }
+
   private static boolean isWW2V2(final GameData data) {
     return games.strategy.triplea.Properties.getWW2V2(data);
   }
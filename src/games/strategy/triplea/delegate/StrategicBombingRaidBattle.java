@@ -85,7 +85,7 @@ public class StrategicBombingRaidBattle extends AbstractBattle implements Battle
     m_attackingUnits.retainAll(m_battleSite.getUnits().getUnits());
     final Iterator<Unit> iter = m_targets.keySet().iterator();
     while (iter.hasNext()) {
-      if (!m_battleSite.getUnits().getUnits().contains(iter.next())) {
+      if (!m_battleSite.getUnits().contains(iter.next())) {
         iter.remove();
       }
     }
@@ -0,0 +1,98 @@
+package games.strategy.triplea.delegate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.util.CompositeMatchAnd;
+import games.strategy.util.CompositeMatchOr;
+import games.strategy.util.InverseMatch;
+import games.strategy.util.Match;
+
+/**
+ * A match on units that only depends on the unit type and its attachments, not on the owner, hits or movement of the
+ * unit.
+ * <p>
+ * The match is compiled once per game into a bit set over the unit type ordinals (see
+ * {@link games.strategy.triplea.attachments.AttachmentIndex#matchesType}), so matching a unit is one bit test. The
+ * combinations made with {@link #and}, {@link #or} and {@link #not} are compiled as a whole, so they are one bit test
+ * as well. Matches that look at the unit itself stay ordinary matches, and can be combined with these as before.
+ * <p>
+ * Every instance takes a slot in the compiled table of each game that uses it, so instances should only be created
+ * as constants, like the ones in {@link Matches}.
+ */
+public final class UnitTypeMatch extends Match<Unit> {
+  private static final AtomicInteger s_ids = new AtomicInteger();
+
+  private final int m_id = s_ids.getAndIncrement();
+  private final Match<UnitType> m_typeMatch;
+
+  public UnitTypeMatch(final Match<UnitType> typeMatch) {
+    m_typeMatch = typeMatch;
+  }
+
+  /**
+   * @param unitAttachmentMatch
+   *        tested against the unit attachment of the type
+   */
+  public UnitTypeMatch(final Predicate<UnitAttachment> unitAttachmentMatch) {
+    this(new Match<UnitType>() {
+      @Override
+      public boolean match(final UnitType type) {
+        return unitAttachmentMatch.test(UnitAttachment.get(type));
+      }
+    });
+  }
+
+  @Override
+  public boolean match(final Unit unit) {
+    return matches(unit.getType());
+  }
+
+  public boolean matches(final UnitType type) {
+    final GameData data = type.getData();
+    if (data == null) {
+      return m_typeMatch.match(type);
+    }
+    return data.getAttachmentIndex().matchesType(type, m_id, m_typeMatch);
+  }
+
+  /**
+   * @return the same match, on unit types.
+   */
+  public Match<UnitType> getTypeMatch() {
+    return m_typeMatch;
+  }
+
+  /**
+   * @return a match that is true if all the matches are true.
+   */
+  public static UnitTypeMatch and(final UnitTypeMatch... matches) {
+    final CompositeMatchAnd<UnitType> typeMatch = new CompositeMatchAnd<>();
+    for (final UnitTypeMatch match : matches) {
+      typeMatch.add(match.m_typeMatch);
+    }
+    return new UnitTypeMatch(typeMatch);
+  }
+
+  /**
+   * @return a match that is true if any of the matches is true.
+   */
+  public static UnitTypeMatch or(final UnitTypeMatch... matches) {
+    final CompositeMatchOr<UnitType> typeMatch = new CompositeMatchOr<>();
+    for (final UnitTypeMatch match : matches) {
+      typeMatch.add(match.m_typeMatch);
+    }
+    return new UnitTypeMatch(typeMatch);
+  }
+
+  /**
+   * @return a match that is true if the match is false.
+   */
+  public static UnitTypeMatch not(final UnitTypeMatch match) {
+    return new UnitTypeMatch(new InverseMatch<>(match.m_typeMatch));
+  }
+}
@@ -1,6 +1,7 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -143,9 +144,8 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
     m_bombardingUnits = (Collection<Unit>) GameDataUtils.translateIntoOtherGameData(bombarding, m_data);
     m_territoryEffects =
         (Collection<TerritoryEffect>) GameDataUtils.translateIntoOtherGameData(territoryEffects, m_data);
-    m_data.performChange(ChangeFactory.removeUnits(m_location, m_location.getUnits().getUnits()));
-    m_data.performChange(ChangeFactory.addUnits(m_location, m_attackingUnits));
-    m_data.performChange(ChangeFactory.addUnits(m_location, m_defendingUnits));
+    m_data.performChanges(Arrays.asList(ChangeFactory.removeUnits(m_location, m_location.getUnits().getUnits()),
+        ChangeFactory.addUnits(m_location, m_attackingUnits), ChangeFactory.addUnits(m_location, m_defendingUnits)));
     m_runCount = runCount;
     m_isCalcSet = true;
   }
@@ -3,6 +3,7 @@ package games.strategy.triplea.ui;
 import java.awt.BorderLayout;
 import java.awt.Container;
 import java.awt.Insets;
+import java.awt.event.HierarchyEvent;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
@@ -51,6 +52,8 @@ public class CommentPanel extends JPanel {
   private final SimpleAttributeSet bold = new SimpleAttributeSet();
   private final SimpleAttributeSet italic = new SimpleAttributeSet();
   private final SimpleAttributeSet normal = new SimpleAttributeSet();
+  // the comments of the history are read when the panel is first shown, reading them loads the whole history
+  private boolean m_historyLoaded = false;
 
   public CommentPanel(final TripleAFrame frame, final GameData data) {
     m_frame = frame;
@@ -65,7 +68,6 @@ public class CommentPanel extends JPanel {
     StyleConstants.setBold(bold, true);
     StyleConstants.setItalic(italic, true);
     setSize(300, 200);
-    loadHistory();
     setupListeners();
   }
 
@@ -100,6 +102,12 @@ public class CommentPanel extends JPanel {
   }
 
   private void setupListeners() {
+    addHierarchyListener(e -> {
+      if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing() && !m_historyLoaded) {
+        m_historyLoaded = true;
+        loadHistory();
+      }
+    });
     m_data.getHistory().addTreeModelListener(new TreeModelListener() {
       @Override
       public void treeNodesChanged(final TreeModelEvent e) {}
@@ -122,6 +130,9 @@ public class CommentPanel extends JPanel {
   private void readHistoryTreeEvent(final TreeModelEvent e) {
     final TreeModelEvent tme = e;
     final Runnable runner = () -> {
+      if (!m_historyLoaded) {
+        return;
+      }
       m_data.acquireReadLock();
       try {
         final Document doc = m_text.getDocument();
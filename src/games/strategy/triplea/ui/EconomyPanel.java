@@ -12,6 +12,7 @@ import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableColumn;
 
+import games.strategy.engine.data.AffectedObjects;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -103,6 +104,14 @@ public class EconomyPanel extends AbstractStatPanel {
       }
     }
 
+    @Override
+    public void gameDataChanged(final Change aChange, final AffectedObjects affected) {
+      // resources only change along with their player
+      if (!affected.getPlayers().isEmpty()) {
+        gameDataChanged(aChange);
+      }
+    }
+
     @Override
     public void gameDataChanged(final Change aChange) {
       synchronized (this) {
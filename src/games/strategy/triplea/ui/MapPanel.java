@@ -20,7 +20,6 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -35,18 +34,16 @@ import java.util.logging.Logger;
 
 import javax.swing.SwingUtilities;
 
+import games.strategy.engine.data.AffectedObjects;
 import games.strategy.engine.data.Change;
-import games.strategy.engine.data.ChangeAttachmentChange;
-import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
-import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Route;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.events.GameDataChangeListener;
 import games.strategy.engine.data.events.TerritoryListener;
-import games.strategy.triplea.Constants;
 import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.attachments.TechAttachment;
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.ui.screen.SmallMapImageManager;
 import games.strategy.triplea.ui.screen.Tile;
@@ -428,31 +425,16 @@ public class MapPanel extends ImageScrollerLargeView {
   };
   private final GameDataChangeListener TECH_UPDATE_LISTENER = new GameDataChangeListener() {
     @Override
-    public void gameDataChanged(final Change aChange) {
-      // find the players with tech changes
-      final Set<PlayerID> playersWithTechChange = new HashSet<>();
-      getPlayersWithTechChanges(aChange, playersWithTechChange);
-      if (playersWithTechChange.isEmpty()) {
-        return;
+    public void gameDataChanged(final Change aChange, final AffectedObjects affected) {
+      if (affected.getAttachments().stream().anyMatch(attachment -> attachment instanceof TechAttachment)) {
+        gameDataChanged(aChange);
       }
-      tileManager.resetTiles(m_data, uiContext.getMapData());
-      SwingUtilities.invokeLater(() -> repaint());
     }
 
-    private void getPlayersWithTechChanges(final Change aChange, final Set<PlayerID> players) {
-      if (aChange instanceof CompositeChange) {
-        final CompositeChange composite = (CompositeChange) aChange;
-        for (final Change item : composite.getChanges()) {
-          getPlayersWithTechChanges(item, players);
-        }
-      } else {
-        if (aChange instanceof ChangeAttachmentChange) {
-          final ChangeAttachmentChange changeAttachment = (ChangeAttachmentChange) aChange;
-          if (changeAttachment.getAttachmentName().equals(Constants.TECH_ATTACHMENT_NAME)) {
-            players.add((PlayerID) changeAttachment.getAttachedTo());
-          }
-        }
-      }
+    @Override
+    public void gameDataChanged(final Change aChange) {
+      tileManager.resetTiles(m_data, uiContext.getMapData());
+      SwingUtilities.invokeLater(() -> repaint());
     }
   };
 
@@ -23,6 +23,7 @@ import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
 
+import games.strategy.engine.data.AffectedObjects;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -35,6 +36,7 @@ import games.strategy.engine.stats.IStat;
 import games.strategy.triplea.Constants;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.attachments.PlayerAttachment;
+import games.strategy.triplea.attachments.TechAttachment;
 import games.strategy.triplea.attachments.TerritoryAttachment;
 import games.strategy.triplea.delegate.BattleCalculator;
 import games.strategy.triplea.delegate.Matches;
@@ -222,6 +224,13 @@ public class StatPanel extends AbstractStatPanel {
       }
     }
 
+    @Override
+    public void gameDataChanged(final Change aChange, final AffectedObjects affected) {
+      if (!affected.isEmpty()) {
+        gameDataChanged(aChange);
+      }
+    }
+
     @Override
     public void gameDataChanged(final Change aChange) {
       synchronized (this) {
@@ -433,6 +442,14 @@ public class StatPanel extends AbstractStatPanel {
       return data.length;
     }
 
+    @Override
+    public void gameDataChanged(final Change aChange, final AffectedObjects affected) {
+      if (affected.getAttachments().stream().anyMatch(attachment -> attachment instanceof TechAttachment)
+          || !affected.getPlayers().isEmpty()) {
+        gameDataChanged(aChange);
+      }
+    }
+
     @Override
     public void gameDataChanged(final Change aChange) {
       isDirty = true;
@@ -1784,7 +1784,7 @@ public class TripleAFrame extends MainGameFrame {
         try {
           final File f = TripleAMenuBar.getSaveGameLocationDialog(TripleAFrame.this);
           if (f != null) {
-            try (FileOutputStream fout = new FileOutputStream(f)) {
+            try {
               final GameData datacopy = GameDataUtils.cloneGameData(data, true);
               datacopy.getHistory().gotoNode(historyPanel.getCurrentPopupNode());
               datacopy.getHistory().removeAllHistoryAfterNode(historyPanel.getCurrentPopupNode());
@@ -1813,7 +1813,7 @@ public class TripleAFrame extends MainGameFrame {
                 }
               }
               datacopy.getSequence().setRoundAndStep(round, stepDisplayName, currentPlayer);
-              new GameDataManager().saveGame(fout, datacopy);
+              new GameDataManager().saveGame(f, datacopy);
               JOptionPane.showMessageDialog(TripleAFrame.this, "Game Saved", "Game Saved",
                   JOptionPane.INFORMATION_MESSAGE);
             } catch (final IOException e) {
@@ -180,23 +180,32 @@ public class HistoryPanel extends JPanel {
     }
     final TreePath path = m_tree.getSelectionPath();
     final TreeNode selected = (TreeNode) path.getLastPathComponent();
-    @SuppressWarnings("unchecked")
-    final Enumeration<TreeNode> nodeEnum =
-        ((DefaultMutableTreeNode) m_tree.getModel().getRoot()).depthFirstEnumeration();
-    TreeNode previous = null;
-    while (nodeEnum.hasMoreElements()) {
-      final TreeNode current = nodeEnum.nextElement();
-      if (current == selected) {
-        break;
-      } else if (current.getParent() instanceof Step) {
-        previous = current;
-      }
+    // walk back from the selected node instead of over the whole tree, which would load every step
+    TreeNode previous = getPreviousInPostorder(selected);
+    while (previous != null && !(previous.getParent() instanceof Step)) {
+      previous = getPreviousInPostorder(previous);
     }
     if (previous != null) {
       navigateTo(previous);
     }
   }
 
+  /**
+   * @return the node before the given node in a depth first enumeration of the tree
+   */
+  private static TreeNode getPreviousInPostorder(final TreeNode node) {
+    if (node.getChildCount() > 0) {
+      return node.getChildAt(node.getChildCount() - 1);
+    }
+    for (TreeNode current = node; current != null; current = current.getParent()) {
+      final TreeNode sibling = ((DefaultMutableTreeNode) current).getPreviousSibling();
+      if (sibling != null) {
+        return sibling;
+      }
+    }
+    return null;
+  }
+
   private void navigateTo(final TreeNode target) {
     final TreeNode[] nodes = ((DefaultMutableTreeNode) target).getPath();
     final TreePath newPath = new TreePath(nodes);
@@ -223,20 +232,9 @@ public class HistoryPanel extends JPanel {
     }
     final TreePath path = m_tree.getSelectionPath();
     final TreeNode selected = (TreeNode) path.getLastPathComponent();
-    @SuppressWarnings("unchecked")
-    final Enumeration<TreeNode> nodeEnum = ((DefaultMutableTreeNode) m_tree.getModel().getRoot()).preorderEnumeration();
-    TreeNode next = null;
-    boolean foundSelected = false;
-    while (nodeEnum.hasMoreElements()) {
-      final TreeNode current = nodeEnum.nextElement();
-      if (current == selected) {
-        foundSelected = true;
-      } else if (foundSelected) {
-        if (current.getParent() instanceof Step) {
-          next = current;
-          break;
-        }
-      }
+    DefaultMutableTreeNode next = ((DefaultMutableTreeNode) selected).getNextNode();
+    while (next != null && !(next.getParent() instanceof Step)) {
+      next = next.getNextNode();
     }
     if (next != null) {
       navigateTo(next);
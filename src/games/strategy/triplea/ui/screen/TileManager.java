@@ -29,6 +29,8 @@ import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
+import games.strategy.thread.LockStatistics;
+import games.strategy.thread.LockUtil;
 import games.strategy.triplea.attachments.TerritoryAttachment;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
 import games.strategy.triplea.ui.IUIContext;
@@ -61,6 +63,8 @@ public class TileManager {
   private static final Logger s_logger = Logger.getLogger(TileManager.class.getName());
   public final static int TILE_SIZE = 256;
   private List<Tile> m_tiles = new ArrayList<>();
+  // shares the lock ordering checks with the tiles, but keeps its own contention statistics
+  private static final LockUtil s_lockUtil = new LockUtil(LockStatistics.get("TileManager"));
   private final Lock m_lock = new ReentrantLock();
   private final Map<String, IDrawable> m_territoryOverlays = new HashMap<>();
   // maps territoryname - collection of drawables
@@ -111,7 +115,7 @@ public class TileManager {
             (int) bounds.getWidth(), (int) bounds.getHeight());
       }
     }
-    Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+    s_lockUtil.acquireLock(m_lock);
     try {
       final List<Tile> rVal = new ArrayList<>();
       for (final Tile tile : m_tiles) {
@@ -138,21 +142,21 @@ public class TileManager {
       }
       return rVal;
     } finally {
-      Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+      s_lockUtil.releaseLock(m_lock);
     }
   }
 
   public Collection<UnitsDrawer> getUnitDrawables() {
-    Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+    s_lockUtil.acquireLock(m_lock);
     try {
       return new ArrayList<>(m_allUnitDrawables);
     } finally {
-      Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+      s_lockUtil.releaseLock(m_lock);
     }
   }
 
   public void createTiles(final Rectangle bounds, final GameData data, final MapData mapData) {
-    Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+    s_lockUtil.acquireLock(m_lock);
     try {
       // create our tiles
       m_tiles = new ArrayList<>();
@@ -163,14 +167,14 @@ public class TileManager {
         }
       }
     } finally {
-      Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+      s_lockUtil.releaseLock(m_lock);
     }
   }
 
   public void resetTiles(final GameData data, final MapData mapData) {
     data.acquireReadLock();
     try {
-      Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+      s_lockUtil.acquireLock(m_lock);
       try {
         final Iterator<Tile> allTiles = m_tiles.iterator();
         while (allTiles.hasNext()) {
@@ -199,7 +203,7 @@ public class TileManager {
           }
         }
       } finally {
-        Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+        s_lockUtil.releaseLock(m_lock);
       }
     } finally {
       data.releaseReadLock();
@@ -209,7 +213,7 @@ public class TileManager {
   public void updateTerritories(final Collection<Territory> territories, final GameData data, final MapData mapData) {
     data.acquireReadLock();
     try {
-      Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+      s_lockUtil.acquireLock(m_lock);
       try {
         if (territories == null) {
           return;
@@ -220,7 +224,7 @@ public class TileManager {
           updateTerritory(territory, data, mapData);
         }
       } finally {
-        Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+        s_lockUtil.releaseLock(m_lock);
       }
     } finally {
       data.releaseReadLock();
@@ -230,13 +234,13 @@ public class TileManager {
   public void updateTerritory(final Territory territory, final GameData data, final MapData mapData) {
     data.acquireReadLock();
     try {
-      Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+      s_lockUtil.acquireLock(m_lock);
       try {
         s_logger.log(Level.FINER, "Updating " + territory.getName());
         clearTerritory(territory);
         drawTerritory(territory, data, mapData);
       } finally {
-        Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+        s_lockUtil.releaseLock(m_lock);
       }
     } finally {
       data.releaseReadLock();
@@ -376,7 +380,7 @@ public class TileManager {
 
   private Image createTerritoryImage(final Territory selected, final Territory focusOn, final GameData data,
       final MapData mapData, final boolean drawOutline) {
-    Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+    s_lockUtil.acquireLock(m_lock);
     try {
       // make a square
       final Rectangle bounds = mapData.getBoundingRect(focusOn);
@@ -454,7 +458,7 @@ public class TileManager {
       graphics.dispose();
       return rVal;
     } finally {
-      Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+      s_lockUtil.releaseLock(m_lock);
     }
   }
 
@@ -516,7 +520,7 @@ public class TileManager {
     }
     data.acquireReadLock();
     try {
-      Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+      s_lockUtil.acquireLock(m_lock);
       try {
         for (final UnitsDrawer drawer : m_allUnitDrawables) {
           final List<Unit> drawerUnits = drawer.getUnits(data).getSecond();
@@ -529,7 +533,7 @@ public class TileManager {
         }
         return null;
       } finally {
-        Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+        s_lockUtil.releaseLock(m_lock);
       }
     } finally {
       data.releaseReadLock();
@@ -539,7 +543,7 @@ public class TileManager {
   public Tuple<Territory, List<Unit>> getUnitsAtPoint(final double x, final double y, final GameData gameData) {
     gameData.acquireReadLock();
     try {
-      Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+      s_lockUtil.acquireLock(m_lock);
       try {
         for (final UnitsDrawer drawer : m_allUnitDrawables) {
           final Point placementPoint = drawer.getPlacementPoint();
@@ -551,7 +555,7 @@ public class TileManager {
         }
         return null;
       } finally {
-        Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+        s_lockUtil.releaseLock(m_lock);
       }
     } finally {
       gameData.releaseReadLock();
@@ -560,34 +564,34 @@ public class TileManager {
 
   public void setTerritoryOverlay(final Territory territory, final Color color, final int alpha, final GameData data,
       final MapData mapData) {
-    Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+    s_lockUtil.acquireLock(m_lock);
     try {
       final IDrawable drawable = new TerritoryOverLayDrawable(color, territory.getName(), alpha, OP.DRAW);
       m_territoryOverlays.put(territory.getName(), drawable);
     } finally {
-      Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+      s_lockUtil.releaseLock(m_lock);
     }
     updateTerritory(territory, data, mapData);
   }
 
   public void setTerritoryOverlayForBorder(final Territory territory, final Color color, final GameData data,
       final MapData mapData) {
-    Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+    s_lockUtil.acquireLock(m_lock);
     try {
       final IDrawable drawable = new TerritoryOverLayDrawable(color, territory.getName(), OP.DRAW);
       m_territoryOverlays.put(territory.getName(), drawable);
     } finally {
-      Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+      s_lockUtil.releaseLock(m_lock);
     }
     updateTerritory(territory, data, mapData);
   }
 
   public void clearTerritoryOverlay(final Territory territory, final GameData data, final MapData mapData) {
-    Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
+    s_lockUtil.acquireLock(m_lock);
     try {
       m_territoryOverlays.remove(territory.getName());
     } finally {
-      Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
+      s_lockUtil.releaseLock(m_lock);
     }
     updateTerritory(territory, data, mapData);
   }
@@ -1,36 +1,72 @@
 package games.strategy.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.ObjIntConsumer;
 
 /**
  * A utility class for mapping Objects to ints. <br>
  * Supports adding and comparing of maps.
+ * <p>
+ * The ints are kept unboxed: keys and values are held in two arrays in insertion order (removing a key moves the last
+ * entry into its place), and an open addressing table with linear probing finds the index of a key. Use
+ * {@link #forEach(ObjIntConsumer)} to go over the entries without boxing, the keySet, values and entrySet views box.
+ * <p>
+ * The serialized form is the one of the HashMap based map this class used to be, so saved games can be read both
+ * ways.
  */
 public class IntegerMap<T> implements Cloneable, Serializable {
   private static final long serialVersionUID = 6856531659284300930L;
-  private final HashMap<T, Integer> mapValues;
+  private static final ObjectStreamField[] serialPersistentFields =
+      {new ObjectStreamField("mapValues", HashMap.class)};
+  private static final Object[] EMPTY_KEYS = {};
+  private static final int[] EMPTY_VALUES = {};
+  // a table with one empty slot, so that lookups in an empty map need no special case
+  private static final int[] EMPTY_TABLE = {0};
+
+  // the first size entries are used
+  private transient Object[] keys;
+  private transient int[] values;
+  private transient int size;
+  // index into keys + 1 by slot, 0 for an empty slot. Twice as long as keys, so it is at most half full.
+  private transient int[] table;
+  // changed when a key is added or removed, so the views can fail fast like the HashMap ones did
+  private transient int modCount;
 
   /** Creates new IntegerMap */
   public IntegerMap() {
-    mapValues = new HashMap<>();
+    this(0);
   }
 
   public IntegerMap(final int size) {
-    mapValues = new HashMap<>(size);
+    init(size);
   }
 
+  /**
+   * The load factor is ignored, the map keeps its table at most half full.
+   */
   public IntegerMap(final int size, final float loadFactor) {
-    mapValues = new HashMap<>(size, loadFactor);
+    this(size);
   }
 
   public IntegerMap(final T object, final int value) {
-    this();
+    this(1);
     add(object, value);
   }
 
@@ -46,10 +82,10 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @param integerMap
    */
   public IntegerMap(final IntegerMap<T> integerMap) {
-    mapValues = new HashMap<>(integerMap.size());
-    for (final T t : integerMap.keySet()) {
-      mapValues.put(t, integerMap.getInt(t));
-    }
+    keys = Arrays.copyOf(integerMap.keys, integerMap.keys.length);
+    values = Arrays.copyOf(integerMap.values, integerMap.values.length);
+    table = Arrays.copyOf(integerMap.table, integerMap.table.length);
+    size = integerMap.size;
   }
 
   /**
@@ -59,18 +95,146 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @param integerMaps
    */
   public IntegerMap(final IntegerMap<T>[] integerMaps) {
-    mapValues = new HashMap<>();
+    this();
     for (final IntegerMap<T> integerMap : integerMaps) {
       this.add(integerMap);
     }
   }
 
+  private void init(final int capacity) {
+    size = 0;
+    if (capacity <= 0) {
+      keys = EMPTY_KEYS;
+      values = EMPTY_VALUES;
+      table = EMPTY_TABLE;
+    } else {
+      final int length = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+      keys = new Object[length];
+      values = new int[length];
+      table = new int[length * 2];
+    }
+  }
+
+  private static int slot(final Object key, final int mask) {
+    final int hash = (key == null ? 0 : key.hashCode()) * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  /**
+   * @return the index of the key in keys, or -1 if it is not mapped.
+   */
+  private int indexOf(final Object key) {
+    final int[] table = this.table;
+    final int mask = table.length - 1;
+    for (int slot = slot(key, mask);; slot = (slot + 1) & mask) {
+      final int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      final Object current = keys[entry - 1];
+      if (current == key || (key != null && key.equals(current))) {
+        return entry - 1;
+      }
+    }
+  }
+
+  /**
+   * @return the index of the key in keys, mapping it to 0 if it is not mapped yet.
+   */
+  private int indexOrInsert(final T key) {
+    final int index = indexOf(key);
+    if (index >= 0) {
+      return index;
+    }
+    if (size == keys.length) {
+      grow();
+    }
+    final int mask = table.length - 1;
+    int slot = slot(key, mask);
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    keys[size] = key;
+    values[size] = 0;
+    table[slot] = ++size;
+    modCount++;
+    return size - 1;
+  }
+
+  private void grow() {
+    final int length = Math.max(keys.length * 2, 4);
+    keys = Arrays.copyOf(keys, length);
+    values = Arrays.copyOf(values, length);
+    table = new int[length * 2];
+    final int mask = table.length - 1;
+    for (int i = 0; i < size; i++) {
+      int slot = slot(keys[i], mask);
+      while (table[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = i + 1;
+    }
+  }
+
+  private int slotOf(final int index) {
+    final int mask = table.length - 1;
+    int slot = slot(keys[index], mask);
+    while (table[slot] != index + 1) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void removeAt(final int index) {
+    final int mask = table.length - 1;
+    // close the gap in the probe sequence, moving back the entries that can not be found past an empty slot
+    int hole = slotOf(index);
+    for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+      final int home = slot(keys[table[next] - 1], mask);
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        table[hole] = table[next];
+        hole = next;
+      }
+    }
+    table[hole] = 0;
+    final int last = size - 1;
+    if (index != last) {
+      table[slotOf(last)] = index + 1;
+      keys[index] = keys[last];
+      values[index] = values[last];
+    }
+    keys[last] = null;
+    size = last;
+    modCount++;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T keyAt(final int index) {
+    return (T) keys[index];
+  }
+
+  /**
+   * Calls the action for each key and its value, without boxing the values or creating entries.
+   * The map must not be changed by the action, other than putting new values for keys that are already mapped.
+   */
+  public void forEach(final ObjIntConsumer<? super T> action) {
+    final int expectedModCount = modCount;
+    for (int i = 0; i < size; i++) {
+      action.accept(keyAt(i), values[i]);
+    }
+    if (modCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
   public int size() {
-    return mapValues.size();
+    return size;
   }
 
   public void put(final T key, final int value) {
-    mapValues.put(key, value);
+    // find the index first, inserting may replace the values array
+    final int index = indexOrInsert(key);
+    values[index] = value;
   }
 
   public void putAll(final Collection<T> keys, final int value) {
@@ -90,20 +254,13 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * returns 0 if no key found.
    */
   public int getInt(final T key) {
-    if (!mapValues.containsKey(key)) {
-      return 0;
-    }
-    return mapValues.get(key);
+    final int index = indexOf(key);
+    return index < 0 ? 0 : values[index];
   }
 
   public void add(final T key, final int value) {
-    if (mapValues.get(key) == null) {
-      put(key, value);
-    } else {
-      final int oldVal = mapValues.get(key);
-      final int newVal = oldVal + value;
-      put(key, newVal);
-    }
+    final int index = indexOrInsert(key);
+    values[index] += value;
   }
 
   /**
@@ -116,8 +273,8 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    *        (1 = floor, 2 = round, 3 = ceil)
    */
   public void multiplyAllValuesBy(final double multiplyBy, final int RoundType) {
-    for (final T t : keySet()) {
-      double val = mapValues.get(t);
+    for (int i = 0; i < size; i++) {
+      double val = values[i];
       switch (RoundType) {
         case 1:
           val = Math.floor(val * multiplyBy);
@@ -132,20 +289,23 @@ public class IntegerMap<T> implements Cloneable, Serializable {
           val = val * multiplyBy;
           break;
       }
-      put(t, (int) val);
+      values[i] = (int) val;
     }
   }
 
   public void clear() {
-    mapValues.clear();
+    if (size > 0) {
+      init(0);
+      modCount++;
+    }
   }
 
   public Set<T> keySet() {
-    return mapValues.keySet();
+    return new KeySet();
   }
 
   public Collection<Integer> values() {
-    return mapValues.values();
+    return new Values();
   }
 
   /**
@@ -154,16 +314,10 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @return true if at least one value and all values are the same.
    */
   public boolean allValuesAreSame() {
-    if (mapValues.isEmpty()) {
+    if (size == 0) {
       return false;
     }
-    final int first = mapValues.values().iterator().next();
-    for (final int value : mapValues.values()) {
-      if (first != value) {
-        return false;
-      }
-    }
-    return true;
+    return allValuesEqual(values[0]);
   }
 
   /**
@@ -172,11 +326,11 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @return true if all values are equal to the given integer.
    */
   public boolean allValuesEqual(final int integer) {
-    if (mapValues.isEmpty()) {
+    if (size == 0) {
       return false;
     }
-    for (final int value : mapValues.values()) {
-      if (integer != value) {
+    for (int i = 0; i < size; i++) {
+      if (integer != values[i]) {
         return false;
       }
     }
@@ -187,14 +341,12 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Will return zero if empty.
    */
   public int highestValue() {
-    if (mapValues.isEmpty()) {
+    if (size == 0) {
       return 0;
     }
     int max = Integer.MIN_VALUE;
-    for (final int value : mapValues.values()) {
-      if (value > max) {
-        max = value;
-      }
+    for (int i = 0; i < size; i++) {
+      max = Math.max(max, values[i]);
     }
     return max;
   }
@@ -203,14 +355,12 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Will return zero if empty.
    */
   public int lowestValue() {
-    if (mapValues.isEmpty()) {
+    if (size == 0) {
       return 0;
     }
     int min = Integer.MAX_VALUE;
-    for (final int value : mapValues.values()) {
-      if (value < min) {
-        min = value;
-      }
+    for (int i = 0; i < size; i++) {
+      min = Math.min(min, values[i]);
     }
     return min;
   }
@@ -219,15 +369,15 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Will return null if empty.
    */
   public T highestKey() {
-    if (mapValues.isEmpty()) {
+    if (size == 0) {
       return null;
     }
     int max = Integer.MIN_VALUE;
     T rVal = null;
-    for (final Entry<T, Integer> entry : mapValues.entrySet()) {
-      if (entry.getValue() > max) {
-        max = entry.getValue();
-        rVal = entry.getKey();
+    for (int i = 0; i < size; i++) {
+      if (values[i] > max) {
+        max = values[i];
+        rVal = keyAt(i);
       }
     }
     return rVal;
@@ -237,15 +387,15 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Will return null if empty.
    */
   public T lowestKey() {
-    if (mapValues.isEmpty()) {
+    if (size == 0) {
       return null;
     }
     int min = Integer.MAX_VALUE;
     T rVal = null;
-    for (final Entry<T, Integer> entry : mapValues.entrySet()) {
-      if (entry.getValue() < min) {
-        min = entry.getValue();
-        rVal = entry.getKey();
+    for (int i = 0; i < size; i++) {
+      if (values[i] < min) {
+        min = values[i];
+        rVal = keyAt(i);
       }
     }
     return rVal;
@@ -256,22 +406,18 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    */
   public int totalValues() {
     int sum = 0;
-    for (final int value : mapValues.values()) {
-      sum += value;
+    for (int i = 0; i < size; i++) {
+      sum += values[i];
     }
     return sum;
   }
 
   public void add(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      add(key, map.getInt(key));
-    }
+    addMultiple(map, 1);
   }
 
   public void subtract(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      add(key, -map.getInt(key));
-    }
+    addMultiple(map, -1);
   }
 
   /**
@@ -283,8 +429,8 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * that a and b are not equal.
    */
   public boolean greaterThanOrEqualTo(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      if (!(this.getInt(key) >= map.getInt(key))) {
+    for (int i = 0; i < map.size; i++) {
+      if (!(this.getInt(map.keyAt(i)) >= map.values[i])) {
         return false;
       }
     }
@@ -295,8 +441,8 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * True if all values are >= 0.
    */
   public boolean isPositive() {
-    for (final T key : mapValues.keySet()) {
-      if (getInt(key) < 0) {
+    for (int i = 0; i < size; i++) {
+      if (values[i] < 0) {
         return false;
       }
     }
@@ -304,9 +450,7 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public IntegerMap<T> copy() {
-    final IntegerMap<T> copy = new IntegerMap<>();
-    copy.add(this);
-    return copy;
+    return new IntegerMap<>(this);
   }
 
   @Override
@@ -318,14 +462,16 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Add map * multiple
    */
   public void addMultiple(final IntegerMap<T> map, final int multiple) {
-    for (final T key : map.keySet()) {
-      add(key, map.getInt(key) * multiple);
+    // the map may be this one, read its size once
+    final int mapSize = map.size;
+    for (int i = 0; i < mapSize; i++) {
+      add(map.keyAt(i), map.values[i] * multiple);
     }
   }
 
   public boolean someKeysMatch(final Match<T> matcher) {
-    for (final T obj : mapValues.keySet()) {
-      if (matcher.match(obj)) {
+    for (int i = 0; i < size; i++) {
+      if (matcher.match(keyAt(i))) {
         return true;
       }
     }
@@ -333,8 +479,8 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public boolean allKeysMatch(final Match<T> matcher) {
-    for (final T obj : mapValues.keySet()) {
-      if (!matcher.match(obj)) {
+    for (int i = 0; i < size; i++) {
+      if (!matcher.match(keyAt(i))) {
         return false;
       }
     }
@@ -343,9 +489,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
 
   public Collection<T> getKeyMatches(final Match<T> matcher) {
     final Collection<T> values = new ArrayList<>();
-    for (final T obj : mapValues.keySet()) {
-      if (matcher.match(obj)) {
-        values.add(obj);
+    for (int i = 0; i < size; i++) {
+      if (matcher.match(keyAt(i))) {
+        values.add(keyAt(i));
       }
     }
     return values;
@@ -353,9 +499,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
 
   public int sumMatches(final Match<T> matcher) {
     int sum = 0;
-    for (final T obj : mapValues.keySet()) {
-      if (matcher.match(obj)) {
-        sum += getInt(obj);
+    for (int i = 0; i < size; i++) {
+      if (matcher.match(keyAt(i))) {
+        sum += values[i];
       }
     }
     return sum;
@@ -372,7 +518,10 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public void removeKey(final T key) {
-    mapValues.remove(key);
+    final int index = indexOf(key);
+    if (index >= 0) {
+      removeAt(index);
+    }
   }
 
   private void removeKeys(final Collection<T> keys) {
@@ -382,35 +531,40 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public boolean containsKey(final T key) {
-    return mapValues.containsKey(key);
+    return indexOf(key) >= 0;
   }
 
   public boolean isEmpty() {
-    return mapValues.isEmpty();
+    return size == 0;
   }
 
   public Set<Entry<T, Integer>> entrySet() {
-    return mapValues.entrySet();
+    return new EntrySet();
   }
 
   @Override
   public String toString() {
     final StringBuilder buf = new StringBuilder();
     buf.append("IntegerMap:\n");
-    final Iterator<T> iter = mapValues.keySet().iterator();
-    if (!iter.hasNext()) {
+    if (size == 0) {
       buf.append("empty\n");
     }
-    while (iter.hasNext()) {
-      final T current = iter.next();
-      buf.append(current).append(" -> ").append(getInt(current)).append("\n");
+    for (int i = 0; i < size; i++) {
+      buf.append(keys[i]).append(" -> ").append(values[i]).append("\n");
     }
     return buf.toString();
   }
 
+  /**
+   * The same hash code the HashMap of the entries has.
+   */
   @Override
   public int hashCode() {
-    return mapValues.hashCode();
+    int hash = 0;
+    for (int i = 0; i < size; i++) {
+      hash += (keys[i] == null ? 0 : keys[i].hashCode()) ^ values[i];
+    }
+    return hash;
   }
 
   /**
@@ -428,17 +582,178 @@ public class IntegerMap<T> implements Cloneable, Serializable {
       return false;
     }
     final IntegerMap<T> map = (IntegerMap<T>) o;
-    if (!map.keySet().equals(this.keySet())) {
-      return false;
-    }
-    if (!map.mapValues.equals(this.mapValues)) {
+    if (map.size != size) {
       return false;
     }
-    for (final T key : map.keySet()) {
-      if (!(this.getInt(key) == map.getInt(key))) {
+    for (int i = 0; i < size; i++) {
+      final int index = map.indexOf(keys[i]);
+      if (index < 0 || map.values[index] != values[i]) {
         return false;
       }
     }
     return true;
   }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    final HashMap<T, Integer> mapValues = new HashMap<>(size * 4 / 3 + 1);
+    for (int i = 0; i < size; i++) {
+      // not Integer.valueOf, a cached Integer would be written as a reference to wherever else it was written,
+      // and the stream would depend on whether the map was built by a copy or by reading a stream
+      mapValues.put(keyAt(i), new Integer(values[i]));
+    }
+    out.putFields().put("mapValues", mapValues);
+    out.writeFields();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    final Map<T, Integer> mapValues = (Map<T, Integer>) in.readFields().get("mapValues", null);
+    init(mapValues == null ? 0 : mapValues.size());
+    if (mapValues != null) {
+      for (final Entry<T, Integer> entry : mapValues.entrySet()) {
+        put(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Goes over the indices of the entries, removing moves the last entry into the removed one's place.
+   */
+  private abstract class IndexIterator<E> implements Iterator<E> {
+    private int next = 0;
+    private int current = -1;
+    private int expectedModCount = modCount;
+
+    abstract E get(int index);
+
+    @Override
+    public boolean hasNext() {
+      return next < size;
+    }
+
+    @Override
+    public E next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (next >= size) {
+        throw new NoSuchElementException();
+      }
+      current = next++;
+      return get(current);
+    }
+
+    @Override
+    public void remove() {
+      if (current < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      removeAt(current);
+      expectedModCount = modCount;
+      // the last entry took the removed one's place
+      next = current;
+      current = -1;
+    }
+  }
+
+  private final class KeySet extends AbstractSet<T> {
+    @Override
+    public Iterator<T> iterator() {
+      return new IndexIterator<T>() {
+        @Override
+        T get(final int index) {
+          return keyAt(index);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+      return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+      final int index = indexOf(o);
+      if (index < 0) {
+        return false;
+      }
+      removeAt(index);
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      IntegerMap.this.clear();
+    }
+  }
+
+  private final class Values extends AbstractCollection<Integer> {
+    @Override
+    public Iterator<Integer> iterator() {
+      return new IndexIterator<Integer>() {
+        @Override
+        Integer get(final int index) {
+          return values[index];
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void clear() {
+      IntegerMap.this.clear();
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<T, Integer>> {
+    @Override
+    public Iterator<Entry<T, Integer>> iterator() {
+      return new IndexIterator<Entry<T, Integer>>() {
+        @Override
+        Entry<T, Integer> get(final int index) {
+          return new WriteThroughEntry(keyAt(index), values[index]);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void clear() {
+      IntegerMap.this.clear();
+    }
+  }
+
+  /**
+   * An entry whose setValue puts the value in the map.
+   */
+  private final class WriteThroughEntry extends AbstractMap.SimpleEntry<T, Integer> {
+    private static final long serialVersionUID = -1598925734384547337L;
+
+    WriteThroughEntry(final T key, final int value) {
+      super(key, value);
+    }
+
+    @Override
+    public Integer setValue(final Integer value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
 }
@@ -0,0 +1,172 @@
+package games.strategy.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The java bean style property accessors of a class, looked up once and kept as method handles.
+ * <p>
+ * Setters are found by name ("set" + property name), preferring the one that takes exactly the class of the value and
+ * otherwise taking the first public method of that name, resetters by name ("reset" + property name) and fields by
+ * name ("m_" + property name, or the property name) in the class or its super classes.
+ * <p>
+ * Handles are adapted to take and return Object, so they can be called with invokeExact without knowing the class.
+ */
+public final class PropertyAccessors {
+  private static final ClassValue<PropertyAccessors> s_accessors = new ClassValue<PropertyAccessors>() {
+    @Override
+    protected PropertyAccessors computeValue(final Class<?> type) {
+      return new PropertyAccessors(type);
+    }
+  };
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+  private static final MethodType RESETTER_TYPE = MethodType.methodType(void.class, Object.class);
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  // stands for a null value, which can not be a key
+  private static final Class<?> NULL_VALUE = Void.class;
+
+  private final Class<?> m_type;
+  // property name -> value class -> setter
+  private final Map<String, Map<Class<?>, MethodHandle>> m_setters = new ConcurrentHashMap<>();
+  private final Map<String, Optional<MethodHandle>> m_stringSetters = new ConcurrentHashMap<>();
+  private final Map<String, MethodHandle> m_resetters = new ConcurrentHashMap<>();
+  private final Map<String, MethodHandle> m_fieldGetters = new ConcurrentHashMap<>();
+
+  private PropertyAccessors(final Class<?> type) {
+    m_type = type;
+  }
+
+  /**
+   * @return the accessors of the given class.
+   */
+  public static PropertyAccessors of(final Class<?> type) {
+    return s_accessors.get(type);
+  }
+
+  /**
+   * @param value
+   *        the value that will be set, picks the setter if there are several
+   * @return the setter of the property, taking (subject, value)
+   * @throws IllegalStateException
+   *         if there is no setter of that name, or it does not take one argument
+   */
+  public MethodHandle getSetter(final String propertyName, final Object value) {
+    final Map<Class<?>, MethodHandle> setters =
+        m_setters.computeIfAbsent(propertyName, name -> new ConcurrentHashMap<>());
+    final Class<?> valueType = value == null ? NULL_VALUE : value.getClass();
+    MethodHandle setter = setters.get(valueType);
+    if (setter == null) {
+      setter = adapt(findSetter(propertyName, value), SETTER_TYPE);
+      setters.put(valueType, setter);
+    }
+    return setter;
+  }
+
+  /**
+   * @return the public setter of the property that takes a String, or null if there is none.
+   */
+  public MethodHandle getStringSetter(final String propertyName) {
+    return m_stringSetters.computeIfAbsent(propertyName, name -> {
+      try {
+        return Optional.of(adapt(m_type.getMethod("set" + capitalizeFirstLetter(name), String.class), SETTER_TYPE));
+      } catch (final NoSuchMethodException e) {
+        return Optional.empty();
+      }
+    }).orElse(null);
+  }
+
+  /**
+   * @return the resetter of the property, taking (subject)
+   * @throws IllegalStateException
+   *         if there is no resetter of that name, or it takes arguments
+   */
+  public MethodHandle getResetter(final String propertyName) {
+    MethodHandle resetter = m_resetters.get(propertyName);
+    if (resetter == null) {
+      resetter = adapt(findMethod("reset" + capitalizeFirstLetter(propertyName)), RESETTER_TYPE);
+      m_resetters.put(propertyName, resetter);
+    }
+    return resetter;
+  }
+
+  /**
+   * @return a getter of the field backing the property, taking (subject) and returning the field value
+   * @throws IllegalStateException
+   *         if there is no such field
+   */
+  public MethodHandle getFieldGetter(final String propertyName) {
+    MethodHandle getter = m_fieldGetters.get(propertyName);
+    if (getter == null) {
+      Field field = findField("m_" + propertyName);
+      if (field == null) {
+        field = findField(propertyName);
+      }
+      if (field == null) {
+        throw new IllegalStateException("No such Property Field named: " + "m_" + propertyName + ", or: "
+            + propertyName + ", for: " + m_type.getName());
+      }
+      field.setAccessible(true);
+      try {
+        getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+      } catch (final IllegalAccessException e) {
+        throw new IllegalStateException("Can not read field: " + field, e);
+      }
+      m_fieldGetters.put(propertyName, getter);
+    }
+    return getter;
+  }
+
+  private Method findSetter(final String propertyName, final Object value) {
+    final String setterName = "set" + capitalizeFirstLetter(propertyName);
+    final Method first = findMethod(setterName);
+    if (value != null) {
+      try {
+        return m_type.getMethod(setterName, value.getClass());
+      } catch (final NoSuchMethodException e) {
+        // Go ahead and try the first one
+      }
+    }
+    return first;
+  }
+
+  private Method findMethod(final String name) {
+    for (final Method m : m_type.getMethods()) {
+      if (m.getName().equals(name)) {
+        return m;
+      }
+    }
+    throw new IllegalStateException("No method called:" + name + " on:" + m_type.getName());
+  }
+
+  private Field findField(final String name) {
+    for (Class<?> c = m_type; c != null; c = c.getSuperclass()) {
+      try {
+        return c.getDeclaredField(name);
+      } catch (final NoSuchFieldException e) {
+        // try the super class
+      }
+    }
+    return null;
+  }
+
+  private static MethodHandle adapt(final Method method, final MethodType type) {
+    method.setAccessible(true);
+    try {
+      return MethodHandles.lookup().unreflect(method).asType(type);
+    } catch (final IllegalAccessException | RuntimeException e) {
+      throw new IllegalStateException("Can not call " + method + " as " + type, e);
+    }
+  }
+
+  private static String capitalizeFirstLetter(final String aString) {
+    char first = aString.charAt(0);
+    first = Character.toUpperCase(first);
+    return first + aString.substring(1);
+  }
+}
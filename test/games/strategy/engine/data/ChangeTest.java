@@ -11,14 +11,18 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.data.events.GameDataChangeListener;
 import games.strategy.triplea.Constants;
 
 public class ChangeTest {
@@ -164,6 +168,35 @@ public class ChangeTest {
     assertEquals(greenland.getUnits().getUnitCount(), 0);
   }
 
+  @Test
+  public void testPerformChangesNotifiesOnce() {
+    final Territory canada = m_data.getMap().getTerritory("canada");
+    final Territory greenland = m_data.getMap().getTerritory("greenland");
+    final PlayerID chretian = m_data.getPlayerList().getPlayerID("chretian");
+    final List<AffectedObjects> notifications = new ArrayList<>();
+    m_data.addDataChangeListener(new GameDataChangeListener() {
+      @Override
+      public void gameDataChanged(final Change aChange) {
+        throw new AssertionError("should be notified with the affected objects");
+      }
+
+      @Override
+      public void gameDataChanged(final Change aChange, final AffectedObjects affected) {
+        notifications.add(affected);
+      }
+    });
+    final Collection<Unit> units =
+        canada.getUnits().getUnits(m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INF), 3);
+    final Collection<Unit> added = m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INF).create(2, null);
+    m_data.performChanges(Arrays.asList(ChangeFactory.moveUnits(canada, greenland, units),
+        ChangeFactory.addUnits(chretian, added)));
+    assertEquals(1, notifications.size());
+    assertEquals(new HashSet<>(Arrays.asList(canada, greenland)), notifications.get(0).getTerritories());
+    assertEquals(Collections.singleton(chretian), notifications.get(0).getPlayers());
+    assertEquals(2, canada.getUnits().getUnitCount());
+    assertEquals(12, chretian.getUnits().getUnitCount());
+  }
+
   @Test
   public void testProductionFrontierChange() {
     final PlayerID can = m_data.getPlayerList().getPlayerID("chretian");
@@ -0,0 +1,95 @@
+package games.strategy.engine.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import games.strategy.engine.framework.GameDataManager;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+/**
+ * Compares GameDataCopier against the serialization round trip that GameDataUtils.cloneGameData used to do.
+ * Not a unit test, run the main method manually:
+ * average time and allocated bytes per clone are printed for each of the large test maps, and the retained size per
+ * clone: how much the used heap after a full gc grows with {@link #RETAINED_CLONES} clones alive. Allocation counts
+ * everything a clone creates, the retained size only what the clone keeps, so only the retained size shows what
+ * sharing the static data between copies saves.
+ */
+public class GameDataCopierBenchmark {
+  private static final int WARMUP_ITERATIONS = 5;
+  private static final int ITERATIONS = 20;
+  private static final int RETAINED_CLONES = 20;
+
+  private interface Cloner {
+    GameData cloneGameData(GameData data) throws IOException;
+  }
+
+  public static void main(final String[] args) throws Exception {
+    for (final TestMapXml map : new TestMapXml[] {TestMapXml.BIG_WORLD_1942, TestMapXml.GLOBAL1940,
+        TestMapXml.WW2V3_1941}) {
+      final GameData data = LoadGameUtil.loadTestGame(map);
+      System.out.println(map);
+      run("  serialization", data, GameDataCopierBenchmark::cloneBySerialization);
+      run("  copier       ", data, original -> GameDataCopier.copy(original, false));
+    }
+  }
+
+  private static GameData cloneBySerialization(final GameData data) throws IOException {
+    final GameDataManager manager = new GameDataManager();
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream(10000);
+    manager.saveGame(sink, data, false);
+    return manager.loadGame(new ByteArrayInputStream(sink.toByteArray()), null);
+  }
+
+  private static void run(final String name, final GameData data, final Cloner cloner) {
+    try {
+      for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+        cloner.cloneGameData(data);
+      }
+      final long startBytes = allocatedBytes();
+      final long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++) {
+        cloner.cloneGameData(data);
+      }
+      final long micros = (System.nanoTime() - start) / 1000 / ITERATIONS;
+      final long kilobytes = (allocatedBytes() - startBytes) / 1024 / ITERATIONS;
+      final List<GameData> clones = new ArrayList<>(RETAINED_CLONES);
+      final long startHeap = usedHeapAfterGc();
+      for (int i = 0; i < RETAINED_CLONES; i++) {
+        clones.add(cloner.cloneGameData(data));
+      }
+      final long retainedKilobytes = (usedHeapAfterGc() - startHeap) / 1024 / clones.size();
+      System.out.println(name + ": " + (micros / 1000.0) + " ms, " + kilobytes + " KB allocated, "
+          + retainedKilobytes + " KB retained per clone");
+    } catch (final IOException | RuntimeException e) {
+      System.out.println(name + ": failed, " + e);
+    }
+  }
+
+  private static long usedHeapAfterGc() {
+    final Runtime runtime = Runtime.getRuntime();
+    long used = Long.MAX_VALUE;
+    // a few rounds, until a gc does not free anything more
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+      final long afterGc = runtime.totalMemory() - runtime.freeMemory();
+      if (afterGc >= used) {
+        break;
+      }
+      used = afterGc;
+    }
+    return used;
+  }
+
+  private static long allocatedBytes() {
+    final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return 0;
+  }
+}
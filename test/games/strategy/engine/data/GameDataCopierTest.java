@@ -0,0 +1,320 @@
+package games.strategy.engine.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.framework.GameDataManager;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+import games.strategy.util.IntegerMap;
+
+public class GameDataCopierTest {
+
+  private static byte[] save(final GameData data, final boolean saveDelegates) throws Exception {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    new GameDataManager().saveGame(sink, data, saveDelegates);
+    return sink.toByteArray();
+  }
+
+  private static GameData cloneBySerialization(final GameData data, final boolean copyDelegates) throws Exception {
+    return new GameDataManager().loadGame(new ByteArrayInputStream(save(data, copyDelegates)), null);
+  }
+
+  private static void assertSameAsSerializationClone(final GameData data, final boolean copyDelegates)
+      throws Exception {
+    new GraphComparison().assertSameGraph(cloneBySerialization(data, copyDelegates),
+        GameDataCopier.copy(data, copyDelegates));
+  }
+
+  /**
+   * Walks two object graphs side by side over the fields serialization writes, and asserts they hold the same values
+   * and share their objects the same way. Sets and maps are matched by key rather than by their table layout, which
+   * depends on how a collection was built.
+   */
+  private static final class GraphComparison {
+    private static final Object NULL_KEY = new Object();
+    private final Map<Object, Object> paired = new IdentityHashMap<>();
+    private final Map<Object, Object> pairedActual = new IdentityHashMap<>();
+    private final Deque<Object[]> pending = new ArrayDeque<>();
+
+    void assertSameGraph(final Object expected, final Object actual) throws IllegalAccessException {
+      pair(expected, actual, "data");
+      while (!pending.isEmpty()) {
+        final Object[] next = pending.poll();
+        compareContents(next[0], next[1], (String) next[2]);
+      }
+    }
+
+    private static boolean isValue(final Object object) {
+      return object instanceof Enum || (object.getClass().getName().startsWith("java.")
+          && !(object instanceof Collection) && !(object instanceof Map) && !object.getClass().isArray()
+          && overridesEquals(object.getClass()));
+    }
+
+    private static boolean overridesEquals(final Class<?> type) {
+      try {
+        return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+      } catch (final NoSuchMethodException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    private void pair(final Object expected, final Object actual, final String path) {
+      if (expected == null || actual == null) {
+        assertSame(path, expected, actual);
+        return;
+      }
+      assertEquals(path, expected.getClass(), actual.getClass());
+      if (isValue(expected)) {
+        assertEquals(path, expected, actual);
+        return;
+      }
+      final Object pairedWith = paired.get(expected);
+      if (pairedWith != null) {
+        assertSame(path, pairedWith, actual);
+        return;
+      }
+      assertNull(path + " is already another object", pairedActual.get(actual));
+      paired.put(expected, actual);
+      pairedActual.put(actual, expected);
+      pending.add(new Object[] {expected, actual, path});
+    }
+
+    private void compareContents(final Object expected, final Object actual, final String path)
+        throws IllegalAccessException {
+      if (expected.getClass().isArray()) {
+        assertEquals(path, Array.getLength(expected), Array.getLength(actual));
+        for (int i = 0; i < Array.getLength(expected); i++) {
+          pair(Array.get(expected, i), Array.get(actual, i), path + "[" + i + "]");
+        }
+      } else if (expected instanceof IntegerMap) {
+        final IntegerMap<?> expectedMap = (IntegerMap<?>) expected;
+        assertEquals(path, expectedMap, actual);
+        pairByKey(new ArrayList<>(expectedMap.keySet()), new ArrayList<>(((IntegerMap<?>) actual).keySet()), path);
+      } else if (expected instanceof Map) {
+        final Map<?, ?> expectedMap = (Map<?, ?>) expected;
+        final Map<?, ?> actualMap = (Map<?, ?>) actual;
+        assertEquals(path, expectedMap.size(), actualMap.size());
+        final Map<Object, Object> keys = pairByKey(expectedMap.keySet(), actualMap.keySet(), path);
+        for (final Entry<?, ?> entry : expectedMap.entrySet()) {
+          pair(entry.getValue(), actualMap.get(keys.get(entry.getKey())), path + "{" + entry.getKey() + "}");
+        }
+      } else if (expected instanceof Set) {
+        pairByKey((Set<?>) expected, (Set<?>) actual, path);
+      } else if (expected instanceof Collection) {
+        assertEquals(path, ((Collection<?>) expected).size(), ((Collection<?>) actual).size());
+        final Iterator<?> actualElements = ((Collection<?>) actual).iterator();
+        int i = 0;
+        for (final Object element : (Collection<?>) expected) {
+          pair(element, actualElements.next(), path + "[" + i++ + "]");
+        }
+      } else {
+        for (Class<?> type = expected.getClass(); type != null; type = type.getSuperclass()) {
+          for (final Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+              continue;
+            }
+            field.setAccessible(true);
+            if (field.getType().isPrimitive()) {
+              assertEquals(path + "." + field.getName(), field.get(expected), field.get(actual));
+            } else {
+              pair(field.get(expected), field.get(actual), path + "." + field.getName());
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Pairs the elements with the same key, in iteration order if they have no distinct keys.
+     *
+     * @return the actual element for each expected one
+     */
+    private Map<Object, Object> pairByKey(final Collection<?> expected, final Collection<?> actual,
+        final String path) {
+      assertEquals(path, expected.size(), actual.size());
+      final Map<Object, Object> byKey = new HashMap<>();
+      for (final Object element : actual) {
+        final Object key = getKey(element);
+        if (key == null || byKey.put(key, element) != null) {
+          byKey.clear();
+          break;
+        }
+      }
+      final Map<Object, Object> pairs = new IdentityHashMap<>();
+      final Iterator<?> actualElements = actual.iterator();
+      for (final Object element : expected) {
+        final Object match = byKey.isEmpty() ? actualElements.next() : byKey.get(getKey(element));
+        pair(element, match, path + "<" + element + ">");
+        pairs.put(element, match);
+      }
+      return pairs;
+    }
+
+    private static Object getKey(final Object element) {
+      if (element == null) {
+        return NULL_KEY;
+      } else if (isValue(element)) {
+        return element;
+      } else if (element instanceof Unit) {
+        return ((Unit) element).getID();
+      } else if (element instanceof IAttachment) {
+        final Attachable attachedTo = ((IAttachment) element).getAttachedTo();
+        return Arrays.asList(element.getClass(), ((IAttachment) element).getName(),
+            attachedTo instanceof Named ? getKey(attachedTo) : null);
+      } else if (element instanceof Named) {
+        return Arrays.asList(element.getClass(), ((Named) element).getName());
+      }
+      return null;
+    }
+  }
+
+  @Test
+  public void testCopyMatchesSerializationClone() throws Exception {
+    for (final TestMapXml map : new TestMapXml[] {TestMapXml.REVISED, TestMapXml.LHTR, TestMapXml.BIG_WORLD_1942,
+        TestMapXml.WW2V3_1941, TestMapXml.PACIFIC_INCOMPLETE}) {
+      final GameData data = LoadGameUtil.loadTestGame(map);
+      assertSameAsSerializationClone(data, false);
+      assertSameAsSerializationClone(data, true);
+    }
+  }
+
+  @Test
+  public void testCopyWithHistoryMatchesSerializationClone() throws Exception {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    final PlayerID germans = data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_GERMANS);
+    final Territory germany = data.getMap().getTerritory("Germany");
+    final List<Unit> infantry = data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INFANTRY).create(3, germans);
+    final HistoryWriter writer = data.getHistory().getHistoryWriter();
+    writer.startNextRound(1);
+    writer.startNextStep("germanPlace", "place", germans, "German Place");
+    writer.startEvent("Germans place 3 infantry");
+    final Change addUnits = ChangeFactory.addUnits(germany, infantry);
+    data.performChange(addUnits);
+    writer.addChange(addUnits);
+    writer.setRenderingData(infantry);
+    final Change moved = ChangeFactory.unitPropertyChange(infantry.get(0), 1, TripleAUnit.ALREADY_MOVED);
+    data.performChange(moved);
+    writer.addChange(moved);
+    assertSameAsSerializationClone(data, true);
+  }
+
+  @Test
+  public void testCopyKeepsIdentityRules() {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.GLOBAL1940);
+    final GameData copy = GameDataCopier.copy(data, true);
+    assertEquals(data.getMap().getTerritories().size(), copy.getMap().getTerritories().size());
+    for (final Territory territory : copy.getMap().getTerritories()) {
+      final Territory original = data.getMap().getTerritory(territory.getName());
+      assertNotSame(original, territory);
+      assertSame(copy, territory.getData());
+      assertOwnedByCopy(copy, territory.getOwner());
+      assertSame(territory, territory.getUnits().getHolder());
+      assertEquals(original.getUnits().size(), territory.getUnits().size());
+      final Iterator<Unit> originalUnits = original.getUnits().iterator();
+      for (final Unit unit : territory.getUnits()) {
+        final Unit originalUnit = originalUnits.next();
+        assertNotSame(originalUnit, unit);
+        assertEquals(originalUnit.getID(), unit.getID());
+        assertSame(unit, copy.getUnits().get(unit.getID()));
+        assertSame(copy.getUnitTypeList().getUnitType(unit.getType().getName()), unit.getType());
+        assertOwnedByCopy(copy, unit.getOwner());
+      }
+      for (final Territory neighbor : copy.getMap().getNeighbors(territory)) {
+        assertSame(copy.getMap().getTerritory(neighbor.getName()), neighbor);
+      }
+    }
+    for (final UnitType type : copy.getUnitTypeList()) {
+      for (final IAttachment attachment : type.getAttachments().values()) {
+        assertSame(type, attachment.getAttachedTo());
+        assertSame(copy, ((GameDataComponent) attachment).getData());
+      }
+    }
+  }
+
+  private static void assertOwnedByCopy(final GameData copy, final PlayerID owner) {
+    // like a serialization clone, the copy has its own instance of the static neutral player
+    if (!owner.isNull()) {
+      assertSame(copy.getPlayerList().getPlayerID(owner.getName()), owner);
+    }
+  }
+
+  @Test
+  public void testCopyDelegates() {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.WW2V3_1942);
+    final GameData copy = GameDataCopier.copy(data, true);
+    assertEquals(data.getDelegateList().size(), copy.getDelegateList().size());
+    for (final IDelegate delegate : data.getDelegateList()) {
+      final IDelegate copied = copy.getDelegateList().getDelegate(delegate.getName());
+      assertNotNull(copied);
+      assertNotSame(delegate, copied);
+      assertEquals(delegate.getClass(), copied.getClass());
+      assertEquals(delegate.getDisplayName(), copied.getDisplayName());
+    }
+    assertEquals(0, GameDataCopier.copy(data, false).getDelegateList().size());
+  }
+
+  @Test
+  public void testCopiesShareStaticData() {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    final GameData copy = GameDataCopier.copy(data, false);
+    final GameData copyOfCopy = GameDataCopier.copy(copy, false);
+    final Iterator<GameStep> copiedSteps = copy.getSequence().iterator();
+    final Iterator<GameStep> stepsOfCopyOfCopy = copyOfCopy.getSequence().iterator();
+    for (final GameStep step : data.getSequence()) {
+      final GameStep copiedStep = copiedSteps.next();
+      assertNotSame(step, copiedStep);
+      assertSame(step.getProperties(), copiedStep.getProperties());
+      assertSame(step.getProperties(), stepsOfCopyOfCopy.next().getProperties());
+    }
+    assertEquals(data.getAttachmentOrderAndValues().size(), copy.getAttachmentOrderAndValues().size());
+    for (int i = 0; i < data.getAttachmentOrderAndValues().size(); i++) {
+      assertNotSame(data.getAttachmentOrderAndValues().get(i).getFirst(),
+          copy.getAttachmentOrderAndValues().get(i).getFirst());
+      assertSame(data.getAttachmentOrderAndValues().get(i).getSecond(),
+          copy.getAttachmentOrderAndValues().get(i).getSecond());
+    }
+  }
+
+  @Test
+  public void testCopyIsIndependentOfOriginal() {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    final GameData copy = GameDataCopier.copy(data, false);
+    final Territory germany = copy.getMap().getTerritory("Germany");
+    final PlayerID russians = copy.getPlayerList().getPlayerID(Constants.PLAYER_NAME_RUSSIANS);
+    final Collection<Unit> units = germany.getUnits().getUnits();
+    copy.performChange(ChangeFactory.removeUnits(germany, units));
+    copy.performChange(ChangeFactory.changeOwner(germany, russians));
+    final Territory originalGermany = data.getMap().getTerritory("Germany");
+    assertEquals(units.size(), originalGermany.getUnits().size());
+    assertEquals(Constants.PLAYER_NAME_GERMANS, originalGermany.getOwner().getName());
+  }
+}
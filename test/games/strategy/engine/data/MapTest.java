@@ -10,6 +10,7 @@ import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
 
+import games.strategy.triplea.delegate.Matches;
 import games.strategy.util.Match;
 
 public class MapTest {
@@ -245,4 +246,63 @@ public class MapTest {
     assertTrue(neighbors.contains(bb));
     assertTrue(neighbors.contains(ca));
   }
+
+  @Test
+  public void testDistanceFollowsNewConnection() {
+    assertEquals(6, map.getDistance(aa, dd));
+    map.addConnection(aa, dd);
+    assertEquals(1, map.getDistance(aa, dd));
+    assertEquals(3, map.getNeighbors(aa, 1).size());
+    assertTrue(map.getNeighbors(aa, 2).contains(dc));
+  }
+
+  @Test
+  public void testTablesMatchSearch() {
+    // same conditions as the tabled ones, but not the same objects, so they are searched
+    final Match<Territory> land = new Match<Territory>() {
+      @Override
+      public boolean match(final Territory t) {
+        return !t.isWater();
+      }
+    };
+    final Match<Territory> water = new Match<Territory>() {
+      @Override
+      public boolean match(final Territory t) {
+        return t.isWater();
+      }
+    };
+    for (final Territory t1 : map.getTerritories()) {
+      for (final Territory t2 : map.getTerritories()) {
+        assertEquals(map.getDistance(t1, t2, null), map.getDistance(t1, t2));
+        assertEquals(map.getDistance(t1, t2, land), map.getLandDistance(t1, t2));
+        assertEquals(map.getDistance(t1, t2, water), map.getWaterDistance(t1, t2));
+      }
+      for (int distance = 0; distance < 5; distance++) {
+        assertEquals(map.getNeighbors(t1, distance, land), map.getNeighbors(t1, distance, Matches.TerritoryIsLand));
+        assertEquals(map.getNeighbors(t1, distance, water), map.getNeighbors(t1, distance, Matches.TerritoryIsWater));
+      }
+    }
+  }
+
+  @Test
+  public void testRouteAvoidsForbiddenStep() {
+    // the only short way from aa to ca is through ba
+    final RouteFinder.MovementCost noStepIntoBa = (from, to) -> to == ba ? -1 : 1;
+    final Route route = map.getRoute(aa, ca, null, noStepIntoBa);
+    assertEquals(4, route.numberOfSteps());
+    assertTrue(!route.getAllTerritories().contains(ba));
+    assertNull(map.getRoute(aa, ba, Matches.TerritoryIsLand, noStepIntoBa));
+  }
+
+  @Test
+  public void testRouteIsCheapest() {
+    // steps into the second row are expensive, so going from ba to bd the first row is taken
+    final RouteFinder.MovementCost secondRowExpensive = (from, to) -> to.getName().startsWith("b") ? 5 : 1;
+    final Route route = map.getRoute(ba, bd, null, secondRowExpensive);
+    assertEquals(ba, route.getStart());
+    assertEquals(bd, route.getEnd());
+    // up to the first row, along it and down again costs 1 + 3 + 5, staying in the second row costs 5 + 5 + 5
+    assertEquals(5, route.numberOfSteps());
+    assertTrue(route.getAllTerritories().contains(ab));
+  }
 }
@@ -0,0 +1,63 @@
+package games.strategy.engine.data;
+
+import java.util.List;
+
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+/**
+ * Compares RelationshipTracker.isAtWar / isAllied against looking up the relationship type and matching its
+ * attachment, which is what they used to do.
+ * Not a unit test, run the main method manually: the time per query over all the player pairs is printed for each map.
+ */
+public class RelationshipTrackerBenchmark {
+  private static final int WARMUP_ROUNDS = 2000;
+  private static final int ROUNDS = 20000;
+
+  private interface Query {
+    boolean query(RelationshipTracker tracker, PlayerID p1, PlayerID p2);
+  }
+
+  public static void main(final String[] args) {
+    for (final TestMapXml map : new TestMapXml[] {TestMapXml.GLOBAL1940, TestMapXml.BIG_WORLD_1942,
+        TestMapXml.WW2V3_1941}) {
+      final GameData data = LoadGameUtil.loadTestGame(map);
+      final List<PlayerID> players = data.getPlayerList().getPlayers();
+      System.out.println(map + " (" + players.size() * (players.size() - 1) / 2 + " player pairs)");
+      run("  isAtWar, type match ", data, players,
+          (tracker, p1, p2) -> Matches.RelationshipTypeIsAtWar.match(tracker.getRelationshipType(p1, p2)));
+      run("  isAtWar, matrix     ", data, players, RelationshipTracker::isAtWar);
+      run("  isAllied, type match", data, players,
+          (tracker, p1, p2) -> Matches.RelationshipTypeIsAllied.match(tracker.getRelationshipType(p1, p2)));
+      run("  isAllied, matrix    ", data, players, RelationshipTracker::isAllied);
+    }
+  }
+
+  private static void run(final String name, final GameData data, final List<PlayerID> players, final Query query) {
+    final RelationshipTracker tracker = data.getRelationshipTracker();
+    int count = 0;
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      count += queryAll(tracker, players, query);
+    }
+    final long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      count += queryAll(tracker, players, query);
+    }
+    final long nanos = System.nanoTime() - start;
+    final long queries = (long) ROUNDS * players.size() * players.size();
+    System.out.println(name + ": " + (nanos / (double) queries) + " ns per query (" + count + ")");
+  }
+
+  private static int queryAll(final RelationshipTracker tracker, final List<PlayerID> players, final Query query) {
+    int count = 0;
+    for (final PlayerID p1 : players) {
+      for (final PlayerID p2 : players) {
+        if (query.query(tracker, p1, p2)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,111 @@
+package games.strategy.engine.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.attachments.RelationshipTypeAttachment;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+/**
+ * Checks the war and alliance flags of RelationshipTracker against the relationship types they are taken from.
+ */
+public class RelationshipTrackerTest {
+  private GameData m_data;
+  private RelationshipTracker m_tracker;
+  private List<PlayerID> m_players;
+
+  @Before
+  public void setUp() {
+    m_data = LoadGameUtil.loadTestGame(TestMapXml.GLOBAL1940);
+    m_tracker = m_data.getRelationshipTracker();
+    m_players = new ArrayList<>(m_data.getPlayerList().getPlayers());
+    m_players.add(PlayerID.NULL_PLAYERID);
+  }
+
+  private void assertFlagsMatchTypes() {
+    for (final PlayerID p1 : m_players) {
+      for (final PlayerID p2 : m_players) {
+        final RelationshipType type = m_tracker.getRelationshipType(p1, p2);
+        assertEquals(p1 + "-" + p2, Matches.RelationshipTypeIsAtWar.match(type), m_tracker.isAtWar(p1, p2));
+        assertEquals(p1 + "-" + p2, Matches.RelationshipTypeIsAllied.match(type), m_tracker.isAllied(p1, p2));
+      }
+    }
+  }
+
+  @Test
+  public void testFlagsMatchTypes() {
+    assertFlagsMatchTypes();
+  }
+
+  @Test
+  public void testRelationshipChange() {
+    final PlayerID germans = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_GERMANS);
+    final PlayerID russians = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_RUSSIANS);
+    final RelationshipType before = m_tracker.getRelationshipType(germans, russians);
+    final RelationshipType war = m_data.getRelationshipTypeList().getDefaultWarRelationship();
+    final RelationshipType allied = m_data.getRelationshipTypeList().getDefaultAlliedRelationship();
+    m_data.performChange(ChangeFactory.relationshipChange(germans, russians, before, allied));
+    assertTrue(m_tracker.isAllied(russians, germans));
+    assertFalse(m_tracker.isAtWar(germans, russians));
+    assertFlagsMatchTypes();
+    m_data.performChange(ChangeFactory.relationshipChange(germans, russians, allied, war));
+    assertTrue(m_tracker.isAtWar(russians, germans));
+    assertFalse(m_tracker.isAllied(germans, russians));
+    assertFlagsMatchTypes();
+  }
+
+  @Test
+  public void testArcheTypeChange() throws Exception {
+    final PlayerID germans = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_GERMANS);
+    final PlayerID russians = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_RUSSIANS);
+    final RelationshipType type = m_tracker.getRelationshipType(germans, russians);
+    final boolean atWar = m_tracker.isAtWar(germans, russians);
+    RelationshipTypeAttachment.get(type).setArcheType(
+        atWar ? RelationshipTypeAttachment.ARCHETYPE_ALLIED : RelationshipTypeAttachment.ARCHETYPE_WAR);
+    assertEquals(!atWar, m_tracker.isAtWar(germans, russians));
+    assertFlagsMatchTypes();
+  }
+
+  @Test
+  public void testTypeWithoutAttachment() {
+    final PlayerID germans = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_GERMANS);
+    final PlayerID russians = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_RUSSIANS);
+    final PlayerID japanese = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_JAPANESE);
+    final RelationshipType type = m_tracker.getRelationshipType(germans, russians);
+    final IAttachment attachment = type.getAttachment(Constants.RELATIONSHIPTYPE_ATTACHMENT_NAME);
+    // like while the game is parsed, the other relationships are known and this one is looked up when asked
+    type.removeAttachment(Constants.RELATIONSHIPTYPE_ATTACHMENT_NAME);
+    assertTrue(m_tracker.isAllied(germans, japanese));
+    try {
+      m_tracker.isAtWar(germans, russians);
+      fail("No attachment to tell war from");
+    } catch (final IllegalStateException expected) {
+      // as without the matrix
+    }
+    type.addAttachment(Constants.RELATIONSHIPTYPE_ATTACHMENT_NAME, attachment);
+    assertFlagsMatchTypes();
+  }
+
+  @Test
+  public void testPlayersFromCopy() {
+    final GameData copy = GameDataUtils.cloneGameData(m_data);
+    for (final PlayerID p1 : copy.getPlayerList().getPlayers()) {
+      for (final PlayerID p2 : m_data.getPlayerList().getPlayers()) {
+        assertEquals(copy.getRelationshipTracker().isAtWar(p1, p2), m_tracker.isAtWar(p1, p2));
+      }
+    }
+  }
+}
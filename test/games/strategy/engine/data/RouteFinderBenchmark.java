@@ -0,0 +1,61 @@
+package games.strategy.engine.data;
+
+import java.util.List;
+import java.util.Random;
+
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.delegate.MoveValidator;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+/**
+ * Times route queries on the largest test maps.
+ * Not a unit test, run the main method manually: the average and worst time of GameMap.getRoute and of
+ * MoveValidator.getBestRoute (what the move panel asks for while a unit is dragged) are printed for each map.
+ */
+public class RouteFinderBenchmark {
+  private static final int WARMUP_QUERIES = 2000;
+  private static final int QUERIES = 2000;
+
+  private interface Query {
+    Route query(Territory start, Territory end);
+  }
+
+  public static void main(final String[] args) {
+    for (final TestMapXml map : new TestMapXml[] {TestMapXml.BIG_WORLD_1942, TestMapXml.GLOBAL1940}) {
+      final GameData data = LoadGameUtil.loadTestGame(map);
+      final List<Territory> territories = data.getMap().getTerritories();
+      System.out.println(map + " (" + territories.size() + " territories)");
+      run("  getRoute         ", territories, (start, end) -> data.getMap().getRoute(start, end));
+      run("  getLandRoute     ", territories, (start, end) -> data.getMap().getLandRoute(start, end));
+      run("  getBestRoute     ", territories, (start, end) -> {
+        final List<Unit> units = start.getUnits().getMatches(Matches.unitIsOwnedBy(start.getOwner()));
+        return MoveValidator.getBestRoute(start, end, data, start.getOwner(), units, true);
+      });
+    }
+  }
+
+  private static void run(final String name, final List<Territory> territories, final Query query) {
+    final Random random = new Random(1);
+    for (int i = 0; i < WARMUP_QUERIES; i++) {
+      query.query(territories.get(random.nextInt(territories.size())),
+          territories.get(random.nextInt(territories.size())));
+    }
+    long total = 0;
+    long worst = 0;
+    int found = 0;
+    for (int i = 0; i < QUERIES; i++) {
+      final Territory start = territories.get(random.nextInt(territories.size()));
+      final Territory end = territories.get(random.nextInt(territories.size()));
+      final long before = System.nanoTime();
+      if (query.query(start, end) != null) {
+        found++;
+      }
+      final long nanos = System.nanoTime() - before;
+      total += nanos;
+      worst = Math.max(worst, nanos);
+    }
+    System.out.println(name + ": " + (total / QUERIES / 1000.0) + " us average, " + (worst / 1000.0) + " us worst, "
+        + found + "/" + QUERIES + " found");
+  }
+}
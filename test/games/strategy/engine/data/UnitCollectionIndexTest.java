@@ -0,0 +1,122 @@
+package games.strategy.engine.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+import games.strategy.util.CompositeMatchAnd;
+import games.strategy.util.Match;
+
+/**
+ * Checks that the owner and type grouping of UnitCollection follows the changes of a real game.
+ */
+public class UnitCollectionIndexTest {
+  private GameData m_data;
+  private PlayerID m_germans;
+  private PlayerID m_russians;
+  private UnitType m_infantry;
+  private Territory m_germany;
+  private Territory m_easternEurope;
+
+  @Before
+  public void setUp() {
+    m_data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    m_germans = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_GERMANS);
+    m_russians = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_RUSSIANS);
+    m_infantry = m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INFANTRY);
+    m_germany = m_data.getMap().getTerritory("Germany");
+    m_easternEurope = m_data.getMap().getTerritory("Eastern Europe");
+  }
+
+  private int countByScan(final UnitCollection units, final PlayerID owner, final UnitType type) {
+    return Match.countMatches(units.getUnits(),
+        new CompositeMatchAnd<>(Matches.unitIsOwnedBy(owner), Matches.unitIsOfType(type)));
+  }
+
+  @Test
+  public void testCountsMatchScan() {
+    for (final Territory territory : m_data.getMap().getTerritories()) {
+      final UnitCollection units = territory.getUnits();
+      for (final PlayerID player : m_data.getPlayerList().getPlayers()) {
+        for (final UnitType type : m_data.getUnitTypeList()) {
+          assertEquals(countByScan(units, player, type), units.getUnitCount(type, player));
+          assertEquals(countByScan(units, player, type), units.getUnits(player, type).size());
+        }
+        assertEquals(Match.countMatches(units.getUnits(), Matches.unitIsOwnedBy(player)), units.getUnitCount(player));
+      }
+    }
+  }
+
+  @Test
+  public void testCountsFollowMoves() {
+    final int germanInfantry = m_germany.getUnits().getUnitCount(m_infantry, m_germans);
+    final List<Unit> moved = new ArrayList<>(m_germany.getUnits().getUnits(m_germans, m_infantry)).subList(0, 2);
+    final int easternEuropeInfantry = m_easternEurope.getUnits().getUnitCount(m_infantry, m_germans);
+    m_data.performChange(ChangeFactory.moveUnits(m_germany, m_easternEurope, moved));
+    assertEquals(germanInfantry - 2, m_germany.getUnits().getUnitCount(m_infantry, m_germans));
+    assertEquals(easternEuropeInfantry + 2, m_easternEurope.getUnits().getUnitCount(m_infantry, m_germans));
+    assertEquals(easternEuropeInfantry + 2, m_easternEurope.getUnits().getUnitsByType(m_germans).getInt(m_infantry));
+  }
+
+  @Test
+  public void testOwnerChange() {
+    final Unit unit = m_germany.getUnits().getUnits(m_germans, m_infantry).iterator().next();
+    final int germanInfantry = m_germany.getUnits().getUnitCount(m_infantry, m_germans);
+    assertFalse(m_germany.getUnits().getPlayersWithUnits().contains(m_russians));
+    m_data.performChange(ChangeFactory.changeOwner(Collections.singletonList(unit), m_russians, m_germany));
+    assertEquals(germanInfantry - 1, m_germany.getUnits().getUnitCount(m_infantry, m_germans));
+    assertEquals(1, m_germany.getUnits().getUnitCount(m_infantry, m_russians));
+    assertTrue(m_germany.getUnits().getPlayersWithUnits().contains(m_russians));
+    assertTrue(m_germany.getUnits().hasUnitsFromMultiplePlayers());
+    assertTrue(Matches.territoryHasEnemyUnits(m_germans, m_data).match(m_germany));
+  }
+
+  @Test
+  public void testRemoveLastUnitOfOwner() {
+    m_data.performChange(ChangeFactory.addUnits(m_germany, m_infantry.create(1, m_russians)));
+    assertTrue(Matches.territoryHasEnemyUnits(m_germans, m_data).match(m_germany));
+    final List<Unit> russians = new ArrayList<>(m_germany.getUnits().getUnits(m_russians, m_infantry));
+    m_data.performChange(ChangeFactory.removeUnits(m_germany, russians));
+    assertFalse(m_germany.getUnits().getPlayersWithUnits().contains(m_russians));
+    assertFalse(Matches.territoryHasEnemyUnits(m_germans, m_data).match(m_germany));
+    assertTrue(Matches.territoryHasNoEnemyUnits(m_germans, m_data).match(m_germany));
+  }
+
+  @Test
+  public void testViewsAreReadOnlyAndLive() {
+    final List<Unit> view = m_germany.getUnits().getUnmodifiableUnits();
+    final int size = view.size();
+    try {
+      view.clear();
+      fail("view should be read only");
+    } catch (final UnsupportedOperationException expected) {
+      // expected
+    }
+    m_data.performChange(ChangeFactory.addUnits(m_germany, m_infantry.create(1, m_germans)));
+    assertEquals(size + 1, view.size());
+  }
+
+  @Test
+  public void testSomeOwnerMatches() {
+    assertTrue(m_germany.getUnits().someOwnerMatches(new Match<PlayerID>() {
+      @Override
+      public boolean match(final PlayerID owner) {
+        return owner.equals(m_germans);
+      }
+    }));
+    assertFalse(m_germany.getUnits().someOwnerMatches(Matches.isAtWar(m_germans, m_data)));
+  }
+}
@@ -0,0 +1,113 @@
+package games.strategy.engine.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+public class UnitHolderIndexTest {
+  private GameData m_data;
+  private PlayerID m_germans;
+  private Territory m_germany;
+  private Territory m_seaZone;
+  private TripleAUnit m_transport;
+  private List<Unit> m_infantry;
+
+  @Before
+  public void setUp() {
+    m_data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    m_germans = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_GERMANS);
+    m_germany = m_data.getMap().getTerritory("Germany");
+    m_seaZone = m_data.getMap().getTerritory("5 Sea Zone");
+    m_transport = (TripleAUnit) m_seaZone.getUnits().getMatches(Matches.UnitIsTransport).get(0);
+    m_infantry = m_germany.getUnits().getMatches(Matches.unitIsOfType(
+        m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INFANTRY)));
+  }
+
+  @Test
+  public void testHolderFollowsChanges() {
+    final Unit unit = m_infantry.get(0);
+    assertSame(m_germany, m_data.getUnitHolderIndex().getHolder(unit));
+    assertTrue(m_germany.getUnits().contains(unit));
+    final Territory poland = m_data.getMap().getTerritory("Eastern Europe");
+    m_data.performChange(ChangeFactory.moveUnits(m_germany, poland, m_infantry));
+    assertSame(poland, m_data.getUnitHolderIndex().getHolder(unit));
+    assertFalse(m_germany.getUnits().contains(unit));
+    assertTrue(poland.getUnits().contains(unit));
+    m_data.performChange(ChangeFactory.removeUnits(poland, m_infantry));
+    assertNull(m_data.getUnitHolderIndex().getHolder(unit));
+    m_data.performChange(ChangeFactory.addUnits(m_germans, m_infantry));
+    assertSame(m_germans, m_data.getUnitHolderIndex().getHolder(unit));
+    assertFalse(poland.getUnits().contains(unit));
+  }
+
+  @Test
+  public void testNewUnitsAreIndexed() {
+    final List<Unit> units =
+        m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INFANTRY).create(2, m_germans);
+    assertNull(m_data.getUnitHolderIndex().getHolder(units.get(0)));
+    m_data.performChange(ChangeFactory.addUnits(m_germany, units));
+    assertSame(m_germany, m_data.getUnitHolderIndex().getHolder(units.get(1)));
+  }
+
+  @Test
+  public void testTransporting() {
+    assertTrue(m_transport.getTransporting().isEmpty());
+    final Unit infantry = m_infantry.get(0);
+    m_data.performChange(ChangeFactory.moveUnits(m_germany, m_seaZone, m_infantry.subList(0, 1)));
+    m_data.performChange(ChangeFactory.unitPropertyChange(infantry, m_transport, TripleAUnit.TRANSPORTED_BY));
+    assertEquals(1, m_transport.getTransporting().size());
+    assertSame(infantry, m_transport.getTransporting().get(0));
+    assertTrue(m_data.getUnitHolderIndex().getCargo(m_transport).contains(infantry));
+    // cargo that is no longer with the transport is not transported
+    m_data.performChange(ChangeFactory.removeUnits(m_seaZone, m_infantry.subList(0, 1)));
+    assertTrue(m_transport.getTransporting().isEmpty());
+    m_data.performChange(ChangeFactory.addUnits(m_seaZone, m_infantry.subList(0, 1)));
+    assertEquals(1, m_transport.getTransporting().size());
+    m_data.performChange(ChangeFactory.unitPropertyChange(infantry, null, TripleAUnit.TRANSPORTED_BY));
+    assertTrue(m_transport.getTransporting().isEmpty());
+    assertTrue(m_data.getUnitHolderIndex().getCargo(m_transport).isEmpty());
+  }
+
+  @Test
+  public void testCargoOfRemovedTransportIsDropped() {
+    final Unit infantry = m_infantry.get(0);
+    final List<Unit> transportAndCargo = new ArrayList<>(Arrays.asList(m_transport, infantry));
+    m_data.performChange(ChangeFactory.moveUnits(m_germany, m_seaZone, m_infantry.subList(0, 1)));
+    m_data.performChange(ChangeFactory.unitPropertyChange(infantry, m_transport, TripleAUnit.TRANSPORTED_BY));
+    // a moving transport keeps its cargo
+    final Territory otherSeaZone = m_data.getMap().getTerritory("6 Sea Zone");
+    m_data.performChange(ChangeFactory.moveUnits(m_seaZone, otherSeaZone, transportAndCargo));
+    assertTrue(m_data.getUnitHolderIndex().getCargo(m_transport).contains(infantry));
+    m_data.performChange(ChangeFactory.removeUnits(otherSeaZone, transportAndCargo));
+    assertTrue(m_data.getUnitHolderIndex().getCargo(m_transport).isEmpty());
+  }
+
+  @Test
+  public void testCopyHasItsOwnIndex() {
+    final Unit infantry = m_infantry.get(0);
+    m_data.performChange(ChangeFactory.moveUnits(m_germany, m_seaZone, m_infantry.subList(0, 1)));
+    m_data.performChange(ChangeFactory.unitPropertyChange(infantry, m_transport, TripleAUnit.TRANSPORTED_BY));
+    final GameData copy = GameDataCopier.copy(m_data, false);
+    final Territory copiedSeaZone = copy.getMap().getTerritory(m_seaZone.getName());
+    final Unit copiedInfantry = copy.getUnits().get(infantry.getID());
+    final TripleAUnit copiedTransport = (TripleAUnit) copy.getUnits().get(m_transport.getID());
+    assertSame(copiedSeaZone, copy.getUnitHolderIndex().getHolder(copiedInfantry));
+    assertSame(copiedInfantry, copiedTransport.getTransporting().get(0));
+  }
+}
@@ -0,0 +1,142 @@
+package games.strategy.engine.data.changefactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParser;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.Constants;
+
+public class ChangeCompactorTest {
+  private GameData m_data;
+  private Territory m_canada;
+
+  @Before
+  public void setUp() throws Exception {
+    final URL url = GameData.class.getResource("Test.xml");
+    try (InputStream input = url.openStream()) {
+      m_data = new GameParser(url.toString()).parse(input, new AtomicReference<>(), false);
+    }
+    m_canada = m_data.getMap().getTerritory("canada");
+  }
+
+  private List<Unit> createInfantry(final int count) {
+    return m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INF).create(count, null);
+  }
+
+  @Test
+  public void testNotCompositeIsUnchanged() {
+    final Change change = ChangeFactory.addUnits(m_canada, createInfantry(1));
+    assertTrue(change == ChangeCompactor.compact(change));
+  }
+
+  @Test
+  public void testMergePropertyChanges() {
+    final Unit unit = m_canada.getUnits().getUnits().iterator().next();
+    final CompositeChange change = new CompositeChange();
+    change.add(ChangeFactory.unitPropertyChange(unit, 1, "hits"));
+    change.add(ChangeFactory.unitPropertyChange(unit, 2, "hits"));
+    final Change compacted = ChangeCompactor.compact(change);
+    assertTrue(compacted instanceof ObjectPropertyChange);
+    m_data.performChange(compacted);
+    assertEquals(2, unit.getHits());
+    m_data.performChange(compacted.invert());
+    assertEquals(0, unit.getHits());
+  }
+
+  @Test
+  public void testPropertySetBackIsDropped() {
+    final Unit unit = m_canada.getUnits().getUnits().iterator().next();
+    final CompositeChange change = new CompositeChange();
+    change.add(ChangeFactory.unitPropertyChange(unit, 1, "hits"));
+    change.add(new ObjectPropertyChange(unit, "hits", 0, 1));
+    assertTrue(ChangeCompactor.compact(change).isEmpty());
+  }
+
+  @Test
+  public void testCancelAddedAndRemovedUnits() {
+    final List<Unit> units = createInfantry(3);
+    final CompositeChange change = new CompositeChange();
+    change.add(ChangeFactory.addUnits(m_canada, units));
+    change.add(ChangeFactory.removeUnits(m_canada, units.subList(0, 2)));
+    final Change compacted = ChangeCompactor.compact(change);
+    assertTrue(compacted instanceof AddUnits);
+    assertEquals(1, ((AddUnits) compacted).getUnits().size());
+    m_data.performChange(compacted);
+    assertEquals(6, m_canada.getUnits().getUnitCount());
+    assertTrue(m_canada.getUnits().getUnits().contains(units.get(2)));
+    m_data.performChange(compacted.invert());
+    assertEquals(5, m_canada.getUnits().getUnitCount());
+  }
+
+  @Test
+  public void testUnitsReferredToInBetweenAreKept() {
+    final List<Unit> units = createInfantry(1);
+    final CompositeChange change = new CompositeChange();
+    change.add(ChangeFactory.addUnits(m_canada, units));
+    change.add(ChangeFactory.unitPropertyChange(units.get(0), 1, "hits"));
+    change.add(ChangeFactory.removeUnits(m_canada, units));
+    final Change compacted = ChangeCompactor.compact(change);
+    assertEquals(3, ((CompositeChange) compacted).getChanges().size());
+  }
+
+  @Test
+  public void testSumResourceChanges() {
+    final PlayerID chretian = m_data.getPlayerList().getPlayerID("chretian");
+    final Resource gold = m_data.getResourceList().getResource("gold");
+    final CompositeChange change = new CompositeChange();
+    change.add(ChangeFactory.changeResourcesChange(chretian, gold, 5));
+    change.add(ChangeFactory.changeResourcesChange(chretian, gold, -3));
+    final Change compacted = ChangeCompactor.compact(change);
+    assertTrue(compacted instanceof ChangeResourceChange);
+    assertEquals(2, ((ChangeResourceChange) compacted).getQuantity());
+    m_data.performChange(compacted);
+    assertEquals(102, chretian.getResources().getQuantity(gold));
+    m_data.performChange(compacted.invert());
+    assertEquals(100, chretian.getResources().getQuantity(gold));
+  }
+
+  @Test
+  public void testResourceChangesSummingToZeroAreDropped() {
+    final PlayerID chretian = m_data.getPlayerList().getPlayerID("chretian");
+    final Resource gold = m_data.getResourceList().getResource("gold");
+    final CompositeChange change = new CompositeChange();
+    change.add(ChangeFactory.changeResourcesChange(chretian, gold, 5));
+    change.add(new CompositeChange(ChangeFactory.changeResourcesChange(chretian, gold, -5)));
+    assertTrue(ChangeCompactor.compact(change).isEmpty());
+  }
+
+  @Test
+  public void testCompactedChangeEndsInSameState() {
+    final PlayerID chretian = m_data.getPlayerList().getPlayerID("chretian");
+    final Resource gold = m_data.getResourceList().getResource("gold");
+    final List<Unit> units = createInfantry(2);
+    final List<Change> changes = new ArrayList<>();
+    changes.add(ChangeFactory.addUnits(m_canada, units));
+    changes.add(ChangeFactory.changeResourcesChange(chretian, gold, -7));
+    changes.add(ChangeFactory.removeUnits(m_canada, units.subList(1, 2)));
+    changes.add(ChangeFactory.changeResourcesChange(chretian, gold, 3));
+    final Change compacted = ChangeCompactor.compact(new CompositeChange(changes));
+    m_data.performChange(compacted);
+    assertEquals(6, m_canada.getUnits().getUnitCount());
+    assertEquals(96, chretian.getResources().getQuantity(gold));
+    m_data.performChange(compacted.invert());
+    assertEquals(5, m_canada.getUnits().getUnitCount());
+    assertEquals(100, chretian.getResources().getQuantity(gold));
+  }
+}
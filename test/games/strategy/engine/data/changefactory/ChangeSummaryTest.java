@@ -0,0 +1,128 @@
+package games.strategy.engine.data.changefactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParser;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.Constants;
+
+public class ChangeSummaryTest {
+  private GameData m_data;
+  private Territory m_canada;
+  private Territory m_greenland;
+  private PlayerID m_chretian;
+  private PlayerID m_bush;
+  private Resource m_gold;
+
+  @Before
+  public void setUp() throws Exception {
+    final URL url = GameData.class.getResource("Test.xml");
+    try (InputStream input = url.openStream()) {
+      m_data = new GameParser(url.toString()).parse(input, new AtomicReference<>(), false);
+    }
+    m_canada = m_data.getMap().getTerritory("canada");
+    m_greenland = m_data.getMap().getTerritory("greenland");
+    m_chretian = m_data.getPlayerList().getPlayerID("chretian");
+    m_bush = m_data.getPlayerList().getPlayerID("bush");
+    m_gold = m_data.getResourceList().getResource("gold");
+  }
+
+  private List<Unit> createInfantry(final int count) {
+    return m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INF).create(count, null);
+  }
+
+  @Test
+  public void testUnitsMovedBackAndForth() {
+    final Unit moved = m_canada.getUnits().getUnits().iterator().next();
+    final List<Unit> units = createInfantry(2);
+    final List<Change> changes = new ArrayList<>();
+    changes.add(ChangeFactory.addUnits(m_greenland, units));
+    changes.add(ChangeFactory.moveUnits(m_canada, m_greenland, Arrays.asList(moved)));
+    changes.add(ChangeFactory.removeUnits(m_greenland, units.subList(0, 1)));
+    changes.add(ChangeFactory.moveUnits(m_greenland, m_canada, Arrays.asList(moved)));
+    changes.add(ChangeFactory.moveUnits(m_greenland, m_canada, units.subList(1, 2)));
+    final Change summary = ChangeSummary.summarize(changes);
+    assertEquals(1, ((CompositeChange) summary).getChanges().size());
+    m_data.performChange(summary);
+    assertEquals(6, m_canada.getUnits().getUnitCount());
+    assertTrue(m_canada.getUnits().getUnits().contains(units.get(1)));
+    assertEquals(0, m_greenland.getUnits().getUnitCount());
+    m_data.performChange(summary.invert());
+    assertEquals(5, m_canada.getUnits().getUnitCount());
+  }
+
+  @Test
+  public void testPropertiesOwnersAndResources() {
+    final Unit unit = m_canada.getUnits().getUnits().iterator().next();
+    final List<Change> changes = new ArrayList<>();
+    changes.add(ChangeFactory.unitPropertyChange(unit, 1, "hits"));
+    changes.add(ChangeFactory.changeOwner(m_canada, m_bush));
+    changes.add(ChangeFactory.changeResourcesChange(m_chretian, m_gold, -7));
+    changes.add(ChangeFactory.addUnits(m_canada, createInfantry(1)));
+    changes.add(new ObjectPropertyChange(unit, "hits", 2, 1));
+    changes.add(new OwnerChange(m_canada.getName(), m_chretian.getName(), m_bush.getName()));
+    changes.add(ChangeFactory.changeResourcesChange(m_chretian, m_gold, 3));
+    final Change summary = ChangeSummary.summarize(changes);
+    // the owner is set back
+    assertEquals(3, ((CompositeChange) summary).getChanges().size());
+    m_data.performChange(summary);
+    assertEquals(2, unit.getHits());
+    assertEquals(m_chretian, m_canada.getOwner());
+    assertEquals(96, m_chretian.getResources().getQuantity(m_gold));
+    m_data.performChange(summary.invert());
+    assertEquals(0, unit.getHits());
+    assertEquals(100, m_chretian.getResources().getQuantity(m_gold));
+  }
+
+  @Test
+  public void testSummariesSumUp() {
+    final List<Unit> units = createInfantry(1);
+    final Change first = ChangeSummary.summarize(Arrays.asList(ChangeFactory.addUnits(m_canada, units),
+        ChangeFactory.changeResourcesChange(m_chretian, m_gold, 5)));
+    final Change second = ChangeSummary.summarize(Arrays.asList(ChangeFactory.moveUnits(m_canada, m_greenland, units),
+        ChangeFactory.changeResourcesChange(m_chretian, m_gold, -5)));
+    final Change summary = ChangeSummary.summarize(Arrays.asList(first, second));
+    assertEquals(1, ((CompositeChange) summary).getChanges().size());
+    m_data.performChange(summary);
+    assertEquals(Arrays.asList(units.get(0)), new ArrayList<>(m_greenland.getUnits().getUnits()));
+    assertEquals(100, m_chretian.getResources().getQuantity(m_gold));
+  }
+
+  @Test
+  public void testOtherChangesAreKeptInOrder() {
+    final Change first = new ProductionFrontierChange("canProd", "usProd", m_chretian.getName());
+    final Change resources = ChangeFactory.changeResourcesChange(m_chretian, m_gold, 5);
+    final Change second = new ProductionFrontierChange("usProd", "canProd", m_chretian.getName());
+    final List<Change> summary =
+        ((CompositeChange) ChangeSummary.summarize(Arrays.asList(first, resources, second))).getChanges();
+    assertEquals(3, summary.size());
+    assertTrue(summary.get(0) instanceof ChangeResourceChange);
+    assertTrue(summary.get(1) == first);
+    assertTrue(summary.get(2) == second);
+  }
+
+  @Test
+  public void testUnitAddedTwiceIsNotSummarized() {
+    final List<Unit> units = createInfantry(1);
+    assertNull(ChangeSummary.summarize(
+        Arrays.asList(ChangeFactory.addUnits(m_canada, units), ChangeFactory.addUnits(m_canada, units))));
+  }
+}
@@ -0,0 +1,90 @@
+package games.strategy.engine.data.properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+public class GamePropertiesTest {
+  private static final int FLAG = GameProperties.getSlot("GamePropertiesTest flag");
+  private static final int NUMBER = GameProperties.getSlot("GamePropertiesTest number");
+  private static final int CONSTANT = GameProperties.getSlot("GamePropertiesTest constant");
+
+  private GameProperties m_properties;
+  private BooleanProperty m_flag;
+  private NumberProperty m_number;
+
+  @Before
+  public void setUp() {
+    m_properties = new GameProperties(new GameData());
+    m_flag = new BooleanProperty("GamePropertiesTest flag", null, false);
+    m_number = new NumberProperty("GamePropertiesTest number", null, 10, 0, 3);
+    m_properties.addEditableProperty(m_flag);
+    m_properties.addEditableProperty(m_number);
+  }
+
+  @Test
+  public void testSlotsAreStable() {
+    assertEquals(FLAG, GameProperties.getSlot("GamePropertiesTest flag"));
+    assertTrue(FLAG != NUMBER);
+  }
+
+  @Test
+  public void testReadBySlot() {
+    assertFalse(m_properties.get(FLAG, true));
+    assertEquals(3, m_properties.get(NUMBER, 0));
+    assertNull(m_properties.get(CONSTANT));
+    assertEquals("default", m_properties.get(CONSTANT, "default"));
+  }
+
+  @Test
+  public void testEditedValuesAreSeen() {
+    assertFalse(m_properties.get(FLAG, true));
+    m_flag.setValue(true);
+    assertTrue(m_properties.get(FLAG, false));
+    m_number.setValue(Integer.valueOf(7));
+    assertEquals(7, m_properties.get(NUMBER, 0));
+  }
+
+  @Test
+  public void testCopyHasItsOwnValues() {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    data.getProperties().addEditableProperty(m_flag);
+    assertFalse(data.getProperties().get(FLAG, true));
+    final GameData copy = GameDataUtils.cloneGameData(data);
+    assertFalse(copy.getProperties().get(FLAG, true));
+    final IEditableProperty copiedFlag = copy.getProperties().getEditableProperties().stream()
+        .filter(property -> property.getName().equals(m_flag.getName())).findFirst().get();
+    copiedFlag.setValue(true);
+    assertTrue(copy.getProperties().get(FLAG, false));
+    assertFalse(data.getProperties().get(FLAG, true));
+    m_flag.setValue(true);
+    assertTrue(data.getProperties().get(FLAG, false));
+  }
+
+  @Test
+  public void testSetValuesAreSeen() {
+    assertEquals("default", m_properties.get(CONSTANT, "default"));
+    m_properties.set("GamePropertiesTest constant", "set");
+    assertEquals("set", m_properties.get(CONSTANT, "default"));
+    m_properties.set("GamePropertiesTest constant", null);
+    assertEquals("default", m_properties.get(CONSTANT, "default"));
+  }
+
+  @Test
+  public void testSlotAddedLater() {
+    m_properties.set("GamePropertiesTest later", 5);
+    // builds the snapshot before the new slot exists
+    assertFalse(m_properties.get(FLAG, true));
+    final int later = GameProperties.getSlot("GamePropertiesTest later");
+    assertEquals(5, m_properties.get(later, 0));
+  }
+}
@@ -0,0 +1,234 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameSequence;
+import games.strategy.engine.data.GameStep;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.history.Event;
+import games.strategy.engine.history.History;
+import games.strategy.engine.history.HistoryNode;
+import games.strategy.engine.history.Renderable;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+public class AutoSaveJournalTest {
+  private File m_folder;
+  private GameData m_data;
+
+  @Before
+  public void setUp() throws Exception {
+    m_folder = Files.createTempDirectory("autoSaveJournal").toFile();
+    m_data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+  }
+
+  @After
+  public void tearDown() {
+    final File[] files = m_folder.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        file.delete();
+      }
+    }
+    m_folder.delete();
+  }
+
+  /**
+   * Plays a step the way ServerGame does, recorded to the journal: starts it in the history, places infantry in
+   * Germany, moves one of them and ends the step.
+   */
+  private void playStep(final AutoSaveJournal journal) {
+    final GameRecorder recorder = new GameRecorder(m_data);
+    recorder.addListener(journal);
+    playStep(m_data, recorder);
+  }
+
+  static void playStep(final GameData data, final GameRecorder recorder) {
+    final PlayerID germans = data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_GERMANS);
+    final String stepName = data.getSequence().getStep().getName();
+    final String delegateName = data.getSequence().getStep().getDelegate().getName();
+    final String displayName = data.getSequence().getStep().getDisplayName();
+    recorder.stepStarted(stepName, delegateName, germans, displayName);
+    recorder.eventStarted("Germans place 2 infantry");
+    final Territory germany = data.getMap().getTerritory("Germany");
+    final List<Unit> infantry = data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INFANTRY).create(2, germans);
+    recorder.changed(ChangeFactory.addUnits(germany, infantry));
+    recorder.renderingDataSet(infantry);
+    recorder.childAdded("1 infantry moves", infantry.get(0));
+    recorder.changed(ChangeFactory.unitPropertyChange(infantry.get(0), 1, TripleAUnit.ALREADY_MOVED));
+    data.getSequence().getStep().incrementRunCount();
+    if (data.getSequence().next()) {
+      recorder.roundStarted(data.getSequence().getRound());
+    }
+  }
+
+  /**
+   * The state a save game keeps: the sequence, the units in the territories and the history with its changes.
+   */
+  static String describe(final GameData data) {
+    final StringBuilder description = new StringBuilder();
+    final GameSequence sequence = data.getSequence();
+    description.append("round ").append(sequence.getRound()).append(", step ").append(sequence.getStepIndex());
+    for (final GameStep step : sequence) {
+      description.append('\n').append(step.getName()).append(" ran ").append(step.getRunCount());
+    }
+    for (final Territory territory : data.getMap().getTerritories()) {
+      description.append('\n').append(territory.getName()).append(' ').append(territory.getOwner().getName());
+      for (final Unit unit : territory.getUnits()) {
+        description.append(' ').append(unit.getID()).append(' ').append(unit.getType().getName())
+            .append(" moved ").append(((TripleAUnit) unit).getAlreadyMoved());
+      }
+    }
+    final History history = data.getHistory();
+    final Enumeration<?> nodes = ((HistoryNode) history.getRoot()).preorderEnumeration();
+    while (nodes.hasMoreElements()) {
+      final HistoryNode node = (HistoryNode) nodes.nextElement();
+      description.append('\n').append(node.getLevel()).append(' ').append(node.getTitle());
+      if (node instanceof Renderable) {
+        description.append(' ').append(((Renderable) node).getRenderingData());
+      }
+      if (node instanceof Event) {
+        description.append(' ').append(history.getDelta((HistoryNode) node.getParent(), node));
+      }
+    }
+    return description.toString();
+  }
+
+  private String describeLoaded() throws Exception {
+    return describe(new GameDataManager().loadGame(m_folder));
+  }
+
+  @Test
+  public void testLoadReplaysJournal() throws Exception {
+    final AutoSaveJournal journal = new AutoSaveJournal(m_folder, 10);
+    m_data.getHistory().getHistoryWriter().startNextRound(1);
+    journal.checkpoint(m_data);
+    for (int i = 0; i < 3; i++) {
+      playStep(journal);
+      journal.checkpoint(m_data);
+    }
+    assertTrue(journal.awaitWritten(10000));
+    assertTrue(AutoSaveJournal.getJournalFile(m_folder, 1).isFile());
+    final GameData loaded = new GameDataManager().loadGame(m_folder);
+    assertEquals(m_data.getSequence().getStepIndex(), loaded.getSequence().getStepIndex());
+    assertEquals(m_data.getSequence().getStep(0).getRunCount(), loaded.getSequence().getStep(0).getRunCount());
+    assertEquals(m_data.getUnits().getUnits().size(), loaded.getUnits().getUnits().size());
+    assertEquals(describe(m_data), describeLoaded());
+  }
+
+  @Test
+  public void testCompactIntoNewBase() throws Exception {
+    final AutoSaveJournal journal = new AutoSaveJournal(m_folder, 1);
+    m_data.getHistory().getHistoryWriter().startNextRound(1);
+    journal.checkpoint(m_data);
+    final int round = m_data.getSequence().getRound();
+    while (m_data.getSequence().getRound() == round) {
+      playStep(journal);
+      journal.checkpoint(m_data);
+    }
+    playStep(journal);
+    journal.checkpoint(m_data);
+    assertTrue(journal.awaitWritten(10000));
+    assertFalse(AutoSaveJournal.getBaseFile(m_folder, 1).exists());
+    assertFalse(AutoSaveJournal.getJournalFile(m_folder, 1).exists());
+    assertTrue(AutoSaveJournal.getBaseFile(m_folder, 2).isFile());
+    assertEquals(describe(m_data), describeLoaded());
+  }
+
+  @Test
+  public void testRecoverFromTruncatedJournal() throws Exception {
+    final AutoSaveJournal journal = new AutoSaveJournal(m_folder, 10);
+    m_data.getHistory().getHistoryWriter().startNextRound(1);
+    journal.checkpoint(m_data);
+    playStep(journal);
+    journal.checkpoint(m_data);
+    assertTrue(journal.awaitWritten(10000));
+    final String checkpointed = describe(m_data);
+    final File journalFile = AutoSaveJournal.getJournalFile(m_folder, 1);
+    final long checkpointedLength = journalFile.length();
+    playStep(journal);
+    journal.checkpoint(m_data);
+    assertTrue(journal.awaitWritten(10000));
+    final long length = journalFile.length();
+    final byte[] complete = Files.readAllBytes(journalFile.toPath());
+    // a crash while appending leaves a part of what was appended, up to all but the last byte of the checkpoint
+    for (final long truncated : new long[] {checkpointedLength + 3, checkpointedLength + 20,
+        (checkpointedLength + length) / 2, length - 1}) {
+      try (final RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+        file.write(complete);
+        file.setLength(truncated);
+      }
+      assertEquals("truncated to " + truncated, checkpointed, describeLoaded());
+    }
+  }
+
+  @Test
+  public void testIgnoreCorruptRecord() throws Exception {
+    final AutoSaveJournal journal = new AutoSaveJournal(m_folder, 10);
+    m_data.getHistory().getHistoryWriter().startNextRound(1);
+    journal.checkpoint(m_data);
+    playStep(journal);
+    journal.checkpoint(m_data);
+    assertTrue(journal.awaitWritten(10000));
+    final String checkpointed = describe(m_data);
+    final File journalFile = AutoSaveJournal.getJournalFile(m_folder, 1);
+    final long checkpointedLength = journalFile.length();
+    playStep(journal);
+    journal.checkpoint(m_data);
+    assertTrue(journal.awaitWritten(10000));
+    try (final RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+      file.seek((checkpointedLength + file.length()) / 2);
+      final int b = file.read();
+      file.seek((checkpointedLength + file.length()) / 2);
+      file.write(b ^ 0xff);
+    }
+    assertEquals(checkpointed, describeLoaded());
+  }
+
+  @Test
+  public void testLoadBaseWithItsJournal() throws Exception {
+    final AutoSaveJournal journal = new AutoSaveJournal(m_folder, 10);
+    m_data.getHistory().getHistoryWriter().startNextRound(1);
+    journal.checkpoint(m_data);
+    playStep(journal);
+    journal.checkpoint(m_data);
+    assertTrue(journal.awaitWritten(10000));
+    assertTrue(GameDataManager.isAutoSaveJournal(m_folder));
+    assertEquals(describe(m_data), describe(new GameDataManager().loadGame(AutoSaveJournal.getBaseFile(m_folder, 1))));
+  }
+
+  @Test
+  public void testStopEndsCheckpoints() throws Exception {
+    final AutoSaveJournal journal = new AutoSaveJournal(m_folder, 10);
+    m_data.getHistory().getHistoryWriter().startNextRound(1);
+    journal.checkpoint(m_data);
+    playStep(journal);
+    journal.checkpoint(m_data);
+    assertTrue(journal.stop(10000));
+    final String stopped = describe(m_data);
+    final long lastModified = GameDataManager.getLastModified(m_folder);
+    playStep(journal);
+    journal.checkpoint(m_data);
+    assertTrue(journal.awaitWritten(10000));
+    assertEquals(lastModified, GameDataManager.getLastModified(m_folder));
+    assertEquals(stopped, describeLoaded());
+  }
+}
@@ -0,0 +1,132 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.test.TestUtil;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+public class AutoSaveWriterTest {
+
+  @Test
+  public void testWriteSnapshot() throws Exception {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    final File file = TestUtil.createTempFile("");
+    final AutoSaveWriter writer = new AutoSaveWriter();
+    writer.write(file, data, 0);
+    assertTrue(writer.awaitWritten(10000));
+    final GameData loaded = new GameDataManager().loadGame(file);
+    assertEquals(data.getMap().getTerritories().size(), loaded.getMap().getTerritories().size());
+  }
+
+  @Test
+  public void testLatestSnapshotWins() throws Exception {
+    final CountDownLatch writing = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<File> files = Collections.synchronizedList(new ArrayList<>());
+    final List<GameData> written = Collections.synchronizedList(new ArrayList<>());
+    final AutoSaveWriter writer = new AutoSaveWriter((file, data) -> {
+      writing.countDown();
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      files.add(file);
+      written.add(data);
+    });
+    final File a = new File("a");
+    final File b = new File("b");
+    final File c = new File("c");
+    final File d = new File("d");
+    final GameData first = new GameData();
+    writer.write(a, first, 0);
+    assertTrue(writing.await(10, TimeUnit.SECONDS));
+    // the writer is busy with the first snapshot, these wait
+    writer.write(b, new GameData(), 0);
+    final GameData replacing = new GameData();
+    writer.write(b, replacing, 0);
+    final GameData forC = new GameData();
+    writer.write(c, forC, 0);
+    // other files do not drop the snapshot waiting for b
+    final GameData forD = new GameData();
+    writer.write(d, forD, 0);
+    release.countDown();
+    assertTrue(writer.awaitWritten(10000));
+    assertEquals(4, files.size());
+    assertEquals(a, files.get(0));
+    assertSame(first, written.get(0));
+    assertEquals(b, files.get(1));
+    assertSame(replacing, written.get(1));
+    assertEquals(c, files.get(2));
+    assertSame(forC, written.get(2));
+    assertEquals(d, files.get(3));
+    assertSame(forD, written.get(3));
+  }
+
+  @Test
+  public void testReplaceWaitingSnapshot() throws Exception {
+    final CountDownLatch writing = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<GameData> written = Collections.synchronizedList(new ArrayList<>());
+    final AutoSaveWriter writer = new AutoSaveWriter((file, data) -> {
+      writing.countDown();
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      written.add(data);
+    });
+    final File file = new File("autosave");
+    writer.write(file, new GameData(), 0);
+    assertTrue(writing.await(10, TimeUnit.SECONDS));
+    writer.write(file, new GameData(), 0);
+    final GameData latest = new GameData();
+    writer.write(file, latest, 0);
+    release.countDown();
+    assertTrue(writer.awaitWritten(10000));
+    assertEquals(2, written.size());
+    assertSame(latest, written.get(1));
+  }
+
+  @Test
+  public void testStopDropsWaitingSnapshots() throws Exception {
+    final CountDownLatch writing = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<GameData> written = Collections.synchronizedList(new ArrayList<>());
+    final AutoSaveWriter writer = new AutoSaveWriter((file, data) -> {
+      writing.countDown();
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      written.add(data);
+    });
+    final GameData first = new GameData();
+    writer.write(new File("a"), first, 0);
+    assertTrue(writing.await(10, TimeUnit.SECONDS));
+    writer.write(new File("b"), new GameData(), 0);
+    assertFalse(writer.stop(10));
+    // stopped, not written either
+    writer.write(new File("c"), new GameData(), 0);
+    release.countDown();
+    assertTrue(writer.stop(10000));
+    assertEquals(1, written.size());
+    assertSame(first, written.get(0));
+  }
+}
@@ -1,20 +1,44 @@
 package games.strategy.engine.framework;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.DataOutputStream;
+import java.io.File;
 import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import games.strategy.engine.ClientContext;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParser;
 import games.strategy.engine.data.SerializationTest;
+import games.strategy.engine.data.UnitType;
+import games.strategy.test.TestUtil;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+import games.strategy.util.Version;
 
 public class GameDataManagerTest {
 
@@ -36,4 +60,135 @@ public class GameDataManagerTest {
     final GameData loaded = m.loadGame(new ByteArrayInputStream(sink.toByteArray()), null);
     assertEquals(loaded.getProperties().get(GameData.GAME_UUID), data.getProperties().get(GameData.GAME_UUID));
   }
+
+  /**
+   * Writes the game the way saveGame did before the compact format, a gzipped object stream without delegates.
+   */
+  static void saveInLegacyFormat(final OutputStream sink, final GameData data) throws IOException {
+    try (final ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(sink))) {
+      out.writeObject(ClientContext.engineVersion().getVersion());
+      out.writeObject(data);
+      out.writeObject("<EndDelegateList>");
+    }
+  }
+
+  @Test
+  public void testLoadLegacyFormat() throws IOException {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    saveInLegacyFormat(sink, data);
+    final byte[] bytes = sink.toByteArray();
+    assertFalse(SaveGameCodec.isCompactFormat(new ByteArrayInputStream(bytes)));
+    final GameData loaded = new GameDataManager().loadGame(new ByteArrayInputStream(bytes), null);
+    assertEquals(data.getMap().getTerritories().size(), loaded.getMap().getTerritories().size());
+    assertEquals(data.getProperties().get(GameData.GAME_UUID), loaded.getProperties().get(GameData.GAME_UUID));
+  }
+
+  @Test
+  public void testLoadCompactFormat() throws IOException {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    for (final SaveGameCodec.Compression compression : SaveGameCodec.Compression.values()) {
+      final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+      new GameDataManager().saveGame(sink, data, true, compression);
+      final byte[] bytes = sink.toByteArray();
+      assertTrue(SaveGameCodec.isCompactFormat(new ByteArrayInputStream(bytes)));
+      final GameData loaded = new GameDataManager().loadGame(new ByteArrayInputStream(bytes), null);
+      assertEquals(data.getMap().getTerritories().size(), loaded.getMap().getTerritories().size());
+      assertEquals(data.getDelegateList().size(), loaded.getDelegateList().size());
+      // the string table reads equal names back as one instance
+      final List<UnitType> unitTypes = new ArrayList<>(loaded.getUnitTypeList().getAllUnitTypes());
+      assertSame(UnitAttachment.get(unitTypes.get(0)).getName(), UnitAttachment.get(unitTypes.get(1)).getName());
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectNewerFormat() throws IOException {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    try (final DataOutputStream out = new DataOutputStream(sink)) {
+      out.writeInt(0x54415347);
+      out.writeInt(SaveGameCodec.FORMAT_VERSION + 1);
+    }
+    new GameDataManager().loadGame(new ByteArrayInputStream(sink.toByteArray()), null);
+  }
+
+  @Test
+  public void testReadHeader() throws IOException {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    new GameDataManager().saveGame(sink, data, false);
+    final InputStream input = new ByteArrayInputStream(sink.toByteArray());
+    final SaveGameHeader header = SaveGameCodec.readHeader(input);
+    assertEquals(data.getGameName(), header.getGameName());
+    assertEquals(data.getSequence().getRound(), header.getRound());
+    assertEquals(data.getSequence().getStep().getDisplayName(), header.getStepName());
+    assertEquals(ClientContext.engineVersion().getVersion(), header.getEngineVersion());
+    // the stream is left at the start of the save game
+    assertEquals(data.getGameName(), new GameDataManager().loadGame(input, null).getGameName());
+    final ByteArrayOutputStream legacy = new ByteArrayOutputStream();
+    saveInLegacyFormat(legacy, data);
+    assertNull(SaveGameCodec.readHeader(new ByteArrayInputStream(legacy.toByteArray())));
+  }
+
+  @Test
+  public void testRejectIncompatibleVersionByHeader() throws IOException {
+    final Version incompatible = new Version(999, 0, 0);
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    // without a body, the save game could not be loaded past the header
+    SaveGameCodec.newOutputStream(sink, SaveGameCodec.Compression.FAST,
+        new SaveGameHeader(incompatible, "game", "map", 1, "step", "player")).close();
+    try {
+      new GameDataManager().loadGame(new ByteArrayInputStream(sink.toByteArray()), null);
+      fail("loaded a save game of an incompatible engine");
+    } catch (final IOException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("Incompatible engine versions"));
+    }
+  }
+
+  private static void assertNoTemporaryFileLeft(final File file) {
+    final String[] left =
+        file.getParentFile().list((dir, name) -> name.startsWith(file.getName()) && !name.equals(file.getName()));
+    assertEquals(0, left.length);
+  }
+
+  @Test
+  public void testSaveGameToFile() throws IOException {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    final File file = TestUtil.createTempFile("previous save");
+    new GameDataManager().saveGame(file, data);
+    final GameData loaded = new GameDataManager().loadGame(file);
+    assertEquals(data.getMap().getTerritories().size(), loaded.getMap().getTerritories().size());
+    assertNoTemporaryFileLeft(file);
+  }
+
+  @Test
+  public void testFailedSaveLeavesFile() throws IOException {
+    final File file = TestUtil.createTempFile("previous save");
+    try {
+      GameDataManager.writeAtomically(file, out -> {
+        out.write(new byte[100]);
+        throw new IOException("failed");
+      });
+      fail("expected an IOException");
+    } catch (final IOException e) {
+      assertEquals("failed", e.getMessage());
+    }
+    assertEquals("previous save", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    assertNoTemporaryFileLeft(file);
+  }
+
+  @Test
+  public void testSavedFileHasUsualPermissions() throws IOException {
+    final File file = TestUtil.createTempFile("previous save");
+    assumeTrue(Files.getFileStore(file.toPath()).supportsFileAttributeView(PosixFileAttributeView.class));
+    final Path plain = file.toPath().resolveSibling(file.getName() + "-plain");
+    Files.deleteIfExists(plain);
+    Files.createFile(plain);
+    try {
+      Files.delete(file.toPath());
+      GameDataManager.writeAtomically(file, out -> out.write(1));
+      assertEquals(Files.getPosixFilePermissions(plain), Files.getPosixFilePermissions(file.toPath()));
+    } finally {
+      Files.delete(plain);
+    }
+  }
 }
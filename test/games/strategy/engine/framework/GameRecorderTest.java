@@ -0,0 +1,76 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+public class GameRecorderTest {
+  private GameData m_data;
+  private GameRecorder m_recorder;
+
+  /**
+   * Keeps the frames it gets while it is recording.
+   */
+  private static final class FrameList implements GameRecorder.Listener {
+    private final List<byte[]> m_frames = new ArrayList<>();
+    private boolean m_recording = true;
+
+    @Override
+    public boolean isRecording() {
+      return m_recording;
+    }
+
+    @Override
+    public void recorded(final byte[] frame) {
+      m_frames.add(frame);
+    }
+
+    @Override
+    public void recordLost() {
+      m_recording = false;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    m_data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    m_recorder = new GameRecorder(m_data);
+    m_data.getHistory().getHistoryWriter().startNextRound(1);
+  }
+
+  @Test
+  public void testListenersShareFrames() {
+    final FrameList first = new FrameList();
+    final FrameList second = new FrameList();
+    m_recorder.addListener(first);
+    m_recorder.addListener(second);
+    AutoSaveJournalTest.playStep(m_data, m_recorder);
+    assertTrue(first.m_frames.size() > 0);
+    assertEquals(first.m_frames.size(), second.m_frames.size());
+    for (int i = 0; i < first.m_frames.size(); i++) {
+      assertSame(first.m_frames.get(i), second.m_frames.get(i));
+    }
+  }
+
+  @Test
+  public void testOnlyRecordingListenersGetFrames() {
+    final FrameList recording = new FrameList();
+    final FrameList notRecording = new FrameList();
+    notRecording.m_recording = false;
+    m_recorder.addListener(recording);
+    m_recorder.addListener(notRecording);
+    AutoSaveJournalTest.playStep(m_data, m_recorder);
+    assertTrue(recording.m_frames.size() > 0);
+    assertTrue(notRecording.m_frames.isEmpty());
+  }
+}
@@ -0,0 +1,86 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+public class ObserverJoinCacheTest {
+  private GameData m_data;
+  private ObserverJoinCache m_cache;
+  private GameRecorder m_recorder;
+
+  @Before
+  public void setUp() throws Exception {
+    m_data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    m_cache = new ObserverJoinCache();
+    m_recorder = new GameRecorder(m_data);
+    m_recorder.addListener(m_cache);
+    m_data.getHistory().getHistoryWriter().startNextRound(1);
+  }
+
+  private byte[] join() throws IOException {
+    synchronized (m_recorder) {
+      return m_cache.getJoinImage(m_data);
+    }
+  }
+
+  private static GameData load(final byte[] image) throws IOException {
+    return new GameDataManager().loadGame(new ByteArrayInputStream(image), null);
+  }
+
+  private static boolean hasRecords(final byte[] image) throws IOException {
+    return ObserverJoinCache.isImageWithRecords(new ByteArrayInputStream(image));
+  }
+
+  private void playStep() {
+    AutoSaveJournalTest.playStep(m_data, m_recorder);
+  }
+
+  @Test
+  public void testJoinsShareImage() throws Exception {
+    final byte[] first = join();
+    assertFalse(hasRecords(first));
+    assertSame(first, join());
+    assertEquals(AutoSaveJournalTest.describe(m_data), AutoSaveJournalTest.describe(load(first)));
+  }
+
+  @Test
+  public void testLaterJoinGetsRecords() throws Exception {
+    final byte[] first = join();
+    playStep();
+    final byte[] second = join();
+    assertTrue(hasRecords(second));
+    assertEquals(AutoSaveJournalTest.describe(m_data), AutoSaveJournalTest.describe(load(second)));
+    playStep();
+    final byte[] third = join();
+    assertTrue(hasRecords(third));
+    assertTrue(third.length > first.length);
+    assertEquals(AutoSaveJournalTest.describe(m_data), AutoSaveJournalTest.describe(load(third)));
+  }
+
+  @Test
+  public void testNewImageOnceRecordsAreLong() throws Exception {
+    final byte[] first = join();
+    byte[] image = first;
+    for (int i = 0; i < 100 && (image == first || hasRecords(image)); i++) {
+      playStep();
+      image = join();
+    }
+    assertFalse(hasRecords(image));
+    assertNotSame(first, image);
+    assertSame(image, join());
+    assertEquals(AutoSaveJournalTest.describe(m_data), AutoSaveJournalTest.describe(load(image)));
+  }
+}
@@ -0,0 +1,139 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.zip.GZIPOutputStream;
+
+import games.strategy.engine.ClientContext;
+import games.strategy.engine.data.GameData;
+import games.strategy.thread.LockStatistics;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+/**
+ * Compares the compact save game format against the legacy gzipped object stream.
+ * Not a unit test, run the main method manually: for each test map the size of the save game and the time to save
+ * and to load it are printed for the legacy format and for both compressions of the compact format, and the time to
+ * read only the header, which legacy save games lack.
+ * Then for saving to a file, the buffered pipeline saveGame used to have (serialize into a byte array, then gzip
+ * the array) is compared with streaming through a temporary file: the time, the bytes allocated and the longest time
+ * the game data read lock was held per save. Only what is allocated is measured, not the peak heap use.
+ */
+public class SaveGameBenchmark {
+  private static final int WARMUP_ROUNDS = 20;
+  private static final int ROUNDS = 100;
+
+  private interface Saver {
+    void save(ByteArrayOutputStream sink, GameData data) throws IOException;
+  }
+
+  public static void main(final String[] args) throws IOException {
+    // before GameData takes its locks
+    System.setProperty(LockStatistics.ENABLED_PROPERTY, "true");
+    final GameDataManager manager = new GameDataManager();
+    for (final TestMapXml map : TestMapXml.values()) {
+      final GameData data = LoadGameUtil.loadTestGame(map);
+      System.out.println(map);
+      run("  legacy       ", data, GameDataManagerTest::saveInLegacyFormat);
+      run("  compact FAST ", data, (sink, d) -> manager.saveGame(sink, d, false, SaveGameCodec.Compression.FAST));
+      run("  compact SMALL", data, (sink, d) -> manager.saveGame(sink, d, false, SaveGameCodec.Compression.SMALL));
+    }
+    final File file = File.createTempFile("saveGameBenchmark", ".tsvg");
+    file.deleteOnExit();
+    for (final TestMapXml map : TestMapXml.values()) {
+      final GameData data = LoadGameUtil.loadTestGame(map);
+      System.out.println(map);
+      runToFile("  buffered ", data, () -> {
+        try (final OutputStream out = new FileOutputStream(file)) {
+          saveBuffered(out, data);
+        }
+      });
+      runToFile("  streaming", data,
+          () -> GameDataManager.writeAtomically(file, out -> manager.saveGame(out, data, false)));
+    }
+  }
+
+  private interface FileSaver {
+    void save() throws IOException;
+  }
+
+  /**
+   * The pipeline saveGame had before streaming, without delegates.
+   */
+  private static void saveBuffered(final OutputStream sink, final GameData data) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
+    final ObjectOutputStream outStream = new ObjectOutputStream(bytes);
+    outStream.writeObject(ClientContext.engineVersion().getVersion());
+    data.acquireReadLock();
+    try {
+      outStream.writeObject(data);
+      outStream.writeObject("<EndDelegateList>");
+    } finally {
+      data.releaseReadLock();
+    }
+    try (final GZIPOutputStream zippedOut = new GZIPOutputStream(sink)) {
+      zippedOut.write(bytes.toByteArray());
+    }
+  }
+
+  private static void runToFile(final String name, final GameData data, final FileSaver saver) throws IOException {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      saver.save();
+    }
+    final LockStatistics lockStatistics = LockStatistics.get("GameData");
+    lockStatistics.reset();
+    final long startAllocated = getAllocatedBytes();
+    final long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      saver.save();
+    }
+    final long nanos = System.nanoTime() - start;
+    final long allocated = getAllocatedBytes() - startAllocated;
+    System.out.println(name + ": save " + (nanos / 1000 / (double) ROUNDS) + " us, " + (allocated / 1024 / ROUNDS)
+        + " KB allocated, read lock held at most " + (lockStatistics.getMaxHoldNanos() / 1000) + " us");
+  }
+
+  private static long getAllocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+        .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static void run(final String name, final GameData data, final Saver saver) throws IOException {
+    final GameDataManager manager = new GameDataManager();
+    byte[] bytes = null;
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      bytes = save(data, saver);
+      manager.loadGame(new ByteArrayInputStream(bytes), null);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      bytes = save(data, saver);
+    }
+    final long saveNanos = System.nanoTime() - start;
+    start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      manager.loadGame(new ByteArrayInputStream(bytes), null);
+    }
+    final long loadNanos = System.nanoTime() - start;
+    start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      SaveGameCodec.readHeader(new ByteArrayInputStream(bytes));
+    }
+    final long headerNanos = System.nanoTime() - start;
+    System.out.println(name + ": " + bytes.length + " bytes, save " + (saveNanos / 1000 / (double) ROUNDS)
+        + " us, load " + (loadNanos / 1000 / (double) ROUNDS) + " us, read header "
+        + (headerNanos / 1000 / (double) ROUNDS) + " us");
+  }
+
+  private static byte[] save(final GameData data, final Saver saver) throws IOException {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    saver.save(sink, data);
+    return sink.toByteArray();
+  }
+}
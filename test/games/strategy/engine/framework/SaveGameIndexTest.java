@@ -0,0 +1,83 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+public class SaveGameIndexTest {
+  private File m_folder;
+  private GameData m_data;
+
+  @Before
+  public void setUp() throws Exception {
+    m_folder = Files.createTempDirectory("saveGameIndex").toFile();
+    m_data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+  }
+
+  @After
+  public void tearDown() {
+    final File[] files = m_folder.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        file.delete();
+      }
+    }
+    m_folder.delete();
+  }
+
+  private static boolean isSaveGame(final File file) {
+    return file.getName().endsWith(".tsvg");
+  }
+
+  @Test
+  public void testListReadsHeaders() throws IOException {
+    final File compact = new File(m_folder, "compact.tsvg");
+    final File legacy = new File(m_folder, "legacy.tsvg");
+    new GameDataManager().saveGame(compact, m_data);
+    try (final FileOutputStream out = new FileOutputStream(legacy)) {
+      GameDataManagerTest.saveInLegacyFormat(out, m_data);
+    }
+    final Map<File, SaveGameHeader> headers = SaveGameIndex.list(m_folder, SaveGameIndexTest::isSaveGame);
+    assertEquals(Arrays.asList(compact, legacy), Arrays.asList(headers.keySet().toArray()));
+    assertEquals(m_data.getGameName(), headers.get(compact).getGameName());
+    assertEquals(m_data.getSequence().getRound(), headers.get(compact).getRound());
+    assertNull(headers.get(legacy));
+    assertTrue(new File(m_folder, SaveGameIndex.INDEX_FILE_NAME).isFile());
+  }
+
+  @Test
+  public void testHeadersAreReadFromIndex() throws IOException {
+    final File file = new File(m_folder, "game.tsvg");
+    new GameDataManager().saveGame(file, m_data);
+    SaveGameIndex.list(m_folder, SaveGameIndexTest::isSaveGame);
+    final long lastModified = file.lastModified();
+    // overwrite the header with the same length and time, the index does not notice
+    try (final RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+      out.write(new byte[16]);
+    }
+    assertTrue(file.setLastModified(lastModified));
+    assertEquals(m_data.getGameName(), new SaveGameIndex(m_folder).getHeader(file).getGameName());
+    // once the time changes the header is read again
+    assertTrue(file.setLastModified(lastModified - 10000));
+    final SaveGameIndex index = new SaveGameIndex(m_folder);
+    assertNull(index.getHeader(file));
+    index.save();
+    assertNull(SaveGameIndex.list(m_folder, SaveGameIndexTest::isSaveGame).get(file));
+  }
+}
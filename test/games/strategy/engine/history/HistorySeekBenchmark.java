@@ -0,0 +1,141 @@
+package games.strategy.engine.history;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameDataCopier;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameDataManager;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+/**
+ * Measures how long History.gotoNode takes to jump from the end of a long game back to a round and forth again.
+ * Not a unit test, run the main method manually: for each target round the time of gotoNode, which jumps over the
+ * complete rounds in between with their summaries, is printed next to the time of performing every change in
+ * between, which is what gotoNode used to do. Then the time of copying the game data with its long history is printed,
+ * the first copy writes the content of every complete step, the later ones reuse it.
+ */
+public class HistorySeekBenchmark {
+  private static final int ROUNDS = 40;
+  private static final int STEPS = 6;
+  private static final int EVENTS = 10;
+  private static final int WARMUP_RUNS = 5;
+  private static final int RUNS = 20;
+  private static final int COPY_WARMUP_RUNS = 50;
+
+  public static void main(final String[] args) throws IOException {
+    final GameData data = createLongGame();
+    final GameDataManager manager = new GameDataManager();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    manager.saveGame(bytes, data, false);
+    final GameData seeking = manager.loadGame(new ByteArrayInputStream(bytes.toByteArray()), null);
+    final GameData replaying = manager.loadGame(new ByteArrayInputStream(bytes.toByteArray()), null);
+    System.out.println(ROUNDS + " rounds, " + data.getHistory().getChanges().size() + " changes");
+    for (final int round : new int[] {1, 2, 10, 20, 30, ROUNDS - 1}) {
+      final long seekNanos = run(seeking, round, true);
+      final long replayNanos = run(replaying, round, false);
+      System.out.println("  round " + round + ": gotoNode " + (seekNanos / 1000 / RUNS) + " us, every change "
+          + (replayNanos / 1000 / RUNS) + " us");
+    }
+    final GameData copied = createLongGame();
+    final long firstStart = System.nanoTime();
+    GameDataCopier.copy(copied, false);
+    final long firstMicros = (System.nanoTime() - firstStart) / 1000;
+    for (int i = 0; i < COPY_WARMUP_RUNS; i++) {
+      GameDataCopier.copy(copied, false);
+    }
+    final long start = System.nanoTime();
+    for (int i = 0; i < RUNS; i++) {
+      GameDataCopier.copy(copied, false);
+    }
+    System.out.println("  copy: first " + (firstMicros / 1000) + " ms, then "
+        + ((System.nanoTime() - start) / 1000 / 1000 / RUNS) + " ms");
+  }
+
+  /**
+   * Jumps from the end to the first event of the round and back.
+   */
+  private static long run(final GameData data, final int round, final boolean seek) {
+    final History history = data.getHistory();
+    final HistoryNode last = history.getLastNode();
+    final HistoryNode target =
+        (HistoryNode) ((HistoryNode) history.getRoot()).getChildAt(round - 1).getChildAt(0).getChildAt(0);
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      jump(data, last, target, seek);
+      jump(data, target, last, seek);
+    }
+    final long start = System.nanoTime();
+    for (int i = 0; i < RUNS; i++) {
+      jump(data, last, target, seek);
+      jump(data, target, last, seek);
+    }
+    return (System.nanoTime() - start) / 2;
+  }
+
+  private static void jump(final GameData data, final HistoryNode from, final HistoryNode to, final boolean seek) {
+    final History history = data.getHistory();
+    if (seek) {
+      history.gotoNode(to);
+      return;
+    }
+    data.acquireWriteLock();
+    try {
+      final Change change = history.getDelta(from, to);
+      if (change != null) {
+        data.performChange(change);
+      }
+    } finally {
+      data.releaseWriteLock();
+    }
+  }
+
+  /**
+   * Every event places infantry, moves it on, marks it moved and collects and spends PUs, every step the owner of a territory
+   * changes.
+   */
+  private static GameData createLongGame() {
+    final GameData data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    final PlayerID germans = data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_GERMANS);
+    final PlayerID british = data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_BRITISH);
+    final Resource pus = data.getResourceList().getResource(Constants.PUS);
+    final Territory germany = data.getMap().getTerritory("Germany");
+    final Territory westernEurope = data.getMap().getTerritory("Western Europe");
+    final Territory libya = data.getMap().getTerritory("Libya");
+    final HistoryWriter writer = data.getHistory().getHistoryWriter();
+    for (int round = 1; round <= ROUNDS; round++) {
+      writer.startNextRound(round);
+      for (int step = 0; step < STEPS; step++) {
+        writer.startNextStep("step" + step, "delegate" + step, germans, "Germans step " + step);
+        for (int event = 0; event < EVENTS; event++) {
+          writer.startEvent("Germans place 3 infantry");
+          final List<Unit> infantry =
+              data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INFANTRY).create(3, germans);
+          addChange(data, ChangeFactory.addUnits(germany, infantry));
+          writer.setRenderingData(infantry);
+          addChange(data, ChangeFactory.moveUnits(germany, westernEurope, infantry.subList(0, 2)));
+          addChange(data, ChangeFactory.unitPropertyChange(infantry.get(0), 1, TripleAUnit.ALREADY_MOVED));
+          addChange(data, ChangeFactory.moveUnits(westernEurope, germany, infantry.subList(1, 2)));
+          addChange(data, ChangeFactory.changeResourcesChange(germans, pus, event % 2 == 0 ? 2 : -1));
+        }
+        addChange(data, ChangeFactory.changeOwner(libya, libya.getOwner() == germans ? british : germans));
+      }
+    }
+    return data;
+  }
+
+  private static void addChange(final GameData data, final Change change) {
+    data.performChange(change);
+    data.getHistory().getHistoryWriter().addChange(change);
+  }
+}
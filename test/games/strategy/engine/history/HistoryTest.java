@@ -0,0 +1,195 @@
+package games.strategy.engine.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameDataManager;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+public class HistoryTest {
+  private GameData m_data;
+  private PlayerID m_germans;
+
+  @Before
+  public void setUp() throws Exception {
+    m_data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    m_germans = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_GERMANS);
+    final PlayerID british = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_BRITISH);
+    final Territory germany = m_data.getMap().getTerritory("Germany");
+    final Territory libya = m_data.getMap().getTerritory("Libya");
+    final HistoryWriter writer = m_data.getHistory().getHistoryWriter();
+    for (int round = 1; round <= 4; round++) {
+      writer.startNextRound(round);
+      for (int step = 0; step < 2; step++) {
+        writer.startNextStep("step" + step, "delegate" + step, m_germans, "Germans step " + step);
+        for (int event = 0; event < 2; event++) {
+          writer.startEvent("Germans place 2 infantry");
+          final List<Unit> infantry =
+              m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INFANTRY).create(2, m_germans);
+          addChange(ChangeFactory.addUnits(germany, infantry));
+          writer.setRenderingData(infantry);
+          writer.addChildToEvent(new EventChild("1 infantry moves", infantry.get(0)));
+          addChange(ChangeFactory.unitPropertyChange(infantry.get(0), 1, TripleAUnit.ALREADY_MOVED));
+          addChange(ChangeFactory.moveUnits(germany, m_data.getMap().getTerritory("Western Europe"),
+              infantry.subList(1, 2)));
+          addChange(ChangeFactory.changeOwner(libya, libya.getOwner() == m_germans ? british : m_germans));
+          addChange(ChangeFactory.changeResourcesChange(m_germans,
+              m_data.getResourceList().getResource(Constants.PUS), -1));
+        }
+      }
+    }
+  }
+
+  private void addChange(final Change change) {
+    m_data.performChange(change);
+    m_data.getHistory().getHistoryWriter().addChange(change);
+  }
+
+  private static GameData saveAndLoad(final GameData data) throws Exception {
+    final GameDataManager manager = new GameDataManager();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    manager.saveGame(bytes, data, false);
+    return manager.loadGame(new ByteArrayInputStream(bytes.toByteArray()), null);
+  }
+
+  private static String describeUnits(final GameData data) {
+    final StringBuilder description = new StringBuilder();
+    for (final Territory territory : data.getMap().getTerritories()) {
+      description.append('\n').append(territory.getName());
+      for (final Unit unit : territory.getUnits()) {
+        description.append(' ').append(unit.getID()).append(" moved ")
+            .append(((TripleAUnit) unit).getAlreadyMoved());
+      }
+    }
+    return description.toString();
+  }
+
+  /**
+   * The nodes of the history with their rendering data and their changes, loads every step.
+   */
+  private static String describeHistory(final GameData data) {
+    final StringBuilder description = new StringBuilder();
+    final History history = data.getHistory();
+    final Enumeration<?> nodes = ((HistoryNode) history.getRoot()).preorderEnumeration();
+    while (nodes.hasMoreElements()) {
+      final HistoryNode node = (HistoryNode) nodes.nextElement();
+      description.append('\n').append(node.getLevel()).append(' ').append(node.getTitle());
+      if (node instanceof Renderable) {
+        description.append(' ').append(((Renderable) node).getRenderingData());
+      }
+      if (node instanceof Event) {
+        description.append(' ').append(history.getDelta((HistoryNode) node.getParent(), node));
+      }
+    }
+    return description.toString();
+  }
+
+  private static Step getStep(final GameData data, final int round, final int step) {
+    return (Step) ((HistoryNode) data.getHistory().getRoot()).getChildAt(round).getChildAt(step);
+  }
+
+  @Test
+  public void testLoadStepsWhenNeeded() throws Exception {
+    final GameData loaded = saveAndLoad(m_data);
+    assertFalse(getStep(loaded, 0, 0).isLoaded());
+    assertFalse(getStep(loaded, 1, 1).isLoaded());
+    assertTrue(getStep(loaded, 3, 0).isLoaded());
+    assertFalse(getStep(loaded, 0, 0).isLeaf());
+    assertEquals(2, getStep(loaded, 1, 0).getChildCount());
+    assertTrue(getStep(loaded, 1, 0).isLoaded());
+    assertFalse(getStep(loaded, 0, 0).isLoaded());
+    assertEquals(describeHistory(m_data), describeHistory(loaded));
+    assertTrue(getStep(loaded, 0, 0).isLoaded());
+  }
+
+  @Test
+  public void testGotoNodeLoadsChanges() throws Exception {
+    final GameData loaded = saveAndLoad(m_data);
+    m_data.getHistory().gotoNode(m_data.getHistory().getLastNode());
+    loaded.getHistory().gotoNode(loaded.getHistory().getLastNode());
+    assertEquals(describeUnits(m_data), describeUnits(loaded));
+    final HistoryNode event = (HistoryNode) getStep(m_data, 0, 1).getChildAt(0);
+    final HistoryNode loadedEvent = (HistoryNode) getStep(loaded, 0, 1).getChildAt(0);
+    assertFalse(getStep(loaded, 1, 0).isLoaded());
+    m_data.getHistory().gotoNode(event);
+    loaded.getHistory().gotoNode(loadedEvent);
+    assertEquals(describeUnits(m_data), describeUnits(loaded));
+    // the steps between the nodes are loaded for their changes, the steps before are not
+    assertTrue(getStep(loaded, 1, 0).isLoaded());
+    assertFalse(getStep(loaded, 0, 0).isLoaded());
+  }
+
+  private static String describeState(final GameData data) {
+    final StringBuilder description = new StringBuilder(describeUnits(data));
+    for (final Territory territory : data.getMap().getTerritories()) {
+      description.append('\n').append(territory.getName()).append(' ').append(territory.getOwner().getName());
+    }
+    for (final PlayerID player : data.getPlayerList().getPlayers()) {
+      description.append('\n').append(player.getName()).append(' ').append(player.getResources());
+    }
+    return description.toString();
+  }
+
+  @Test
+  public void testGotoNodeJumpsOverRounds() throws Exception {
+    final GameData replayed = saveAndLoad(m_data);
+    final History history = m_data.getHistory();
+    final String last = describeState(m_data);
+    history.gotoNode(history.getLastNode());
+    // performing every change in between ends in the same state as jumping over the rounds in between
+    final History replayedHistory = replayed.getHistory();
+    final HistoryNode target = (HistoryNode) getStep(replayed, 0, 1).getChildAt(1);
+    replayed.performChange(replayedHistory.getDelta(replayedHistory.getLastNode(), target));
+    history.gotoNode((HistoryNode) getStep(m_data, 0, 1).getChildAt(1));
+    assertEquals(describeState(replayed), describeState(m_data));
+    replayed.performChange(replayedHistory.getDelta(target, (HistoryNode) getStep(replayed, 3, 0).getChildAt(0)));
+    history.gotoNode((HistoryNode) getStep(m_data, 3, 0).getChildAt(0));
+    assertEquals(describeState(replayed), describeState(m_data));
+    history.gotoNode(history.getLastNode());
+    assertEquals(last, describeState(m_data));
+  }
+
+  @Test
+  public void testSaveUnloadedSteps() throws Exception {
+    final GameData loaded = saveAndLoad(m_data);
+    getStep(loaded, 1, 0).getChildCount();
+    final GameData reloaded = saveAndLoad(loaded);
+    assertFalse(getStep(reloaded, 1, 0).isLoaded());
+    assertEquals(describeHistory(m_data), describeHistory(reloaded));
+  }
+
+  @Test
+  public void testRemoveAllHistoryAfterNode() throws Exception {
+    final GameData loaded = saveAndLoad(m_data);
+    // saving keeps the content of the complete steps, the one cut into is not complete anymore
+    assertNotNull(getStep(m_data, 1, 0).getContent());
+    m_data.getHistory().removeAllHistoryAfterNode((HistoryNode) getStep(m_data, 1, 0).getChildAt(1));
+    assertNull(getStep(m_data, 1, 0).getContent());
+    assertNotNull(getStep(m_data, 0, 0).getContent());
+    loaded.getHistory().removeAllHistoryAfterNode((HistoryNode) getStep(loaded, 1, 0).getChildAt(1));
+    assertFalse(getStep(loaded, 0, 0).isLoaded());
+    assertEquals(describeUnits(m_data), describeUnits(loaded));
+    assertEquals(describeHistory(m_data), describeHistory(loaded));
+    assertEquals(describeHistory(m_data), describeHistory(saveAndLoad(loaded)));
+  }
+}
@@ -0,0 +1,81 @@
+package games.strategy.net;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import games.strategy.test.TestUtil;
+import games.strategy.util.ThreadUtil;
+
+/**
+ * Measures how fast a server broadcasts to many connections.
+ * Not a unit test, run the main method manually: for each number of clients connected over localhost the server
+ * broadcasts chat sized and game change sized messages, and the time until every client received them is printed
+ * with the bytes the broadcasting thread allocated per broadcast, which is where the messages are encoded.
+ */
+public class BroadcastBenchmark {
+  private static final int[] CLIENTS = {10, 100, 300};
+  private static final int[] MESSAGE_SIZES = {100, 10000};
+  private static final int WARMUP_BROADCASTS = 50;
+  private static final int BROADCASTS = 200;
+
+  public static void main(final String[] args) throws IOException {
+    final String mac = MacFinder.getHashedMacAddress();
+    for (final int clientCount : CLIENTS) {
+      final int port = TestUtil.getUniquePort();
+      final ServerMessenger server = new ServerMessenger("Server", port);
+      server.setAcceptNewConnections(true);
+      final AtomicInteger received = new AtomicInteger();
+      final List<IMessenger> clients = new ArrayList<>();
+      try {
+        for (int i = 0; i < clientCount; i++) {
+          final IMessenger client = new ClientMessenger("localhost", port, "client" + i, mac);
+          client.addMessageListener((msg, from) -> received.incrementAndGet());
+          clients.add(client);
+        }
+        while (server.getNodes().size() != clientCount + 1) {
+          ThreadUtil.sleep(10);
+        }
+        System.out.println(clientCount + " clients");
+        for (final int size : MESSAGE_SIZES) {
+          run(server, received, clientCount, new byte[size], WARMUP_BROADCASTS);
+          final long startAllocated = getAllocatedBytes();
+          final long nanos = run(server, received, clientCount, new byte[size], BROADCASTS);
+          final long allocated = getAllocatedBytes() - startAllocated;
+          System.out.println("  " + size + " bytes: " + (nanos / 1000 / BROADCASTS) + " us per broadcast, "
+              + (long) (BROADCASTS * (double) clientCount * 1000000000 / nanos) + " messages received per s, "
+              + (allocated / 1024 / BROADCASTS) + " KB allocated per broadcast");
+        }
+      } finally {
+        for (final IMessenger client : clients) {
+          client.shutDown();
+        }
+        server.shutDown();
+      }
+    }
+    System.exit(0);
+  }
+
+  /**
+   * Broadcasts the message and waits until every client received it every time.
+   */
+  private static long run(final ServerMessenger server, final AtomicInteger received, final int clientCount,
+      final byte[] message, final int broadcasts) {
+    received.set(0);
+    final long start = System.nanoTime();
+    for (int i = 0; i < broadcasts; i++) {
+      server.broadcast(message);
+    }
+    while (received.get() < broadcasts * clientCount) {
+      Thread.yield();
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static long getAllocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+        .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+}
@@ -0,0 +1,66 @@
+package games.strategy.thread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class LockStatisticsTest {
+  private final LockStatistics m_statistics = LockStatistics.get("LockStatisticsTest");
+
+  @Before
+  public void setUp() {
+    m_statistics.reset();
+  }
+
+  @Test
+  public void testSameNameSameStatistics() {
+    assertTrue(m_statistics == LockStatistics.get("LockStatisticsTest"));
+    assertTrue(LockStatistics.getReport().contains("LockStatisticsTest"));
+  }
+
+  @Test
+  public void testUncontended() {
+    final ReentrantLock lock = new ReentrantLock();
+    m_statistics.lock(lock);
+    m_statistics.lock(lock);
+    assertEquals(2, lock.getHoldCount());
+    m_statistics.unlock(lock);
+    m_statistics.unlock(lock);
+    assertEquals(0, lock.getHoldCount());
+    assertEquals(2, m_statistics.getAcquisitions());
+    assertEquals(0, m_statistics.getContendedAcquisitions());
+    assertEquals(0, m_statistics.getMaxQueueLength());
+    assertEquals(0, m_statistics.getQueueLength());
+  }
+
+  @Test
+  public void testContended() throws Exception {
+    final ReentrantLock lock = new ReentrantLock();
+    final CountDownLatch started = new CountDownLatch(1);
+    m_statistics.lock(lock);
+    final Thread waiter = new Thread(() -> {
+      started.countDown();
+      m_statistics.lock(lock);
+      m_statistics.unlock(lock);
+    });
+    waiter.start();
+    started.await();
+    while (!lock.hasQueuedThreads()) {
+      Thread.sleep(1);
+    }
+    assertEquals(1, m_statistics.getQueueLength());
+    Thread.sleep(20);
+    m_statistics.unlock(lock);
+    waiter.join();
+    assertEquals(2, m_statistics.getAcquisitions());
+    assertEquals(1, m_statistics.getContendedAcquisitions());
+    assertTrue(m_statistics.getMaxWaitNanos() >= 20 * 1000 * 1000);
+    assertTrue(m_statistics.getMaxHoldNanos() >= 20 * 1000 * 1000);
+    assertEquals(0, m_statistics.getQueueLength());
+  }
+}
@@ -1,5 +1,6 @@
 package games.strategy.thread;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -8,6 +9,7 @@ import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -20,6 +22,12 @@ public class LockUtilTest {
   @Before
   public void setUp() {
     S_LOCKUTIL.setErrorReporter(m_reporter);
+    LockUtil.setOrderingCheckSampleRate(LockUtil.CHECKS_ALWAYS);
+  }
+
+  @After
+  public void tearDown() {
+    LockUtil.setOrderingCheckSampleRate(LockUtil.CHECKS_OFF);
   }
 
   @Test
@@ -76,6 +84,69 @@ public class LockUtilTest {
     assertTrue(l1.getHoldCount() == 0);
     assertFalse(S_LOCKUTIL.isLockHeld(l1));
   }
+
+  @Test
+  public void testNoChecksWhenOff() {
+    LockUtil.setOrderingCheckSampleRate(LockUtil.CHECKS_OFF);
+    final ReentrantLock l1 = new ReentrantLock();
+    final ReentrantLock l2 = new ReentrantLock();
+    S_LOCKUTIL.acquireLock(l1);
+    S_LOCKUTIL.acquireLock(l2);
+    assertTrue(l2.isHeldByCurrentThread());
+    assertFalse(S_LOCKUTIL.isLockHeld(l2));
+    S_LOCKUTIL.releaseLock(l2);
+    S_LOCKUTIL.releaseLock(l1);
+    S_LOCKUTIL.acquireLock(l2);
+    S_LOCKUTIL.acquireLock(l1);
+    S_LOCKUTIL.releaseLock(l1);
+    S_LOCKUTIL.releaseLock(l2);
+    assertFalse(m_reporter.errorOccured());
+    assertEquals(0, l1.getHoldCount());
+    assertEquals(0, l2.getHoldCount());
+  }
+
+  @Test
+  public void testSwitchChecksOnWhileLocked() {
+    LockUtil.setOrderingCheckSampleRate(LockUtil.CHECKS_OFF);
+    final ReentrantLock l1 = new ReentrantLock();
+    final ReentrantLock l2 = new ReentrantLock();
+    S_LOCKUTIL.acquireLock(l1);
+    LockUtil.setOrderingCheckSampleRate(LockUtil.CHECKS_ALWAYS);
+    S_LOCKUTIL.acquireLock(l2);
+    assertTrue(S_LOCKUTIL.isLockHeld(l2));
+    LockUtil.setOrderingCheckSampleRate(LockUtil.CHECKS_OFF);
+    S_LOCKUTIL.releaseLock(l2);
+    S_LOCKUTIL.releaseLock(l1);
+    assertFalse(S_LOCKUTIL.isLockHeld(l2));
+    assertEquals(0, l1.getHoldCount());
+    assertEquals(0, l2.getHoldCount());
+  }
+
+  @Test
+  public void testSampling() {
+    LockUtil.setOrderingCheckSampleRate(3);
+    final Lock l1 = new ReentrantLock();
+    final Lock l2 = new ReentrantLock();
+    // once a thread is sampled, everything it acquires is checked, so some of these catch the wrong order
+    for (int i = 0; i < 8; i++) {
+      S_LOCKUTIL.acquireLock(l1);
+      S_LOCKUTIL.acquireLock(l2);
+      S_LOCKUTIL.releaseLock(l2);
+      S_LOCKUTIL.releaseLock(l1);
+    }
+    for (int i = 0; i < 8; i++) {
+      S_LOCKUTIL.acquireLock(l2);
+      S_LOCKUTIL.acquireLock(l1);
+      S_LOCKUTIL.releaseLock(l1);
+      S_LOCKUTIL.releaseLock(l2);
+    }
+    assertTrue(m_reporter.errorOccured());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSampleRate() {
+    LockUtil.setOrderingCheckSampleRate(-1);
+  }
 }
 
 
@@ -0,0 +1,170 @@
+package games.strategy.triplea.attachments;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.delegate.AbstractEndTurnDelegate;
+import games.strategy.triplea.delegate.TechAdvance;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+public class AttachmentIndexTest {
+  private GameData m_data;
+  private PlayerID m_germans;
+  private UnitType m_submarine;
+  private UnitType m_artillery;
+
+  @Before
+  public void setUp() {
+    m_data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    m_germans = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_GERMANS);
+    m_submarine = m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_SUBMARINE);
+    m_artillery = m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_ARTILLERY);
+  }
+
+  @Test
+  public void testSupportsMatchAttachments() {
+    final Set<UnitSupportAttachment> all = new HashSet<>();
+    for (final UnitType type : m_data.getUnitTypeList()) {
+      assertEquals(UnitSupportAttachment.gatherSupports(type), UnitSupportAttachment.get(type));
+      all.addAll(UnitSupportAttachment.gatherSupports(type));
+    }
+    assertEquals(all, UnitSupportAttachment.get(m_data));
+    assertFalse(UnitSupportAttachment.get(m_artillery).isEmpty());
+  }
+
+  @Test
+  public void testAddedAndRemovedSupportIsSeen() {
+    final int before = UnitSupportAttachment.get(m_data).size();
+    final UnitSupportAttachment support =
+        new UnitSupportAttachment(Constants.SUPPORT_ATTACHMENT_PREFIX + "Test", m_submarine, m_data);
+    m_submarine.addAttachment(support.getName(), support);
+    assertEquals(before + 1, UnitSupportAttachment.get(m_data).size());
+    assertTrue(UnitSupportAttachment.get(m_submarine).contains(support));
+    m_submarine.removeAttachment(support.getName());
+    assertEquals(before, UnitSupportAttachment.get(m_data).size());
+    assertFalse(UnitSupportAttachment.get(m_submarine).contains(support));
+  }
+
+  @Test
+  public void testTechChangeIsSeen() {
+    assertEquals(0, TechAbilityAttachment.getAttackBonus(m_submarine, m_germans, m_data));
+    m_data.performChange(ChangeFactory.attachmentPropertyChange(TechAttachment.get(m_germans), true,
+        TechAdvance.TECH_PROPERTY_SUPER_SUBS));
+    assertEquals(1, TechAbilityAttachment.getAttackBonus(m_submarine, m_germans, m_data));
+    m_data.performChange(ChangeFactory.attachmentPropertyChange(TechAttachment.get(m_germans), false,
+        TechAdvance.TECH_PROPERTY_SUPER_SUBS));
+    assertEquals(0, TechAbilityAttachment.getAttackBonus(m_submarine, m_germans, m_data));
+  }
+
+  @Test
+  public void testTechAbilityChangeIsSeen() {
+    m_data.performChange(ChangeFactory.attachmentPropertyChange(TechAttachment.get(m_germans), true,
+        TechAdvance.TECH_PROPERTY_SUPER_SUBS));
+    assertEquals(1, TechAbilityAttachment.getAttackBonus(m_submarine, m_germans, m_data));
+    final TechAbilityAttachment superSubs = TechAbilityAttachment
+        .get(TechAdvance.findAdvance(TechAdvance.TECH_PROPERTY_SUPER_SUBS, m_data, m_germans));
+    m_data.performChange(ChangeFactory.attachmentPropertyChange(superSubs, "2:" + m_submarine.getName(),
+        "attackBonus", true));
+    assertEquals(2, TechAbilityAttachment.getAttackBonus(m_submarine, m_germans, m_data));
+  }
+
+  @Test
+  public void testCapitalsMatchScan() {
+    for (final PlayerID player : m_data.getPlayerList().getPlayers()) {
+      final List<Territory> capitals = new ArrayList<>();
+      final List<Territory> ownedCapitals = new ArrayList<>();
+      for (final Territory t : m_data.getMap().getTerritories()) {
+        final TerritoryAttachment ta = TerritoryAttachment.get(t, true);
+        if (ta != null && player.getName().equals(ta.getCapital())) {
+          capitals.add(t);
+          if (player.equals(t.getOwner())) {
+            ownedCapitals.add(t);
+          }
+        }
+      }
+      assertEquals(capitals, TerritoryAttachment.getAllCapitals(player, m_data));
+      assertEquals(ownedCapitals, TerritoryAttachment.getAllCurrentlyOwnedCapitals(player, m_data));
+    }
+  }
+
+  @Test
+  public void testIncomeOfOwnedTerritories() {
+    final Territory germany = m_data.getMap().getTerritory("Germany");
+    final Territory poland = m_data.getMap().getTerritory("Eastern Europe");
+    assertEquals(m_germans, poland.getOwner());
+    TerritoryAttachment.get(poland).setProduction("-3");
+    final Collection<Territory> owned = TerritoryAttachment.getOwnedTerritories(m_germans, m_data);
+    assertEquals(new HashSet<>(m_data.getMap().getTerritoriesOwnedBy(m_germans)), new HashSet<>(owned));
+    assertEquals(AbstractEndTurnDelegate.getProduction(m_data.getMap().getTerritoriesOwnedBy(m_germans), m_data),
+        AbstractEndTurnDelegate.getProduction(owned, m_data));
+    final int withoutPoland = AbstractEndTurnDelegate.getProduction(owned, m_data) + 3;
+    TerritoryAttachment.get(poland).setProduction("0");
+    assertEquals(withoutPoland, AbstractEndTurnDelegate.getProduction(owned, m_data));
+    germany.removeAttachment(Constants.TERRITORY_ATTACHMENT_NAME);
+    try {
+      AbstractEndTurnDelegate.getProduction(TerritoryAttachment.getOwnedTerritories(m_germans, m_data), m_data);
+      fail("An owned territory without attachment is reported");
+    } catch (final IllegalStateException expected) {
+      assertTrue(expected.getMessage().contains("Germany"));
+    }
+  }
+
+  @Test
+  public void testOwnerChangeIsSeen() {
+    final Territory germany = m_data.getMap().getTerritory("Germany");
+    final PlayerID russians = m_data.getPlayerList().getPlayerID(Constants.PLAYER_NAME_RUSSIANS);
+    assertEquals(Collections.singletonList(germany),
+        TerritoryAttachment.getAllCurrentlyOwnedCapitals(m_germans, m_data));
+    assertTrue(TerritoryAttachment.getOwnedTerritories(m_germans, m_data).contains(germany));
+    assertEquals(getOwnedVictoryCities(m_germans),
+        new HashSet<>(TerritoryAttachment.getOwnedVictoryCities(m_germans, m_data)));
+    m_data.performChange(ChangeFactory.changeOwner(germany, russians));
+    assertTrue(TerritoryAttachment.getAllCurrentlyOwnedCapitals(m_germans, m_data).isEmpty());
+    assertEquals(Collections.singletonList(germany), TerritoryAttachment.getAllCapitals(m_germans, m_data));
+    assertFalse(TerritoryAttachment.getOwnedTerritories(m_germans, m_data).contains(germany));
+    assertTrue(TerritoryAttachment.getOwnedTerritories(russians, m_data).contains(germany));
+    assertEquals(getOwnedVictoryCities(m_germans),
+        new HashSet<>(TerritoryAttachment.getOwnedVictoryCities(m_germans, m_data)));
+    assertEquals(getOwnedVictoryCities(russians),
+        new HashSet<>(TerritoryAttachment.getOwnedVictoryCities(russians, m_data)));
+  }
+
+  @Test
+  public void testTerritoryAttachmentChangeIsSeen() {
+    final Territory easternEurope = m_data.getMap().getTerritory("Eastern Europe");
+    assertFalse(TerritoryAttachment.getAllCapitals(m_germans, m_data).contains(easternEurope));
+    m_data.performChange(ChangeFactory.attachmentPropertyChange(TerritoryAttachment.get(easternEurope),
+        Constants.PLAYER_NAME_GERMANS, "capital"));
+    assertTrue(TerritoryAttachment.getAllCapitals(m_germans, m_data).contains(easternEurope));
+  }
+
+  private Set<Territory> getOwnedVictoryCities(final PlayerID player) {
+    final Set<Territory> victoryCities = new HashSet<>();
+    for (final Territory t : m_data.getMap().getTerritoriesOwnedBy(player)) {
+      final TerritoryAttachment ta = TerritoryAttachment.get(t, true);
+      if (ta != null && ta.getVictoryCity() != 0) {
+        victoryCities.add(t);
+      }
+    }
+    return victoryCities;
+  }
+}
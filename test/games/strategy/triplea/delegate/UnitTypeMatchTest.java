@@ -0,0 +1,74 @@
+package games.strategy.triplea.delegate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+public class UnitTypeMatchTest {
+  private GameData m_data;
+  private UnitType m_infantry;
+
+  @Before
+  public void setUp() {
+    m_data = LoadGameUtil.loadTestGame(TestMapXml.REVISED);
+    m_infantry = m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INFANTRY);
+  }
+
+  @Test
+  public void testCompiledMatchesAgreeWithTypeMatches() {
+    final UnitTypeMatch[] matches = {Matches.UnitIsSea, Matches.UnitIsAir, Matches.UnitIsSub, Matches.UnitIsNotSub,
+        Matches.UnitIsLand, Matches.UnitIsNotLand, Matches.UnitIsInfantry};
+    for (final UnitType type : m_data.getUnitTypeList()) {
+      final UnitAttachment ua = UnitAttachment.get(type);
+      for (final UnitTypeMatch match : matches) {
+        assertEquals(match.getTypeMatch().match(type), match.matches(type));
+      }
+      assertEquals(!ua.getIsSea() && !ua.getIsAir(), Matches.UnitIsLand.matches(type));
+    }
+  }
+
+  @Test
+  public void testCombinedMatches() {
+    final UnitTypeMatch seaOrAir = UnitTypeMatch.or(Matches.UnitIsSea, Matches.UnitIsAir);
+    final UnitTypeMatch notSeaOrAir = UnitTypeMatch.not(seaOrAir);
+    for (final UnitType type : m_data.getUnitTypeList()) {
+      assertEquals(Matches.UnitIsNotLand.matches(type), seaOrAir.matches(type));
+      assertEquals(Matches.UnitIsLand.matches(type), notSeaOrAir.matches(type));
+    }
+  }
+
+  @Test
+  public void testAttachmentChangeIsSeen() {
+    assertFalse(Matches.UnitIsSea.matches(m_infantry));
+    assertTrue(Matches.UnitIsLand.matches(m_infantry));
+    m_data.performChange(ChangeFactory.attachmentPropertyChange(UnitAttachment.get(m_infantry), true, "isSea"));
+    assertTrue(Matches.UnitIsSea.matches(m_infantry));
+    assertFalse(Matches.UnitIsLand.matches(m_infantry));
+  }
+
+  @Test
+  public void testUnitsAreMatchedByType() {
+    assertTrue(Matches.UnitIsLand.match(m_infantry.create(m_data.getPlayerList().getPlayerID(
+        Constants.PLAYER_NAME_GERMANS))));
+  }
+
+  @Test
+  public void testTypeWithoutUnitAttachmentIsNotConstruction() {
+    final UnitType type = new UnitType("noAttachment", m_data);
+    assertFalse(Matches.UnitIsConstruction.matches(type));
+    assertTrue(Matches.UnitIsNotConstruction.matches(type));
+    assertFalse(Matches.UnitIsConstruction.match(type.create(m_data.getPlayerList().getPlayerID(
+        Constants.PLAYER_NAME_GERMANS))));
+  }
+}
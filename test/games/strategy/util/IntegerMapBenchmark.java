@@ -0,0 +1,256 @@
+package games.strategy.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.NamedAttachable;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.ProductionRule;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.delegate.BattleCalculator;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.triplea.xml.LoadGameUtil.TestMapXml;
+
+/**
+ * Compares IntegerMap against a map of boxed Integers in a HashMap, which is what it used to wrap.
+ * Not a unit test, run the main method manually: for each map the time of a round of the TUV workload (the unit value
+ * of every territory, like the battle calculator and the AI ask for) and of the purchase workload (buying units rule by
+ * rule while the costs fit the player's resources, like ProPurchaseAI does) is printed.
+ */
+public class IntegerMapBenchmark {
+  private static final int WARMUP_ROUNDS = 200;
+  private static final int ROUNDS = 2000;
+
+  /**
+   * The part of the IntegerMap api the workloads use, so they can run on both maps.
+   */
+  private interface IntMap<T> {
+    void add(T key, int value);
+
+    int getInt(T key);
+
+    void put(T key, int value);
+
+    int totalValues();
+
+    void addMultiple(IntMap<T> map, int multiple);
+
+    boolean greaterThanOrEqualTo(IntMap<T> map);
+  }
+
+  private static final class Primitive<T> implements IntMap<T> {
+    private final IntegerMap<T> map = new IntegerMap<>();
+
+    @Override
+    public void add(final T key, final int value) {
+      map.add(key, value);
+    }
+
+    @Override
+    public int getInt(final T key) {
+      return map.getInt(key);
+    }
+
+    @Override
+    public void put(final T key, final int value) {
+      map.put(key, value);
+    }
+
+    @Override
+    public int totalValues() {
+      return map.totalValues();
+    }
+
+    @Override
+    public void addMultiple(final IntMap<T> other, final int multiple) {
+      map.addMultiple(((Primitive<T>) other).map, multiple);
+    }
+
+    @Override
+    public boolean greaterThanOrEqualTo(final IntMap<T> other) {
+      return map.greaterThanOrEqualTo(((Primitive<T>) other).map);
+    }
+  }
+
+  /**
+   * The HashMap based IntegerMap, boxing on every access.
+   */
+  private static final class Boxed<T> implements IntMap<T> {
+    private final Map<T, Integer> map = new HashMap<>();
+
+    @Override
+    public void add(final T key, final int value) {
+      put(key, getInt(key) + value);
+    }
+
+    @Override
+    public int getInt(final T key) {
+      final Integer value = map.get(key);
+      return value == null ? 0 : value;
+    }
+
+    @Override
+    public void put(final T key, final int value) {
+      map.put(key, value);
+    }
+
+    @Override
+    public int totalValues() {
+      int sum = 0;
+      for (final Integer value : map.values()) {
+        sum += value;
+      }
+      return sum;
+    }
+
+    @Override
+    public void addMultiple(final IntMap<T> other, final int multiple) {
+      for (final Map.Entry<T, Integer> entry : ((Boxed<T>) other).map.entrySet()) {
+        add(entry.getKey(), entry.getValue() * multiple);
+      }
+    }
+
+    @Override
+    public boolean greaterThanOrEqualTo(final IntMap<T> other) {
+      for (final Map.Entry<T, Integer> entry : ((Boxed<T>) other).map.entrySet()) {
+        if (getInt(entry.getKey()) < entry.getValue()) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private interface Workload {
+    int run(Supplier<IntMap<Object>> factory);
+  }
+
+  public static void main(final String[] args) {
+    for (final TestMapXml map : new TestMapXml[] {TestMapXml.GLOBAL1940, TestMapXml.BIG_WORLD_1942,
+        TestMapXml.WW2V3_1941}) {
+      final GameData data = LoadGameUtil.loadTestGame(map);
+      System.out.println(map);
+      final Workload tuv = tuvWorkload(data);
+      run("  TUV, HashMap        ", tuv, Boxed::new);
+      run("  TUV, IntegerMap     ", tuv, Primitive::new);
+      final Workload purchase = purchaseWorkload(data);
+      run("  purchase, HashMap   ", purchase, Boxed::new);
+      run("  purchase, IntegerMap", purchase, Primitive::new);
+    }
+  }
+
+  private static void run(final String name, final Workload workload, final Supplier<IntMap<Object>> factory) {
+    int check = 0;
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      check += workload.run(factory);
+    }
+    final long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      check += workload.run(factory);
+    }
+    final long nanos = System.nanoTime() - start;
+    System.out.println(name + ": " + (nanos / 1000 / (double) ROUNDS) + " us per round (" + check + ")");
+  }
+
+  /**
+   * Builds the unit costs of each player, then sums the value of the units in every territory for each of them.
+   */
+  private static Workload tuvWorkload(final GameData data) {
+    final List<PlayerID> players = data.getPlayerList().getPlayers();
+    final List<IntegerMap<UnitType>> costs = new ArrayList<>();
+    for (final PlayerID player : players) {
+      costs.add(BattleCalculator.getCostsForTUV(player, data));
+    }
+    final List<List<Unit>> units = new ArrayList<>();
+    for (final Territory territory : data.getMap().getTerritories()) {
+      units.add(new ArrayList<>(territory.getUnits().getUnits()));
+    }
+    return factory -> {
+      int total = 0;
+      for (final IntegerMap<UnitType> playerCosts : costs) {
+        final IntMap<Object> map = factory.get();
+        for (final UnitType type : playerCosts.keySet()) {
+          map.put(type, playerCosts.getInt(type));
+        }
+        final IntMap<Object> unitCounts = factory.get();
+        for (final List<Unit> territoryUnits : units) {
+          int tuv = 0;
+          for (final Unit unit : territoryUnits) {
+            tuv += map.getInt(unit.getType());
+            unitCounts.add(unit.getType(), 1);
+          }
+          total += tuv;
+        }
+        total += unitCounts.totalValues();
+      }
+      return total;
+    };
+  }
+
+  /**
+   * For each player with a production frontier, buys one unit of each rule in turn while the costs stay within the
+   * player's resources, keeping the purchase, its cost and the resources left in maps.
+   */
+  private static Workload purchaseWorkload(final GameData data) {
+    final Map<PlayerID, List<ProductionRule>> rules = new HashMap<>();
+    final Map<PlayerID, IntegerMap<Resource>> resources = new HashMap<>();
+    for (final PlayerID player : data.getPlayerList().getPlayers()) {
+      if (player.getProductionFrontier() != null) {
+        rules.put(player, player.getProductionFrontier().getRules());
+        final IntegerMap<Resource> playerResources = player.getResources().getResourcesCopy();
+        // enough to make a few dozen purchases on any map
+        playerResources.multiplyAllValuesBy(4, 1);
+        for (final Resource resource : data.getResourceList().getResources()) {
+          playerResources.add(resource, 100);
+        }
+        resources.put(player, playerResources);
+      }
+    }
+    return factory -> {
+      int total = 0;
+      for (final Map.Entry<PlayerID, List<ProductionRule>> entry : rules.entrySet()) {
+        final IntMap<Object> left = factory.get();
+        final IntegerMap<Resource> playerResources = resources.get(entry.getKey());
+        for (final Resource resource : playerResources.keySet()) {
+          left.put(resource, playerResources.getInt(resource));
+        }
+        final List<IntMap<Object>> ruleCosts = new ArrayList<>();
+        for (final ProductionRule rule : entry.getValue()) {
+          final IntMap<Object> cost = factory.get();
+          for (final Resource resource : rule.getCosts().keySet()) {
+            cost.put(resource, rule.getCosts().getInt(resource));
+          }
+          ruleCosts.add(cost);
+        }
+        final IntMap<Object> purchase = factory.get();
+        final IntMap<Object> spent = factory.get();
+        boolean bought = true;
+        while (bought) {
+          bought = false;
+          for (int i = 0; i < ruleCosts.size(); i++) {
+            final IntMap<Object> cost = ruleCosts.get(i);
+            if (!left.greaterThanOrEqualTo(cost)) {
+              continue;
+            }
+            final ProductionRule rule = entry.getValue().get(i);
+            for (final NamedAttachable result : rule.getResults().keySet()) {
+              purchase.add(result, rule.getResults().getInt(result));
+            }
+            left.addMultiple(cost, -1);
+            spent.addMultiple(cost, 1);
+            bought = true;
+          }
+        }
+        total += purchase.totalValues() + spent.totalValues();
+      }
+      return total;
+    };
+  }
+}
@@ -1,8 +1,18 @@
 package games.strategy.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
 import org.junit.Test;
 
 public class IntegerMapTest {
@@ -66,4 +76,76 @@ public class IntegerMapTest {
     map1.add(v3, 3);
     assertTrue(map1.greaterThanOrEqualTo(map2));
   }
+
+  @Test
+  public void testAgreesWithHashMap() {
+    final Random random = new Random(1);
+    final IntegerMap<Integer> map = new IntegerMap<>();
+    final Map<Integer, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 20000; i++) {
+      // few keys, with colliding hash codes, so that removal has to move entries back
+      final Integer key = random.nextInt(64) * 64;
+      final int value = random.nextInt(10);
+      switch (random.nextInt(3)) {
+        case 0:
+          map.add(key, value);
+          expected.merge(key, value, Integer::sum);
+          break;
+        case 1:
+          map.put(key, value);
+          expected.put(key, value);
+          break;
+        default:
+          map.removeKey(key);
+          expected.remove(key);
+          break;
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    for (final Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+      assertEquals(entry.getValue().intValue(), map.getInt(entry.getKey()));
+    }
+    assertEquals(expected.hashCode(), map.hashCode());
+  }
+
+  @Test
+  public void testRemoveWhileIterating() {
+    final IntegerMap<Object> map = new IntegerMap<>();
+    map.put(v1, 1);
+    map.put(v2, 2);
+    map.put(v3, 3);
+    final Iterator<Object> iter = map.keySet().iterator();
+    int seen = 0;
+    while (iter.hasNext()) {
+      final Object key = iter.next();
+      seen++;
+      if (key != v3) {
+        iter.remove();
+      }
+    }
+    assertEquals(3, seen);
+    assertEquals(1, map.size());
+    assertEquals(3, map.getInt(v3));
+    assertFalse(map.containsKey(v1));
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    final IntegerMap<String> map = new IntegerMap<>();
+    map.put("a", 1);
+    map.put("b", -2);
+    map.put(null, 3);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(map);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      @SuppressWarnings("unchecked")
+      final IntegerMap<String> read = (IntegerMap<String>) in.readObject();
+      assertEquals(map, read);
+      assertEquals(3, read.getInt(null));
+      read.add("c", 4);
+      assertEquals(6, read.totalValues());
+    }
+  }
 }
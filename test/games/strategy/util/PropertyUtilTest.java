@@ -67,6 +67,38 @@ public class PropertyUtilTest {
     PropertyUtil.set(BAR, NEW_VALUE, new InvalidSetterClass());
   }
 
+  @Test
+  public void testSetterChosenByValueClass() {
+    final OverloadedSetterClass testClass = new OverloadedSetterClass();
+    PropertyUtil.set(BAR, 3, testClass);
+    assertThat(testClass.bar, is("int:3"));
+    PropertyUtil.set(BAR, NEW_VALUE, testClass);
+    assertThat(testClass.bar, is("string:" + NEW_VALUE));
+    // asking again uses the accessors found the first time
+    PropertyUtil.set(BAR, 4, testClass);
+    assertThat(testClass.bar, is("int:4"));
+  }
+
+  @Test
+  public void testReset() {
+    final OverloadedSetterClass testClass = new OverloadedSetterClass();
+    PropertyUtil.set(BAR, NEW_VALUE, testClass, true);
+    assertThat(testClass.bar, is("string:" + NEW_VALUE));
+    PropertyUtil.reset(BAR, testClass);
+    assertThat(testClass.bar, is(DEFAULT));
+  }
+
+  @Test
+  public void testStringSetter() {
+    assertThat(PropertyAccessors.of(PropertyClass.class).getStringSetter(BAR) != null, is(true));
+    assertThat(PropertyAccessors.of(InvalidSetterClass.class).getStringSetter(BAR) == null, is(true));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testErrorCaseWithNoField() {
+    PropertyUtil.getPropertyFieldObject("foo", new PropertyClass());
+  }
+
   @Test
   public void testNoOpSetterMethod() {
     final NoOpSetterClass testClass = new NoOpSetterClass();
@@ -118,3 +150,20 @@ class mUnderBarClass {
     m_bar = newValue;
   }
 }
+
+
+class OverloadedSetterClass {
+  protected String bar = PropertyUtilTest.DEFAULT;
+
+  public void setBar(final String newValue) {
+    bar = "string:" + newValue;
+  }
+
+  public void setBar(final Integer newValue) {
+    bar = "int:" + newValue;
+  }
+
+  public void resetBar() {
+    bar = PropertyUtilTest.DEFAULT;
+  }
+}